@@ -1,6 +1,13 @@
 package store.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import store.service.pagination.CountAccuracy;
+import store.service.suggest.SuggestionRanking;
 
 /**
  * Properties specific to Store.
@@ -10,7 +17,954 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Catalog catalog = new Catalog();
+
+    private final Count count = new Count();
+
+    private final Search search = new Search();
+
+    private final MultiGet multiGet = new MultiGet();
+
+    private final QueryCache queryCache = new QueryCache();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final CompiledSql compiledSql = new CompiledSql();
+
+    private final FullText fullText = new FullText();
+
+    private final Suggest suggest = new Suggest();
+
+    private final PriceIndex priceIndex = new PriceIndex();
+
+    private final BitmapIndex bitmapIndex = new BitmapIndex();
+
+    private final PriceStatistics priceStatistics = new PriceStatistics();
+
+    private final Popularity popularity = new Popularity();
+
+    private final JsonCache jsonCache = new JsonCache();
+
+    private final Changes changes = new Changes();
+
+    private final ChangeStream changeStream = new ChangeStream();
+
+    private final Export export = new Export();
+
+    private final Snapshot snapshot = new Snapshot();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
     // jhipster-needle-application-properties-property
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    public Count getCount() {
+        return count;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public MultiGet getMultiGet() {
+        return multiGet;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public CompiledSql getCompiledSql() {
+        return compiledSql;
+    }
+
+    public FullText getFullText() {
+        return fullText;
+    }
+
+    public Suggest getSuggest() {
+        return suggest;
+    }
+
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    public BitmapIndex getBitmapIndex() {
+        return bitmapIndex;
+    }
+
+    public PriceStatistics getPriceStatistics() {
+        return priceStatistics;
+    }
+
+    public Popularity getPopularity() {
+        return popularity;
+    }
+
+    public JsonCache getJsonCache() {
+        return jsonCache;
+    }
+
+    public Changes getChanges() {
+        return changes;
+    }
+
+    public ChangeStream getChangeStream() {
+        return changeStream;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    /**
+     * In-memory catalog of {@link store.domain.Products}, used to answer criteria queries without the database.
+     */
+    public static class Catalog {
+
+        private boolean enabled = false;
+
+        private int warmUpBatchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWarmUpBatchSize() {
+            return warmUpBatchSize;
+        }
+
+        public void setWarmUpBatchSize(int warmUpBatchSize) {
+            this.warmUpBatchSize = warmUpBatchSize;
+        }
+    }
+
+    /**
+     * Totals of {@link store.domain.Products} criteria queries, see {@link CountAccuracy}.
+     */
+    public static class Count {
+
+        private CountAccuracy defaultPolicy = CountAccuracy.EXACT;
+
+        private Duration rowCounterRefresh = Duration.ofMinutes(10);
+
+        public CountAccuracy getDefaultPolicy() {
+            return defaultPolicy;
+        }
+
+        public void setDefaultPolicy(CountAccuracy defaultPolicy) {
+            this.defaultPolicy = defaultPolicy;
+        }
+
+        public Duration getRowCounterRefresh() {
+            return rowCounterRefresh;
+        }
+
+        public void setRowCounterRefresh(Duration rowCounterRefresh) {
+            this.rowCounterRefresh = rowCounterRefresh;
+        }
+    }
+
+    /**
+     * Single round-trip {@link store.domain.Products} search, see {@code POST /api/products/_search}.
+     */
+    public static class Search {
+
+        private List<Double> priceBuckets = new ArrayList<>(List.of(10d, 50d, 100d, 500d, 1000d));
+
+        private int maxPriceBuckets = 20;
+
+        public List<Double> getPriceBuckets() {
+            return priceBuckets;
+        }
+
+        public void setPriceBuckets(List<Double> priceBuckets) {
+            this.priceBuckets = priceBuckets;
+        }
+
+        public int getMaxPriceBuckets() {
+            return maxPriceBuckets;
+        }
+
+        public void setMaxPriceBuckets(int maxPriceBuckets) {
+            this.maxPriceBuckets = maxPriceBuckets;
+        }
+    }
+
+    /**
+     * Loading of {@link store.domain.Products} by id list, see {@code /api/products/_mget}.
+     */
+    public static class MultiGet {
+
+        private int maxIds = 1000;
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+
+    /**
+     * Cache of {@link store.domain.Products} query results, see {@link store.service.ProductsQueryCache}.
+     */
+    public static class QueryCache {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Coalescing of identical concurrent {@link store.domain.Products} reads, see
+     * {@link store.service.coalescing.ProductsRequestCoalescer}.
+     */
+    public static class Coalescing {
+
+        private boolean enabled = true;
+
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Plain SQL execution of {@link store.domain.Products} criteria queries, see
+     * {@link store.service.sql.ProductsSqlExecutor}.
+     */
+    public static class CompiledSql {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Full-text index of the {@link store.domain.Products} names, see {@link store.service.search.ProductsFullTextIndex}.
+     */
+    public static class FullText {
+
+        private boolean enabled = false;
+
+        private String directory = "target/lucene/products";
+
+        private Duration refreshInterval = Duration.ofSeconds(1);
+
+        private Duration commitInterval = Duration.ofMinutes(1);
+
+        private String rebuildCron = "-";
+
+        private int rebuildBatchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getCommitInterval() {
+            return commitInterval;
+        }
+
+        public void setCommitInterval(Duration commitInterval) {
+            this.commitInterval = commitInterval;
+        }
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public int getRebuildBatchSize() {
+            return rebuildBatchSize;
+        }
+
+        public void setRebuildBatchSize(int rebuildBatchSize) {
+            this.rebuildBatchSize = rebuildBatchSize;
+        }
+    }
+
+    /**
+     * Prefix suggestions of {@link store.domain.Products} names, see {@link store.service.suggest.ProductsSuggester}.
+     */
+    public static class Suggest {
+
+        private boolean enabled = false;
+
+        private int topK = 10;
+
+        private SuggestionRanking ranking = SuggestionRanking.HIGHEST_PRICE;
+
+        private String rebuildCron = "-";
+
+        private int rebuildBatchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTopK() {
+            return topK;
+        }
+
+        public void setTopK(int topK) {
+            this.topK = topK;
+        }
+
+        public SuggestionRanking getRanking() {
+            return ranking;
+        }
+
+        public void setRanking(SuggestionRanking ranking) {
+            this.ranking = ranking;
+        }
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+
+        public int getRebuildBatchSize() {
+            return rebuildBatchSize;
+        }
+
+        public void setRebuildBatchSize(int rebuildBatchSize) {
+            this.rebuildBatchSize = rebuildBatchSize;
+        }
+    }
+
+    /**
+     * In-memory index of the {@link store.domain.Products} prices, see {@link store.service.catalog.ProductsPriceIndex}.
+     */
+    public static class PriceIndex {
+
+        private boolean enabled = false;
+
+        private int warmUpBatchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWarmUpBatchSize() {
+            return warmUpBatchSize;
+        }
+
+        public void setWarmUpBatchSize(int warmUpBatchSize) {
+            this.warmUpBatchSize = warmUpBatchSize;
+        }
+    }
+
+    /**
+     * Compressed bitmap index of the {@link store.domain.Products}, see {@link store.service.bitmap.ProductsBitmapIndex}.
+     */
+    public static class BitmapIndex {
+
+        private boolean enabled = false;
+
+        private int warmUpBatchSize = 1000;
+
+        private List<Double> priceBuckets = new ArrayList<>(
+            List.of(1d, 2d, 5d, 10d, 20d, 50d, 100d, 200d, 500d, 1000d, 2000d, 5000d, 10000d)
+        );
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWarmUpBatchSize() {
+            return warmUpBatchSize;
+        }
+
+        public void setWarmUpBatchSize(int warmUpBatchSize) {
+            this.warmUpBatchSize = warmUpBatchSize;
+        }
+
+        public List<Double> getPriceBuckets() {
+            return priceBuckets;
+        }
+
+        public void setPriceBuckets(List<Double> priceBuckets) {
+            this.priceBuckets = priceBuckets;
+        }
+    }
+
+    /**
+     * Incrementally maintained statistics of the {@link store.domain.Products} prices, see
+     * {@link store.service.catalog.ProductsPriceStatistics}.
+     */
+    public static class PriceStatistics {
+
+        private boolean enabled = false;
+
+        private int warmUpBatchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWarmUpBatchSize() {
+            return warmUpBatchSize;
+        }
+
+        public void setWarmUpBatchSize(int warmUpBatchSize) {
+            this.warmUpBatchSize = warmUpBatchSize;
+        }
+    }
+
+    /**
+     * View counts of the {@link store.domain.Products}, see {@link store.service.popularity.ProductsPopularityTracker}.
+     */
+    public static class Popularity {
+
+        private boolean enabled = false;
+
+        private Duration slotDuration = Duration.ofMinutes(1);
+
+        private int slots = 60;
+
+        private int sketchWidth = 4096;
+
+        private int sketchDepth = 4;
+
+        private int candidates = 256;
+
+        private int bufferSize = 65536;
+
+        private Duration drainInterval = Duration.ofSeconds(1);
+
+        private Duration flushInterval = Duration.ofMinutes(5);
+
+        private int flushSize = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlotDuration() {
+            return slotDuration;
+        }
+
+        public void setSlotDuration(Duration slotDuration) {
+            this.slotDuration = slotDuration;
+        }
+
+        public int getSlots() {
+            return slots;
+        }
+
+        public void setSlots(int slots) {
+            this.slots = slots;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public void setSketchWidth(int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+        }
+
+        public int getSketchDepth() {
+            return sketchDepth;
+        }
+
+        public void setSketchDepth(int sketchDepth) {
+            this.sketchDepth = sketchDepth;
+        }
+
+        public int getCandidates() {
+            return candidates;
+        }
+
+        public void setCandidates(int candidates) {
+            this.candidates = candidates;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Duration getDrainInterval() {
+            return drainInterval;
+        }
+
+        public void setDrainInterval(Duration drainInterval) {
+            this.drainInterval = drainInterval;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getFlushSize() {
+            return flushSize;
+        }
+
+        public void setFlushSize(int flushSize) {
+            this.flushSize = flushSize;
+        }
+    }
+
+    /**
+     * Pre-serialized JSON of the {@link store.domain.Products}, see {@link store.web.rest.converter.ProductsJsonCache}.
+     */
+    public static class JsonCache {
+
+        private boolean enabled = true;
+
+        private int maxEntries = 100000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Delta synchronization of the {@link store.domain.Products}, see {@link store.service.ProductsService#findChanges}.
+     */
+    public static class Changes {
+
+        private int defaultLimit = 100;
+
+        private int maxLimit = 1000;
+
+        private final ConnectionPool allocationPool = new ConnectionPool(2, Duration.ofSeconds(30));
+
+        private Duration pendingTimeout = Duration.ofMinutes(10);
+
+        public int getDefaultLimit() {
+            return defaultLimit;
+        }
+
+        public void setDefaultLimit(int defaultLimit) {
+            this.defaultLimit = defaultLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public ConnectionPool getAllocationPool() {
+            return allocationPool;
+        }
+
+        public Duration getPendingTimeout() {
+            return pendingTimeout;
+        }
+
+        public void setPendingTimeout(Duration pendingTimeout) {
+            this.pendingTimeout = pendingTimeout;
+        }
+    }
+
+    /**
+     * Live stream of the {@link store.domain.Products} changes, see {@link store.service.stream.ProductsChangeStream}.
+     */
+    public static class ChangeStream {
+
+        private Duration tick = Duration.ofSeconds(1);
+
+        private Duration sseTimeout = Duration.ofMinutes(30);
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public Duration getSseTimeout() {
+            return sseTimeout;
+        }
+
+        public void setSseTimeout(Duration sseTimeout) {
+            this.sseTimeout = sseTimeout;
+        }
+    }
+
+    /**
+     * Streaming export of the {@link store.domain.Products}, see {@link store.service.ProductsExportService}.
+     */
+    public static class Export {
+
+        private final ConnectionPool pool = new ConnectionPool(2, Duration.ofSeconds(1));
+
+        private int fetchSize = 1000;
+
+        private int flushRows = 1000;
+
+        public ConnectionPool getPool() {
+            return pool;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getFlushRows() {
+            return flushRows;
+        }
+
+        public void setFlushRows(int flushRows) {
+            this.flushRows = flushRows;
+        }
+    }
+
+    /**
+     * A connection pool of its own, to the {@code spring.datasource} database, see
+     * {@link ConnectionPoolConfiguration}.
+     */
+    public static class ConnectionPool {
+
+        private int maximumPoolSize;
+
+        private Duration connectionTimeout;
+
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        private Duration maxLifetime = Duration.ofMinutes(30);
+
+        private Map<String, String> dataSourceProperties = new HashMap<>();
+
+        ConnectionPool(int maximumPoolSize, Duration connectionTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public Duration getMaxLifetime() {
+            return maxLifetime;
+        }
+
+        public void setMaxLifetime(Duration maxLifetime) {
+            this.maxLifetime = maxLifetime;
+        }
+
+        public Map<String, String> getDataSourceProperties() {
+            return dataSourceProperties;
+        }
+
+        public void setDataSourceProperties(Map<String, String> dataSourceProperties) {
+            this.dataSourceProperties = dataSourceProperties;
+        }
+    }
+    /**
+     * Binary snapshot of the {@link store.domain.Products} catalog, loaded at startup instead of warming up from the
+     * database, see {@link store.service.snapshot.ProductsSnapshotService}.
+     */
+    public static class Snapshot {
+
+        private boolean enabled = false;
+
+        private String file = "target/snapshot/products.snapshot";
+
+        private Duration interval = Duration.ofMinutes(10);
+
+        private boolean seedCache = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public boolean isSeedCache() {
+            return seedCache;
+        }
+
+        public void setSeedCache(boolean seedCache) {
+            this.seedCache = seedCache;
+        }
+    }
+
+    /**
+     * Read replicas of the database, serving the read-only transactions, see {@link ReadWriteRoutingDataSource}.
+     */
+    public static class ReadReplicas {
+
+        private boolean enabled = false;
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+        private String lagQuery = "SHOW SLAVE STATUS";
+
+        private String lagColumn = "Seconds_Behind_Master";
+
+        private Duration stickiness = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public String getLagColumn() {
+            return lagColumn;
+        }
+
+        public void setLagColumn(String lagColumn) {
+            this.lagColumn = lagColumn;
+        }
+
+        public Duration getStickiness() {
+            return stickiness;
+        }
+
+        public void setStickiness(Duration stickiness) {
+            this.stickiness = stickiness;
+        }
+
+        /**
+         * A replica; its pool has the settings of {@code spring.datasource.hikari}, and the credentials of
+         * {@code spring.datasource} unless it has its own.
+         */
+        public static class Replica {
+
+            private String name;
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
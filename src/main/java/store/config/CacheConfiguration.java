@@ -49,6 +49,8 @@ public class CacheConfiguration {
             createCache(cm, store.domain.Authority.class.getName());
             createCache(cm, store.domain.User.class.getName() + ".authorities");
             createCache(cm, store.domain.Products.class.getName());
+            createCache(cm, store.service.ProductsCountService.COUNT_BY_CRITERIA_CACHE);
+            createCache(cm, store.service.ProductsQueryCache.QUERY_RESULTS_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -0,0 +1,68 @@
+package store.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import store.repository.DedicatedConnectionPool;
+
+/**
+ * The {@link DedicatedConnectionPool}s, to the {@code spring.datasource} database, each with its own
+ * {@link ApplicationProperties.ConnectionPool} settings, pool name and Hikari metrics. They are injected by bean name.
+ */
+@Configuration
+public class ConnectionPoolConfiguration {
+
+    @Bean
+    public DedicatedConnectionPool exportConnectionPool(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = dataSource("Export", dataSourceProperties, applicationProperties.getExport().getPool(), meterRegistry);
+        dataSource.setReadOnly(true);
+        return new DedicatedConnectionPool(dataSource);
+    }
+
+    @Bean
+    public DedicatedConnectionPool changeSequenceConnectionPool(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new DedicatedConnectionPool(
+            dataSource("ChangeSequence", dataSourceProperties, applicationProperties.getChanges().getAllocationPool(), meterRegistry)
+        );
+    }
+
+    /**
+     * Build a pool with the connection settings of {@code spring.datasource}, and its own sizing and timeouts.
+     * <p>
+     * It is created with setters, so that no connection is opened before it is first used, and its connections are
+     * not in auto-commit mode, like the ones of the application pool.
+     */
+    static HikariDataSource dataSource(
+        String poolName,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties.ConnectionPool pool,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(dataSourceProperties.determineUrl());
+        dataSource.setUsername(dataSourceProperties.determineUsername());
+        dataSource.setPassword(dataSourceProperties.determinePassword());
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        dataSource.setIdleTimeout(pool.getIdleTimeout().toMillis());
+        dataSource.setMaxLifetime(pool.getMaxLifetime().toMillis());
+        dataSource.setAutoCommit(false);
+        pool.getDataSourceProperties().forEach(dataSource::addDataSourceProperty);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,20 @@
+package store.config;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import store.web.rest.criteria.CriteriaArgumentResolver;
+import store.web.rest.criteria.CriteriaBindings;
+
+/**
+ * Configure the binding of criteria classes from request parameters, see {@link CriteriaArgumentResolver}.
+ */
+@Configuration
+public class CriteriaBindingConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CriteriaArgumentResolver(CriteriaBindings.all()));
+    }
+}
@@ -1,16 +1,37 @@
 package store.config;
 
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.StandardSQLFunction;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.type.StandardBasicTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import store.repository.SliceableJpaRepository;
 import tech.jhipster.config.JHipsterConstants;
 
 @Configuration
-@EnableJpaRepositories({ "store.repository" })
+@EnableJpaRepositories(value = { "store.repository" }, repositoryBaseClass = SliceableJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Register the SQL aggregates used by the Criteria queries which the dialect does not know, as a function missing
+     * from the dialect cannot be selected.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlFunctionsCustomizer() {
+        return properties ->
+            properties.put(
+                JpaSettings.METADATA_BUILDER_CONTRIBUTOR,
+                (MetadataBuilderContributor) builder ->
+                    builder.applySqlFunction("var_pop", new StandardSQLFunction("var_pop", StandardBasicTypes.DOUBLE))
+            );
+    }
+}
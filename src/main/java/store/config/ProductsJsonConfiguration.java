@@ -0,0 +1,37 @@
+package store.config;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import store.web.rest.converter.ProductsJsonCache;
+import store.web.rest.converter.ProductsJsonHttpMessageConverter;
+
+/**
+ * Configure the cached JSON representation of the products, see {@link ProductsJsonHttpMessageConverter}.
+ * <p>
+ * The converter is added just before the Jackson one, so it is chosen for the products and leaves it everything else.
+ */
+@Configuration
+public class ProductsJsonConfiguration implements WebMvcConfigurer {
+
+    private final ProductsJsonCache productsJsonCache;
+
+    public ProductsJsonConfiguration(ProductsJsonCache productsJsonCache) {
+        this.productsJsonCache = productsJsonCache;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (!productsJsonCache.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                converters.add(i, new ProductsJsonHttpMessageConverter(productsJsonCache));
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package store.config;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Add {@code Vary: Accept} to the products responses, which are written as JSON, Smile, CBOR or protobuf depending on
+ * the {@code Accept} header, so that caches keep one entry per representation.
+ * <p>
+ * The header is added before the handler runs, so that {@code 304 (Not Modified)} responses carry it as well.
+ */
+@Configuration
+public class ProductsVaryConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+            .addInterceptor(
+                new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                        return true;
+                    }
+                }
+            )
+            .addPathPatterns("/api/products", "/api/products/**");
+    }
+}
@@ -0,0 +1,22 @@
+package store.config;
+
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import store.web.rest.converter.ProductsProtobufHttpMessageConverter;
+
+/**
+ * Configure the {@code application/x-protobuf} representation of the products, see
+ * {@link ProductsProtobufHttpMessageConverter}.
+ * <p>
+ * The converter is added after the others, so requests accepting any media type keep getting JSON.
+ */
+@Configuration
+public class ProtobufConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProductsProtobufHttpMessageConverter());
+    }
+}
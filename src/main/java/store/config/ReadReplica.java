@@ -0,0 +1,85 @@
+package store.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read replica of the database, with its own connection pool and its last measured replication lag.
+ */
+final class ReadReplica {
+
+    private final Logger log = LoggerFactory.getLogger(ReadReplica.class);
+
+    private final String name;
+
+    private final HikariDataSource dataSource;
+
+    // unknown until measured, which keeps the replica out of the rotation
+    private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+    ReadReplica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * @return the replication lag in seconds, infinite when it is unknown or replication is stopped.
+     */
+    double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * @return the connections in use or waited for, the outstanding requests of the replica.
+     */
+    int getOutstanding() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+
+    /**
+     * Measure the replication lag.
+     *
+     * @param query the query giving the lag in seconds; no row means that the database does not replicate, so has no lag.
+     * @param column the column of the lag.
+     */
+    void checkLag(String query, String column) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                if (!resultSet.next()) {
+                    updateLag(0);
+                } else {
+                    long lag = resultSet.getLong(column);
+                    updateLag(resultSet.wasNull() ? Double.POSITIVE_INFINITY : lag);
+                }
+            }
+        } catch (SQLException e) {
+            if (lagSeconds != Double.POSITIVE_INFINITY) {
+                log.warn("Could not measure the lag of read replica {}, it is not used: {}", name, e.getMessage());
+            }
+            updateLag(Double.POSITIVE_INFINITY);
+        }
+    }
+
+    void updateLag(double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+    }
+
+    void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,95 @@
+package store.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Route the read-only transactions to the read replicas, see {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * The primary pool is built from {@code spring.datasource}, as Spring Boot would, and every replica gets a copy of its
+ * settings, with its own pool name and Hikari metrics. The application {@link DataSource} is the routing one, behind a
+ * {@link LazyConnectionDataSourceProxy}, so that Hibernate, Liquibase and the repositories all go through it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            dataSource.setPoolName(dataSourceProperties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ApplicationProperties applicationProperties) {
+        return new ReadYourWritesFilter(applicationProperties.getReadReplicas().getStickiness());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration(ReadYourWritesFilter readYourWritesFilter) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(readYourWritesFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties,
+        ReadYourWritesFilter readYourWritesFilter,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.ReadReplicas properties = applicationProperties.getReadReplicas();
+        List<ReadReplica> replicas = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ApplicationProperties.ReadReplicas.Replica replica : properties.getReplicas()) {
+            if (!StringUtils.hasText(replica.getName()) || !StringUtils.hasText(replica.getUrl())) {
+                throw new IllegalArgumentException("Every application.read-replicas.replicas entry needs a name and a url");
+            }
+            if (ReadWriteRoutingDataSource.PRIMARY.equals(replica.getName()) || !names.add(replica.getName())) {
+                throw new IllegalArgumentException("Reserved or duplicate read replica name: " + replica.getName());
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("Replica-" + replica.getName());
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+            }
+            config.setReadOnly(true);
+            // a replica which is down at startup is only left out until its lag can be measured
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReadReplica(replica.getName(), new HikariDataSource(config)));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties, readYourWritesFilter, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
@@ -0,0 +1,157 @@
+package store.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} sending the read-only transactions to the {@link ReadReplica}s, and everything else to the
+ * primary.
+ * <p>
+ * A read goes to the replica with the fewest outstanding connections among those lagging at most
+ * {@code application.read-replicas.max-lag} behind, or to the primary when there is none, or when the client wrote
+ * recently, see {@link ReadYourWritesFilter}, or when the request returns a validator of the writes committed on the
+ * primary, see {@link store.web.rest.util.ETagUtil#readFromPrimary}. The target is chosen when the connection is first used, so this data
+ * source must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, by which time
+ * the transaction is known to be read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReadReplica> replicas;
+
+    private final double maxLagSeconds;
+
+    private final ApplicationProperties.ReadReplicas properties;
+
+    private final ReadYourWritesFilter readYourWrites;
+
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    private final Counter stickyReads;
+
+    private final Counter laggingReads;
+
+    private final Counter pinnedReads;
+
+    private final TransactionSynchronization markWritten = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            readYourWrites.written();
+        }
+    };
+
+    ReadWriteRoutingDataSource(
+        DataSource primary,
+        List<ReadReplica> replicas,
+        ApplicationProperties.ReadReplicas properties,
+        ReadYourWritesFilter readYourWrites,
+        MeterRegistry meterRegistry
+    ) {
+        this.replicas = replicas;
+        this.properties = properties;
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000d;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReadReplica replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), readCounter(meterRegistry, replica.getName(), "replica"));
+            Gauge
+                .builder("datasource.replica.lag", replica, ReadReplica::getLagSeconds)
+                .description("Replication lag of the read replica, infinite when unknown")
+                .baseUnit("seconds")
+                .tag("replica", replica.getName())
+                .register(meterRegistry);
+        }
+        this.stickyReads = readCounter(meterRegistry, PRIMARY, "sticky");
+        this.laggingReads = readCounter(meterRegistry, PRIMARY, "lag");
+        this.pinnedReads = readCounter(meterRegistry, PRIMARY, "pinned");
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+        checkLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(markWritten);
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        if (readYourWrites.isPinned()) {
+            pinnedReads.increment();
+            return PRIMARY;
+        }
+        ReadReplica replica = leastOutstanding();
+        if (replica == null) {
+            laggingReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.get(replica.getName()).increment();
+        return replica.getName();
+    }
+
+    /**
+     * @return the replica with the fewest outstanding connections and an acceptable lag, ties going round-robin.
+     */
+    ReadReplica leastOutstanding() {
+        int size = replicas.size();
+        int start = Math.floorMod(rotation.getAndIncrement(), Math.max(size, 1));
+        ReadReplica best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ReadReplica replica = replicas.get((start + i) % size);
+            if (replica.getLagSeconds() <= maxLagSeconds) {
+                int outstanding = replica.getOutstanding();
+                if (outstanding < bestOutstanding) {
+                    best = replica;
+                    bestOutstanding = outstanding;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Measure the lag of every replica, every {@code application.read-replicas.lag-check-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.read-replicas.lag-check-interval:PT1S}")
+    public void checkLag() {
+        for (ReadReplica replica : replicas) {
+            replica.checkLag(properties.getLagQuery(), properties.getLagColumn());
+        }
+    }
+
+    public void close() {
+        replicas.forEach(ReadReplica::close);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter
+            .builder("datasource.reads")
+            .description("Read-only transactions by target database")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,106 @@
+package store.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+import store.web.rest.util.ETagUtil;
+
+/**
+ * Filter keeping the reads of a client on the primary database for a while after it wrote, so that it reads its own
+ * writes whatever the replication lag.
+ * <p>
+ * The end of the window is kept for the current request, and sent back to the client in a cookie, so that its next
+ * requests, on any node, stay on the primary until then.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-until";
+
+    private final ThreadLocal<Window> current = new ThreadLocal<>();
+
+    private final Duration stickiness;
+
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        current.set(new Window(request, response, primaryUntil(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * @return {@code true} if the reads of the current request must go to the primary.
+     */
+    boolean isSticky() {
+        Window window = current.get();
+        return window != null && window.primaryUntil > System.currentTimeMillis();
+    }
+
+    /**
+     * @return {@code true} if the current request asked for its reads to go to the primary, see
+     * {@link ETagUtil#readFromPrimary}.
+     */
+    boolean isPinned() {
+        Window window = current.get();
+        return window != null && Boolean.TRUE.equals(window.request.getAttribute(ETagUtil.PRIMARY_READS_ATTRIBUTE));
+    }
+
+    /**
+     * Open the window of the current request, after a write was committed.
+     */
+    void written() {
+        Window window = current.get();
+        if (window == null) {
+            return;
+        }
+        window.primaryUntil = System.currentTimeMillis() + stickiness.toMillis();
+        if (!window.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(window.primaryUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+            window.response.addCookie(cookie);
+        }
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            // never longer than a window opened now, whatever the client sends
+            return Math.min(Long.parseLong(cookie.getValue()), System.currentTimeMillis() + stickiness.toMillis());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Window {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private long primaryUntil;
+
+        private Window(HttpServletRequest request, HttpServletResponse response, long primaryUntil) {
+            this.request = request;
+            this.response = response;
+            this.primaryUntil = primaryUntil;
+        }
+    }
+}
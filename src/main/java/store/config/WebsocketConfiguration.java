@@ -5,6 +5,7 @@ import java.util.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.server.*;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,6 +14,7 @@ import org.springframework.web.socket.config.annotation.*;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import store.security.AuthoritiesConstants;
+import store.web.websocket.ProductsChangeInterceptor;
 import tech.jhipster.config.JHipsterProperties;
 
 @Configuration
@@ -23,6 +25,8 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ProductsChangeInterceptor productsChangeInterceptor = new ProductsChangeInterceptor();
+
     public WebsocketConfiguration(JHipsterProperties jHipsterProperties) {
         this.jHipsterProperties = jHipsterProperties;
     }
@@ -32,6 +36,16 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
         config.enableSimpleBroker("/topic");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(productsChangeInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(productsChangeInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         String[] allowedOrigins = Optional
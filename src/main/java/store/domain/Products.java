@@ -1,5 +1,6 @@
 package store.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -30,6 +31,22 @@ public class Products implements Serializable {
     @Column(name = "artical_price", nullable = false)
     private Double articalPrice;
 
+    /**
+     * Optimistic locking version, exposed to clients as the ETag of the product rather than in its body.
+     */
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Position of the last write of the product in the catalog change sequence, assigned by
+     * {@link store.service.changes.ProductsChangeSequenceListener} on every insert and update.
+     */
+    @JsonIgnore
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -71,6 +88,32 @@ public class Products implements Serializable {
         this.articalPrice = articalPrice;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Products version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getChangeSeq() {
+        return this.changeSeq;
+    }
+
+    public Products changeSeq(Long changeSeq) {
+        this.setChangeSeq(changeSeq);
+        return this;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
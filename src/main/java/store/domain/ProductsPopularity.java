@@ -0,0 +1,133 @@
+package store.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * The number of views of a {@link Products} during a time window, as flushed by
+ * {@link store.service.popularity.ProductsPopularityTracker}. Only the most viewed products of each window are kept.
+ */
+@Entity
+@Table(name = "products_popularity")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductsPopularity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "products_id", nullable = false)
+    private Long productsId;
+
+    @NotNull
+    @Column(name = "window_start", nullable = false)
+    private Instant windowStart;
+
+    @NotNull
+    @Column(name = "window_end", nullable = false)
+    private Instant windowEnd;
+
+    @NotNull
+    @Column(name = "views", nullable = false)
+    private Long views;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductsPopularity id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductsId() {
+        return this.productsId;
+    }
+
+    public ProductsPopularity productsId(Long productsId) {
+        this.setProductsId(productsId);
+        return this;
+    }
+
+    public void setProductsId(Long productsId) {
+        this.productsId = productsId;
+    }
+
+    public Instant getWindowStart() {
+        return this.windowStart;
+    }
+
+    public ProductsPopularity windowStart(Instant windowStart) {
+        this.setWindowStart(windowStart);
+        return this;
+    }
+
+    public void setWindowStart(Instant windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public Instant getWindowEnd() {
+        return this.windowEnd;
+    }
+
+    public ProductsPopularity windowEnd(Instant windowEnd) {
+        this.setWindowEnd(windowEnd);
+        return this;
+    }
+
+    public void setWindowEnd(Instant windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public Long getViews() {
+        return this.views;
+    }
+
+    public ProductsPopularity views(Long views) {
+        this.setViews(views);
+        return this;
+    }
+
+    public void setViews(Long views) {
+        this.views = views;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductsPopularity)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductsPopularity) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsPopularity{" +
+            "id=" + getId() +
+            ", productsId=" + getProductsId() +
+            ", windowStart='" + getWindowStart() + "'" +
+            ", windowEnd='" + getWindowEnd() + "'" +
+            ", views=" + getViews() +
+            "}";
+    }
+}
@@ -0,0 +1,80 @@
+package store.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+/**
+ * The deletion of a {@link Products}, kept so that delta synchronization can tell clients to drop it. It is written by
+ * {@link store.service.changes.ProductsChangeSequenceListener}, in the transaction deleting the product.
+ */
+@Entity
+@Table(name = "products_tombstone")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductsTombstone implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The id of the deleted products.
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductsTombstone id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getChangeSeq() {
+        return this.changeSeq;
+    }
+
+    public ProductsTombstone changeSeq(Long changeSeq) {
+        this.setChangeSeq(changeSeq);
+        return this;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductsTombstone)) {
+            return false;
+        }
+        return id != null && id.equals(((ProductsTombstone) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsTombstone{" +
+            "id=" + getId() +
+            ", changeSeq=" + getChangeSeq() +
+            "}";
+    }
+}
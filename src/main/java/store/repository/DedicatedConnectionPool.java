@@ -0,0 +1,38 @@
+package store.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A connection pool of its own, to the application database, for work which must neither wait for the connections of
+ * the requests nor take them, such as long exports or the statements run outside of the current transaction.
+ * <p>
+ * It is deliberately not a {@link javax.sql.DataSource} bean, which would replace the application one. The pools are
+ * declared in {@code store.config.ConnectionPoolConfiguration}, and closed with the application context.
+ */
+public final class DedicatedConnectionPool implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+
+    public DedicatedConnectionPool(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return a connection of the pool, to be closed by the caller.
+     * @throws java.sql.SQLTransientConnectionException if none becomes available within the connection timeout.
+     */
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,40 @@
+package store.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import store.domain.Products;
+
+/**
+ * Aggregations over {@link Products}, implemented by {@link ProductsFacetRepositoryImpl}.
+ */
+public interface ProductsFacetRepository {
+    /**
+     * Count the products matching a {@link Specification} in each price bucket, in a single query.
+     * <p>
+     * For boundaries {@code b0 < b1 < ... < bk}, the buckets are {@code (-inf, b0)}, {@code [b0, b1)}, ...,
+     * {@code [bk, +inf)}, so the counts add up to the total number of matching products.
+     *
+     * @param specification the filter, can be {@literal null}.
+     * @param boundaries the strictly increasing bucket boundaries.
+     * @return the {@code boundaries.length + 1} bucket counts.
+     */
+    long[] countByPriceBuckets(Specification<Products> specification, double[] boundaries);
+
+    /**
+     * Summarize the prices of the products matching a {@link Specification}, in a single query.
+     *
+     * @param specification the filter, can be {@literal null}.
+     * @return the count, sum, lowest price, highest price and population variance of the prices, in that order; the
+     * extremes are {@code NaN} if no product matches.
+     */
+    double[] summarizePrices(Specification<Products> specification);
+
+    /**
+     * Read the prices of the products at the given ranks, in increasing price order.
+     * <p>
+     * All ranks are read with a single query, numbering the products in one walk of the price index.
+     *
+     * @param ranks the 0-based ranks, lower than the number of products.
+     * @return the price at each rank.
+     */
+    double[] findPricesAtRanks(long[] ranks);
+}
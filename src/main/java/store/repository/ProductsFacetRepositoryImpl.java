@@ -0,0 +1,115 @@
+package store.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import store.domain.Products;
+import store.domain.Products_;
+
+/**
+ * Criteria API implementation of {@link ProductsFacetRepository}.
+ */
+public class ProductsFacetRepositoryImpl implements ProductsFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long[] countByPriceBuckets(Specification<Products> specification, double[] boundaries) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Products> root = query.from(Products.class);
+        Expression<Double> price = root.get(Products_.articalPrice);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (int bucket = 0; bucket <= boundaries.length; bucket++) {
+            Predicate inBucket = cb.conjunction();
+            if (bucket > 0) {
+                inBucket = cb.and(inBucket, cb.greaterThanOrEqualTo(price, boundaries[bucket - 1]));
+            }
+            if (bucket < boundaries.length) {
+                inBucket = cb.and(inBucket, cb.lessThan(price, boundaries[bucket]));
+            }
+            selections.add(cb.sum(cb.<Long>selectCase().when(inBucket, 1L).otherwise(0L)));
+        }
+        query.multiselect(selections);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+        long[] counts = new long[boundaries.length + 1];
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            Number count = (Number) tuple.get(bucket);
+            counts[bucket] = count == null ? 0 : count.longValue();
+        }
+        return counts;
+    }
+
+    @Override
+    public double[] summarizePrices(Specification<Products> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Products> root = query.from(Products.class);
+        Expression<Double> price = root.get(Products_.articalPrice);
+        // computed by the database, as the difference of two large sums would lose the precision of a small variance,
+        // see DatabaseConfiguration for the registration of var_pop
+        Expression<Double> variance = cb.function("var_pop", Double.class, price);
+        query.multiselect(cb.count(root), cb.sum(price), cb.min(price), cb.max(price), variance);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+        double[] summary = new double[5];
+        for (int i = 0; i < summary.length; i++) {
+            Number value = (Number) tuple.get(i);
+            // aggregates other than count are null over no rows
+            summary[i] = value != null ? value.doubleValue() : i == 2 || i == 3 ? Double.NaN : 0;
+        }
+        return summary;
+    }
+
+    @Override
+    public double[] findPricesAtRanks(long[] ranks) {
+        Set<Long> distinctRanks = new HashSet<>();
+        for (long rank : ranks) {
+            distinctRanks.add(rank);
+        }
+        // numbered by a single ordered walk of the price index, rather than one offset query per rank
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager
+            .createNativeQuery(
+                "select r.price_rank, r.artical_price from (" +
+                "select artical_price, row_number() over (order by artical_price) - 1 as price_rank from products" +
+                ") r where r.price_rank in (:ranks)"
+            )
+            .setParameter("ranks", distinctRanks)
+            .getResultList();
+        Map<Long, Double> pricesByRank = new HashMap<>();
+        for (Object[] row : rows) {
+            pricesByRank.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        double[] prices = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            prices[i] = pricesByRank.get(ranks[i]);
+        }
+        return prices;
+    }
+}
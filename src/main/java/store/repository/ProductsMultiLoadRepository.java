@@ -0,0 +1,21 @@
+package store.repository;
+
+import java.util.List;
+import store.domain.Products;
+
+/**
+ * Batched loading of {@link Products} by id, implemented by {@link ProductsMultiLoadRepositoryImpl}.
+ */
+public interface ProductsMultiLoadRepository {
+    /**
+     * Load products by id, from the second-level cache when they are there and with a single batched query for the
+     * others.
+     * <p>
+     * Unlike {@code findAllById}, which always queries with an {@code id in (...)} clause, cached products are not
+     * read from the database again, and the products read from the database are put in the cache.
+     *
+     * @param ids the ids of the products, without duplicates.
+     * @return the products in the order of {@code ids}, with {@literal null} for the ids which do not exist.
+     */
+    List<Products> multiLoad(List<Long> ids);
+}
@@ -0,0 +1,58 @@
+package store.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
+import store.domain.Products;
+
+/**
+ * Hibernate implementation of {@link ProductsMultiLoadRepository}.
+ */
+@Transactional(readOnly = true)
+public class ProductsMultiLoadRepositoryImpl implements ProductsMultiLoadRepository {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsMultiLoadRepositoryImpl.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Products> multiLoad(List<Long> ids) {
+        Session session = entityManager.unwrap(Session.class);
+        Cache cache = session.getSessionFactory().getCache();
+        Map<Long, Products> loaded = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (cache.containsEntity(Products.class, id)) {
+                // resolved from the second-level cache, without a query
+                Products products = session.get(Products.class, id);
+                if (products != null) {
+                    loaded.put(id, products);
+                    continue;
+                }
+            }
+            misses.add(id);
+        }
+        log.debug("Multi-load of {} Products: {} from the second-level cache", ids.size(), ids.size() - misses.size());
+        if (!misses.isEmpty()) {
+            for (Products products : session.byMultipleIds(Products.class).enableOrderedReturn(false).multiLoad(misses)) {
+                if (products != null) {
+                    loaded.put(products.getId(), products);
+                }
+            }
+        }
+        List<Products> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(loaded.get(id));
+        }
+        return result;
+    }
+}
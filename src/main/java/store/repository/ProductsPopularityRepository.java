@@ -0,0 +1,12 @@
+package store.repository;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+import store.domain.ProductsPopularity;
+
+/**
+ * Spring Data JPA repository for the ProductsPopularity entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ProductsPopularityRepository extends JpaRepository<ProductsPopularity, Long> {}
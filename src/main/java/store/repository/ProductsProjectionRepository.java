@@ -0,0 +1,26 @@
+package store.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import store.domain.Products;
+
+/**
+ * Projections of {@link Products}, implemented by {@link ProductsProjectionRepositoryImpl}.
+ */
+public interface ProductsProjectionRepository {
+    /**
+     * Return a {@link Slice} of the products matching a {@link Specification}, reduced to some of their attributes.
+     * <p>
+     * Only the requested columns are selected and no entity is hydrated, so nothing is added to the persistence
+     * context or the second-level cache.
+     *
+     * @param specification the filter, can be {@literal null}.
+     * @param pageable the page, which should be returned.
+     * @param attributes the names of the attributes to select, see {@link store.domain.Products_}.
+     * @return the matching rows, as maps from attribute name to value in the order of {@code attributes}.
+     */
+    Slice<Map<String, Object>> findProjectedSlice(Specification<Products> specification, Pageable pageable, Collection<String> attributes);
+}
@@ -1,6 +1,10 @@
 package store.repository;
 
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import store.domain.Products;
 
@@ -9,4 +13,19 @@ import store.domain.Products;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductsRepository extends JpaRepository<Products, Long>, JpaSpecificationExecutor<Products> {}
+public interface ProductsRepository
+    extends
+        JpaRepository<Products, Long>,
+        JpaSpecificationExecutor<Products>,
+        SliceSpecificationExecutor<Products>,
+        ProductsFacetRepository,
+        ProductsProjectionRepository,
+        ProductsMultiLoadRepository {
+    /**
+     * Read the version of a product without loading it, to answer conditional requests.
+     */
+    @Query("select products.version from Products products where products.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    List<Products> findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeq(Long after, Long before, Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package store.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import store.domain.ProductsTombstone;
+
+/**
+ * Spring Data JPA repository for the ProductsTombstone entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface ProductsTombstoneRepository extends JpaRepository<ProductsTombstone, Long> {
+    List<ProductsTombstone> findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeq(Long after, Long before, Pageable pageable);
+
+    /**
+     * Find the lowest change sequence number taken by a write whose transaction has not ended yet, see
+     * {@link store.service.changes.ProductsChangeSequenceListener}.
+     */
+    @Query(value = "select min(seq) from products_change_pending where allocated_at > :allocatedAfter", nativeQuery = true)
+    Optional<Long> findLowestPendingChangeSeq(@Param("allocatedAfter") long allocatedAfter);
+}
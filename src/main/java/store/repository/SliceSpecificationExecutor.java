@@ -0,0 +1,26 @@
+package store.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+/**
+ * Repository fragment returning count-free {@link Slice}s for a {@link Specification}.
+ * <p>
+ * It is implemented by {@link SliceableJpaRepository}, the base class of every repository.
+ */
+@NoRepositoryBean
+public interface SliceSpecificationExecutor<T> {
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}.
+     * <p>
+     * One more row than the page size is fetched to tell whether a next slice exists, and no count query is run.
+     *
+     * @param spec can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+}
@@ -0,0 +1,128 @@
+package store.service;
+
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.catalog.ProductsCatalogEngine;
+import store.service.catalog.ProductsEpoch;
+import store.service.catalog.ProductsRowCounter;
+import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+import store.service.pagination.CountAccuracy;
+import store.service.pagination.CountedPage;
+import store.service.pagination.TotalCount;
+
+/**
+ * Service for counting {@link Products} entities matching a {@link ProductsCriteria}, with a {@link CountAccuracy} policy.
+ * <ul>
+ * <li>{@link CountAccuracy#EXACT}: counted by the database on every request.</li>
+ * <li>{@link CountAccuracy#CACHED}: counted once per normalized criteria and {@link ProductsEpoch}, so any committed
+ * write invalidates every cached count.</li>
+ * <li>{@link CountAccuracy#ESTIMATED}: read from the {@link ProductsRowCounter} when the criteria match every product,
+ * cached otherwise.</li>
+ * </ul>
+ * The returned {@link TotalCount} tells which accuracy was actually obtained.
+ */
+@Service
+public class ProductsCountService {
+
+    public static final String COUNT_BY_CRITERIA_CACHE = "productsCountByCriteria";
+
+    private final Logger log = LoggerFactory.getLogger(ProductsCountService.class);
+
+    private final ProductsQueryService productsQueryService;
+
+    private final ProductsCatalogEngine productsCatalogEngine;
+
+    private final ProductsEpoch productsEpoch;
+
+    private final ProductsRowCounter productsRowCounter;
+
+    private final CacheManager cacheManager;
+
+    private final ApplicationProperties.Count properties;
+
+    public ProductsCountService(
+        ProductsQueryService productsQueryService,
+        ProductsCatalogEngine productsCatalogEngine,
+        ProductsEpoch productsEpoch,
+        ProductsRowCounter productsRowCounter,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productsQueryService = productsQueryService;
+        this.productsCatalogEngine = productsCatalogEngine;
+        this.productsEpoch = productsEpoch;
+        this.productsRowCounter = productsRowCounter;
+        this.cacheManager = cacheManager;
+        this.properties = applicationProperties.getCount();
+    }
+
+    /**
+     * @return the policy used when a request does not ask for one.
+     */
+    public CountAccuracy getDefaultPolicy() {
+        return properties.getDefaultPolicy();
+    }
+
+    /**
+     * Return the number of matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param policy The requested accuracy.
+     * @return the number of matching entities and its accuracy.
+     */
+    public TotalCount countByCriteria(ProductsCriteria criteria, CountAccuracy policy) {
+        log.debug("count by criteria : {}, policy: {}", criteria, policy);
+        if (policy == CountAccuracy.EXACT || productsCatalogEngine.isAvailable()) {
+            return new TotalCount(productsQueryService.countByCriteria(criteria), CountAccuracy.EXACT);
+        }
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+        if (policy == CountAccuracy.ESTIMATED && ProductsCriteriaNormalizer.isEmpty(normalized)) {
+            return new TotalCount(productsRowCounter.estimate(), CountAccuracy.ESTIMATED);
+        }
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(COUNT_BY_CRITERIA_CACHE));
+        // The epoch is read before counting: a count racing with a write is stored under the old epoch and never read
+        SimpleKey key = new SimpleKey(productsEpoch.current(), normalized);
+        Long cached = cache.get(key, Long.class);
+        if (cached != null) {
+            return new TotalCount(cached, CountAccuracy.CACHED);
+        }
+        long count = productsQueryService.countByCriteria(normalized);
+        cache.put(key, count);
+        return new TotalCount(count, CountAccuracy.EXACT);
+    }
+
+    /**
+     * Return a {@link CountedPage} of {@link Products} which matches the criteria.
+     * <p>
+     * Unless the policy is {@link CountAccuracy#EXACT}, the page is read as a {@link Slice} and its total comes from
+     * {@link #countByCriteria(ProductsCriteria, CountAccuracy)}. The total of the last page is always exact.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param policy The requested accuracy of the total.
+     * @return the matching entities and the accuracy of their total.
+     */
+    public CountedPage<Products> findByCriteria(ProductsCriteria criteria, Pageable page, CountAccuracy policy) {
+        if (policy == CountAccuracy.EXACT || productsCatalogEngine.isAvailable()) {
+            return new CountedPage<>(productsQueryService.findByCriteria(criteria, page), CountAccuracy.EXACT);
+        }
+        Slice<Products> slice = productsQueryService.findSliceByCriteria(criteria, page);
+        if (!slice.hasNext() && (slice.hasContent() || page.getOffset() == 0)) {
+            return new CountedPage<>(
+                new PageImpl<>(slice.getContent(), page, page.getOffset() + slice.getNumberOfElements()),
+                CountAccuracy.EXACT
+            );
+        }
+        TotalCount total = countByCriteria(criteria, policy);
+        return new CountedPage<>(new PageImpl<>(slice.getContent(), page, total.getValue()), total.getAccuracy());
+    }
+}
@@ -0,0 +1,318 @@
+package store.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.DedicatedConnectionPool;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Service streaming all the {@link Products} matching a {@link ProductsCriteria} as NDJSON or CSV, in constant memory.
+ * <p>
+ * Exports run on their own small {@link DedicatedConnectionPool}, a bulkhead which keeps long exports from starving the other
+ * requests of connections. Rows are read through a forward-only cursor in a single read-only transaction, written as
+ * they come, and the persistence context is cleared at every flush of the response.
+ */
+@Service
+public class ProductsExportService {
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the value is not a format extension.
+         */
+        public static Format fromValue(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown export format: " + value);
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ProductsExportService.class);
+
+    private final SessionFactory sessionFactory;
+
+    private final ProductsQueryService productsQueryService;
+
+    private final ObjectWriter productsWriter;
+
+    private final ApplicationProperties.Export properties;
+
+    private final DedicatedConnectionPool connectionPool;
+
+    public ProductsExportService(
+        EntityManagerFactory entityManagerFactory,
+        ProductsQueryService productsQueryService,
+        ObjectMapper objectMapper,
+        @Qualifier("exportConnectionPool") DedicatedConnectionPool connectionPool,
+        ApplicationProperties applicationProperties
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.productsQueryService = productsQueryService;
+        this.productsWriter = objectMapper.writerFor(Products.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.properties = applicationProperties.getExport();
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Start an export, taking a connection of the export pool.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param format the format of the export.
+     * @return the export, which must be written, or an empty {@link Optional} if all the connections of the export pool
+     * are taken by other exports.
+     */
+    public Optional<Export> open(ProductsCriteria criteria, Format format) {
+        log.debug("Request to export Products as {} by criteria: {}", format, criteria);
+        Specification<Products> specification = productsQueryService.createSpecification(criteria);
+        try {
+            return Optional.of(new Export(specification, format, connectionPool.getConnection()));
+        } catch (SQLTransientConnectionException e) {
+            log.warn("No connection available for a Products export: {}", e.getMessage());
+            return Optional.empty();
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Could not open a connection for a Products export", e);
+        }
+    }
+
+    /**
+     * An export holding its connection until it is written, or closed if it is never written.
+     */
+    public final class Export implements AutoCloseable {
+
+        private final Specification<Products> specification;
+
+        private final Format format;
+
+        private final Connection connection;
+
+        // the connection belongs to writeTo once it has started, and is released by whoever claims it first
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Export(Specification<Products> specification, Format format, Connection connection) {
+            this.specification = specification;
+            this.format = format;
+            this.connection = connection;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        /**
+         * Write the matching products, ordered by id, then release the connection.
+         *
+         * @param output the response body.
+         * @throws IOException if the response cannot be written.
+         * @throws IllegalStateException if the export was already written or closed.
+         */
+        public void writeTo(OutputStream output) throws IOException {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new IllegalStateException("The Products export was already written or closed");
+            }
+            long rows = 0;
+            try (Session session = sessionFactory.withOptions().connection(connection).openSession()) {
+                session.setDefaultReadOnly(true);
+                session.setCacheMode(CacheMode.IGNORE);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Products> query = cb.createQuery(Products.class);
+                Root<Products> root = query.from(Products.class);
+                Predicate predicate = specification.toPredicate(root, query, cb);
+                if (predicate != null) {
+                    query.where(predicate);
+                }
+                query.orderBy(cb.asc(root.get(Products_.id)));
+                RowWriter writer = format == Format.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output);
+                try (
+                    ScrollableResults results = session
+                        .createQuery(query)
+                        .setFetchSize(properties.getFetchSize())
+                        .setReadOnly(true)
+                        .setCacheMode(CacheMode.IGNORE)
+                        .scroll(ScrollMode.FORWARD_ONLY)
+                ) {
+                    while (results.next()) {
+                        writer.write((Products) results.get(0));
+                        if (++rows % properties.getFlushRows() == 0) {
+                            writer.flush();
+                            session.clear();
+                        }
+                    }
+                }
+                writer.finish();
+            } finally {
+                release();
+            }
+            log.debug("Exported {} Products as {}", rows, format);
+        }
+
+        /**
+         * Release the connection if the export was not written, such as when the request ended before the response
+         * body was written. Does nothing once {@link #writeTo} has started, as it releases the connection itself.
+         */
+        @Override
+        public void close() {
+            if (claimed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            try {
+                // nothing was written, ending the read-only transaction
+                connection.rollback();
+            } catch (SQLException e) {
+                log.debug("Could not end the transaction of a Products export: {}", e.getMessage());
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("Could not release the connection of a Products export", e);
+                }
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(Products products) throws IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, as written by the application {@link ObjectMapper}.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream output) throws IOException {
+            this.generator = productsWriter.createGenerator(output).setRootValueSeparator(new SerializedString(""));
+        }
+
+        @Override
+        public void write(Products products) throws IOException {
+            productsWriter.writeValue(generator, products);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line, names quoted when they hold a separator, a quote or a line break.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream output) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write("id,articalName,articalPrice\r\n");
+        }
+
+        @Override
+        public void write(Products products) throws IOException {
+            writer.write(String.valueOf(products.getId()));
+            writer.write(',');
+            writeName(products.getArticalName());
+            writer.write(',');
+            if (products.getArticalPrice() != null) {
+                writer.write(products.getArticalPrice().toString());
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeName(String name) throws IOException {
+            if (name == null) {
+                return;
+            }
+            if (name.indexOf(',') < 0 && name.indexOf('"') < 0 && name.indexOf('\n') < 0 && name.indexOf('\r') < 0) {
+                writer.write(name);
+                return;
+            }
+            writer.write('"');
+            writer.write(name.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
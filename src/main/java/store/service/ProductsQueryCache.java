@@ -0,0 +1,162 @@
+package store.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsEpoch;
+import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+
+/**
+ * Cache of {@link Products} query results, keyed by the normalized {@link ProductsCriteria} and {@link Pageable}.
+ * <p>
+ * Entries only hold the ids of the page and the total, and the rows are resolved through the {@link Products}
+ * second-level cache region, so an entity is cached once however many pages it appears in. Keys include the
+ * {@link ProductsEpoch}, so any committed write invalidates every entry.
+ * <p>
+ * Hits and misses are counted in the {@code products.query.cache} meter, tagged with the shape of the query (its
+ * filtered fields and sort) rather than with the entry, to keep the number of meters bounded.
+ */
+@Component
+public class ProductsQueryCache {
+
+    public static final String QUERY_RESULTS_CACHE = "productsQueryResults";
+
+    private static final String METER_NAME = "products.query.cache";
+
+    private final Logger log = LoggerFactory.getLogger(ProductsQueryCache.class);
+
+    private final ProductsRepository productsRepository;
+
+    private final ProductsEpoch productsEpoch;
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.QueryCache properties;
+
+    public ProductsQueryCache(
+        ProductsRepository productsRepository,
+        ProductsEpoch productsEpoch,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productsRepository = productsRepository;
+        this.productsEpoch = productsEpoch;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getQueryCache();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} from the cache, or from the loader on a miss.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param loader The database query, called with the normalized criteria on a miss.
+     * @return the matching entities.
+     */
+    public Page<Products> findByCriteria(
+        ProductsCriteria criteria,
+        Pageable page,
+        BiFunction<ProductsCriteria, Pageable, Page<Products>> loader
+    ) {
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+        Pageable pageable = page.isPaged() ? PageRequest.of(page.getPageNumber(), page.getPageSize(), page.getSort()) : page;
+        String shape = shape(normalized, pageable.getSort());
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(QUERY_RESULTS_CACHE));
+        // The epoch is read before loading: a result racing with a write is stored under the old epoch and never read
+        SimpleKey key = new SimpleKey(productsEpoch.current(), normalized, pageable);
+        Entry entry = cache.get(key, Entry.class);
+        if (entry != null) {
+            List<Products> content = resolve(entry.ids);
+            if (content != null) {
+                counter(shape, "hit").increment();
+                return new PageImpl<>(content, pageable, entry.total);
+            }
+            log.debug("Evicting query result with rows deleted since: {}", key);
+            cache.evict(key);
+        }
+        Page<Products> result = loader.apply(normalized, pageable);
+        // counted once the query succeeded, so that invalid sort properties do not create meters
+        counter(shape, "miss").increment();
+        cache.put(key, new Entry(result.getContent().stream().mapToLong(Products::getId).toArray(), result.getTotalElements()));
+        return result;
+    }
+
+    /**
+     * @return the rows in the order of the ids, or {@code null} if one of them does not exist anymore.
+     */
+    private List<Products> resolve(long[] ids) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        Arrays.stream(ids).forEach(idList::add);
+        List<Products> content = productsRepository.multiLoad(idList);
+        return content.stream().allMatch(Objects::nonNull) ? content : null;
+    }
+
+    private Counter counter(String shape, String result) {
+        return Counter.builder(METER_NAME).tag("shape", shape).tag("result", result).register(meterRegistry);
+    }
+
+    private static String shape(ProductsCriteria normalized, Sort sort) {
+        StringJoiner shape = new StringJoiner(",");
+        if (normalized.getId() != null) {
+            shape.add(Products_.ID);
+        }
+        if (normalized.getArticalName() != null) {
+            shape.add(Products_.ARTICAL_NAME);
+        }
+        if (normalized.getArticalPrice() != null) {
+            shape.add(Products_.ARTICAL_PRICE);
+        }
+        if (normalized.getOr() != null) {
+            shape.add("or");
+        }
+        if (normalized.getNot() != null) {
+            shape.add("not");
+        }
+        sort.forEach(order -> shape.add("sort:" + order.getProperty() + ":" + order.getDirection().name().toLowerCase(Locale.ROOT)));
+        return shape.length() == 0 ? "all" : shape.toString();
+    }
+
+    private static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] ids;
+
+        private final long total;
+
+        private Entry(long[] ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+    }
+}
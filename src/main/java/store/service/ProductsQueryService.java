@@ -1,18 +1,54 @@
 package store.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import store.config.ApplicationProperties;
 import store.domain.*; // for static metamodels
 import store.domain.Products;
 import store.repository.ProductsRepository;
+import store.service.bitmap.ProductsBitmapIndex;
+import store.service.catalog.PriceStatistics;
+import store.service.catalog.ProductsCatalogEngine;
+import store.service.catalog.ProductsColumns;
+import store.service.catalog.ProductsPriceIndex;
+import store.service.catalog.ProductsPriceStatistics;
+import store.service.coalescing.ProductsRequestCoalescer;
 import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+import store.service.dto.PriceBucketDTO;
+import store.service.dto.PricePercentileDTO;
+import store.service.dto.ProductsPriceStatisticsDTO;
+import store.service.dto.ProductsSearchResultDTO;
+import store.service.dto.ProductsSuggestionDTO;
+import store.service.pagination.KeysetCursor;
+import store.service.pagination.KeysetPage;
+import store.service.pagination.KeysetSpecification;
+import store.service.search.ProductsFullTextIndex;
+import store.service.sql.ProductsSqlExecutor;
+import store.service.suggest.ProductsSuggester;
 import tech.jhipster.service.QueryService;
 
 /**
@@ -20,17 +56,87 @@ import tech.jhipster.service.QueryService;
  * The main input is a {@link ProductsCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
  * It returns a {@link List} of {@link Products} or a {@link Page} of {@link Products} which fulfills the criteria.
+ * <p>
+ * When the {@link ProductsCatalogEngine} is available, queries are answered from memory. The query methods therefore
+ * only join an existing transaction, and the repository opens its own read-only transaction on the database path, so
+ * no connection is taken for in-memory answers.
+ * <p>
+ * Otherwise, pages of entities are looked up in the {@link ProductsQueryCache} when it is enabled, and identical
+ * concurrent database queries are coalesced by the {@link ProductsRequestCoalescer}. Pages and counts are read through
+ * the {@link ProductsSqlExecutor} when it is enabled.
+ * <p>
+ * Criteria may hold {@code or} and {@code not} groups of filters. The {@link ProductsBitmapIndex} evaluates any criteria
+ * without the database when it is available, after the {@link ProductsPriceIndex} had its chance on price ranges.
  */
 @Service
 @Transactional(readOnly = true)
 public class ProductsQueryService extends QueryService<Products> {
 
+    /**
+     * The percentiles of {@link #findPricePercentiles} when none are requested.
+     */
+    public static final List<Double> DEFAULT_PRICE_PERCENTILES = List.of(25d, 50d, 75d, 90d, 99d);
+
+    private static final int MAX_PRICE_PERCENTILES = 100;
+
+    /**
+     * The fields of {@link Products} which can be requested with {@link #findProjectedSliceByCriteria}.
+     */
+    public static final List<String> PROJECTABLE_FIELDS = List.of(Products_.ID, Products_.ARTICAL_NAME, Products_.ARTICAL_PRICE);
+
     private final Logger log = LoggerFactory.getLogger(ProductsQueryService.class);
 
     private final ProductsRepository productsRepository;
 
-    public ProductsQueryService(ProductsRepository productsRepository) {
+    private final ProductsCatalogEngine productsCatalogEngine;
+
+    private final ProductsPriceIndex productsPriceIndex;
+
+    private final ProductsBitmapIndex productsBitmapIndex;
+
+    private final ProductsPriceStatistics productsPriceStatistics;
+
+    private final ProductsQueryCache productsQueryCache;
+
+    private final ProductsRequestCoalescer productsRequestCoalescer;
+
+    private final ProductsSqlExecutor productsSqlExecutor;
+
+    private final ProductsFullTextIndex productsFullTextIndex;
+
+    private final ProductsSuggester productsSuggester;
+
+    private final ApplicationProperties.Search searchProperties;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductsQueryService(
+        ProductsRepository productsRepository,
+        ProductsCatalogEngine productsCatalogEngine,
+        ProductsPriceIndex productsPriceIndex,
+        ProductsBitmapIndex productsBitmapIndex,
+        ProductsPriceStatistics productsPriceStatistics,
+        ProductsQueryCache productsQueryCache,
+        ProductsRequestCoalescer productsRequestCoalescer,
+        ProductsSqlExecutor productsSqlExecutor,
+        ProductsFullTextIndex productsFullTextIndex,
+        ProductsSuggester productsSuggester,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
         this.productsRepository = productsRepository;
+        this.productsCatalogEngine = productsCatalogEngine;
+        this.productsPriceIndex = productsPriceIndex;
+        this.productsBitmapIndex = productsBitmapIndex;
+        this.productsPriceStatistics = productsPriceStatistics;
+        this.productsQueryCache = productsQueryCache;
+        this.productsRequestCoalescer = productsRequestCoalescer;
+        this.productsSqlExecutor = productsSqlExecutor;
+        this.productsFullTextIndex = productsFullTextIndex;
+        this.productsSuggester = productsSuggester;
+        this.searchProperties = applicationProperties.getSearch();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
     }
 
     /**
@@ -38,11 +144,19 @@ public class ProductsQueryService extends QueryService<Products> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Products> findByCriteria(ProductsCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
+        Optional<List<Products>> inMemory = productsCatalogEngine.findByCriteria(criteria);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
         final Specification<Products> specification = createSpecification(criteria);
-        return productsRepository.findAll(specification);
+        return productsRequestCoalescer.execute(
+            "findAll",
+            ProductsCriteriaNormalizer.normalize(criteria),
+            () -> productsRepository.findAll(specification)
+        );
     }
 
     /**
@@ -51,11 +165,339 @@ public class ProductsQueryService extends QueryService<Products> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Products> findByCriteria(ProductsCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
+        Optional<Page<Products>> inMemory = productsCatalogEngine.findByCriteria(criteria, page);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        Optional<Page<Products>> priceOrdered = productsPriceIndex.findByCriteria(criteria, page);
+        if (priceOrdered.isPresent()) {
+            return priceOrdered.get();
+        }
+        Optional<Page<Products>> bitmapIndexed = productsBitmapIndex.findByCriteria(criteria, page);
+        if (bitmapIndexed.isPresent()) {
+            return bitmapIndexed.get();
+        }
+        if (productsQueryCache.isEnabled() && page.isPaged()) {
+            return productsQueryCache.findByCriteria(criteria, page, this::findPage);
+        }
+        return findPage(criteria, page);
+    }
+
+    private Page<Products> findPage(ProductsCriteria criteria, Pageable page) {
+        return productsRequestCoalescer.execute(
+            "findPage",
+            new SimpleKey(ProductsCriteriaNormalizer.normalize(criteria), page),
+            () -> {
+                if (productsSqlExecutor.isEnabled()) {
+                    Optional<Page<Products>> compiled = productsSqlExecutor.findByCriteria(criteria, page);
+                    if (compiled.isPresent()) {
+                        return compiled.get();
+                    }
+                }
+                final Specification<Products> specification = createSpecification(criteria);
+                return productsRepository.findAll(specification, page);
+            }
+        );
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Products} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Products> findSliceByCriteria(ProductsCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        Optional<Page<Products>> inMemory = productsCatalogEngine.findByCriteria(criteria, page);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        Optional<Page<Products>> priceOrdered = productsPriceIndex.findByCriteria(criteria, page);
+        if (priceOrdered.isPresent()) {
+            return priceOrdered.get();
+        }
+        Optional<Page<Products>> bitmapIndexed = productsBitmapIndex.findByCriteria(criteria, page);
+        if (bitmapIndexed.isPresent()) {
+            return bitmapIndexed.get();
+        }
         final Specification<Products> specification = createSpecification(criteria);
-        return productsRepository.findAll(specification, page);
+        return productsRequestCoalescer.execute(
+            "findSlice",
+            new SimpleKey(ProductsCriteriaNormalizer.normalize(criteria), page),
+            () -> productsRepository.findSlice(specification, page)
+        );
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Products} which matches the criteria, reduced to the requested fields.
+     * <p>
+     * On the database path only the requested columns are selected, so rows are neither hydrated into entities nor
+     * put in the second-level cache.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The names of the fields to return, see {@link #PROJECTABLE_FIELDS}.
+     * @param page The page, which should be returned.
+     * @return the matching entities, as maps from field name to value in the order of {@link #PROJECTABLE_FIELDS}.
+     * @throws IllegalArgumentException if a field is unknown or no field is requested.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Slice<Map<String, Object>> findProjectedSliceByCriteria(ProductsCriteria criteria, Collection<String> fields, Pageable page) {
+        log.debug("find projected slice by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        List<String> attributes = projectedAttributes(fields);
+        Optional<Page<Products>> inMemory = productsCatalogEngine.findByCriteria(criteria, page);
+        if (inMemory.isPresent()) {
+            return inMemory.get().map(products -> project(products, attributes));
+        }
+        final Specification<Products> specification = createSpecification(criteria);
+        return productsRepository.findProjectedSlice(specification, page, attributes);
+    }
+
+    private static List<String> projectedAttributes(Collection<String> fields) {
+        if (fields.isEmpty() || !PROJECTABLE_FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException("Fields must be a non-empty subset of " + PROJECTABLE_FIELDS);
+        }
+        return PROJECTABLE_FIELDS.stream().filter(fields::contains).collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> project(Products products, List<String> attributes) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String attribute : attributes) {
+            switch (attribute) {
+                case Products_.ID:
+                    row.put(attribute, products.getId());
+                    break;
+                case Products_.ARTICAL_NAME:
+                    row.put(attribute, products.getArticalName());
+                    break;
+                default:
+                    row.put(attribute, products.getArticalPrice());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Return a {@link KeysetPage} of {@link Products} which matches the criteria from the database.
+     * <p>
+     * Rows are sought after the cursor instead of skipped with an offset, so every page costs the same as the first.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param page The size and sort of the page; its page number is ignored.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Products> findByCriteria(ProductsCriteria criteria, KeysetCursor cursor, Pageable page) {
+        log.debug("find by criteria : {}, cursor: {}, page: {}", criteria, cursor, page);
+        Sort sort = KeysetCursor.withTieBreaker(page.getSort());
+        Specification<Products> specification = createSpecification(criteria);
+        if (cursor != null) {
+            specification = specification.and(KeysetSpecification.after(cursor));
+        }
+        return KeysetPage.of(productsRepository.findSlice(specification, PageRequest.of(0, page.getPageSize(), sort)), sort);
+    }
+
+    /**
+     * Return a page of {@link Products} which matches the criteria, together with the total number of matching entities
+     * and their count in each price bucket.
+     * <p>
+     * The total is the sum of the bucket counts, so the database path costs one page query and one aggregation query
+     * built from the same {@link Specification}, instead of a page query, a count query and one query per facet. Both
+     * run in one read-only transaction, and the in-memory path reads a single copy of the {@link ProductsCatalogEngine}
+     * columns, so the page, the total and the facets always describe the same state.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param priceBuckets The strictly increasing price bucket boundaries, see
+     * {@link store.repository.ProductsFacetRepository#countByPriceBuckets}, or {@code null} for the configured ones.
+     * @return the matching entities, their total and their price facets.
+     * @throws IllegalArgumentException if the boundaries are not strictly increasing or too many.
+     */
+    @Transactional(readOnly = true)
+    public ProductsSearchResultDTO search(ProductsCriteria criteria, Pageable page, List<Double> priceBuckets) {
+        log.debug("search by criteria : {}, page: {}, price buckets: {}", criteria, page, priceBuckets);
+        double[] boundaries = priceBucketBoundaries(priceBuckets);
+        if (productsCatalogEngine.isAvailable()) {
+            ProductsColumns current = productsCatalogEngine.columns();
+            Optional<Page<Products>> inMemoryPage = productsCatalogEngine.findByCriteria(current, criteria, page);
+            if (inMemoryPage.isPresent()) {
+                long[] counts = productsCatalogEngine.countByPriceBuckets(current, criteria, boundaries);
+                return toSearchResult(inMemoryPage.get().getContent(), counts, boundaries);
+            }
+        }
+        final Specification<Products> specification = createSpecification(criteria);
+        List<Products> content = productsRepository.findSlice(specification, page).getContent();
+        long[] counts = productsRepository.countByPriceBuckets(specification, boundaries);
+        return toSearchResult(content, counts, boundaries);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} whose name matches the text, see
+     * {@link ProductsFullTextIndex#search}.
+     * <p>
+     * When the full-text index is not available, the names containing the text are returned from the database instead.
+     * @param text The searched text.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     * @throws IllegalArgumentException if the text is blank or has too many terms.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<Products> searchByText(String text, Pageable page) {
+        log.debug("search by text : {}, page: {}", text, page);
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("The searched text must not be blank");
+        }
+        Optional<Page<Products>> indexed = productsFullTextIndex.search(text, page);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.articalName().setContains(text.trim());
+        return findByCriteria(criteria, page);
+    }
+
+    /**
+     * Return the best products having a word of their name starting with the prefix, see {@link ProductsSuggester}.
+     * <p>
+     * When the suggestions are not available, the names containing the prefix are read from the database instead.
+     * @param prefix The typed prefix.
+     * @param limit The maximum number of suggestions, or {@code null} for {@link ProductsSuggester#getTopK()}.
+     * @return the suggestions, best first.
+     * @throws IllegalArgumentException if the limit is not positive or larger than {@link ProductsSuggester#getTopK()}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductsSuggestionDTO> suggest(String prefix, Integer limit) {
+        log.debug("suggest for prefix : {}, limit: {}", prefix, limit);
+        int topK = productsSuggester.getTopK();
+        if (limit != null && (limit < 1 || limit > topK)) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + topK);
+        }
+        int size = limit != null ? limit : topK;
+        Optional<List<ProductsSuggestionDTO>> inMemory = productsSuggester.suggest(prefix, size);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.articalName().setContains(prefix.trim());
+        return findByCriteria(criteria, PageRequest.of(0, size, productsSuggester.getRanking().sort()))
+            .map(products -> new ProductsSuggestionDTO(products.getId(), products.getArticalName(), products.getArticalPrice()))
+            .getContent();
+    }
+
+    /**
+     * Return the prices below which the given percentages of the products are, with the nearest-rank method.
+     * @param percentiles The percentiles, from 0 to 100, or {@code null} for {@link #DEFAULT_PRICE_PERCENTILES}.
+     * @return the price at each percentile.
+     * @throws IllegalArgumentException if a percentile is out of range or there are too many of them.
+     */
+    @Transactional(readOnly = true)
+    public List<PricePercentileDTO> findPricePercentiles(List<Double> percentiles) {
+        log.debug("find price percentiles : {}", percentiles);
+        List<Double> requested = percentiles == null || percentiles.isEmpty() ? DEFAULT_PRICE_PERCENTILES : percentiles;
+        if (requested.size() > MAX_PRICE_PERCENTILES) {
+            throw new IllegalArgumentException("At most " + MAX_PRICE_PERCENTILES + " percentiles are allowed");
+        }
+        if (!requested.stream().allMatch(percentile -> percentile != null && percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentiles must be between 0 and 100");
+        }
+        List<Double> prices = productsPriceIndex.pricePercentiles(requested).orElseGet(() -> findPricesAtPercentiles(requested));
+        List<PricePercentileDTO> result = new ArrayList<>(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            result.add(new PricePercentileDTO(requested.get(i), prices.get(i)));
+        }
+        return result;
+    }
+
+    private List<Double> findPricesAtPercentiles(List<Double> percentiles) {
+        long size = productsRepository.count();
+        if (size == 0) {
+            return percentiles.stream().map(percentile -> (Double) null).collect(Collectors.toList());
+        }
+        long[] ranks = percentiles.stream().mapToLong(percentile -> ProductsPriceIndex.nearestRank(percentile, size)).toArray();
+        return Arrays.stream(productsRepository.findPricesAtRanks(ranks)).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Return the count, sum, extremes, mean, population variance and histogram of the prices of the matching entities.
+     * <p>
+     * The statistics of every entity over the configured price buckets are read from the {@link ProductsPriceStatistics}
+     * when they are available. Otherwise they are computed in a single parallel pass over the
+     * {@link ProductsCatalogEngine}, or with two aggregation queries built from the same {@link Specification}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param priceBuckets The strictly increasing price bucket boundaries of the histogram, see
+     * {@link store.repository.ProductsFacetRepository#countByPriceBuckets}, or {@code null} for the configured ones.
+     * @return the price statistics.
+     * @throws IllegalArgumentException if the boundaries are not strictly increasing or too many.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductsPriceStatisticsDTO findPriceStatistics(ProductsCriteria criteria, List<Double> priceBuckets) {
+        log.debug("find price statistics by criteria : {}, price buckets: {}", criteria, priceBuckets);
+        double[] boundaries = priceBucketBoundaries(priceBuckets);
+        Optional<PriceStatistics> inMemory = Optional.empty();
+        if (ProductsCriteriaNormalizer.isEmpty(criteria) && Arrays.equals(boundaries, productsPriceStatistics.getBoundaries())) {
+            inMemory = productsPriceStatistics.snapshot();
+        }
+        if (inMemory.isEmpty()) {
+            inMemory = productsCatalogEngine.priceStatistics(criteria, boundaries);
+        }
+        return toPriceStatistics(inMemory.orElseGet(() -> summarizePrices(criteria, boundaries)));
+    }
+
+    /**
+     * Summarize the prices from the database, with the aggregates and the histogram read in the same transaction so
+     * that they describe the same rows.
+     */
+    private PriceStatistics summarizePrices(ProductsCriteria criteria, double[] boundaries) {
+        final Specification<Products> specification = createSpecification(criteria);
+        return readOnlyTransaction.execute(status -> {
+            double[] summary = productsRepository.summarizePrices(specification);
+            long[] histogram = productsRepository.countByPriceBuckets(specification, boundaries);
+            return PriceStatistics.of(boundaries, (long) summary[0], summary[1], summary[2], summary[3], summary[4], histogram);
+        });
+    }
+
+    private static ProductsPriceStatisticsDTO toPriceStatistics(PriceStatistics statistics) {
+        boolean empty = statistics.getCount() == 0;
+        return new ProductsPriceStatisticsDTO(
+            statistics.getCount(),
+            statistics.getSum(),
+            empty ? null : statistics.getMin(),
+            empty ? null : statistics.getMax(),
+            empty ? null : statistics.getMean(),
+            empty ? null : statistics.getVariance(),
+            priceBuckets(statistics.getHistogram(), statistics.getBoundaries())
+        );
+    }
+
+    private double[] priceBucketBoundaries(List<Double> priceBuckets) {
+        List<Double> requested = priceBuckets != null ? priceBuckets : searchProperties.getPriceBuckets();
+        if (requested.size() > searchProperties.getMaxPriceBuckets()) {
+            throw new IllegalArgumentException("At most " + searchProperties.getMaxPriceBuckets() + " price buckets are allowed");
+        }
+        double[] boundaries = new double[requested.size()];
+        for (int i = 0; i < boundaries.length; i++) {
+            Double boundary = requested.get(i);
+            if (boundary == null || !Double.isFinite(boundary) || (i > 0 && boundary <= boundaries[i - 1])) {
+                throw new IllegalArgumentException("Price bucket boundaries must be finite and strictly increasing");
+            }
+            boundaries[i] = boundary;
+        }
+        return boundaries;
+    }
+
+    private static ProductsSearchResultDTO toSearchResult(List<Products> content, long[] counts, double[] boundaries) {
+        return new ProductsSearchResultDTO(content, Arrays.stream(counts).sum(), priceBuckets(counts, boundaries));
+    }
+
+    private static List<PriceBucketDTO> priceBuckets(long[] counts, double[] boundaries) {
+        List<PriceBucketDTO> priceBuckets = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            Double from = bucket > 0 ? boundaries[bucket - 1] : null;
+            Double to = bucket < boundaries.length ? boundaries[bucket] : null;
+            priceBuckets.add(new PriceBucketDTO(from, to, counts[bucket]));
+        }
+        return priceBuckets;
     }
 
     /**
@@ -63,11 +505,35 @@ public class ProductsQueryService extends QueryService<Products> {
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long countByCriteria(ProductsCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
-        final Specification<Products> specification = createSpecification(criteria);
-        return productsRepository.count(specification);
+        OptionalLong inMemory = productsCatalogEngine.countByCriteria(criteria);
+        if (inMemory.isPresent()) {
+            return inMemory.getAsLong();
+        }
+        OptionalLong priceRange = productsPriceIndex.countByCriteria(criteria);
+        if (priceRange.isPresent()) {
+            return priceRange.getAsLong();
+        }
+        OptionalLong bitmapIndexed = productsBitmapIndex.countByCriteria(criteria);
+        if (bitmapIndexed.isPresent()) {
+            return bitmapIndexed.getAsLong();
+        }
+        return productsRequestCoalescer.execute(
+            "count",
+            ProductsCriteriaNormalizer.normalize(criteria),
+            () -> {
+                if (productsSqlExecutor.isEnabled()) {
+                    OptionalLong compiled = productsSqlExecutor.countByCriteria(criteria);
+                    if (compiled.isPresent()) {
+                        return compiled.getAsLong();
+                    }
+                }
+                final Specification<Products> specification = createSpecification(criteria);
+                return productsRepository.count(specification);
+            }
+        );
     }
 
     /**
@@ -91,7 +557,40 @@ public class ProductsQueryService extends QueryService<Products> {
             if (criteria.getArticalPrice() != null) {
                 specification = specification.and(buildRangeSpecification(criteria.getArticalPrice(), Products_.articalPrice));
             }
+            if (criteria.getOr() != null && !criteria.getOr().isEmpty()) {
+                specification = specification.and(anyOf(criteria.getOr()));
+            }
+            if (criteria.getNot() != null) {
+                specification = specification.and(noneOf(criteria.getNot()));
+            }
         }
         return specification;
     }
+
+    /**
+     * @return a {@link Specification} matching the entities which match at least one of the groups.
+     */
+    private Specification<Products> anyOf(List<ProductsCriteria> groups) {
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[groups.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = createSpecification(groups.get(i)).toPredicate(root, query, cb);
+                if (predicates[i] == null) {
+                    // a group without filters matches every entity
+                    return null;
+                }
+            }
+            return cb.or(predicates);
+        };
+    }
+
+    /**
+     * @return a {@link Specification} matching the entities which do not match the group.
+     */
+    private Specification<Products> noneOf(ProductsCriteria group) {
+        return (root, query, cb) -> {
+            Predicate predicate = createSpecification(group).toPredicate(root, query, cb);
+            return predicate == null ? cb.disjunction() : cb.not(predicate);
+        };
+    }
 }
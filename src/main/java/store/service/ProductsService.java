@@ -1,14 +1,27 @@
 package store.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import store.config.ApplicationProperties;
 import store.domain.Products;
+import store.domain.ProductsTombstone;
 import store.repository.ProductsRepository;
+import store.repository.ProductsTombstoneRepository;
+import store.service.coalescing.ProductsRequestCoalescer;
+import store.service.dto.ProductsChangesDTO;
+import store.service.dto.ProductsMultiGetDTO;
 
 /**
  * Service Implementation for managing {@link Products}.
@@ -21,8 +34,25 @@ public class ProductsService {
 
     private final ProductsRepository productsRepository;
 
-    public ProductsService(ProductsRepository productsRepository) {
+    private final ProductsTombstoneRepository productsTombstoneRepository;
+
+    private final ProductsRequestCoalescer productsRequestCoalescer;
+
+    private final ApplicationProperties.MultiGet multiGetProperties;
+
+    private final ApplicationProperties.Changes changesProperties;
+
+    public ProductsService(
+        ProductsRepository productsRepository,
+        ProductsTombstoneRepository productsTombstoneRepository,
+        ProductsRequestCoalescer productsRequestCoalescer,
+        ApplicationProperties applicationProperties
+    ) {
         this.productsRepository = productsRepository;
+        this.productsTombstoneRepository = productsTombstoneRepository;
+        this.productsRequestCoalescer = productsRequestCoalescer;
+        this.multiGetProperties = applicationProperties.getMultiGet();
+        this.changesProperties = applicationProperties.getChanges();
     }
 
     /**
@@ -38,13 +68,25 @@ public class ProductsService {
 
     /**
      * Update a products.
+     * <p>
+     * The fields are copied onto the managed entity, so that a concurrent update committed after it was read fails the
+     * {@link javax.persistence.Version} check instead of being overwritten.
      *
      * @param products the entity to save.
+     * @param expectedVersion the version the client updates, from its {@code If-Match} header, or {@code null} to update
+     * the current one.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the entity is not at the expected version, or no longer exists.
      */
-    public Products update(Products products) {
+    public Products update(Products products, Long expectedVersion) {
         log.debug("Request to update Products : {}", products);
-        return productsRepository.save(products);
+        Products existingProducts = productsRepository
+            .findById(products.getId())
+            .filter(existing -> expectedVersion == null || expectedVersion.equals(existing.getVersion()))
+            .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Products.class, products.getId()));
+        existingProducts.setArticalName(products.getArticalName());
+        existingProducts.setArticalPrice(products.getArticalPrice());
+        return productsRepository.save(existingProducts);
     }
 
     /**
@@ -85,14 +127,101 @@ public class ProductsService {
 
     /**
      * Get one products by id.
+     * <p>
+     * Identical concurrent calls share a single query, see {@link ProductsRequestCoalescer}.
      *
      * @param id the id of the entity.
      * @return the entity.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Products> findOne(Long id) {
         log.debug("Request to get Products : {}", id);
-        return productsRepository.findById(id);
+        return productsRequestCoalescer.execute("findOne", id, () -> productsRepository.findById(id));
+    }
+
+    /**
+     * Get the products with the given ids, using the second-level cache and a single query for the cache misses.
+     *
+     * @param ids the ids of the entities; duplicates are ignored.
+     * @return the entities in the order of {@code ids}, and the ids which were not found.
+     * @throws IllegalArgumentException if more ids than allowed are requested.
+     */
+    @Transactional(readOnly = true)
+    public ProductsMultiGetDTO findAllById(List<Long> ids) {
+        log.debug("Request to get {} Products by id", ids.size());
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctIds.size() > multiGetProperties.getMaxIds()) {
+            throw new IllegalArgumentException("At most " + multiGetProperties.getMaxIds() + " ids are allowed");
+        }
+        List<Products> loaded = productsRepository.multiLoad(distinctIds);
+        List<Products> content = new ArrayList<>(loaded.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (loaded.get(i) != null) {
+                content.add(loaded.get(i));
+            } else {
+                missingIds.add(distinctIds.get(i));
+            }
+        }
+        return new ProductsMultiGetDTO(content, missingIds);
+    }
+
+    /**
+     * Get the products changes after a watermark of the change sequence, oldest first.
+     * <p>
+     * Both the products and the tombstones are read from their {@code change_seq} index, so the cost depends on the
+     * number of changes, not on the size of the catalog. A products changed several times is only returned once, with
+     * its last values.
+     * <p>
+     * Sequence numbers are taken before the writes commit, so they may commit out of order. The changes stop below the
+     * lowest number taken by a write which has not ended yet, so that a watermark never skips a change committed late.
+     * The bound and the changes are read in the same transaction, so they are consistent with each other.
+     *
+     * @param since the watermark, {@code 0} for the whole catalog.
+     * @param limit the maximum number of changes, defaults to the configured one.
+     * @return the changes, and the watermark of the last one.
+     * @throws IllegalArgumentException if the watermark is negative or the limit out of range.
+     */
+    @Transactional(readOnly = true)
+    public ProductsChangesDTO findChanges(long since, Integer limit) {
+        log.debug("Request to get Products changes since : {}", since);
+        int max = limit != null ? limit : changesProperties.getDefaultLimit();
+        if (since < 0) {
+            throw new IllegalArgumentException("The watermark must not be negative");
+        }
+        if (max < 1 || max > changesProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + changesProperties.getMaxLimit());
+        }
+        long before = productsTombstoneRepository
+            .findLowestPendingChangeSeq(System.currentTimeMillis() - changesProperties.getPendingTimeout().toMillis())
+            .orElse(Long.MAX_VALUE);
+        // one more than the limit of each, to know whether there are more changes
+        Pageable pageable = PageRequest.of(0, max + 1);
+        List<Products> products = productsRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeq(
+            since,
+            before,
+            pageable
+        );
+        List<ProductsTombstone> tombstones = productsTombstoneRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeq(
+            since,
+            before,
+            pageable
+        );
+        List<Products> content = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        long watermark = since;
+        int p = 0;
+        int t = 0;
+        while (p + t < max && (p < products.size() || t < tombstones.size())) {
+            if (t == tombstones.size() || (p < products.size() && products.get(p).getChangeSeq() < tombstones.get(t).getChangeSeq())) {
+                watermark = products.get(p).getChangeSeq();
+                content.add(products.get(p++));
+            } else {
+                watermark = tombstones.get(t).getChangeSeq();
+                deletedIds.add(tombstones.get(t++).getId());
+            }
+        }
+        return new ProductsChangesDTO(content, deletedIds, watermark, p < products.size() || t < tombstones.size());
     }
 
     /**
@@ -8,7 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,9 @@ import store.security.AuthoritiesConstants;
 import store.security.SecurityUtils;
 import store.service.dto.AdminUserDTO;
 import store.service.dto.UserDTO;
+import store.service.pagination.KeysetCursor;
+import store.service.pagination.KeysetPage;
+import store.service.pagination.KeysetSpecification;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -276,6 +282,22 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    /**
+     * Get a page of users after the given cursor, see {@link KeysetPage}.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param pageable the size and sort of the page; its page number is ignored.
+     * @return the page of users.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<AdminUserDTO> getAllManagedUsers(KeysetCursor cursor, Pageable pageable) {
+        Sort sort = KeysetCursor.withTieBreaker(pageable.getSort());
+        Specification<User> specification = cursor == null ? null : KeysetSpecification.after(cursor);
+        return KeysetPage
+            .of(userRepository.findSlice(specification, PageRequest.of(0, pageable.getPageSize(), sort)), sort)
+            .map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
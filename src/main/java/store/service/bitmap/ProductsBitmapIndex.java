@@ -0,0 +1,202 @@
+package store.service.bitmap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.catalog.ProductsColumns;
+import store.service.catalog.ProductsWarmUpLoader;
+import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+
+/**
+ * In-memory {@link ProductsBitmaps} of the {@link Products}, answering counts and pages of any {@link ProductsCriteria},
+ * including their {@code or} and {@code not} groups, without querying the table.
+ * <p>
+ * The bitmaps are loaded once at startup, from the catalog snapshot when there is one, then kept in sync through
+ * {@link ProductsChangedEvent}s. They only give the ids of the matching products, which are then loaded by id, mostly
+ * from the second-level cache. Pages sorted on something else than the id or the price are left to the database. Until
+ * the initial load is done, when an id does not fit in 32 bits, or when {@code application.bitmap-index.enabled} is
+ * {@code false}, every method returns an empty result and callers are expected to fall back to the database.
+ */
+@Service
+public class ProductsBitmapIndex extends ProductsWarmUpLoader<ProductsBitmaps> {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsBitmapIndex.class);
+
+    private final ApplicationProperties.BitmapIndex properties;
+
+    private final double[] boundaries;
+
+    // guarded by lock
+    private ProductsBitmaps bitmaps;
+
+    public ProductsBitmapIndex(
+        ApplicationProperties applicationProperties,
+        ProductsRepository productsRepository,
+        MeterRegistry meterRegistry
+    ) {
+        super("products bitmap index", productsRepository);
+        this.properties = applicationProperties.getBitmapIndex();
+        this.boundaries = properties.getPriceBuckets().stream().mapToDouble(Double::doubleValue).toArray();
+        for (int i = 1; i < boundaries.length; i++) {
+            if (!(boundaries[i] > boundaries[i - 1])) {
+                throw new IllegalArgumentException("application.bitmap-index.price-buckets must be strictly increasing");
+            }
+        }
+        this.bitmaps = new ProductsBitmaps(boundaries);
+        Gauge
+            .builder("products.bitmap.index.memory", this, statistic(ProductsBitmaps::sizeInBytes))
+            .description("Size of the products bitmaps in memory")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        Gauge
+            .builder("products.bitmap.index.bitmaps", this, statistic(ProductsBitmaps::bitmaps))
+            .description("Number of products bitmaps")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    protected Optional<ProductsBitmaps> loadFromDatabase() {
+        ProductsBitmaps loaded = new ProductsBitmaps(boundaries);
+        for (Products products : inIdOrder(productsRepository, properties.getWarmUpBatchSize())) {
+            if (!loaded.put(products.getId(), products.getArticalName(), products.getArticalPrice())) {
+                log.warn("Products id {} does not fit in 32 bits, the bitmap index is not used", products.getId());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected Optional<ProductsBitmaps> loadFromSnapshot(ProductsColumns columns) {
+        ProductsBitmaps loaded = new ProductsBitmaps(boundaries);
+        for (int row = 0; row < columns.size(); row++) {
+            if (!loaded.put(columns.id(row), columns.name(row), columns.price(row))) {
+                log.warn("Products id {} does not fit in 32 bits, the bitmap index is not used", columns.id(row));
+                return Optional.empty();
+            }
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected long size(ProductsBitmaps loaded) {
+        return loaded.size();
+    }
+
+    /**
+     * @return {@code false} if the id of a product changed while loading does not fit in 32 bits.
+     */
+    @Override
+    protected boolean publish(ProductsBitmaps loaded, Map<Long, ProductsChangedEvent> changes) {
+        for (ProductsChangedEvent event : changes.values()) {
+            if (!apply(loaded, event)) {
+                return false;
+            }
+        }
+        loaded.optimize();
+        bitmaps = loaded;
+        return true;
+    }
+
+    @Override
+    protected boolean apply(ProductsChangedEvent event) {
+        return apply(bitmaps, event);
+    }
+
+    /**
+     * Return the number of matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, or an empty {@link OptionalLong} if the index is not available.
+     */
+    public OptionalLong countByCriteria(ProductsCriteria criteria) {
+        if (!isAvailable()) {
+            return OptionalLong.empty();
+        }
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+        lock.readLock().lock();
+        try {
+            return OptionalLong.of(bitmaps.evaluate(normalized).getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} which matches the criteria.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the index is not available, or the page is unpaged
+     * or not sorted by id, or by price then optionally by id.
+     */
+    public Optional<Page<Products>> findByCriteria(ProductsCriteria criteria, Pageable page) {
+        if (!isAvailable() || page.isUnpaged() || !ProductsBitmaps.isSupported(page.getSort())) {
+            return Optional.empty();
+        }
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+        List<Long> ids;
+        long total;
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = bitmaps.evaluate(normalized);
+            total = matches.getLongCardinality();
+            ids = bitmaps.page(matches, page.getSort(), page.getOffset(), page.getPageSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Products> content = productsRepository.multiLoad(ids);
+        if (!content.stream().allMatch(Objects::nonNull)) {
+            // deleted since the ids were read, the database has the answer
+            return Optional.empty();
+        }
+        return Optional.of(new PageImpl<>(content, page, total));
+    }
+
+    private static ToDoubleFunction<ProductsBitmapIndex> statistic(ToDoubleFunction<ProductsBitmaps> statistic) {
+        return index -> {
+            index.lock.readLock().lock();
+            try {
+                return statistic.applyAsDouble(index.bitmaps);
+            } finally {
+                index.lock.readLock().unlock();
+            }
+        };
+    }
+
+    /**
+     * @return {@code false} if the id of the product does not fit in 32 bits.
+     */
+    private boolean apply(ProductsBitmaps target, ProductsChangedEvent event) {
+        if (event.isDeletion()) {
+            target.remove(event.getId());
+            return true;
+        }
+        if (!target.put(event.getId(), event.getArticalName(), event.getArticalPrice())) {
+            log.warn("Products id {} does not fit in 32 bits, the bitmap index is not used anymore", event.getId());
+            return false;
+        }
+        return true;
+    }
+}
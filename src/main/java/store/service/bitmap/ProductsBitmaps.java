@@ -0,0 +1,453 @@
+package store.service.bitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Sort;
+import store.domain.Products_;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Compressed bitmaps of the {@link store.domain.Products}: one of every row, one per price bucket and one per trigram
+ * of the upper-cased names, each holding the ids of the rows as unsigned 32-bit keys.
+ * <p>
+ * Criteria are evaluated with bitmap {@code AND}, {@code OR} and {@code ANDNOT}. Bitmaps of price buckets which are
+ * only partly in a range, and of the trigrams of a searched name, hold candidates which are checked against the
+ * indexed values. Every filter and group is evaluated within the rows matched so far, so later ones check fewer
+ * candidates. Evaluation expects criteria rewritten by {@link store.service.criteria.ProductsCriteriaNormalizer}.
+ * <p>
+ * The bitmaps are not thread-safe.
+ */
+final class ProductsBitmaps {
+
+    /**
+     * The largest id which fits in a key.
+     */
+    static final long MAX_ID = 0xFFFFFFFFL;
+
+    private static final int GRAM = 3;
+
+    private final double[] boundaries;
+
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    private final RoaringBitmap[] buckets;
+
+    private final Map<String, RoaringBitmap> trigrams = new HashMap<>();
+
+    // the indexed values, to check candidates, sort and unindex rows
+    private final Map<Integer, Row> rows = new HashMap<>();
+
+    /**
+     * @param boundaries The strictly increasing price bucket boundaries, an exact hit opening the bucket on its right.
+     */
+    ProductsBitmaps(double[] boundaries) {
+        this.boundaries = boundaries.clone();
+        this.buckets = new RoaringBitmap[boundaries.length + 1];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Index a row, replacing its previous values.
+     * @return {@code false} if the id does not fit in a key, the row is then not indexed.
+     */
+    boolean put(long id, String name, double price) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        remove(id);
+        int key = (int) id;
+        Row row = new Row(name, price);
+        rows.put(key, row);
+        all.add(key);
+        buckets[bucketOf(price)].add(key);
+        for (String trigram : trigramsOf(row.upperName)) {
+            trigrams.computeIfAbsent(trigram, gram -> new RoaringBitmap()).add(key);
+        }
+        return true;
+    }
+
+    void remove(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return;
+        }
+        int key = (int) id;
+        Row row = rows.remove(key);
+        if (row == null) {
+            return;
+        }
+        all.remove(key);
+        buckets[bucketOf(row.price)].remove(key);
+        for (String trigram : trigramsOf(row.upperName)) {
+            RoaringBitmap bitmap = trigrams.get(trigram);
+            bitmap.remove(key);
+            if (bitmap.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Compress runs of consecutive ids, once loaded.
+     */
+    void optimize() {
+        all.runOptimize();
+        for (RoaringBitmap bucket : buckets) {
+            bucket.runOptimize();
+        }
+        trigrams.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    /**
+     * @return the number of bitmaps.
+     */
+    int bitmaps() {
+        return 1 + buckets.length + trigrams.size();
+    }
+
+    /**
+     * @return the size of the bitmaps in memory, without the indexed values.
+     */
+    long sizeInBytes() {
+        long size = all.getLongSizeInBytes();
+        for (RoaringBitmap bucket : buckets) {
+            size += bucket.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : trigrams.values()) {
+            size += bitmap.getLongSizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * @param criteria Normalized criteria.
+     * @return the keys of the matching rows; the bitmap may be shared and must not be modified.
+     */
+    RoaringBitmap evaluate(ProductsCriteria criteria) {
+        return evaluate(criteria, all);
+    }
+
+    /**
+     * @return {@code true} if {@link #page} can return the rows in this order.
+     */
+    static boolean isSupported(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || (orders.size() == 1 && orders.get(0).getProperty().equals(Products_.ID))) {
+            return true;
+        }
+        return (
+            orders.get(0).getProperty().equals(Products_.ARTICAL_PRICE) &&
+            (orders.size() == 1 || (orders.size() == 2 && orders.get(1).getProperty().equals(Products_.ID)))
+        );
+    }
+
+    /**
+     * Select a window of the matching rows, in id order or in price order then id order.
+     * @param matches The keys of the matching rows.
+     * @param sort A sort which {@link #isSupported}.
+     * @return the ids of the rows of the window.
+     */
+    List<Long> page(RoaringBitmap matches, Sort sort, long offset, int size) {
+        long total = matches.getLongCardinality();
+        List<Long> ids = new ArrayList<>(size);
+        if (offset >= total) {
+            return ids;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || orders.get(0).getProperty().equals(Products_.ID)) {
+            boolean ascending = orders.isEmpty() || orders.get(0).isAscending();
+            for (long position = offset; position < Math.min(total, offset + size); position++) {
+                long rank = ascending ? position : total - 1 - position;
+                ids.add(Integer.toUnsignedLong(matches.select((int) rank)));
+            }
+            return ids;
+        }
+        boolean ascending = orders.get(0).isAscending();
+        Comparator<Integer> byId = Comparator.comparingLong(Integer::toUnsignedLong);
+        boolean idAscending = orders.size() == 1 ? ascending : orders.get(1).isAscending();
+        Comparator<Integer> order = Comparator
+            .<Integer>comparingDouble(key -> rows.get(key).price)
+            .thenComparing(idAscending == ascending ? byId : byId.reversed());
+        // buckets are in price order: skip whole buckets by their count, and only sort the buckets of the window
+        long skipped = 0;
+        for (int step = 0; step < buckets.length && ids.size() < size; step++) {
+            RoaringBitmap inBucket = RoaringBitmap.and(matches, buckets[ascending ? step : buckets.length - 1 - step]);
+            long count = inBucket.getLongCardinality();
+            if (skipped + count <= offset) {
+                skipped += count;
+                continue;
+            }
+            Integer[] keys = new Integer[(int) count];
+            int next = 0;
+            for (int key : inBucket) {
+                keys[next++] = key;
+            }
+            Arrays.sort(keys, ascending ? order : order.reversed());
+            for (int i = (int) Math.max(0, offset - skipped); i < keys.length && ids.size() < size; i++) {
+                ids.add(Integer.toUnsignedLong(keys[i]));
+            }
+            skipped += count;
+        }
+        return ids;
+    }
+
+    private RoaringBitmap evaluate(ProductsCriteria criteria, RoaringBitmap within) {
+        RoaringBitmap result = within;
+        if (criteria.getId() != null) {
+            result = ids(criteria.getId(), result);
+        }
+        if (criteria.getArticalPrice() != null) {
+            result = prices(criteria.getArticalPrice(), result);
+        }
+        if (criteria.getArticalName() != null) {
+            result = names(criteria.getArticalName(), result);
+        }
+        if (criteria.getOr() != null) {
+            RoaringBitmap any = new RoaringBitmap();
+            for (ProductsCriteria group : criteria.getOr()) {
+                any.or(evaluate(group, RoaringBitmap.andNot(result, any)));
+            }
+            result = any;
+        }
+        if (criteria.getNot() != null) {
+            result = RoaringBitmap.andNot(result, evaluate(criteria.getNot(), result));
+        }
+        return result;
+    }
+
+    private RoaringBitmap ids(LongFilter filter, RoaringBitmap within) {
+        if (filter.getEquals() != null) {
+            return RoaringBitmap.and(within, keysOf(List.of(filter.getEquals())));
+        }
+        if (filter.getIn() != null) {
+            return RoaringBitmap.and(within, keysOf(filter.getIn()));
+        }
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            return new RoaringBitmap();
+        }
+        long lower = 0;
+        long upper = MAX_ID;
+        if (filter.getGreaterThan() != null) {
+            lower = filter.getGreaterThan() == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(lower, filter.getGreaterThan() + 1);
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            lower = Math.max(lower, filter.getGreaterThanOrEqual());
+        }
+        if (filter.getLessThan() != null) {
+            upper = filter.getLessThan() == Long.MIN_VALUE ? -1 : Math.min(upper, filter.getLessThan() - 1);
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            upper = Math.min(upper, filter.getLessThanOrEqual());
+        }
+        if (lower > upper) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap result = within.clone();
+        result.remove(0, lower);
+        if (upper < MAX_ID) {
+            result.remove(upper + 1, MAX_ID + 1);
+        }
+        if (filter.getNotIn() != null) {
+            result.andNot(keysOf(filter.getNotIn()));
+        }
+        return result;
+    }
+
+    private RoaringBitmap prices(DoubleFilter filter, RoaringBitmap within) {
+        if (filter.getEquals() != null) {
+            return pricesIn(List.of(filter.getEquals()), within);
+        }
+        if (filter.getIn() != null) {
+            return pricesIn(filter.getIn(), within);
+        }
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            return new RoaringBitmap();
+        }
+        double lower = Double.NEGATIVE_INFINITY;
+        double upper = Double.POSITIVE_INFINITY;
+        if (filter.getGreaterThan() != null) {
+            lower = Math.max(lower, Math.nextUp(filter.getGreaterThan()));
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            lower = Math.max(lower, filter.getGreaterThanOrEqual());
+        }
+        if (filter.getLessThan() != null) {
+            upper = Math.min(upper, Math.nextDown(filter.getLessThan()));
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            upper = Math.min(upper, filter.getLessThanOrEqual());
+        }
+        RoaringBitmap result = priceRange(lower, upper, within);
+        if (filter.getNotIn() != null) {
+            result = RoaringBitmap.andNot(result, pricesIn(filter.getNotIn(), result));
+        }
+        return result;
+    }
+
+    private RoaringBitmap priceRange(double lower, double upper, RoaringBitmap within) {
+        if (lower == Double.NEGATIVE_INFINITY && upper == Double.POSITIVE_INFINITY) {
+            return within;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        if (!(lower <= upper)) {
+            return result;
+        }
+        for (int bucket = bucketOf(lower); bucket <= bucketOf(upper); bucket++) {
+            RoaringBitmap candidates = RoaringBitmap.and(buckets[bucket], within);
+            double bucketLower = bucket == 0 ? Double.NEGATIVE_INFINITY : boundaries[bucket - 1];
+            double bucketUpper = bucket == boundaries.length ? Double.POSITIVE_INFINITY : boundaries[bucket];
+            if (lower <= bucketLower && bucketUpper <= upper) {
+                result.or(candidates);
+            } else {
+                for (int key : candidates) {
+                    double price = rows.get(key).price;
+                    if (price >= lower && price <= upper) {
+                        result.add(key);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap pricesIn(List<Double> values, RoaringBitmap within) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (double value : values) {
+            for (int key : RoaringBitmap.and(buckets[bucketOf(value)], within)) {
+                if (rows.get(key).price == value) {
+                    result.add(key);
+                }
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap names(StringFilter filter, RoaringBitmap within) {
+        if (filter.getEquals() != null) {
+            return namesIn(List.of(filter.getEquals()), within);
+        }
+        if (filter.getIn() != null) {
+            return namesIn(filter.getIn(), within);
+        }
+        if (filter.getNotIn() != null) {
+            return RoaringBitmap.andNot(within, namesIn(filter.getNotIn(), within));
+        }
+        if (filter.getContains() != null) {
+            return namesContaining(filter.getContains().toUpperCase(Locale.ROOT), within);
+        }
+        if (filter.getDoesNotContain() != null) {
+            return RoaringBitmap.andNot(within, namesContaining(filter.getDoesNotContain().toUpperCase(Locale.ROOT), within));
+        }
+        if (filter.getNotEquals() != null) {
+            return RoaringBitmap.andNot(within, namesIn(List.of(filter.getNotEquals()), within));
+        }
+        // specified=false
+        return new RoaringBitmap();
+    }
+
+    private RoaringBitmap namesIn(List<String> values, RoaringBitmap within) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String value : values) {
+            for (int key : candidates(value.toUpperCase(Locale.ROOT), within)) {
+                if (rows.get(key).name.equals(value)) {
+                    result.add(key);
+                }
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap namesContaining(String upperText, RoaringBitmap within) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int key : candidates(upperText, within)) {
+            if (rows.get(key).upperName.contains(upperText)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the rows having every trigram of the text, smallest bitmaps first, or every row for texts shorter than a
+     * trigram.
+     */
+    private RoaringBitmap candidates(String upperText, RoaringBitmap within) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (String trigram : trigramsOf(upperText)) {
+            RoaringBitmap bitmap = trigrams.get(trigram);
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            bitmaps.add(bitmap);
+        }
+        bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap result = within;
+        for (RoaringBitmap bitmap : bitmaps) {
+            result = RoaringBitmap.and(result, bitmap);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap keysOf(List<Long> ids) {
+        RoaringBitmap keys = new RoaringBitmap();
+        for (Long id : ids) {
+            if (id != null && id >= 0 && id <= MAX_ID) {
+                keys.add(id.intValue());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return the insertion point of the price among the boundaries.
+     */
+    private int bucketOf(double price) {
+        int bucket = Arrays.binarySearch(boundaries, price);
+        return bucket >= 0 ? bucket + 1 : -bucket - 1;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + GRAM <= text.length(); start++) {
+            grams.add(text.substring(start, start + GRAM));
+        }
+        return grams;
+    }
+
+    private static final class Row {
+
+        private final String name;
+
+        private final String upperName;
+
+        private final double price;
+
+        Row(String name, double price) {
+            this.name = name;
+            this.upperName = name.toUpperCase(Locale.ROOT);
+            this.price = price;
+        }
+    }
+}
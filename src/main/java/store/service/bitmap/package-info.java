@@ -0,0 +1,4 @@
+/**
+ * Compressed bitmap index of {@link store.domain.Products}, evaluating criteria with their {@code or} and {@code not} groups.
+ */
+package store.service.bitmap;
@@ -0,0 +1,272 @@
+package store.service.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Order-statistics tree of {@code (price, id)} keys: a treap whose nodes know the size of their subtree.
+ * <p>
+ * Inserting, removing, ranking a price and selecting the key of a rank all cost {@code O(log n)} expected. Nodes are
+ * slots of parallel primitive arrays, slot {@code 0} being the empty tree, so the tree holds no object per key.
+ * <p>
+ * Prices are compared with the primitive operators, as the database does. The tree is not thread-safe.
+ */
+final class PriceOrderTree {
+
+    private static final int NIL = 0;
+
+    private double[] prices;
+
+    private long[] ids;
+
+    private int[] priorities;
+
+    private int[] left;
+
+    private int[] right;
+
+    private int[] sizes;
+
+    private int root = NIL;
+
+    // slots which were freed by removals, reused before growing
+    private int[] freeSlots = new int[16];
+
+    private int freeCount;
+
+    private int nextSlot = 1;
+
+    private int seed = 0x2545F491;
+
+    // results of split
+    private int splitLeft;
+
+    private int splitRight;
+
+    private boolean removed;
+
+    PriceOrderTree(int capacity) {
+        int slots = Math.max(capacity, 16) + 1;
+        prices = new double[slots];
+        ids = new long[slots];
+        priorities = new int[slots];
+        left = new int[slots];
+        right = new int[slots];
+        sizes = new int[slots];
+    }
+
+    /**
+     * @return the number of keys.
+     */
+    int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Add a key, which must not be in the tree already.
+     */
+    void insert(double price, long id) {
+        int node = allocate(price, id);
+        split(root, price, id);
+        root = merge(merge(splitLeft, node), splitRight);
+    }
+
+    /**
+     * @return {@code true} if the key was in the tree.
+     */
+    boolean remove(double price, long id) {
+        removed = false;
+        root = remove(root, price, id);
+        return removed;
+    }
+
+    /**
+     * @return the number of keys whose price is lower than the given one.
+     */
+    int countLessThan(double price) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (prices[node] < price) {
+                count += sizes[left[node]] + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of keys whose price is lower than or equal to the given one.
+     */
+    int countLessThanOrEqual(double price) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (prices[node] <= price) {
+                count += sizes[left[node]] + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param rank A rank, from {@code 0} to {@code size() - 1}.
+     * @return the price of the key of that rank.
+     */
+    double priceAt(int rank) {
+        return prices[select(rank)];
+    }
+
+    /**
+     * @param rank A rank, from {@code 0} to {@code size() - 1}.
+     * @return the id of the key of that rank.
+     */
+    long idAt(int rank) {
+        return ids[select(rank)];
+    }
+
+    private int select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of " + size());
+        }
+        int node = root;
+        int remaining = rank;
+        while (true) {
+            int leftSize = sizes[left[node]];
+            if (remaining < leftSize) {
+                node = left[node];
+            } else if (remaining == leftSize) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Split a subtree into the keys lower than {@code (price, id)}, in {@link #splitLeft}, and the others, in
+     * {@link #splitRight}.
+     */
+    private void split(int node, double price, long id) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (compare(node, price, id) < 0) {
+            split(right[node], price, id);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], price, id);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merge two subtrees, every key of the first one being lower than every key of the second one.
+     */
+    private int merge(int first, int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (priorities[first] > priorities[second]) {
+            right[first] = merge(right[first], second);
+            update(first);
+            return first;
+        }
+        left[second] = merge(first, left[second]);
+        update(second);
+        return second;
+    }
+
+    private int remove(int node, double price, long id) {
+        if (node == NIL) {
+            return NIL;
+        }
+        int comparison = compare(node, price, id);
+        if (comparison == 0) {
+            removed = true;
+            int replacement = merge(left[node], right[node]);
+            release(node);
+            return replacement;
+        }
+        if (comparison > 0) {
+            left[node] = remove(left[node], price, id);
+        } else {
+            right[node] = remove(right[node], price, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * @return the sign of the key of the node compared with {@code (price, id)}.
+     */
+    private int compare(int node, double price, long id) {
+        if (prices[node] < price) {
+            return -1;
+        }
+        if (prices[node] > price) {
+            return 1;
+        }
+        return Long.compare(ids[node], id);
+    }
+
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+    }
+
+    private int allocate(double price, long id) {
+        int node;
+        if (freeCount > 0) {
+            node = freeSlots[--freeCount];
+        } else {
+            if (nextSlot == prices.length) {
+                grow();
+            }
+            node = nextSlot++;
+        }
+        prices[node] = price;
+        ids[node] = id;
+        priorities[node] = nextPriority();
+        left[node] = NIL;
+        right[node] = NIL;
+        sizes[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = node;
+    }
+
+    private void grow() {
+        int slots = prices.length * 2;
+        prices = Arrays.copyOf(prices, slots);
+        ids = Arrays.copyOf(ids, slots);
+        priorities = Arrays.copyOf(priorities, slots);
+        left = Arrays.copyOf(left, slots);
+        right = Arrays.copyOf(right, slots);
+        sizes = Arrays.copyOf(sizes, slots);
+    }
+
+    private int nextPriority() {
+        // xorshift32
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -0,0 +1,175 @@
+package store.service.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Summary of a multiset of prices: count, sum, extremes, mean, population variance and count per price bucket.
+ * <p>
+ * The mean and variance are updated with Welford's online algorithm, which also runs backwards to remove a price.
+ * Summaries of disjoint multisets are combined with the pairwise formulas of Chan et al., so a summary can be collected
+ * by a parallel stream. Summaries are not thread-safe.
+ */
+public final class PriceStatistics {
+
+    private final double[] boundaries;
+
+    private final long[] histogram;
+
+    private long count;
+
+    private double sum;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private double mean;
+
+    // sum of the squared differences from the mean
+    private double m2;
+
+    /**
+     * @param boundaries The strictly increasing price bucket boundaries, an exact hit opening the bucket on its right.
+     */
+    public PriceStatistics(double[] boundaries) {
+        this.boundaries = boundaries;
+        this.histogram = new long[boundaries.length + 1];
+    }
+
+    /**
+     * Build the summary of aggregates computed elsewhere, such as by the database.
+     * @param variance The population variance of the prices.
+     * @param histogram The {@code boundaries.length + 1} bucket counts.
+     */
+    public static PriceStatistics of(
+        double[] boundaries,
+        long count,
+        double sum,
+        double min,
+        double max,
+        double variance,
+        long[] histogram
+    ) {
+        PriceStatistics statistics = new PriceStatistics(boundaries);
+        if (count > 0) {
+            statistics.count = count;
+            statistics.sum = sum;
+            statistics.min = min;
+            statistics.max = max;
+            statistics.mean = sum / count;
+            statistics.m2 = Math.max(0, variance) * count;
+        }
+        System.arraycopy(histogram, 0, statistics.histogram, 0, statistics.histogram.length);
+        return statistics;
+    }
+
+    public void accept(double price) {
+        count++;
+        sum += price;
+        min = Math.min(min, price);
+        max = Math.max(max, price);
+        double delta = price - mean;
+        mean += delta / count;
+        m2 += delta * (price - mean);
+        histogram[bucketOf(price)]++;
+    }
+
+    /**
+     * Remove a price which was accepted before. The extremes are left unchanged, see {@link #withExtremes}.
+     */
+    void remove(double price) {
+        histogram[bucketOf(price)]--;
+        if (--count == 0) {
+            sum = 0;
+            mean = 0;
+            m2 = 0;
+            return;
+        }
+        sum -= price;
+        double delta = price - mean;
+        mean -= delta / count;
+        m2 = Math.max(0, m2 - delta * (price - mean));
+    }
+
+    /**
+     * Add the prices of another summary, with the same boundaries, to this one.
+     * @return this summary.
+     */
+    public PriceStatistics combine(PriceStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            histogram[bucket] += other.histogram[bucket];
+        }
+        return this;
+    }
+
+    /**
+     * @return a copy of this summary, with the given extremes.
+     */
+    PriceStatistics withExtremes(double min, double max) {
+        PriceStatistics copy = new PriceStatistics(boundaries);
+        copy.combine(this);
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public double[] getBoundaries() {
+        return boundaries.clone();
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the lowest price, {@link Double#POSITIVE_INFINITY} if there are none.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * @return the highest price, {@link Double#NEGATIVE_INFINITY} if there are none.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @return the mean price, {@code 0} if there are none.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the population variance of the prices, {@code 0} if there are none.
+     */
+    public double getVariance() {
+        return count == 0 ? 0 : m2 / count;
+    }
+
+    private int bucketOf(double price) {
+        int bucket = Arrays.binarySearch(boundaries, price);
+        return bucket >= 0 ? bucket + 1 : -bucket - 1;
+    }
+}
@@ -0,0 +1,336 @@
+package store.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.ProductsRepository;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * In-memory catalog engine answering {@link ProductsCriteria} queries from {@link ProductsColumns}.
+ * <p>
+ * The columns are loaded once at startup, from the catalog snapshot when there is one, then kept in sync through
+ * {@link ProductsChangedEvent}s. Committed changes are merged into a new copy of the columns by the committing thread,
+ * before the {@link ProductsEpoch} moves, while reads keep using the previous copy. Changes committed during a rebuild
+ * are merged together by the next one, so a burst of writes costs few rebuilds. Until the initial load is done, or when
+ * {@code application.catalog.enabled} is {@code false}, every method returns an empty result and callers are expected
+ * to fall back to the database.
+ */
+@Service
+public class ProductsCatalogEngine extends ProductsWarmUpLoader<ProductsColumns> {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+        Products_.ID,
+        Products_.ARTICAL_NAME,
+        Products_.ARTICAL_PRICE
+    );
+
+    private final ApplicationProperties.Catalog properties;
+
+    // held while merging changes into new columns, before lock
+    private final Object mergeLock = new Object();
+
+    // changes committed since the last merge, guarded by lock
+    private final Map<Long, ProductsChangedEvent> unmergedChanges = new HashMap<>();
+
+    private volatile ProductsColumns columns = ProductsColumns.EMPTY;
+
+    public ProductsCatalogEngine(ApplicationProperties applicationProperties, ProductsRepository productsRepository) {
+        super("in-memory catalog", productsRepository);
+        this.properties = applicationProperties.getCatalog();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    protected Optional<ProductsColumns> loadFromDatabase() {
+        ProductsColumns.Builder builder = ProductsColumns.builder((int) Math.min(productsRepository.count(), Integer.MAX_VALUE));
+        for (Products products : inIdOrder(productsRepository, properties.getWarmUpBatchSize())) {
+            builder.add(products);
+        }
+        return Optional.of(builder.build());
+    }
+
+    @Override
+    protected Optional<ProductsColumns> loadFromSnapshot(ProductsColumns loaded) {
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected long size(ProductsColumns loaded) {
+        return loaded.size();
+    }
+
+    @Override
+    protected boolean publish(ProductsColumns loaded, Map<Long, ProductsChangedEvent> changes) {
+        columns = loaded.withChanges(changes);
+        return true;
+    }
+
+    /**
+     * Keep a committed change for the next merge, see {@link #onProductsChanged}.
+     */
+    @Override
+    protected boolean apply(ProductsChangedEvent event) {
+        unmergedChanges.put(event.getId(), event);
+        return true;
+    }
+
+    /**
+     * Merge a committed change into the columns, ahead of the {@link ProductsEpoch}, so that a result read under an
+     * epoch always holds the changes the epoch counts.
+     */
+    @Override
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        super.onProductsChanged(event);
+        synchronized (mergeLock) {
+            Map<Long, ProductsChangedEvent> changes;
+            lock.writeLock().lock();
+            try {
+                // merged together with the changes committed while the previous merge ran
+                if (unmergedChanges.isEmpty()) {
+                    return;
+                }
+                changes = new HashMap<>(unmergedChanges);
+                unmergedChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            columns = columns.withChanges(changes);
+        }
+    }
+
+    /**
+     * @return the current columns, with the changes of every commit whose listeners have run, without waiting for a
+     * rebuild in progress.
+     */
+    public ProductsColumns columns() {
+        return columns;
+    }
+
+    /**
+     * Return a {@link List} of {@link Products} which matches the criteria, in id order.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities, or an empty {@link Optional} if the catalog is not available.
+     */
+    public Optional<List<Products>> findByCriteria(ProductsCriteria criteria) {
+        return findByCriteria(criteria, Pageable.unpaged()).map(Page::getContent);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} which matches the criteria.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the catalog is not available or the page is
+     * sorted on a property it does not know.
+     */
+    public Optional<Page<Products>> findByCriteria(ProductsCriteria criteria, Pageable page) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        return findByCriteria(columns(), criteria, page);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} which matches the criteria, from the given {@link #columns()}.
+     * @param current The columns, so that several results can be computed from the same state.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the page is sorted on a property the catalog does
+     * not know.
+     */
+    public Optional<Page<Products>> findByCriteria(ProductsColumns current, ProductsCriteria criteria, Pageable page) {
+        if (!page.getSort().stream().map(Sort.Order::getProperty).allMatch(SORTABLE_PROPERTIES::contains)) {
+            return Optional.empty();
+        }
+        ProductsCriteriaMatcher matcher = ProductsCriteriaMatcher.of(criteria);
+        List<Sort.Order> orders = page.getSort().toList();
+        if (orders.size() > 1) {
+            return Optional.of(sortedPage(current, matcher, orders, page));
+        }
+        Sort.Order order = orders.isEmpty() ? Sort.Order.asc(Products_.ID) : orders.get(0);
+        return Optional.of(scannedPage(current, matcher, order, page));
+    }
+
+    /**
+     * Return the number of matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, or an empty {@link OptionalLong} if the catalog is not available.
+     */
+    public OptionalLong countByCriteria(ProductsCriteria criteria) {
+        if (!isAvailable()) {
+            return OptionalLong.empty();
+        }
+        ProductsColumns current = columns();
+        ProductsCriteriaMatcher matcher = ProductsCriteriaMatcher.of(criteria);
+        if (matcher.matchesAll()) {
+            return OptionalLong.of(current.size());
+        }
+        long count = 0;
+        for (int row = 0; row < current.size(); row++) {
+            if (matcher.matches(current, row)) {
+                count++;
+            }
+        }
+        return OptionalLong.of(count);
+    }
+
+    /**
+     * Count the matching entities in each price bucket, see
+     * {@link store.repository.ProductsFacetRepository#countByPriceBuckets}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param boundaries The strictly increasing bucket boundaries.
+     * @return the {@code boundaries.length + 1} bucket counts, or an empty {@link Optional} if the catalog is not
+     * available.
+     */
+    public Optional<long[]> countByPriceBuckets(ProductsCriteria criteria, double[] boundaries) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        return Optional.of(countByPriceBuckets(columns(), criteria, boundaries));
+    }
+
+    /**
+     * Count the matching entities in each price bucket of the given {@link #columns()}.
+     * @param current The columns, so that several results can be computed from the same state.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param boundaries The strictly increasing bucket boundaries.
+     * @return the {@code boundaries.length + 1} bucket counts.
+     */
+    public long[] countByPriceBuckets(ProductsColumns current, ProductsCriteria criteria, double[] boundaries) {
+        ProductsCriteriaMatcher matcher = ProductsCriteriaMatcher.of(criteria);
+        long[] counts = new long[boundaries.length + 1];
+        for (int row = 0; row < current.size(); row++) {
+            if (matcher.matches(current, row)) {
+                // the insertion point of the price is the bucket, an exact hit opens the bucket on its right
+                int bucket = Arrays.binarySearch(boundaries, current.price(row));
+                counts[bucket >= 0 ? bucket + 1 : -bucket - 1]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Summarize the prices of the matching entities in a single parallel pass over the columns.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param boundaries The strictly increasing bucket boundaries of the histogram.
+     * @return the price statistics, or an empty {@link Optional} if the catalog is not available.
+     */
+    public Optional<PriceStatistics> priceStatistics(ProductsCriteria criteria, double[] boundaries) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        ProductsColumns current = columns();
+        ProductsCriteriaMatcher matcher = ProductsCriteriaMatcher.of(criteria);
+        return Optional.of(
+            IntStream
+                .range(0, current.size())
+                .parallel()
+                .filter(row -> matcher.matchesAll() || matcher.matches(current, row))
+                .collect(
+                    () -> new PriceStatistics(boundaries),
+                    (statistics, row) -> statistics.accept(current.price(row)),
+                    PriceStatistics::combine
+                )
+        );
+    }
+
+    /**
+     * Walk the rows in the order of a precomputed permutation, keeping the requested window and counting the rest.
+     */
+    private Page<Products> scannedPage(ProductsColumns current, ProductsCriteriaMatcher matcher, Sort.Order order, Pageable page) {
+        int size = current.size();
+        long offset = page.isPaged() ? page.getOffset() : 0;
+        int limit = page.isPaged() ? page.getPageSize() : Integer.MAX_VALUE;
+        List<Products> content = new ArrayList<>(page.isPaged() ? limit : 16);
+        long total = 0;
+        for (int position = 0; position < size; position++) {
+            int row = rowAt(current, order, position);
+            if (matcher.matchesAll() || matcher.matches(current, row)) {
+                if (total >= offset && content.size() < limit) {
+                    content.add(current.toProducts(row));
+                } else if (matcher.matchesAll() && content.size() == limit) {
+                    total = size;
+                    break;
+                }
+                total++;
+            }
+        }
+        return new PageImpl<>(content, page, total);
+    }
+
+    private int rowAt(ProductsColumns current, Sort.Order order, int position) {
+        int index = order.isAscending() ? position : current.size() - 1 - position;
+        switch (order.getProperty()) {
+            case Products_.ARTICAL_NAME:
+                return current.rowByName(index);
+            case Products_.ARTICAL_PRICE:
+                return current.rowByPrice(index);
+            default:
+                return index;
+        }
+    }
+
+    private Page<Products> sortedPage(ProductsColumns current, ProductsCriteriaMatcher matcher, List<Sort.Order> orders, Pageable page) {
+        int[] matches = new int[16];
+        int count = 0;
+        for (int row = 0; row < current.size(); row++) {
+            if (matcher.matches(current, row)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = row;
+            }
+        }
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : orders) {
+            Comparator<Integer> next = comparator(current, order.getProperty());
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        List<Products> content = Arrays
+            .stream(matches, 0, count)
+            .boxed()
+            .sorted(comparator)
+            .skip(page.isPaged() ? page.getOffset() : 0)
+            .limit(page.isPaged() ? page.getPageSize() : Integer.MAX_VALUE)
+            .map(current::toProducts)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, page, count);
+    }
+
+    private Comparator<Integer> comparator(ProductsColumns current, String property) {
+        switch (property) {
+            case Products_.ARTICAL_NAME:
+                return Comparator.comparingInt(current::nameCode);
+            case Products_.ARTICAL_PRICE:
+                return Comparator.comparingDouble(current::price);
+            default:
+                return Comparator.comparingLong(current::id);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package store.service.catalog;
+
+import store.domain.Products;
+
+/**
+ * Application event published once a change to a {@link Products} row has been committed.
+ * <p>
+ * It carries a copy of the committed column values, so listeners never hold on to a managed entity.
+ */
+public final class ProductsChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    private final Type type;
+
+    private final Long id;
+
+    private final String articalName;
+
+    private final Double articalPrice;
+
+    private ProductsChangedEvent(Type type, Long id, String articalName, Double articalPrice) {
+        this.type = type;
+        this.id = id;
+        this.articalName = articalName;
+        this.articalPrice = articalPrice;
+    }
+
+    public static ProductsChangedEvent created(Products products) {
+        return new ProductsChangedEvent(Type.CREATED, products.getId(), products.getArticalName(), products.getArticalPrice());
+    }
+
+    public static ProductsChangedEvent updated(Products products) {
+        return new ProductsChangedEvent(Type.UPDATED, products.getId(), products.getArticalName(), products.getArticalPrice());
+    }
+
+    public static ProductsChangedEvent deleted(Long id) {
+        return new ProductsChangedEvent(Type.DELETED, id, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getArticalName() {
+        return articalName;
+    }
+
+    public Double getArticalPrice() {
+        return articalPrice;
+    }
+
+    public boolean isDeletion() {
+        return type == Type.DELETED;
+    }
+
+    /**
+     * @return a detached {@link Products} holding the committed values, or {@code null} for a deletion.
+     */
+    public Products toProducts() {
+        if (isDeletion()) {
+            return null;
+        }
+        return new Products().id(id).articalName(articalName).articalPrice(articalPrice);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsChangedEvent{" +
+            "type=" + type +
+            ", id=" + id +
+            ", articalName='" + articalName + "'" +
+            ", articalPrice=" + articalPrice +
+            "}";
+    }
+}
@@ -0,0 +1,244 @@
+package store.service.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import store.domain.Products;
+
+/**
+ * Immutable, column-oriented copy of the {@link Products} table.
+ * <p>
+ * Rows are stored in ascending id order. Names are dictionary-encoded against a sorted dictionary, so comparing two
+ * name codes is the same as comparing the names. Permutations of the rows in name and price order are precomputed,
+ * so sorted pages can be read without sorting at query time.
+ */
+public final class ProductsColumns {
+
+    /**
+     * Name order, close to the case-insensitive collation used by the database.
+     */
+    public static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    public static final ProductsColumns EMPTY = new Builder(0).build();
+
+    private final long[] ids;
+
+    private final double[] prices;
+
+    private final int[] nameCodes;
+
+    private final String[] dictionary;
+
+    private final String[] upperDictionary;
+
+    private final int[] byName;
+
+    private final int[] byPrice;
+
+    private ProductsColumns(
+        long[] ids,
+        double[] prices,
+        int[] nameCodes,
+        String[] dictionary,
+        String[] upperDictionary,
+        int[] byName,
+        int[] byPrice
+    ) {
+        this.ids = ids;
+        this.prices = prices;
+        this.nameCodes = nameCodes;
+        this.dictionary = dictionary;
+        this.upperDictionary = upperDictionary;
+        this.byName = byName;
+        this.byPrice = byPrice;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public double price(int row) {
+        return prices[row];
+    }
+
+    public int nameCode(int row) {
+        return nameCodes[row];
+    }
+
+    public String name(int row) {
+        return dictionary[nameCodes[row]];
+    }
+
+    /**
+     * @return the name upper-cased the way the database does it for {@code contains} filters.
+     */
+    public String upperName(int row) {
+        return upperDictionary[nameCodes[row]];
+    }
+
+    /**
+     * @return the row holding the given id, or a negative value when there is none.
+     */
+    public int rowOf(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    /**
+     * @return the row at the given position in ascending name order.
+     */
+    public int rowByName(int position) {
+        return byName[position];
+    }
+
+    /**
+     * @return the row at the given position in ascending {@code (price, id)} order.
+     */
+    public int rowByPrice(int position) {
+        return byPrice[position];
+    }
+
+    public Products toProducts(int row) {
+        return new Products().id(ids[row]).articalName(name(row)).articalPrice(prices[row]);
+    }
+
+    /**
+     * Return a copy of these columns with the given committed changes applied.
+     *
+     * @param changes the latest change for each modified id.
+     * @return the new columns.
+     */
+    public ProductsColumns withChanges(Map<Long, ProductsChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        Builder builder = new Builder(ids.length + changes.size());
+        for (int row = 0; row < ids.length; row++) {
+            if (!changes.containsKey(ids[row])) {
+                builder.add(ids[row], name(row), prices[row]);
+            }
+        }
+        for (ProductsChangedEvent change : changes.values()) {
+            if (!change.isDeletion()) {
+                builder.add(change.getId(), change.getArticalName(), change.getArticalPrice());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects rows in any order and encodes them into {@link ProductsColumns}.
+     */
+    public static final class Builder {
+
+        private long[] ids;
+
+        private double[] prices;
+
+        private String[] names;
+
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            prices = new double[capacity];
+            names = new String[capacity];
+        }
+
+        public Builder add(long id, String name, double price) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            ids[size] = id;
+            prices[size] = price;
+            names[size] = name;
+            size++;
+            return this;
+        }
+
+        public Builder add(Products products) {
+            return add(products.getId(), products.getArticalName(), products.getArticalPrice());
+        }
+
+        public ProductsColumns build() {
+            int[] idOrder = sortedRows(size, (a, b) -> Long.compare(ids[a], ids[b]));
+
+            long[] sortedIds = new long[size];
+            double[] sortedPrices = new double[size];
+            String[] sortedNames = new String[size];
+            for (int row = 0; row < size; row++) {
+                sortedIds[row] = ids[idOrder[row]];
+                sortedPrices[row] = prices[idOrder[row]];
+                sortedNames[row] = names[idOrder[row]];
+            }
+
+            String[] dictionary = Arrays.stream(sortedNames).distinct().sorted(NAME_ORDER).toArray(String[]::new);
+            String[] upperDictionary = new String[dictionary.length];
+            Map<String, Integer> codes = new HashMap<>(dictionary.length * 2);
+            for (int code = 0; code < dictionary.length; code++) {
+                upperDictionary[code] = dictionary[code].toUpperCase(Locale.ROOT);
+                codes.put(dictionary[code], code);
+            }
+            int[] nameCodes = new int[size];
+            for (int row = 0; row < size; row++) {
+                nameCodes[row] = codes.get(sortedNames[row]);
+            }
+
+            // rows are in id order and the sort is stable, so ties keep ascending ids
+            int[] byName = sortedRows(size, (a, b) -> Integer.compare(nameCodes[a], nameCodes[b]));
+            int[] byPrice = sortedRows(size, (a, b) -> Double.compare(sortedPrices[a], sortedPrices[b]));
+
+            return new ProductsColumns(sortedIds, sortedPrices, nameCodes, dictionary, upperDictionary, byName, byPrice);
+        }
+
+        /**
+         * Stable merge sort of the row numbers, on primitive arrays rather than boxed ones.
+         */
+        private static int[] sortedRows(int size, RowOrder order) {
+            int[] rows = new int[size];
+            for (int row = 0; row < size; row++) {
+                rows[row] = row;
+            }
+            int[] buffer = new int[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int from = 0; from < size - width; from += 2 * width) {
+                    int middle = from + width;
+                    int to = Math.min(from + 2 * width, size);
+                    if (order.compare(rows[middle - 1], rows[middle]) <= 0) {
+                        // already in order, as most runs are when the rows come from a previous copy
+                        continue;
+                    }
+                    System.arraycopy(rows, from, buffer, from, to - from);
+                    int left = from;
+                    int right = middle;
+                    for (int i = from; i < to; i++) {
+                        if (right >= to || (left < middle && order.compare(buffer[left], buffer[right]) <= 0)) {
+                            rows[i] = buffer[left++];
+                        } else {
+                            rows[i] = buffer[right++];
+                        }
+                    }
+                }
+            }
+            return rows;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowOrder {
+        int compare(int a, int b);
+    }
+}
@@ -0,0 +1,334 @@
+package store.service.catalog;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import store.domain.Products;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Evaluates a {@link ProductsCriteria} against in-memory rows, with the same semantics as the
+ * {@link org.springframework.data.jpa.domain.Specification} built by {@link store.service.ProductsQueryService}.
+ * <p>
+ * Filters are compiled once into primitive bounds and sorted arrays, so matching a row does not allocate. The
+ * {@code or} and {@code not} groups of the criteria are compiled into matchers of their own.
+ */
+public final class ProductsCriteriaMatcher {
+
+    private final LongCondition id;
+
+    private final NameCondition articalName;
+
+    private final DoubleCondition articalPrice;
+
+    // null when there are no or groups, or one of them matches every row
+    private final ProductsCriteriaMatcher[] or;
+
+    private final ProductsCriteriaMatcher not;
+
+    private ProductsCriteriaMatcher(
+        LongCondition id,
+        NameCondition articalName,
+        DoubleCondition articalPrice,
+        ProductsCriteriaMatcher[] or,
+        ProductsCriteriaMatcher not
+    ) {
+        this.id = id;
+        this.articalName = articalName;
+        this.articalPrice = articalPrice;
+        this.or = or;
+        this.not = not;
+    }
+
+    public static ProductsCriteriaMatcher of(ProductsCriteria criteria) {
+        if (criteria == null) {
+            return new ProductsCriteriaMatcher(null, null, null, null, null);
+        }
+        return new ProductsCriteriaMatcher(
+            criteria.getId() == null ? null : new LongCondition(criteria.getId()),
+            criteria.getArticalName() == null ? null : new NameCondition(criteria.getArticalName()),
+            criteria.getArticalPrice() == null ? null : new DoubleCondition(criteria.getArticalPrice()),
+            or(criteria.getOr()),
+            criteria.getNot() == null ? null : of(criteria.getNot())
+        );
+    }
+
+    private static ProductsCriteriaMatcher[] or(List<ProductsCriteria> groups) {
+        if (groups == null || groups.isEmpty()) {
+            return null;
+        }
+        ProductsCriteriaMatcher[] matchers = new ProductsCriteriaMatcher[groups.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            matchers[i] = of(groups.get(i));
+            if (matchers[i].matchesAll()) {
+                return null;
+            }
+        }
+        return matchers;
+    }
+
+    /**
+     * @return {@code true} if every row matches, so callers can skip evaluation.
+     */
+    public boolean matchesAll() {
+        return id == null && articalName == null && articalPrice == null && or == null && not == null;
+    }
+
+    public boolean matches(ProductsColumns columns, int row) {
+        return (
+            (id == null || id.test(columns.id(row))) &&
+            (articalPrice == null || articalPrice.test(columns.price(row))) &&
+            (articalName == null || articalName.test(columns.name(row), columns.upperName(row))) &&
+            (or == null || matchesAny(columns, row)) &&
+            (not == null || !not.matches(columns, row))
+        );
+    }
+
+    public boolean matches(Products products) {
+        return (
+            (id == null || id.test(products.getId())) &&
+            (articalPrice == null || articalPrice.test(products.getArticalPrice())) &&
+            (articalName == null ||
+                articalName.test(products.getArticalName(), products.getArticalName().toUpperCase(Locale.ROOT))) &&
+            (or == null || matchesAny(products)) &&
+            (not == null || !not.matches(products))
+        );
+    }
+
+    private boolean matchesAny(ProductsColumns columns, int row) {
+        for (ProductsCriteriaMatcher group : or) {
+            if (group.matches(columns, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAny(Products products) {
+        for (ProductsCriteriaMatcher group : or) {
+            if (group.matches(products)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inclusive lower bound on the price of matching rows, {@link Double#NEGATIVE_INFINITY} if unbounded.
+     */
+    public double priceLowerBound() {
+        return articalPrice == null ? Double.NEGATIVE_INFINITY : articalPrice.min;
+    }
+
+    /**
+     * Inclusive upper bound on the price of matching rows, {@link Double#POSITIVE_INFINITY} if unbounded.
+     */
+    public double priceUpperBound() {
+        return articalPrice == null ? Double.POSITIVE_INFINITY : articalPrice.max;
+    }
+
+    private static final class LongCondition {
+
+        private final boolean none;
+
+        private final long[] in;
+
+        private final long[] notIn;
+
+        private final long min;
+
+        private final long max;
+
+        LongCondition(LongFilter filter) {
+            if (filter.getEquals() != null) {
+                in = new long[] { filter.getEquals() };
+                notIn = null;
+                min = Long.MIN_VALUE;
+                max = Long.MAX_VALUE;
+                none = false;
+                return;
+            }
+            if (filter.getIn() != null) {
+                in = sorted(filter.getIn());
+                notIn = null;
+                min = Long.MIN_VALUE;
+                max = Long.MAX_VALUE;
+                none = false;
+                return;
+            }
+            in = null;
+            long[] excluded = filter.getNotIn() == null ? new long[0] : sorted(filter.getNotIn());
+            if (filter.getNotEquals() != null) {
+                excluded = Arrays.copyOf(excluded, excluded.length + 1);
+                excluded[excluded.length - 1] = filter.getNotEquals();
+                Arrays.sort(excluded);
+            }
+            notIn = excluded.length == 0 ? null : excluded;
+            long lower = Long.MIN_VALUE;
+            long upper = Long.MAX_VALUE;
+            boolean empty = Boolean.FALSE.equals(filter.getSpecified());
+            if (filter.getGreaterThan() != null) {
+                empty |= filter.getGreaterThan() == Long.MAX_VALUE;
+                lower = Math.max(lower, filter.getGreaterThan() + 1);
+            }
+            if (filter.getGreaterThanOrEqual() != null) {
+                lower = Math.max(lower, filter.getGreaterThanOrEqual());
+            }
+            if (filter.getLessThan() != null) {
+                empty |= filter.getLessThan() == Long.MIN_VALUE;
+                upper = Math.min(upper, filter.getLessThan() - 1);
+            }
+            if (filter.getLessThanOrEqual() != null) {
+                upper = Math.min(upper, filter.getLessThanOrEqual());
+            }
+            min = lower;
+            max = upper;
+            none = empty || lower > upper;
+        }
+
+        boolean test(long value) {
+            if (none) {
+                return false;
+            }
+            if (in != null) {
+                return Arrays.binarySearch(in, value) >= 0;
+            }
+            return value >= min && value <= max && (notIn == null || Arrays.binarySearch(notIn, value) < 0);
+        }
+
+        private static long[] sorted(List<Long> values) {
+            return values.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+
+    private static final class DoubleCondition {
+
+        private final boolean none;
+
+        private final double[] in;
+
+        private final double[] notIn;
+
+        private final double min;
+
+        private final double max;
+
+        DoubleCondition(DoubleFilter filter) {
+            if (filter.getEquals() != null || filter.getIn() != null) {
+                in =
+                    filter.getEquals() != null
+                        ? new double[] { filter.getEquals() }
+                        : filter.getIn().stream().mapToDouble(Double::doubleValue).sorted().toArray();
+                notIn = null;
+                min = in.length == 0 ? Double.POSITIVE_INFINITY : in[0];
+                max = in.length == 0 ? Double.NEGATIVE_INFINITY : in[in.length - 1];
+                none = in.length == 0;
+                return;
+            }
+            in = null;
+            double[] excluded = filter.getNotIn() == null
+                ? new double[0]
+                : filter.getNotIn().stream().mapToDouble(Double::doubleValue).toArray();
+            if (filter.getNotEquals() != null) {
+                excluded = Arrays.copyOf(excluded, excluded.length + 1);
+                excluded[excluded.length - 1] = filter.getNotEquals();
+            }
+            Arrays.sort(excluded);
+            notIn = excluded.length == 0 ? null : excluded;
+            double lower = Double.NEGATIVE_INFINITY;
+            double upper = Double.POSITIVE_INFINITY;
+            if (filter.getGreaterThan() != null) {
+                lower = Math.max(lower, Math.nextUp(filter.getGreaterThan()));
+            }
+            if (filter.getGreaterThanOrEqual() != null) {
+                lower = Math.max(lower, filter.getGreaterThanOrEqual());
+            }
+            if (filter.getLessThan() != null) {
+                upper = Math.min(upper, Math.nextDown(filter.getLessThan()));
+            }
+            if (filter.getLessThanOrEqual() != null) {
+                upper = Math.min(upper, filter.getLessThanOrEqual());
+            }
+            min = lower;
+            max = upper;
+            none = Boolean.FALSE.equals(filter.getSpecified()) || lower > upper;
+        }
+
+        boolean test(double value) {
+            if (none) {
+                return false;
+            }
+            if (in != null) {
+                return Arrays.binarySearch(in, value) >= 0;
+            }
+            return value >= min && value <= max && (notIn == null || Arrays.binarySearch(notIn, value) < 0);
+        }
+    }
+
+    private static final class NameCondition {
+
+        private final boolean all;
+
+        private final boolean none;
+
+        private final String equals;
+
+        private final Set<String> in;
+
+        private final Set<String> notIn;
+
+        private final String contains;
+
+        private final String doesNotContain;
+
+        private final String notEquals;
+
+        NameCondition(StringFilter filter) {
+            // Only the first operator of this chain applies, as in QueryService#buildStringSpecification
+            equals = filter.getEquals();
+            in = equals == null && filter.getIn() != null ? new HashSet<>(filter.getIn()) : null;
+            notIn = equals == null && in == null && filter.getNotIn() != null ? new HashSet<>(filter.getNotIn()) : null;
+            boolean chained = equals != null || in != null || notIn != null;
+            contains = !chained && filter.getContains() != null ? filter.getContains().toUpperCase(Locale.ROOT) : null;
+            chained |= contains != null;
+            doesNotContain = !chained && filter.getDoesNotContain() != null ? filter.getDoesNotContain().toUpperCase(Locale.ROOT) : null;
+            chained |= doesNotContain != null;
+            notEquals = !chained ? filter.getNotEquals() : null;
+            chained |= notEquals != null;
+            Boolean specified = !chained ? filter.getSpecified() : null;
+            chained |= specified != null;
+            none = Boolean.FALSE.equals(specified);
+            all = !chained || Boolean.TRUE.equals(specified);
+        }
+
+        boolean test(String name, String upperName) {
+            if (all) {
+                return true;
+            }
+            if (none) {
+                return false;
+            }
+            if (equals != null) {
+                return equals.equals(name);
+            }
+            if (in != null) {
+                return in.contains(name);
+            }
+            if (notIn != null) {
+                return !notIn.contains(name);
+            }
+            if (contains != null) {
+                return upperName.contains(contains);
+            }
+            if (doesNotContain != null) {
+                return !upperName.contains(doesNotContain);
+            }
+            return !notEquals.equals(name);
+        }
+    }
+}
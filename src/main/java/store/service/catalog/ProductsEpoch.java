@@ -0,0 +1,37 @@
+package store.service.catalog;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog-wide modification epoch, incremented on every committed {@link store.domain.Products} write.
+ * <p>
+ * Results computed under an epoch are still valid as long as the epoch has not moved, which makes it a cheap
+ * invalidation key for derived data. Epochs restart from zero with the application, so values meant to outlive it,
+ * such as HTTP validators, also carry the {@link #getOrigin() origin} of the counter.
+ */
+@Component
+public class ProductsEpoch {
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final long origin = ThreadLocalRandom.current().nextLong();
+
+    public long current() {
+        return epoch.get();
+    }
+
+    /**
+     * @return a random value, different for each run of the application.
+     */
+    public long getOrigin() {
+        return origin;
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        epoch.incrementAndGet();
+    }
+}
@@ -0,0 +1,104 @@
+package store.service.catalog;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import store.domain.Products;
+
+/**
+ * Hibernate post-commit listener turning committed {@link Products} writes into {@link ProductsChangedEvent}s.
+ * <p>
+ * Rolled back transactions never reach the in-memory structures, as only post-commit events are handled.
+ */
+@Component
+public class ProductsHibernateListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Logger log = LoggerFactory.getLogger(ProductsHibernateListener.class);
+
+    private final transient EntityManagerFactory entityManagerFactory;
+
+    private final transient ApplicationEventPublisher eventPublisher;
+
+    public ProductsHibernateListener(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Products) {
+            publish(ProductsChangedEvent.created((Products) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Products) {
+            publish(ProductsChangedEvent.updated((Products) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Products) {
+            publish(ProductsChangedEvent.deleted((Long) event.getId()));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was published yet, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was published yet, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was published yet, so there is nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Products.class.equals(persister.getMappedClass());
+    }
+
+    private void publish(ProductsChangedEvent event) {
+        log.debug("Publishing committed change : {}", event);
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // The transaction is already committed, a failing listener must not surface as a failed write
+            log.error("Could not propagate committed change {}", event, e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package store.service.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.ProductsRepository;
+import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+import tech.jhipster.service.filter.DoubleFilter;
+
+/**
+ * In-memory {@link PriceOrderTree} of the {@link Products} prices, answering price range counts, price sorted pages and
+ * price percentiles without sorting.
+ * <p>
+ * The tree is loaded once at startup, from the catalog snapshot when there is one, then kept in sync through
+ * {@link ProductsChangedEvent}s. It only holds prices and ids, so the products of a page are then loaded by id, mostly
+ * from the second-level cache. Only criteria which filter on a price range, or not at all, are answered. Until the
+ * initial load is done, or when {@code application.price-index.enabled} is {@code false}, every method returns an empty
+ * result and callers are expected to fall back to the database.
+ */
+@Service
+public class ProductsPriceIndex extends ProductsWarmUpLoader<ProductsPriceIndex.Loaded> {
+
+    private final ApplicationProperties.PriceIndex properties;
+
+    // guarded by lock
+    private PriceOrderTree tree = new PriceOrderTree(0);
+
+    // the indexed price of every product, to find its key on update and delete, guarded by lock
+    private Map<Long, Double> prices = new HashMap<>();
+
+    public ProductsPriceIndex(ApplicationProperties applicationProperties, ProductsRepository productsRepository) {
+        super("products price index", productsRepository);
+        this.properties = applicationProperties.getPriceIndex();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    protected Optional<Loaded> loadFromDatabase() {
+        Loaded loaded = new Loaded((int) Math.min(productsRepository.count(), Integer.MAX_VALUE));
+        for (Products products : inIdOrder(productsRepository, properties.getWarmUpBatchSize())) {
+            apply(loaded.tree, loaded.prices, products.getId(), products.getArticalPrice());
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected Optional<Loaded> loadFromSnapshot(ProductsColumns columns) {
+        Loaded loaded = new Loaded(columns.size());
+        for (int row = 0; row < columns.size(); row++) {
+            apply(loaded.tree, loaded.prices, columns.id(row), columns.price(row));
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected long size(Loaded loaded) {
+        return loaded.tree.size();
+    }
+
+    @Override
+    protected boolean publish(Loaded loaded, Map<Long, ProductsChangedEvent> changes) {
+        for (ProductsChangedEvent event : changes.values()) {
+            apply(loaded.tree, loaded.prices, event.getId(), event.getArticalPrice());
+        }
+        tree = loaded.tree;
+        prices = loaded.prices;
+        return true;
+    }
+
+    @Override
+    protected boolean apply(ProductsChangedEvent event) {
+        apply(tree, prices, event.getId(), event.getArticalPrice());
+        return true;
+    }
+
+    /**
+     * Return the number of matching entities, in {@code O(log n)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, or an empty {@link OptionalLong} if the index is not available or the
+     * criteria filter on something else than a price range.
+     */
+    public OptionalLong countByCriteria(ProductsCriteria criteria) {
+        Optional<DoubleFilter> range = priceRange(criteria);
+        if (!isAvailable() || range.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int[] bounds = rankBounds(range.get());
+            return OptionalLong.of(bounds[1] - bounds[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} which matches the criteria, sorted by price.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the index is not available, the criteria filter on
+     * something else than a price range, or the page is not sorted by price, then optionally by id in the same direction.
+     */
+    public Optional<Page<Products>> findByCriteria(ProductsCriteria criteria, Pageable page) {
+        Optional<DoubleFilter> range = priceRange(criteria);
+        if (!isAvailable() || range.isEmpty() || page.isUnpaged() || !isSortedByPrice(page.getSort())) {
+            return Optional.empty();
+        }
+        boolean ascending = page.getSort().iterator().next().isAscending();
+        List<Long> ids = new ArrayList<>(page.getPageSize());
+        long total;
+        lock.readLock().lock();
+        try {
+            int[] bounds = rankBounds(range.get());
+            total = bounds[1] - bounds[0];
+            for (long position = page.getOffset(); position < Math.min(total, page.getOffset() + page.getPageSize()); position++) {
+                ids.add(tree.idAt(ascending ? bounds[0] + (int) position : bounds[1] - 1 - (int) position));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Products> content = productsRepository.multiLoad(ids);
+        if (!content.stream().allMatch(Objects::nonNull)) {
+            // deleted since the ids were read, the database has the answer
+            return Optional.empty();
+        }
+        return Optional.of(new PageImpl<>(content, page, total));
+    }
+
+    /**
+     * Return the prices at the given percentiles, with the nearest-rank method.
+     * @param percentiles The percentiles, from 0 to 100.
+     * @return the prices, {@code null} when there are no products, or an empty {@link Optional} if the index is not
+     * available.
+     */
+    public Optional<List<Double>> pricePercentiles(List<Double> percentiles) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        List<Double> result = new ArrayList<>(percentiles.size());
+        lock.readLock().lock();
+        try {
+            int size = tree.size();
+            for (double percentile : percentiles) {
+                result.add(size == 0 ? null : tree.priceAt((int) nearestRank(percentile, size)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * @return the 0-based rank of the percentile among {@code size} sorted values, with the nearest-rank method.
+     */
+    public static long nearestRank(double percentile, long size) {
+        return Math.max(0, Math.min(size, (long) Math.ceil(percentile / 100 * size)) - 1);
+    }
+
+    /**
+     * @return the ranks of the first key in the range, and of the first key after it.
+     */
+    private int[] rankBounds(DoubleFilter range) {
+        int from = 0;
+        int to = tree.size();
+        if (range.getEquals() != null) {
+            from = tree.countLessThan(range.getEquals());
+            to = tree.countLessThanOrEqual(range.getEquals());
+        }
+        if (range.getGreaterThan() != null) {
+            from = tree.countLessThanOrEqual(range.getGreaterThan());
+        } else if (range.getGreaterThanOrEqual() != null) {
+            from = tree.countLessThan(range.getGreaterThanOrEqual());
+        }
+        if (range.getLessThan() != null) {
+            to = tree.countLessThan(range.getLessThan());
+        } else if (range.getLessThanOrEqual() != null) {
+            to = tree.countLessThanOrEqual(range.getLessThanOrEqual());
+        }
+        return new int[] { from, Math.max(from, to) };
+    }
+
+    /**
+     * @return the price filter of criteria filtering on a price range only, an empty filter for criteria matching every
+     * product, or an empty {@link Optional} for any other criteria.
+     */
+    private static Optional<DoubleFilter> priceRange(ProductsCriteria criteria) {
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+        if (
+            normalized.getId() != null ||
+            normalized.getArticalName() != null ||
+            normalized.getOr() != null ||
+            normalized.getNot() != null
+        ) {
+            return Optional.empty();
+        }
+        DoubleFilter price = normalized.getArticalPrice();
+        if (price == null) {
+            return Optional.of(new DoubleFilter());
+        }
+        if (price.getIn() != null || price.getNotIn() != null || price.getSpecified() != null) {
+            return Optional.empty();
+        }
+        return Optional.of(price);
+    }
+
+    private static boolean isSortedByPrice(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || orders.size() > 2 || !orders.get(0).getProperty().equals(Products_.ARTICAL_PRICE)) {
+            return false;
+        }
+        // keys are (price, id), so ties are in id order
+        return (
+            orders.size() == 1 ||
+            (orders.get(1).getProperty().equals(Products_.ID) && orders.get(1).getDirection() == orders.get(0).getDirection())
+        );
+    }
+
+    /**
+     * Replace the key of a product.
+     * @param price The committed price, or {@code null} if the product was deleted.
+     */
+    private static void apply(PriceOrderTree tree, Map<Long, Double> prices, Long id, Double price) {
+        Double previous = price == null ? prices.remove(id) : prices.put(id, price);
+        if (previous != null) {
+            tree.remove(previous, id);
+        }
+        if (price != null) {
+            tree.insert(price, id);
+        }
+    }
+
+    /**
+     * A tree and the indexed prices, loaded together.
+     */
+    static final class Loaded {
+
+        private final PriceOrderTree tree;
+
+        private final Map<Long, Double> prices = new HashMap<>();
+
+        private Loaded(int expectedSize) {
+            this.tree = new PriceOrderTree(expectedSize);
+        }
+    }
+}
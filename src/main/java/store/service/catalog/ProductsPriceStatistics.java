@@ -0,0 +1,140 @@
+package store.service.catalog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+
+/**
+ * {@link PriceStatistics} of every {@link Products}, over the configured search price buckets, maintained in memory.
+ * <p>
+ * The statistics are computed once at startup, from the catalog snapshot when there is one, then updated in
+ * {@code O(log n)} from the {@link ProductsChangedEvent}s which the {@link store.service.ProductsService} writes
+ * publish once committed. The indexed price of every product is kept to remove it on update and delete, and a count per
+ * distinct price to keep the extremes. Until the initial load is done, or when
+ * {@code application.price-statistics.enabled} is {@code false}, no statistics are returned and callers are expected to
+ * compute them otherwise.
+ */
+@Service
+public class ProductsPriceStatistics extends ProductsWarmUpLoader<ProductsPriceStatistics.Loaded> {
+
+    private final ApplicationProperties.PriceStatistics properties;
+
+    private final double[] boundaries;
+
+    // guarded by lock
+    private Loaded state;
+
+    public ProductsPriceStatistics(ApplicationProperties applicationProperties, ProductsRepository productsRepository) {
+        super("products price statistics", productsRepository);
+        this.properties = applicationProperties.getPriceStatistics();
+        this.boundaries = applicationProperties.getSearch().getPriceBuckets().stream().mapToDouble(Double::doubleValue).toArray();
+        this.state = new Loaded(boundaries);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    protected Optional<Loaded> loadFromDatabase() {
+        Loaded loaded = new Loaded(boundaries);
+        for (Products products : inIdOrder(productsRepository, properties.getWarmUpBatchSize())) {
+            loaded.apply(products.getId(), products.getArticalPrice());
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected Optional<Loaded> loadFromSnapshot(ProductsColumns columns) {
+        Loaded loaded = new Loaded(boundaries);
+        for (int row = 0; row < columns.size(); row++) {
+            loaded.apply(columns.id(row), columns.price(row));
+        }
+        return Optional.of(loaded);
+    }
+
+    @Override
+    protected long size(Loaded loaded) {
+        return loaded.statistics.getCount();
+    }
+
+    @Override
+    protected boolean publish(Loaded loaded, Map<Long, ProductsChangedEvent> changes) {
+        for (ProductsChangedEvent event : changes.values()) {
+            loaded.apply(event.getId(), event.getArticalPrice());
+        }
+        state = loaded;
+        return true;
+    }
+
+    @Override
+    protected boolean apply(ProductsChangedEvent event) {
+        state.apply(event.getId(), event.getArticalPrice());
+        return true;
+    }
+
+    /**
+     * @return the price bucket boundaries of the histogram.
+     */
+    public double[] getBoundaries() {
+        return boundaries.clone();
+    }
+
+    /**
+     * @return a copy of the statistics of every product, or an empty {@link Optional} if they are not available.
+     */
+    public Optional<PriceStatistics> snapshot() {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(
+                state.priceCounts.isEmpty()
+                    ? state.statistics.withExtremes(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)
+                    : state.statistics.withExtremes(state.priceCounts.firstKey(), state.priceCounts.lastKey())
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The statistics, with the indexed price of every product to remove it on update and delete, and the number of
+     * products of every price to keep the extremes.
+     */
+    static final class Loaded {
+
+        private final PriceStatistics statistics;
+
+        private final Map<Long, Double> prices = new HashMap<>();
+
+        private final TreeMap<Double, Integer> priceCounts = new TreeMap<>();
+
+        private Loaded(double[] boundaries) {
+            this.statistics = new PriceStatistics(boundaries);
+        }
+
+        /**
+         * Replace the price of a product.
+         * @param price The committed price, or {@code null} if the product was deleted.
+         */
+        private void apply(Long id, Double price) {
+            Double previous = price == null ? prices.remove(id) : prices.put(id, price);
+            if (previous != null) {
+                statistics.remove(previous);
+                priceCounts.computeIfPresent(previous, (key, count) -> count == 1 ? null : count - 1);
+            }
+            if (price != null) {
+                statistics.accept(price);
+                priceCounts.merge(price, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package store.service.catalog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import store.repository.ProductsRepository;
+
+/**
+ * Maintained estimate of the number of {@link store.domain.Products} rows.
+ * <p>
+ * It is counted once, then moved by committed inserts and deletes, and periodically re-counted to absorb writes made
+ * by other nodes.
+ */
+@Component
+public class ProductsRowCounter {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsRowCounter.class);
+
+    private final ProductsRepository productsRepository;
+
+    private final AtomicLong rows = new AtomicLong(-1);
+
+    public ProductsRowCounter(ProductsRepository productsRepository) {
+        this.productsRepository = productsRepository;
+    }
+
+    public long estimate() {
+        long estimate = rows.get();
+        if (estimate < 0) {
+            refresh();
+            estimate = rows.get();
+        }
+        return estimate;
+    }
+
+    @Scheduled(fixedDelayString = "${application.count.row-counter-refresh:PT10M}")
+    public void refresh() {
+        rows.set(productsRepository.count());
+        log.debug("Products row counter refreshed to {}", rows.get());
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                rows.updateAndGet(count -> count < 0 ? count : count + 1);
+                break;
+            case DELETED:
+                rows.updateAndGet(count -> count < 1 ? count : count - 1);
+                break;
+            default:
+                break;
+        }
+    }
+}
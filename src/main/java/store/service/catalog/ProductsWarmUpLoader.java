@@ -0,0 +1,203 @@
+package store.service.catalog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Async;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.ProductsRepository;
+import store.service.snapshot.ProductsSnapshotLoadedEvent;
+
+/**
+ * Base of the in-memory structures of the {@link Products} which are loaded once at startup, from the catalog snapshot
+ * when there is one, then kept in sync through {@link ProductsChangedEvent}s.
+ * <p>
+ * Changes committed while loading are kept, then applied to the loaded structure before it is published, as they are
+ * newer than, or as new as, the loaded rows. Publishing and applying changes are done holding the write {@link #lock},
+ * which subclasses also use to guard their published structure. Until the structure is published, or when it is not
+ * enabled, {@link #isAvailable()} is {@code false} and callers are expected to fall back to the database.
+ *
+ * @param <S> the type of the loaded structure.
+ */
+public abstract class ProductsWarmUpLoader<S> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+
+    protected final ProductsRepository productsRepository;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // changes committed during the initial load, null once it is installed or abandoned, guarded by lock
+    private Map<Long, ProductsChangedEvent> pendingChanges = new HashMap<>();
+
+    private volatile boolean ready;
+
+    protected ProductsWarmUpLoader(String name, ProductsRepository productsRepository) {
+        this.name = name;
+        this.productsRepository = productsRepository;
+    }
+
+    /**
+     * Read every product, in id order and by batches, each batch starting after the last id of the previous one.
+     * @param productsRepository the repository to read from.
+     * @param batchSize the number of products read by each query.
+     * @return the products, read lazily.
+     */
+    public static Iterable<Products> inIdOrder(ProductsRepository productsRepository, int batchSize) {
+        Pageable batch = PageRequest.of(0, batchSize, Sort.by(Products_.ID));
+        return () ->
+            new Iterator<>() {
+                private Iterator<Products> current = Collections.emptyIterator();
+
+                private boolean hasNextSlice = true;
+
+                private Long lastId;
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && hasNextSlice) {
+                        Slice<Products> slice = productsRepository.findSlice(idGreaterThan(lastId), batch);
+                        current = slice.iterator();
+                        hasNextSlice = slice.hasNext();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public Products next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Products products = current.next();
+                    lastId = products.getId();
+                    return products;
+                }
+            };
+    }
+
+    /**
+     * @return {@code true} if the structure is maintained.
+     */
+    protected abstract boolean isEnabled();
+
+    /**
+     * Load the structure from the table, see {@link #inIdOrder}.
+     * @return the loaded structure, or an empty {@link Optional} if it cannot be used.
+     */
+    protected abstract Optional<S> loadFromDatabase();
+
+    /**
+     * Load the structure from the columns of the catalog snapshot.
+     * @return the loaded structure, or an empty {@link Optional} if it cannot be used.
+     */
+    protected abstract Optional<S> loadFromSnapshot(ProductsColumns columns);
+
+    /**
+     * @return the number of products in the loaded structure.
+     */
+    protected abstract long size(S loaded);
+
+    /**
+     * Apply the changes committed while loading to the loaded structure, then make it the published one. Called
+     * holding the write {@link #lock}.
+     * @return {@code false} if the structure cannot be used.
+     */
+    protected abstract boolean publish(S loaded, Map<Long, ProductsChangedEvent> changes);
+
+    /**
+     * Apply a committed change to the published structure. Called holding the write {@link #lock}.
+     * @return {@code false} if the structure cannot be used anymore.
+     */
+    protected abstract boolean apply(ProductsChangedEvent event);
+
+    /**
+     * Load the structure from the table, once the application is started, unless it was taken from the snapshot.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!isEnabled() || ready) {
+            return;
+        }
+        log.info("Warming up the {}", name);
+        long start = System.currentTimeMillis();
+        Optional<S> loaded = loadFromDatabase();
+        if (install(loaded)) {
+            log.info("The {} is ready with {} products in {} ms", name, size(loaded.get()), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Load the structure from the snapshot loaded at startup, instead of warming up from the database.
+     */
+    @EventListener
+    public void onSnapshotLoaded(ProductsSnapshotLoadedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        Optional<S> loaded = loadFromSnapshot(event.getColumns());
+        if (install(loaded)) {
+            log.info("The {} is ready with {} products from the snapshot", name, size(loaded.get()));
+        }
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.put(event.getId(), event);
+            } else if (ready && !apply(event)) {
+                ready = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the structure is maintained and loaded.
+     */
+    public boolean isAvailable() {
+        return isEnabled() && ready;
+    }
+
+    private boolean install(Optional<S> loaded) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, ProductsChangedEvent> changes = pendingChanges;
+            pendingChanges = null;
+            if (changes == null || loaded.isEmpty() || !publish(loaded.get(), changes)) {
+                return false;
+            }
+            ready = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Specification<Products> idGreaterThan(Long lastId) {
+        return (root, query, cb) -> lastId == null ? null : cb.greaterThan(root.get(Products_.id), lastId);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-memory structures kept in sync with the {@link store.domain.Products} table.
+ */
+package store.service.catalog;
@@ -0,0 +1,176 @@
+package store.service.changes;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.HibernateException;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import store.domain.Products;
+import store.domain.Products_;
+import store.repository.DedicatedConnectionPool;
+
+/**
+ * Hibernate listener numbering every {@link Products} write in a single change sequence.
+ * <p>
+ * Inserted and updated rows get the next number in their {@code change_seq} column, and deleted rows leave a
+ * {@link store.domain.ProductsTombstone} with it. Numbers are taken from the {@code products_change_sequence} row with
+ * {@code LAST_INSERT_ID(expr)}, in a short transaction of their own on a small {@link DedicatedConnectionPool}, so the row is only locked for the
+ * increment and concurrent writes are not serialized.
+ * <p>
+ * Numbers may then commit out of order. Each number is also recorded in {@code products_change_pending}, in the same
+ * short transaction, until its writing transaction ends, and the changes feed stops below the lowest pending number,
+ * see {@link store.service.ProductsService#findChanges}.
+ */
+@Component
+public class ProductsChangeSequenceListener implements PreInsertEventListener, PreUpdateEventListener, PreDeleteEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String INCREMENT_SQL =
+        "update products_change_sequence set last_seq = last_insert_id(last_seq + 1) where id = 1";
+
+    private static final String SELECT_SQL = "select last_insert_id()";
+
+    private static final String PENDING_SQL = "insert into products_change_pending (seq, allocated_at) values (?, ?)";
+
+    private static final String RELEASE_SQL = "delete from products_change_pending where seq = ?";
+
+    private static final String TOMBSTONE_SQL = "insert into products_tombstone (id, change_seq) values (?, ?)";
+
+    private final transient Logger log = LoggerFactory.getLogger(ProductsChangeSequenceListener.class);
+
+    private final transient EntityManagerFactory entityManagerFactory;
+
+    private final transient DedicatedConnectionPool connectionPool;
+
+    public ProductsChangeSequenceListener(
+        EntityManagerFactory entityManagerFactory,
+        @Qualifier("changeSequenceConnectionPool") DedicatedConnectionPool connectionPool
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.connectionPool = connectionPool;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PRE_INSERT, this);
+        registry.appendListeners(EventType.PRE_UPDATE, this);
+        registry.appendListeners(EventType.PRE_DELETE, this);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Products) {
+            assign((Products) event.getEntity(), event.getPersister(), event.getState(), next(event.getSession()));
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof Products) {
+            assign((Products) event.getEntity(), event.getPersister(), event.getState(), next(event.getSession()));
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreDelete(PreDeleteEvent event) {
+        if (event.getEntity() instanceof Products) {
+            Long id = (Long) event.getId();
+            long changeSeq = next(event.getSession());
+            event
+                .getSession()
+                .doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(TOMBSTONE_SQL)) {
+                        statement.setLong(1, id);
+                        statement.setLong(2, changeSeq);
+                        statement.executeUpdate();
+                    }
+                });
+        }
+        return false;
+    }
+
+    private static void assign(Products products, EntityPersister persister, Object[] state, long changeSeq) {
+        // the state is what Hibernate writes, the entity what the application and the second-level cache see
+        state[ArrayHelper.indexOf(persister.getPropertyNames(), Products_.CHANGE_SEQ)] = changeSeq;
+        products.setChangeSeq(changeSeq);
+    }
+
+    /**
+     * Take the next number, pending until the transaction of the session ends, whatever its outcome.
+     */
+    private long next(EventSource session) {
+        long changeSeq;
+        try {
+            changeSeq = allocate();
+        } catch (SQLException e) {
+            throw new HibernateException("Could not take a products change sequence number", e);
+        }
+        session.getActionQueue().registerProcess((success, completedSession) -> release(changeSeq));
+        return changeSeq;
+    }
+
+    private long allocate() throws SQLException {
+        try (Connection connection = connectionPool.getConnection()) {
+            try {
+                long changeSeq;
+                try (PreparedStatement increment = connection.prepareStatement(INCREMENT_SQL)) {
+                    if (increment.executeUpdate() != 1) {
+                        throw new SQLException("The products_change_sequence row is missing");
+                    }
+                }
+                // last_insert_id is kept by the connection, so no other writer can change it in between
+                try (Statement select = connection.createStatement(); ResultSet resultSet = select.executeQuery(SELECT_SQL)) {
+                    resultSet.next();
+                    changeSeq = resultSet.getLong(1);
+                }
+                try (PreparedStatement pending = connection.prepareStatement(PENDING_SQL)) {
+                    pending.setLong(1, changeSeq);
+                    pending.setLong(2, System.currentTimeMillis());
+                    pending.executeUpdate();
+                }
+                connection.commit();
+                return changeSeq;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void release(long changeSeq) {
+        try (Connection connection = connectionPool.getConnection(); PreparedStatement release = connection.prepareStatement(RELEASE_SQL)) {
+            release.setLong(1, changeSeq);
+            release.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            // the number stops holding the changes feed back once application.changes.pending-timeout has elapsed
+            log.warn("Could not release the products change sequence number {}", changeSeq, e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Change sequence of {@link store.domain.Products}, for delta synchronization of catalog mirrors.
+ */
+package store.service.changes;
@@ -0,0 +1,89 @@
+package store.service.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.config.ApplicationProperties;
+import store.service.catalog.ProductsEpoch;
+
+/**
+ * {@link SingleFlight} for {@link store.domain.Products} reads, so that a burst of identical requests costs a single
+ * database query.
+ * <p>
+ * Requests are identical when they run the same operation with equal arguments for the same principal and
+ * authorities under the same {@link ProductsEpoch}: the epoch is read before joining, so a caller arriving after a
+ * write has committed never shares a read which started before it. Calls made inside a transaction are never
+ * coalesced, as they may see their own uncommitted writes.
+ * <p>
+ * Outcomes are counted in the {@code products.requests} meter, tagged with the operation and the
+ * {@link SingleFlight.Outcome}.
+ */
+@Component
+public class ProductsRequestCoalescer {
+
+    private static final String METER_NAME = "products.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ProductsEpoch productsEpoch;
+
+    private final ApplicationProperties.Coalescing properties;
+
+    private final SingleFlight<SimpleKey> singleFlight;
+
+    public ProductsRequestCoalescer(
+        MeterRegistry meterRegistry,
+        ProductsEpoch productsEpoch,
+        ApplicationProperties applicationProperties
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.productsEpoch = productsEpoch;
+        this.properties = applicationProperties.getCoalescing();
+        this.singleFlight = new SingleFlight<>(properties.getMaxWait());
+    }
+
+    /**
+     * Run the execution, or share the result of an identical one in flight.
+     * @param operation the name of the operation, used in the key and as a meter tag.
+     * @param arguments the arguments of the operation, which must implement {@code equals} and {@code hashCode}.
+     * @param execution the execution.
+     * @param <V> the type of the result.
+     * @return the result of the execution.
+     */
+    public <V> V execute(String operation, Object arguments, Supplier<V> execution) {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return execution.get();
+        }
+        SimpleKey key = new SimpleKey(operation, arguments, principal(), productsEpoch.current());
+        return singleFlight.execute(key, execution, outcome -> counter(operation, outcome).increment());
+    }
+
+    private Counter counter(String operation, SingleFlight.Outcome outcome) {
+        return Counter
+            .builder(METER_NAME)
+            .tag("operation", operation)
+            .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+    }
+
+    private static Object principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Set<String> authorities = new TreeSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        return new SimpleKey(authentication.getName(), authorities);
+    }
+}
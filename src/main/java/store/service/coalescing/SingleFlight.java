@@ -0,0 +1,112 @@
+package store.service.coalescing;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one execution per key at a time: callers arriving while an execution for the same key is in flight
+ * wait for it and share its result, or its exception.
+ * <p>
+ * Results are not kept once the execution completes, so a caller never receives the result of an execution which had
+ * completed before it arrived. A caller that waited longer than the maximum wait runs its own execution instead.
+ *
+ * @param <K> the type of the keys.
+ */
+public class SingleFlight<K> {
+
+    /**
+     * How a call was answered.
+     */
+    public enum Outcome {
+        /** The call ran the execution. */
+        EXECUTED,
+        /** The call shared the result of an execution in flight. */
+        COALESCED,
+        /** The call waited too long for an execution in flight and ran its own. */
+        TIMED_OUT,
+    }
+
+    /**
+     * Notified of the outcome of every call.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onCall(Outcome outcome);
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration maxWait;
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Run the execution, or share the result of the one in flight for the same key.
+     * @param key the key of the execution, equal for executions which return the same result.
+     * @param execution the execution.
+     * @param listener notified of the outcome of the call.
+     * @param <V> the type of the result.
+     * @return the result of the execution.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> execution, Listener listener) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing == null) {
+            listener.onCall(Outcome.EXECUTED);
+            return lead(key, future, execution);
+        }
+        try {
+            V result = (V) existing.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            listener.onCall(Outcome.COALESCED);
+            return result;
+        } catch (TimeoutException e) {
+            listener.onCall(Outcome.TIMED_OUT);
+            return execution.get();
+        } catch (ExecutionException e) {
+            listener.onCall(Outcome.COALESCED);
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced execution", e);
+        }
+    }
+
+    /**
+     * @return the number of executions in flight.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private <V> V lead(K key, CompletableFuture<Object> future, Supplier<V> execution) {
+        try {
+            V result = execution.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Coalescing of identical concurrent reads into a single execution.
+ */
+package store.service.coalescing;
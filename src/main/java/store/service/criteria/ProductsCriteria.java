@@ -1,7 +1,11 @@
 package store.service.criteria;
 
+import io.swagger.v3.oas.annotations.Parameter;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import org.springdoc.api.annotations.ParameterObject;
 import tech.jhipster.service.Criteria;
 import tech.jhipster.service.filter.*;
@@ -14,6 +18,11 @@ import tech.jhipster.service.filter.*;
  * {@code /products?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
  * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
  * fix type specific filters.
+ * <p>
+ * Besides its own filters, which must all apply, a criteria can hold groups of filters: a product must also match at
+ * least one of the {@code or} groups, if any, and must not match the {@code not} group, if any. A group without any
+ * filter matches every product. For example
+ * {@code /products?articalPrice.lessThan=100&or[0].articalName.contains=chair&or[1].id.in=1,2&not.articalName.equals=Stool}
  */
 @ParameterObject
 @SuppressWarnings("common-java:DuplicatedBlocks")
@@ -29,6 +38,12 @@ public class ProductsCriteria implements Serializable, Criteria {
 
     private Boolean distinct;
 
+    @Parameter(hidden = true)
+    private List<ProductsCriteria> or;
+
+    @Parameter(hidden = true)
+    private ProductsCriteria not;
+
     public ProductsCriteria() {}
 
     public ProductsCriteria(ProductsCriteria other) {
@@ -36,6 +51,8 @@ public class ProductsCriteria implements Serializable, Criteria {
         this.articalName = other.articalName == null ? null : other.articalName.copy();
         this.articalPrice = other.articalPrice == null ? null : other.articalPrice.copy();
         this.distinct = other.distinct;
+        this.or = other.or == null ? null : other.or.stream().map(ProductsCriteria::copy).collect(Collectors.toList());
+        this.not = other.not == null ? null : other.not.copy();
     }
 
     @Override
@@ -96,6 +113,42 @@ public class ProductsCriteria implements Serializable, Criteria {
         this.distinct = distinct;
     }
 
+    public List<ProductsCriteria> getOr() {
+        return or;
+    }
+
+    /**
+     * @return the {@code or} group of the given index, creating it and the groups before it if needed.
+     */
+    public ProductsCriteria or(int index) {
+        if (or == null) {
+            or = new ArrayList<>();
+        }
+        while (or.size() <= index) {
+            or.add(new ProductsCriteria());
+        }
+        return or.get(index);
+    }
+
+    public void setOr(List<ProductsCriteria> or) {
+        this.or = or;
+    }
+
+    public ProductsCriteria getNot() {
+        return not;
+    }
+
+    public ProductsCriteria not() {
+        if (not == null) {
+            not = new ProductsCriteria();
+        }
+        return not;
+    }
+
+    public void setNot(ProductsCriteria not) {
+        this.not = not;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -109,13 +162,15 @@ public class ProductsCriteria implements Serializable, Criteria {
             Objects.equals(id, that.id) &&
             Objects.equals(articalName, that.articalName) &&
             Objects.equals(articalPrice, that.articalPrice) &&
-            Objects.equals(distinct, that.distinct)
+            Objects.equals(distinct, that.distinct) &&
+            Objects.equals(or, that.or) &&
+            Objects.equals(not, that.not)
         );
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, articalName, articalPrice, distinct);
+        return Objects.hash(id, articalName, articalPrice, distinct, or, not);
     }
 
     // prettier-ignore
@@ -126,6 +181,8 @@ public class ProductsCriteria implements Serializable, Criteria {
             (articalName != null ? "articalName=" + articalName + ", " : "") +
             (articalPrice != null ? "articalPrice=" + articalPrice + ", " : "") +
             (distinct != null ? "distinct=" + distinct + ", " : "") +
+            (or != null ? "or=" + or + ", " : "") +
+            (not != null ? "not=" + not + ", " : "") +
             "}";
     }
 }
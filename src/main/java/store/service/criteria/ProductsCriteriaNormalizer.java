@@ -0,0 +1,180 @@
+package store.service.criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Rewrites a {@link ProductsCriteria} into a canonical form, so that equivalent criteria are {@code equal}.
+ * <p>
+ * Operators that {@link tech.jhipster.service.QueryService} ignores are dropped, {@code in} lists are sorted and
+ * de-duplicated, {@code notEquals} is merged into {@code notIn}, only the tightest bound of a range is kept, and
+ * {@code specified=true} is dropped as every {@link store.domain.Products} column is mandatory. Groups are normalized
+ * recursively, and {@code or} groups are dropped altogether when one of them matches every product.
+ */
+public final class ProductsCriteriaNormalizer {
+
+    private ProductsCriteriaNormalizer() {}
+
+    public static ProductsCriteria normalize(ProductsCriteria criteria) {
+        ProductsCriteria normalized = new ProductsCriteria();
+        if (criteria == null) {
+            return normalized;
+        }
+        normalized.setId(normalizeRange(criteria.getId(), LongFilter::new, ProductsCriteriaNormalizer::closeLongBounds));
+        normalized.setArticalName(normalizeString(criteria.getArticalName()));
+        normalized.setArticalPrice(normalizeRange(criteria.getArticalPrice(), DoubleFilter::new, UnaryOperator.identity()));
+        // distinct is meaningless without joins
+        normalized.setOr(normalizeOr(criteria.getOr()));
+        // an empty not group is kept, as the criteria then match nothing
+        normalized.setNot(criteria.getNot() == null ? null : normalize(criteria.getNot()));
+        return normalized;
+    }
+
+    /**
+     * @return {@code true} if the criteria match every product.
+     */
+    public static boolean isEmpty(ProductsCriteria criteria) {
+        return isMatchingAll(normalize(criteria));
+    }
+
+    /**
+     * @return {@code true} if the criteria have {@code or} or {@code not} groups which cannot be dropped.
+     */
+    public static boolean hasGroups(ProductsCriteria criteria) {
+        ProductsCriteria normalized = normalize(criteria);
+        return normalized.getOr() != null || normalized.getNot() != null;
+    }
+
+    private static boolean isMatchingAll(ProductsCriteria normalized) {
+        return (
+            normalized.getId() == null &&
+            normalized.getArticalName() == null &&
+            normalized.getArticalPrice() == null &&
+            normalized.getOr() == null &&
+            normalized.getNot() == null
+        );
+    }
+
+    private static List<ProductsCriteria> normalizeOr(List<ProductsCriteria> groups) {
+        if (groups == null || groups.isEmpty()) {
+            return null;
+        }
+        List<ProductsCriteria> normalized = new ArrayList<>(groups.size());
+        for (ProductsCriteria group : groups) {
+            ProductsCriteria normalizedGroup = normalize(group);
+            if (isMatchingAll(normalizedGroup)) {
+                return null;
+            }
+            if (!normalized.contains(normalizedGroup)) {
+                normalized.add(normalizedGroup);
+            }
+        }
+        return normalized;
+    }
+
+    private static <X extends Comparable<? super X>, F extends RangeFilter<X>> F normalizeRange(
+        F filter,
+        Supplier<F> factory,
+        UnaryOperator<F> closeBounds
+    ) {
+        if (filter == null) {
+            return null;
+        }
+        F normalized = factory.get();
+        if (filter.getEquals() != null) {
+            normalized.setEquals(filter.getEquals());
+            return normalized;
+        }
+        if (filter.getIn() != null) {
+            normalized.setIn(sorted(filter.getIn()));
+            return normalized;
+        }
+        if (Boolean.FALSE.equals(filter.getSpecified())) {
+            normalized.setSpecified(false);
+            return normalized;
+        }
+        List<X> notIn = filter.getNotIn() == null ? List.of() : filter.getNotIn();
+        if (filter.getNotEquals() != null) {
+            notIn = new ArrayList<>(notIn);
+            notIn.add(filter.getNotEquals());
+        }
+        if (!notIn.isEmpty()) {
+            normalized.setNotIn(sorted(notIn));
+        }
+        normalized.setGreaterThan(filter.getGreaterThan());
+        normalized.setGreaterThanOrEqual(filter.getGreaterThanOrEqual());
+        normalized.setLessThan(filter.getLessThan());
+        normalized.setLessThanOrEqual(filter.getLessThanOrEqual());
+        normalized = closeBounds.apply(normalized);
+        if (normalized.getGreaterThan() != null && normalized.getGreaterThanOrEqual() != null) {
+            if (normalized.getGreaterThan().compareTo(normalized.getGreaterThanOrEqual()) >= 0) {
+                normalized.setGreaterThanOrEqual(null);
+            } else {
+                normalized.setGreaterThan(null);
+            }
+        }
+        if (normalized.getLessThan() != null && normalized.getLessThanOrEqual() != null) {
+            if (normalized.getLessThan().compareTo(normalized.getLessThanOrEqual()) <= 0) {
+                normalized.setLessThanOrEqual(null);
+            } else {
+                normalized.setLessThan(null);
+            }
+        }
+        return normalized.equals(factory.get()) ? null : normalized;
+    }
+
+    /**
+     * Strict bounds on integers are rewritten as inclusive ones, so {@code id.greaterThan=4} equals {@code id.greaterThanOrEqual=5}.
+     */
+    private static LongFilter closeLongBounds(LongFilter filter) {
+        if (filter.getGreaterThan() != null && filter.getGreaterThan() < Long.MAX_VALUE) {
+            long bound = filter.getGreaterThan() + 1;
+            filter.setGreaterThanOrEqual(filter.getGreaterThanOrEqual() == null ? bound : Math.max(bound, filter.getGreaterThanOrEqual()));
+            filter.setGreaterThan(null);
+        }
+        if (filter.getLessThan() != null && filter.getLessThan() > Long.MIN_VALUE) {
+            long bound = filter.getLessThan() - 1;
+            filter.setLessThanOrEqual(filter.getLessThanOrEqual() == null ? bound : Math.min(bound, filter.getLessThanOrEqual()));
+            filter.setLessThan(null);
+        }
+        return filter;
+    }
+
+    private static StringFilter normalizeString(StringFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        // Only the first operator of this chain applies, as in QueryService#buildStringSpecification
+        StringFilter normalized = new StringFilter();
+        if (filter.getEquals() != null) {
+            normalized.setEquals(filter.getEquals());
+        } else if (filter.getIn() != null) {
+            normalized.setIn(sorted(filter.getIn()));
+        } else if (filter.getNotIn() != null) {
+            normalized.setNotIn(sorted(filter.getNotIn()));
+        } else if (filter.getContains() != null) {
+            normalized.setContains(filter.getContains().toUpperCase(Locale.ROOT));
+        } else if (filter.getDoesNotContain() != null) {
+            normalized.setDoesNotContain(filter.getDoesNotContain().toUpperCase(Locale.ROOT));
+        } else if (filter.getNotEquals() != null) {
+            normalized.setNotEquals(filter.getNotEquals());
+        } else if (Boolean.FALSE.equals(filter.getSpecified())) {
+            normalized.setSpecified(false);
+        } else {
+            return null;
+        }
+        return normalized;
+    }
+
+    private static <X extends Comparable<? super X>> List<X> sorted(List<X> values) {
+        return values.stream().distinct().sorted().collect(Collectors.toList());
+    }
+}
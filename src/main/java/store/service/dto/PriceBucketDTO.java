@@ -0,0 +1,62 @@
+package store.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the number of products in a price range, {@code from} inclusive and {@code to} exclusive.
+ * A {@code null} bound means the range is open on that side.
+ */
+public class PriceBucketDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Double from;
+
+    private Double to;
+
+    private long count;
+
+    public PriceBucketDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PriceBucketDTO(Double from, Double to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    public Double getFrom() {
+        return from;
+    }
+
+    public void setFrom(Double from) {
+        this.from = from;
+    }
+
+    public Double getTo() {
+        return to;
+    }
+
+    public void setTo(Double to) {
+        this.to = to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PriceBucketDTO{" +
+            "from=" + from +
+            ", to=" + to +
+            ", count=" + count +
+            "}";
+    }
+}
@@ -0,0 +1,50 @@
+package store.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the price below which a percentage of the products are, with the nearest-rank method.
+ * The price is {@code null} when there are no products.
+ */
+public class PricePercentileDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private double percentile;
+
+    private Double price;
+
+    public PricePercentileDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PricePercentileDTO(double percentile, Double price) {
+        this.percentile = percentile;
+        this.price = price;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PricePercentileDTO{" +
+            "percentile=" + percentile +
+            ", price=" + price +
+            "}";
+    }
+}
@@ -0,0 +1,74 @@
+package store.service.dto;
+
+import java.io.Serializable;
+import store.service.catalog.ProductsChangedEvent;
+
+/**
+ * A DTO representing a committed change to a product, with its new values unless it was deleted.
+ */
+public class ProductsChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ProductsChangedEvent.Type type;
+
+    private Long id;
+
+    private String articalName;
+
+    private Double articalPrice;
+
+    public ProductsChangeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsChangeDTO(ProductsChangedEvent event) {
+        this.type = event.getType();
+        this.id = event.getId();
+        this.articalName = event.getArticalName();
+        this.articalPrice = event.getArticalPrice();
+    }
+
+    public ProductsChangedEvent.Type getType() {
+        return type;
+    }
+
+    public void setType(ProductsChangedEvent.Type type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArticalName() {
+        return articalName;
+    }
+
+    public void setArticalName(String articalName) {
+        this.articalName = articalName;
+    }
+
+    public Double getArticalPrice() {
+        return articalPrice;
+    }
+
+    public void setArticalPrice(Double articalPrice) {
+        this.articalPrice = articalPrice;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsChangeDTO{" +
+            "type=" + type +
+            ", id=" + id +
+            ", articalName='" + articalName + "'" +
+            ", articalPrice=" + articalPrice +
+            "}";
+    }
+}
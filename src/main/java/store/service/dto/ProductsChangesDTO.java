@@ -0,0 +1,77 @@
+package store.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import store.domain.Products;
+
+/**
+ * A DTO representing the products changes after a watermark: the products inserted or updated, the ids of the
+ * products deleted, the watermark to ask the next changes from, and whether there are more changes after it.
+ */
+public class ProductsChangesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Products> content = new ArrayList<>();
+
+    private List<Long> deletedIds = new ArrayList<>();
+
+    private long watermark;
+
+    private boolean more;
+
+    public ProductsChangesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsChangesDTO(List<Products> content, List<Long> deletedIds, long watermark, boolean more) {
+        this.content = content;
+        this.deletedIds = deletedIds;
+        this.watermark = watermark;
+        this.more = more;
+    }
+
+    public List<Products> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Products> content) {
+        this.content = content;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isMore() {
+        return more;
+    }
+
+    public void setMore(boolean more) {
+        this.more = more;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsChangesDTO{" +
+            "content=" + content +
+            ", deletedIds=" + deletedIds +
+            ", watermark=" + watermark +
+            ", more=" + more +
+            "}";
+    }
+}
@@ -0,0 +1,53 @@
+package store.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import store.domain.Products;
+
+/**
+ * A DTO representing the result of a products multi-get: the products found, in the requested order, and the ids
+ * which were not found.
+ */
+public class ProductsMultiGetDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Products> content = new ArrayList<>();
+
+    private List<Long> missingIds = new ArrayList<>();
+
+    public ProductsMultiGetDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsMultiGetDTO(List<Products> content, List<Long> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    public List<Products> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Products> content) {
+        this.content = content;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsMultiGetDTO{" +
+            "content=" + content +
+            ", missingIds=" + missingIds +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package store.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the estimated number of views of a product during a time window.
+ */
+public class ProductsPopularityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long productsId;
+
+    private long views;
+
+    public ProductsPopularityDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsPopularityDTO(Long productsId, long views) {
+        this.productsId = productsId;
+        this.views = views;
+    }
+
+    public Long getProductsId() {
+        return productsId;
+    }
+
+    public void setProductsId(Long productsId) {
+        this.productsId = productsId;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsPopularityDTO{" +
+            "productsId=" + productsId +
+            ", views=" + views +
+            "}";
+    }
+}
@@ -0,0 +1,119 @@
+package store.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO representing the price statistics of the products matching a criteria: their count, sum, extremes, mean,
+ * population variance and histogram. The extremes, mean and variance are {@code null} when no product matches.
+ */
+public class ProductsPriceStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long count;
+
+    private double sum;
+
+    private Double min;
+
+    private Double max;
+
+    private Double mean;
+
+    private Double variance;
+
+    private List<PriceBucketDTO> histogram;
+
+    public ProductsPriceStatisticsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsPriceStatisticsDTO(
+        long count,
+        double sum,
+        Double min,
+        Double max,
+        Double mean,
+        Double variance,
+        List<PriceBucketDTO> histogram
+    ) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.variance = variance;
+        this.histogram = histogram;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public void setSum(double sum) {
+        this.sum = sum;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getVariance() {
+        return variance;
+    }
+
+    public void setVariance(Double variance) {
+        this.variance = variance;
+    }
+
+    public List<PriceBucketDTO> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<PriceBucketDTO> histogram) {
+        this.histogram = histogram;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsPriceStatisticsDTO{" +
+            "count=" + count +
+            ", sum=" + sum +
+            ", min=" + min +
+            ", max=" + max +
+            ", mean=" + mean +
+            ", variance=" + variance +
+            ", histogram=" + histogram +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package store.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import store.domain.Products;
+
+/**
+ * A DTO representing the result of a products search: a page of products, the total number of matching products
+ * and their price facets.
+ */
+public class ProductsSearchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Products> content = new ArrayList<>();
+
+    private long total;
+
+    private List<PriceBucketDTO> priceBuckets = new ArrayList<>();
+
+    public ProductsSearchResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsSearchResultDTO(List<Products> content, long total, List<PriceBucketDTO> priceBuckets) {
+        this.content = content;
+        this.total = total;
+        this.priceBuckets = priceBuckets;
+    }
+
+    public List<Products> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Products> content) {
+        this.content = content;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<PriceBucketDTO> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<PriceBucketDTO> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsSearchResultDTO{" +
+            "content=" + content +
+            ", total=" + total +
+            ", priceBuckets=" + priceBuckets +
+            "}";
+    }
+}
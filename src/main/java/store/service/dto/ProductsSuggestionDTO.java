@@ -0,0 +1,61 @@
+package store.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a product suggested for a typed prefix, see {@code GET /api/products/_suggest}.
+ */
+public class ProductsSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String articalName;
+
+    private Double articalPrice;
+
+    public ProductsSuggestionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ProductsSuggestionDTO(Long id, String articalName, Double articalPrice) {
+        this.id = id;
+        this.articalName = articalName;
+        this.articalPrice = articalPrice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArticalName() {
+        return articalName;
+    }
+
+    public void setArticalName(String articalName) {
+        this.articalName = articalName;
+    }
+
+    public Double getArticalPrice() {
+        return articalPrice;
+    }
+
+    public void setArticalPrice(Double articalPrice) {
+        this.articalPrice = articalPrice;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsSuggestionDTO{" +
+            "id=" + id +
+            ", articalName='" + articalName + "'" +
+            ", articalPrice=" + articalPrice +
+            "}";
+    }
+}
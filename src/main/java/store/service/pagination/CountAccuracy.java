@@ -0,0 +1,36 @@
+package store.service.pagination;
+
+import java.util.Locale;
+
+/**
+ * How a total count is obtained, and how accurate it is.
+ */
+public enum CountAccuracy {
+    /**
+     * Counted by the database for this request.
+     */
+    EXACT,
+
+    /**
+     * Counted by the database for an equivalent earlier request, with no write committed since.
+     */
+    CACHED,
+
+    /**
+     * Taken from a maintained row counter, only for criteria matching every row.
+     */
+    ESTIMATED;
+
+    /**
+     * @param value the name of an accuracy, in any case.
+     * @return the accuracy.
+     * @throws IllegalArgumentException if there is no such accuracy.
+     */
+    public static CountAccuracy fromValue(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
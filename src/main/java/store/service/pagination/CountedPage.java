@@ -0,0 +1,26 @@
+package store.service.pagination;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A {@link Page} and the {@link CountAccuracy} of its total.
+ */
+public final class CountedPage<T> {
+
+    private final Page<T> page;
+
+    private final CountAccuracy accuracy;
+
+    public CountedPage(Page<T> page, CountAccuracy accuracy) {
+        this.page = page;
+        this.accuracy = accuracy;
+    }
+
+    public Page<T> getPage() {
+        return page;
+    }
+
+    public CountAccuracy getAccuracy() {
+        return accuracy;
+    }
+}
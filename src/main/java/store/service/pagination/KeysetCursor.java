@@ -0,0 +1,181 @@
+package store.service.pagination;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque cursor of keyset (seek) pagination: the sort-key values of the last row of a page.
+ * <p>
+ * It is encoded as URL-safe Base64, and carries the sorted properties so that a cursor can only be used with the
+ * sort it was produced for.
+ */
+public final class KeysetCursor {
+
+    /**
+     * Unique property appended to every sort, so that the sort-key tuple identifies exactly one row.
+     */
+    public static final String TIE_BREAKER = "id";
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+
+    private static final char ENTRY_SEPARATOR = '\u001e';
+
+    private static final char NULL_VALUE = '\u0000';
+
+    private final Sort sort;
+
+    private final List<Comparable<?>> values;
+
+    private KeysetCursor(Sort sort, List<Comparable<?>> values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    /**
+     * Append the {@link #TIE_BREAKER} to the requested sort, unless it is already sorted on.
+     *
+     * @param sort the requested sort.
+     * @return a sort defining a total order.
+     */
+    public static Sort withTieBreaker(Sort sort) {
+        if (sort.getOrderFor(TIE_BREAKER) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(Sort.Order.asc(TIE_BREAKER)));
+    }
+
+    /**
+     * Create the cursor pointing after the given entity.
+     *
+     * @param entity the last entity of a page.
+     * @param sort the sort of the page, including the {@link #TIE_BREAKER}.
+     * @return the cursor.
+     */
+    public static KeysetCursor of(Object entity, Sort sort) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        List<Comparable<?>> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            values.add((Comparable<?>) wrapper.getPropertyValue(order.getProperty()));
+        }
+        return new KeysetCursor(sort, Collections.unmodifiableList(values));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()}, converting its values to the types of the sorted properties.
+     *
+     * @param cursor the encoded cursor.
+     * @param sort the sort of the requested page, including the {@link #TIE_BREAKER}.
+     * @param entityClass the paginated entity, whose properties are sorted on.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the cursor is malformed, was produced for another sort, or holds a value
+     * which is not of the type of its property.
+     */
+    public static KeysetCursor decode(String cursor, Sort sort, Class<?> entityClass) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        List<Sort.Order> orders = sort.toList();
+        String[] entries = decoded.split(String.valueOf(ENTRY_SEPARATOR), -1);
+        if (entries.length != orders.size()) {
+            throw new IllegalArgumentException("The cursor does not match the requested sort");
+        }
+        List<Comparable<?>> values = new ArrayList<>();
+        for (int i = 0; i < entries.length; i++) {
+            String property = orders.get(i).getProperty();
+            int separator = entries[i].indexOf(FIELD_SEPARATOR);
+            if (separator < 0 || !entries[i].substring(0, separator).equals(property)) {
+                throw new IllegalArgumentException("The cursor does not match the requested sort");
+            }
+            String value = entries[i].substring(separator + 1);
+            values.add(value.equals(String.valueOf(NULL_VALUE)) ? null : convert(value, propertyType(entityClass, property)));
+        }
+        return new KeysetCursor(sort, Collections.unmodifiableList(values));
+    }
+
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        int i = 0;
+        for (Sort.Order order : sort) {
+            if (i > 0) {
+                builder.append(ENTRY_SEPARATOR);
+            }
+            Comparable<?> value = values.get(i++);
+            builder.append(order.getProperty()).append(FIELD_SEPARATOR).append(value == null ? String.valueOf(NULL_VALUE) : value.toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return the sort-key values, in the order of {@link #getSort()}.
+     */
+    public List<Comparable<?>> getValues() {
+        return values;
+    }
+
+    private static Class<?> propertyType(Class<?> entityClass, String property) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Unknown property " + property);
+        }
+        return descriptor.getPropertyType();
+    }
+
+    private static Comparable<?> convert(String value, Class<?> type) {
+        try {
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            } else if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            } else if (type == Double.class || type == double.class) {
+                return Double.valueOf(value);
+            } else if (type == Boolean.class || type == boolean.class) {
+                if (!value.equals(Boolean.TRUE.toString()) && !value.equals(Boolean.FALSE.toString())) {
+                    throw new IllegalArgumentException("Invalid boolean " + value);
+                }
+                return Boolean.valueOf(value);
+            } else if (type == Instant.class) {
+                return Instant.parse(value);
+            } else if (type == String.class) {
+                return value;
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid instant " + value, e);
+        }
+        throw new IllegalArgumentException("Keyset pagination is not supported on " + type.getSimpleName() + " properties");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) o;
+        return sort.equals(that.sort) && values.equals(that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sort, values);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" + "sort=" + sort + ", values=" + values + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package store.service.pagination;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A page of keyset pagination: its content and, when there is one, the cursor of the next page.
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @param slice a slice of entities, sorted by {@code sort}.
+     * @param sort the sort of the slice, including the {@link KeysetCursor#TIE_BREAKER}.
+     * @return the page, with a cursor after its last entity if the slice has a next one.
+     */
+    public static <T> KeysetPage<T> of(Slice<T> slice, Sort sort) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty() ? KeysetCursor.of(content.get(content.size() - 1), sort).encode() : null;
+        return new KeysetPage<>(content, nextCursor);
+    }
+
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(content.stream().<U>map(converter).collect(Collectors.toList()), nextCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -0,0 +1,61 @@
+package store.service.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link Specification} selecting the rows that come after a {@link KeysetCursor} in the cursor's sort.
+ * <p>
+ * For a sort on {@code (a, b, id)} it renders {@code a > :a or (a = :a and b > :b) or (a = :a and b = :b and id > :id)},
+ * which an index on the sorted columns can seek to directly, whatever the depth of the page.
+ * {@code null} values are considered lower than any other value, as MySQL and H2 sort them.
+ */
+public final class KeysetSpecification<T> implements Specification<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final KeysetCursor cursor;
+
+    private KeysetSpecification(KeysetCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return new KeysetSpecification<>(cursor);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Sort.Order> orders = cursor.getSort().toList();
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Path<Comparable<Object>> path = root.get(orders.get(i).getProperty());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.getValues().get(i);
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(after(cb, path, value, orders.get(i).isAscending()));
+            alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+            equalities.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private static Predicate after(CriteriaBuilder cb, Path<Comparable<Object>> path, Comparable<Object> value, boolean ascending) {
+        if (value == null) {
+            // nulls come first: everything non-null is after them ascending, nothing is after them descending
+            return ascending ? cb.isNotNull(path) : cb.disjunction();
+        }
+        if (ascending) {
+            return cb.greaterThan(path, value);
+        }
+        return cb.or(cb.lessThan(path, value), cb.isNull(path));
+    }
+}
@@ -0,0 +1,29 @@
+package store.service.pagination;
+
+/**
+ * A total count and the {@link CountAccuracy} it was obtained with.
+ */
+public final class TotalCount {
+
+    private final long value;
+
+    private final CountAccuracy accuracy;
+
+    public TotalCount(long value, CountAccuracy accuracy) {
+        this.value = value;
+        this.accuracy = accuracy;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public CountAccuracy getAccuracy() {
+        return accuracy;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalCount{" + "value=" + value + ", accuracy=" + accuracy + "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Pagination support beyond offset {@link org.springframework.data.domain.Pageable}s.
+ */
+package store.service.pagination;
@@ -0,0 +1,83 @@
+package store.service.popularity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of {@code long} keys: {@code depth} rows of {@code width} counters, each key incrementing one counter
+ * per row. The estimate of a key is the lowest of its counters, so it is never below the true count and exceeds it by at
+ * most {@code 2 * total / width} with probability {@code 1 - 2^-depth}.
+ * <p>
+ * Counters are atomic, so keys are added concurrently without locks nor allocation.
+ */
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L,
+        0xC2B2AE3D27D4EB4FL,
+        0x165667B19E3779F9L,
+        0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL,
+        0xC4CEB9FE1A85EC53L,
+        0x27D4EB2F165667C5L,
+        0x94D049BB133111EBL,
+    };
+
+    private final int width;
+
+    private final int depth;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width The counters per row, rounded up to a power of two.
+     * @param depth The rows, from 1 to 8.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Invalid count-min sketch dimensions " + width + "x" + depth);
+        }
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    public void add(long key) {
+        for (int row = 0; row < depth; row++) {
+            counters.getAndIncrement(row * width + column(key, row));
+        }
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + column(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Reset every counter. Keys added meanwhile may be partly kept.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private int column(long key, int row) {
+        // the finalizer of MurmurHash3, seeded per row
+        long hash = key * SEEDS[row];
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & (width - 1);
+    }
+}
@@ -0,0 +1,267 @@
+package store.service.popularity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.ProductsPopularity;
+import store.repository.ProductsPopularityRepository;
+import store.service.dto.ProductsPopularityDTO;
+
+/**
+ * Approximate number of views of every {@link Products} over sliding time windows, kept in memory.
+ * <p>
+ * Time is cut in slots of {@code application.popularity.slot-duration}, and the latest {@code slots} are kept, each
+ * with a {@link CountMinSketch} of the views and a {@link SpaceSaving} summary of the most viewed products. Recording a
+ * view increments the sketch of the current slot and appends the id to a {@link ViewBuffer}, without locks nor
+ * allocation; the buffer is drained into the summary of the current slot in the background. The most viewed products
+ * of a window are the candidates of its slots, ranked by the sum of their sketch estimates, and the most viewed
+ * products of the completed slots are periodically written to the {@link ProductsPopularity} table.
+ * <p>
+ * When {@code application.popularity.enabled} is {@code false}, views are not recorded.
+ */
+@Service
+public class ProductsPopularityTracker {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsPopularityTracker.class);
+
+    private final ApplicationProperties.Popularity properties;
+
+    private final ProductsPopularityRepository productsPopularityRepository;
+
+    private final long slotMillis;
+
+    private final Slot[] slots;
+
+    private final ViewBuffer buffer;
+
+    private volatile Slot current;
+
+    // the index of the current slot, guarded by this
+    private int position;
+
+    // the slot number, in slot durations since the epoch, of the current slot, or -1 before the first drain, guarded by this
+    private long currentSlot = -1;
+
+    // the latest slot number written to the database, guarded by this
+    private long flushedSlot;
+
+    public ProductsPopularityTracker(
+        ApplicationProperties applicationProperties,
+        ProductsPopularityRepository productsPopularityRepository
+    ) {
+        this.properties = applicationProperties.getPopularity();
+        this.productsPopularityRepository = productsPopularityRepository;
+        this.slotMillis = properties.getSlotDuration().toMillis();
+        if (slotMillis < 1 || properties.getSlots() < 1) {
+            throw new IllegalArgumentException("The popularity slot duration and slots must be positive");
+        }
+        this.slots = new Slot[properties.isEnabled() ? properties.getSlots() : 1];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = properties.isEnabled() ? new Slot(properties) : new Slot(1, 1, 1);
+        }
+        this.buffer = new ViewBuffer(properties.isEnabled() ? properties.getBufferSize() : 1);
+        this.current = slots[0];
+    }
+
+    /**
+     * Record a view of a product, without blocking nor allocating.
+     * @param id The id of the viewed product, ignored if {@code null}.
+     */
+    public void recordView(Long id) {
+        if (id == null || !properties.isEnabled()) {
+            return;
+        }
+        current.sketch.add(id);
+        buffer.add(id);
+    }
+
+    /**
+     * Record a view of every listed product, without blocking nor allocating.
+     */
+    public void recordViews(List<Products> products) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < products.size(); i++) {
+            recordView(products.get(i).getId());
+        }
+    }
+
+    /**
+     * @return the longest window of {@link #findMostViewed}.
+     */
+    public Duration getMaxWindow() {
+        return properties.getSlotDuration().multipliedBy(properties.getSlots());
+    }
+
+    /**
+     * @return the largest limit of {@link #findMostViewed}.
+     */
+    public int getMaxLimit() {
+        return properties.getCandidates();
+    }
+
+    /**
+     * Return the most viewed products of a window.
+     * @param window The duration of the window, ending now, rounded up to whole slots.
+     * @param limit The maximum number of products.
+     * @return the products with their estimated views, most viewed first, or nothing if views are not recorded.
+     * @throws IllegalArgumentException if the window is not positive or longer than {@link #getMaxWindow()}, or the
+     * limit is not positive or larger than {@link #getMaxLimit()}.
+     */
+    public List<ProductsPopularityDTO> findMostViewed(Duration window, int limit) {
+        if (window.isNegative() || window.isZero() || window.compareTo(getMaxWindow()) > 0) {
+            throw new IllegalArgumentException("The window must be positive and at most " + getMaxWindow());
+        }
+        if (limit < 1 || limit > getMaxLimit()) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + getMaxLimit());
+        }
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        long count = (window.toMillis() + slotMillis - 1) / slotMillis;
+        synchronized (this) {
+            return mostViewed(currentSlot - count + 1, currentSlot, limit);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.popularity.drain-interval:PT1S}")
+    public void drain() {
+        if (properties.isEnabled()) {
+            drain(System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.popularity.flush-interval:PT5M}")
+    public void flush() {
+        if (properties.isEnabled()) {
+            flush(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Pass the buffered views to the summary of the current slot, then move to the slot of the given time.
+     */
+    synchronized void drain(long now) {
+        SpaceSaving candidates = current.candidates;
+        buffer.drain(candidates::offer);
+        long slot = Math.floorDiv(now, slotMillis);
+        if (currentSlot < 0) {
+            currentSlot = slot;
+            flushedSlot = slot - 1;
+            slots[position].number = slot;
+        }
+        // a clock going backwards keeps the current slot
+        if (slot > currentSlot) {
+            // recycle the oldest slots, at most all of them after a long pause
+            for (long skipped = Math.min(slot - currentSlot, slots.length) - 1; skipped >= 0; skipped--) {
+                position = (position + 1) % slots.length;
+                slots[position].clear(slot - skipped);
+            }
+            currentSlot = slot;
+            current = slots[position];
+        }
+    }
+
+    /**
+     * Write the most viewed products of the completed slots which were not written yet.
+     */
+    void flush(long now) {
+        List<ProductsPopularity> rows;
+        synchronized (this) {
+            drain(now);
+            long from = Math.max(flushedSlot + 1, currentSlot - slots.length + 1);
+            long to = currentSlot - 1;
+            if (from > to) {
+                return;
+            }
+            Instant windowStart = Instant.ofEpochMilli(from * slotMillis);
+            Instant windowEnd = Instant.ofEpochMilli((to + 1) * slotMillis);
+            rows =
+                mostViewed(from, to, properties.getFlushSize())
+                    .stream()
+                    .map(viewed ->
+                        new ProductsPopularity()
+                            .productsId(viewed.getProductsId())
+                            .windowStart(windowStart)
+                            .windowEnd(windowEnd)
+                            .views(viewed.getViews())
+                    )
+                    .collect(Collectors.toList());
+            flushedSlot = to;
+        }
+        if (!rows.isEmpty()) {
+            productsPopularityRepository.saveAll(rows);
+            log.debug("Flushed the views of {} products", rows.size());
+        }
+    }
+
+    /**
+     * Rank the candidates of the kept slots numbered from {@code from} to {@code to}, by the sum of their estimates.
+     */
+    private List<ProductsPopularityDTO> mostViewed(long from, long to, int limit) {
+        List<Slot> window = new ArrayList<>();
+        Set<Long> candidates = new HashSet<>();
+        for (Slot slot : slots) {
+            if (slot.number >= from && slot.number <= to) {
+                window.add(slot);
+                for (long id : slot.candidates.keys()) {
+                    candidates.add(id);
+                }
+            }
+        }
+        List<ProductsPopularityDTO> viewed = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            long views = 0;
+            for (Slot slot : window) {
+                views += slot.sketch.estimate(id);
+            }
+            if (views > 0) {
+                viewed.add(new ProductsPopularityDTO(id, views));
+            }
+        }
+        return viewed
+            .stream()
+            .sorted(
+                Comparator.comparingLong(ProductsPopularityDTO::getViews).reversed().thenComparing(ProductsPopularityDTO::getProductsId)
+            )
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static final class Slot {
+
+        private final CountMinSketch sketch;
+
+        private final SpaceSaving candidates;
+
+        // slot durations since the epoch, guarded by the tracker
+        private long number = Long.MIN_VALUE;
+
+        private Slot(ApplicationProperties.Popularity properties) {
+            this(properties.getSketchWidth(), properties.getSketchDepth(), properties.getCandidates());
+        }
+
+        private Slot(int sketchWidth, int sketchDepth, int candidates) {
+            this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+            this.candidates = new SpaceSaving(candidates);
+        }
+
+        private void clear(long number) {
+            sketch.clear();
+            candidates.clear();
+            this.number = number;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package store.service.popularity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-saving summary keeping the {@code capacity} most frequent {@code long} keys of a stream: an unknown key replaces
+ * the least counted one and inherits its count, so every key more frequent than {@code total / capacity} is kept.
+ * <p>
+ * Not thread-safe.
+ */
+final class SpaceSaving {
+
+    private final long[] keys;
+
+    private final long[] counts;
+
+    private final Map<Long, Integer> slots;
+
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    void offer(long key) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                slot = 0;
+                for (int i = 1; i < size; i++) {
+                    if (counts[i] < counts[slot]) {
+                        slot = i;
+                    }
+                }
+                slots.remove(keys[slot]);
+            }
+            keys[slot] = key;
+            slots.put(key, slot);
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * @return the kept keys, in no particular order.
+     */
+    long[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    void clear() {
+        slots.clear();
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+}
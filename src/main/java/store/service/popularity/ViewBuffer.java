@@ -0,0 +1,71 @@
+package store.service.popularity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of {@code long} keys.
+ * <p>
+ * Producers claim a sequence with one atomic increment, then publish the key and its sequence in the claimed slot, so
+ * adding never blocks nor allocates. When producers lap the consumer, the oldest keys are overwritten and skipped.
+ */
+final class ViewBuffer {
+
+    private final int mask;
+
+    private final AtomicLongArray keys;
+
+    // the sequence of the key in each slot, plus one
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong written = new AtomicLong();
+
+    // only read and written by the consumer
+    private long read;
+
+    /**
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    ViewBuffer(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.keys = new AtomicLongArray(size);
+        this.sequences = new AtomicLongArray(size);
+    }
+
+    void add(long key) {
+        long sequence = written.getAndIncrement();
+        int slot = (int) sequence & mask;
+        keys.set(slot, key);
+        sequences.lazySet(slot, sequence + 1);
+    }
+
+    /**
+     * Pass the published keys to the consumer, stopping at the first slot not published yet.
+     * @return the number of keys passed.
+     */
+    int drain(LongConsumer consumer) {
+        int drained = 0;
+        long end = written.get();
+        if (end - read > mask + 1) {
+            read = end - mask - 1;
+        }
+        while (read < end) {
+            int slot = (int) read & mask;
+            long published = sequences.get(slot) - 1;
+            if (published < read) {
+                break;
+            }
+            if (published > read) {
+                // lapped by the producers
+                read = Math.max(read + 1, written.get() - mask - 1);
+                continue;
+            }
+            consumer.accept(keys.get(slot));
+            read++;
+            drained++;
+        }
+        return drained;
+    }
+}
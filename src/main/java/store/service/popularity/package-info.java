@@ -0,0 +1,4 @@
+/**
+ * Approximate view counts of {@link store.domain.Products} over sliding time windows, recorded without locks.
+ */
+package store.service.popularity;
@@ -0,0 +1,446 @@
+package store.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.catalog.ProductsWarmUpLoader;
+
+/**
+ * Lucene index of the {@link Products} names, answering relevance ranked and typo tolerant searches.
+ * <p>
+ * Committed changes are written to the index through {@link ProductsChangedEvent}s and become searchable on the next
+ * refresh, every {@code application.full-text.refresh-interval}. The index is rebuilt from the table in the background
+ * at startup, and on {@code application.full-text.rebuild-cron}, so it also catches up with writes made by other nodes.
+ * Every document is stamped with the generation of the rebuild which wrote it, and the documents of older generations
+ * are deleted once a rebuild is done, so searches keep being answered while the index is rebuilt.
+ * <p>
+ * The documents store the indexed columns, so search results are built without reading the database. Until the first
+ * rebuild is done, or when {@code application.full-text.enabled} is {@code false}, searches return an empty result and
+ * callers are expected to fall back to the database.
+ */
+@Service
+public class ProductsFullTextIndex {
+
+    static final String ID = "id";
+
+    static final String NAME = "name";
+
+    static final String PRICE = "price";
+
+    static final String GENERATION = "generation";
+
+    /**
+     * The maximum number of terms of a search, each of them being expanded to an exact, a prefix and a fuzzy query.
+     */
+    public static final int MAX_TERMS = 16;
+
+    private final Logger log = LoggerFactory.getLogger(ProductsFullTextIndex.class);
+
+    private final ApplicationProperties.FullText properties;
+
+    private final ProductsRepository productsRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Analyzer analyzer = new NameAnalyzer();
+
+    private final Object lock = new Object();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // System.nanoTime() of the oldest write which is not searchable yet, 0 if there is none
+    private final AtomicLong unrefreshedSince = new AtomicLong();
+
+    // ids changed by events while a rebuild runs, guarded by lock
+    private Set<Long> changedDuringRebuild;
+
+    private Directory directory;
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    private Timer queryTimer;
+
+    private volatile boolean ready;
+
+    public ProductsFullTextIndex(
+        ApplicationProperties applicationProperties,
+        ProductsRepository productsRepository,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getFullText();
+        this.productsRepository = productsRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path path = Path.of(properties.getDirectory());
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        Gauge
+            .builder("products.search.index.size", this, ProductsFullTextIndex::sizeInBytes)
+            .description("Size of the products full-text index on disk")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        Gauge
+            .builder("products.search.index.documents", this, ProductsFullTextIndex::documents)
+            .description("Number of documents in the products full-text index")
+            .register(meterRegistry);
+        Gauge
+            .builder("products.search.index.refresh.lag", this, index -> index.refreshLag(TimeUnit.SECONDS))
+            .description("Age of the oldest products change which is not searchable yet")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        queryTimer = Timer.builder("products.search.query").description("Latency of products full-text searches").register(meterRegistry);
+        log.info("Opened the products full-text index in {}", path.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        ready = false;
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    /**
+     * Re-index the whole table, in id order and by batches, once the application is started and on
+     * {@code application.full-text.rebuild-cron}.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.full-text.rebuild-cron:-}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            log.info("Rebuilding the products full-text index");
+            long start = System.currentTimeMillis();
+            long current;
+            synchronized (lock) {
+                current = generation.incrementAndGet();
+                changedDuringRebuild = ConcurrentHashMap.newKeySet();
+            }
+            for (Products products : ProductsWarmUpLoader.inIdOrder(productsRepository, properties.getRebuildBatchSize())) {
+                synchronized (lock) {
+                    // a committed change seen by an event is newer than, or as new as, the row read from the database
+                    if (!changedDuringRebuild.contains(products.getId())) {
+                        writer.updateDocument(new Term(ID, products.getId().toString()), toDocument(products, current));
+                    }
+                }
+            }
+            synchronized (lock) {
+                writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, current - 1));
+                changedDuringRebuild = null;
+            }
+            writer.commit();
+            refresh();
+            ready = true;
+            log.info("Products full-text index rebuilt with {} documents in {} ms", documents(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.error("Could not rebuild the products full-text index", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Term id = new Term(ID, event.getId().toString());
+        try {
+            synchronized (lock) {
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(event.getId());
+                }
+                if (event.isDeletion()) {
+                    writer.deleteDocuments(id);
+                } else {
+                    writer.updateDocument(id, toDocument(event.toProducts(), generation.get()));
+                }
+            }
+            unrefreshedSince.compareAndSet(0, System.nanoTime());
+        } catch (IOException e) {
+            log.error("Could not index {}", event, e);
+        }
+    }
+
+    /**
+     * Make the writes done since the previous refresh searchable.
+     */
+    @Scheduled(fixedDelayString = "${application.full-text.refresh-interval:PT1S}")
+    public void refresh() throws IOException {
+        if (searcherManager == null) {
+            return;
+        }
+        // a write racing with the refresh is counted as not searchable yet, which over-estimates the lag
+        unrefreshedSince.set(0);
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Make the writes durable, so a restart only has to catch up with the changes made since the last commit.
+     */
+    @Scheduled(fixedDelayString = "${application.full-text.commit-interval:PT1M}")
+    public void commit() throws IOException {
+        if (writer != null && writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    /**
+     * @return {@code true} if searches can be answered from the index.
+     */
+    public boolean isAvailable() {
+        return properties.isEnabled() && ready;
+    }
+
+    /**
+     * @return the version of the index seen by searches, which moves on every refresh making writes searchable, or an
+     * empty {@link OptionalLong} if the index is not available.
+     */
+    public OptionalLong searcherVersion() {
+        if (!isAvailable()) {
+            return OptionalLong.empty();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return OptionalLong.of(((DirectoryReader) searcher.getIndexReader()).getVersion());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} whose name matches the text, best matches first.
+     * <p>
+     * Every term of the text must match a term of the name exactly, as a prefix, or within a few edits, exact matches
+     * ranking first. The sort of the page is ignored.
+     * @param text The searched text.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the index is not available.
+     * @throws IllegalArgumentException if the text has more than {@link #MAX_TERMS} terms.
+     */
+    public Optional<Page<Products>> search(String text, Pageable page) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        Query query = query(text);
+        return Optional.of(queryTimer.record(() -> search(query, page)));
+    }
+
+    private Page<Products> search(Query query, Pageable page) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int maxDoc = searcher.getIndexReader().maxDoc();
+                long offset = page.isPaged() ? page.getOffset() : 0;
+                int size = page.isPaged() ? page.getPageSize() : Math.max(1, maxDoc);
+                Pageable unsorted = page.isPaged() ? PageRequest.of(page.getPageNumber(), page.getPageSize()) : page;
+                if (offset >= maxDoc) {
+                    // no hit can be that deep, so only count them instead of collecting a queue of offset + size
+                    return new PageImpl<>(List.of(), unsorted, searcher.count(query));
+                }
+                // the hit queue is pre-filled with numHits entries, so it never holds more than the documents
+                int numHits = (int) Math.min(offset + size, maxDoc);
+                // counting every hit keeps the total exact
+                TopScoreDocCollector collector = TopScoreDocCollector.create(numHits, Integer.MAX_VALUE);
+                searcher.search(query, collector);
+                TopDocs topDocs = collector.topDocs((int) offset, size);
+                List<Products> content = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    content.add(toProducts(searcher.doc(scoreDoc.doc)));
+                }
+                return new PageImpl<>(content, unsorted, collector.getTotalHits());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Query query(String text) {
+        List<String> terms = analyze(text);
+        if (terms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException("At most " + MAX_TERMS + " search terms are allowed");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String value : terms) {
+            Term term = new Term(NAME, value);
+            List<Query> alternatives = new ArrayList<>(3);
+            alternatives.add(new BoostQuery(new TermQuery(term), 4f));
+            alternatives.add(new BoostQuery(new PrefixQuery(term), 2f));
+            int maxEdits = value.length() < 3 ? 0 : value.length() < 6 ? 1 : 2;
+            if (maxEdits > 0) {
+                alternatives.add(new FuzzyQuery(term, maxEdits, 1));
+            }
+            query.add(new DisjunctionMaxQuery(alternatives, 0.1f), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    /**
+     * @return the number of documents in the index, searchable or not.
+     */
+    public long documents() {
+        return writer == null ? 0 : writer.getDocStats().numDocs;
+    }
+
+    /**
+     * @return the size of the index files, in bytes.
+     */
+    public double sizeInBytes() {
+        if (directory == null) {
+            return 0;
+        }
+        long size = 0;
+        try {
+            for (String file : directory.listAll()) {
+                size += directory.fileLength(file);
+            }
+        } catch (IOException e) {
+            // files are deleted by merges while they are listed
+            return Double.NaN;
+        }
+        return size;
+    }
+
+    /**
+     * @param unit The unit of the result.
+     * @return how long the oldest write which is not searchable yet has been waiting, or 0 if there is none.
+     */
+    public double refreshLag(TimeUnit unit) {
+        long since = unrefreshedSince.get();
+        return since == 0 ? 0 : (double) (System.nanoTime() - since) / unit.toNanos(1);
+    }
+
+    private static Document toDocument(Products products, long generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, products.getId().toString(), Field.Store.YES));
+        if (products.getArticalName() != null) {
+            document.add(new TextField(NAME, products.getArticalName(), Field.Store.YES));
+        }
+        document.add(new StoredField(PRICE, products.getArticalPrice()));
+        document.add(new LongPoint(GENERATION, generation));
+        return document;
+    }
+
+    private static Products toProducts(Document document) {
+        return new Products()
+            .id(Long.valueOf(document.get(ID)))
+            .articalName(document.get(NAME))
+            .articalPrice(document.getField(PRICE).numericValue().doubleValue());
+    }
+
+    /**
+     * Splits names on word boundaries, lower cases them and folds accented characters, so {@code Café} is found by
+     * {@code cafe}.
+     */
+    private static final class NameAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Embedded full-text index of {@link store.domain.Products}, kept next to the database.
+ */
+package store.service.search;
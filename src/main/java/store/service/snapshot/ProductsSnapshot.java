@@ -0,0 +1,199 @@
+package store.service.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import store.domain.Products;
+import store.service.catalog.ProductsColumns;
+import store.service.dto.ProductsChangesDTO;
+
+/**
+ * Immutable, column-oriented copy of the {@link Products} table as of a change-sequence watermark.
+ * <p>
+ * Rows are stored in ascending id order, with the version and change sequence of every row, so that the snapshot can
+ * fill the second-level cache as well as the in-memory catalog. Every change with a sequence above the watermark is
+ * missing from the snapshot, every change at or below it is included.
+ */
+public final class ProductsSnapshot {
+
+    public static final ProductsSnapshot EMPTY = new ProductsSnapshot(
+        0,
+        new long[0],
+        new String[0],
+        new double[0],
+        new long[0],
+        new long[0]
+    );
+
+    private final long watermark;
+
+    private final long[] ids;
+
+    private final String[] names;
+
+    private final double[] prices;
+
+    private final long[] versions;
+
+    private final long[] changeSeqs;
+
+    ProductsSnapshot(long watermark, long[] ids, String[] names, double[] prices, long[] versions, long[] changeSeqs) {
+        this.watermark = watermark;
+        this.ids = ids;
+        this.names = names;
+        this.prices = prices;
+        this.versions = versions;
+        this.changeSeqs = changeSeqs;
+    }
+
+    /**
+     * @return the change sequence of the latest change included in the snapshot.
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public double price(int row) {
+        return prices[row];
+    }
+
+    public long version(int row) {
+        return versions[row];
+    }
+
+    public long changeSeq(int row) {
+        return changeSeqs[row];
+    }
+
+    /**
+     * @return a detached {@link Products} holding the values of the row.
+     */
+    public Products toProducts(int row) {
+        return new Products()
+            .id(ids[row])
+            .articalName(names[row])
+            .articalPrice(prices[row])
+            .version(versions[row])
+            .changeSeq(changeSeqs[row]);
+    }
+
+    /**
+     * @return the rows as {@link ProductsColumns}, to seed the in-memory catalog and indexes.
+     */
+    public ProductsColumns toColumns() {
+        ProductsColumns.Builder builder = ProductsColumns.builder(ids.length);
+        for (int row = 0; row < ids.length; row++) {
+            builder.add(ids[row], names[row], prices[row]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Return a copy of this snapshot with consecutive pages of changes applied, see
+     * {@link store.service.ProductsService#findChanges(long, Integer)}.
+     *
+     * @param pages the pages of changes following the watermark of this snapshot, in order.
+     * @return the new snapshot, as of the watermark of the last page.
+     */
+    public ProductsSnapshot withChanges(List<ProductsChangesDTO> pages) {
+        if (pages.isEmpty()) {
+            return this;
+        }
+        long newWatermark = pages.get(pages.size() - 1).getWatermark();
+        // the latest change of each product wins, null for a deletion; a page never holds a product and its deletion
+        Map<Long, Products> latest = new HashMap<>();
+        for (ProductsChangesDTO page : pages) {
+            for (Products products : page.getContent()) {
+                latest.put(products.getId(), products);
+            }
+            for (Long id : page.getDeletedIds()) {
+                latest.put(id, null);
+            }
+        }
+        if (latest.isEmpty()) {
+            return newWatermark == watermark ? this : new ProductsSnapshot(newWatermark, ids, names, prices, versions, changeSeqs);
+        }
+        List<Long> changedIds = new ArrayList<>(latest.keySet());
+        Collections.sort(changedIds);
+
+        int capacity = ids.length + changedIds.size();
+        long[] newIds = new long[capacity];
+        String[] newNames = new String[capacity];
+        double[] newPrices = new double[capacity];
+        long[] newVersions = new long[capacity];
+        long[] newChangeSeqs = new long[capacity];
+        int size = 0;
+        int row = 0;
+        int next = 0;
+        while (row < ids.length || next < changedIds.size()) {
+            if (next == changedIds.size() || (row < ids.length && ids[row] < changedIds.get(next))) {
+                newIds[size] = ids[row];
+                newNames[size] = names[row];
+                newPrices[size] = prices[row];
+                newVersions[size] = versions[row];
+                newChangeSeqs[size] = changeSeqs[row];
+                size++;
+                row++;
+            } else {
+                long id = changedIds.get(next++);
+                if (row < ids.length && ids[row] == id) {
+                    row++;
+                }
+                Products products = latest.get(id);
+                if (products != null) {
+                    newIds[size] = id;
+                    newNames[size] = products.getArticalName();
+                    newPrices[size] = products.getArticalPrice();
+                    newVersions[size] = products.getVersion();
+                    newChangeSeqs[size] = products.getChangeSeq();
+                    size++;
+                }
+            }
+        }
+        return new ProductsSnapshot(
+            newWatermark,
+            Arrays.copyOf(newIds, size),
+            Arrays.copyOf(newNames, size),
+            Arrays.copyOf(newPrices, size),
+            Arrays.copyOf(newVersions, size),
+            Arrays.copyOf(newChangeSeqs, size)
+        );
+    }
+
+    // the columns, for ProductsSnapshotFile
+
+    long[] ids() {
+        return ids;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    double[] prices() {
+        return prices;
+    }
+
+    long[] versions() {
+        return versions;
+    }
+
+    long[] changeSeqs() {
+        return changeSeqs;
+    }
+}
@@ -0,0 +1,187 @@
+package store.service.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file format of a {@link ProductsSnapshot}.
+ * <p>
+ * All values are big-endian. The file holds:
+ * <ul>
+ *     <li>a header: the {@code PSNP} magic number, the format version, the change-sequence watermark and the number of
+ *     rows;</li>
+ *     <li>the ids, versions, change sequences and prices columns, then the names column, each one prefixed by its length
+ *     in bytes; a name is its UTF-8 length, {@code -1} for {@code null}, followed by its UTF-8 bytes;</li>
+ *     <li>the CRC-32C of everything before it.</li>
+ * </ul>
+ * Files are written next to their final path, then moved over it, so a crash never leaves a partial snapshot behind.
+ * They are read through a memory mapping, the fixed-width columns being copied in bulk.
+ */
+final class ProductsSnapshotFile {
+
+    static final int MAGIC = 0x50534e50;
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    private static final int CHECKSUM_BYTES = 4;
+
+    private ProductsSnapshotFile() {}
+
+    /**
+     * Write the snapshot, replacing the file atomically.
+     *
+     * @param snapshot the snapshot to write.
+     * @param path the path of the snapshot file.
+     * @throws IOException if the file cannot be written.
+     */
+    static void write(ProductsSnapshot snapshot, Path path) throws IOException {
+        int rows = snapshot.size();
+        byte[][] names = new byte[rows][];
+        long namesBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            String name = snapshot.name(row);
+            names[row] = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            namesBytes += 4 + (names[row] == null ? 0 : names[row].length);
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C checksum = new CRC32C();
+        try (
+            FileChannel channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+            )
+        ) {
+            // not closed, which would close the channel before the checksum is written
+            DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(Channels.newOutputStream(channel), checksum), 1 << 16)
+            );
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(snapshot.getWatermark());
+            output.writeInt(rows);
+            writeLongs(output, snapshot.ids());
+            writeLongs(output, snapshot.versions());
+            writeLongs(output, snapshot.changeSeqs());
+            output.writeLong(8L * rows);
+            for (double price : snapshot.prices()) {
+                output.writeDouble(price);
+            }
+            output.writeLong(namesBytes);
+            for (byte[] name : names) {
+                if (name == null) {
+                    output.writeInt(-1);
+                } else {
+                    output.writeInt(name.length);
+                    output.write(name);
+                }
+            }
+            output.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(CHECKSUM_BYTES).putInt((int) checksum.getValue());
+            trailer.flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot, checking its checksum first.
+     *
+     * @param path the path of the snapshot file.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be read, is corrupt, or has another format version.
+     */
+    static ProductsSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int end = (int) size - CHECKSUM_BYTES;
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.duplicate().limit(end));
+            if ((int) checksum.getValue() != buffer.getInt(end)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            buffer.limit(end);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a products snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version);
+            }
+            long watermark = buffer.getLong();
+            int rows = buffer.getInt();
+            if (rows < 0) {
+                throw new IOException("Invalid snapshot row count " + rows);
+            }
+            long[] ids = new long[rows];
+            column(buffer, 8L * rows).asLongBuffer().get(ids);
+            long[] versions = new long[rows];
+            column(buffer, 8L * rows).asLongBuffer().get(versions);
+            long[] changeSeqs = new long[rows];
+            column(buffer, 8L * rows).asLongBuffer().get(changeSeqs);
+            double[] prices = new double[rows];
+            column(buffer, 8L * rows).asDoubleBuffer().get(prices);
+            ByteBuffer namesColumn = column(buffer, -1);
+            String[] names = new String[rows];
+            for (int row = 0; row < rows; row++) {
+                int length = namesColumn.getInt();
+                if (length >= 0) {
+                    byte[] name = new byte[length];
+                    namesColumn.get(name);
+                    names[row] = new String(name, StandardCharsets.UTF_8);
+                }
+            }
+            if (namesColumn.hasRemaining() || buffer.hasRemaining()) {
+                throw new IOException("Unexpected trailing bytes in snapshot");
+            }
+            return new ProductsSnapshot(watermark, ids, names, prices, versions, changeSeqs);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream output, long[] values) throws IOException {
+        output.writeLong(8L * values.length);
+        for (long value : values) {
+            output.writeLong(value);
+        }
+    }
+
+    /**
+     * @return the next column, of the expected length in bytes unless it is negative.
+     */
+    private static ByteBuffer column(ByteBuffer buffer, long expectedBytes) throws IOException {
+        long length = buffer.getLong();
+        if (length < 0 || length > buffer.remaining() || (expectedBytes >= 0 && length != expectedBytes)) {
+            throw new IOException("Invalid snapshot column length " + length);
+        }
+        ByteBuffer column = buffer.slice();
+        column.limit((int) length);
+        buffer.position(buffer.position() + (int) length);
+        return column;
+    }
+}
@@ -0,0 +1,39 @@
+package store.service.snapshot;
+
+import store.service.catalog.ProductsColumns;
+
+/**
+ * Application event published at startup, before the application reports ready, once the catalog snapshot has been
+ * loaded and caught up with the database.
+ * <p>
+ * In-memory structures seed themselves from its columns, instead of warming up from the database. Changes committed
+ * after the catch-up are published as {@link store.service.catalog.ProductsChangedEvent}s, as usual.
+ */
+public final class ProductsSnapshotLoadedEvent {
+
+    private final ProductsColumns columns;
+
+    private final long watermark;
+
+    public ProductsSnapshotLoadedEvent(ProductsColumns columns, long watermark) {
+        this.columns = columns;
+        this.watermark = watermark;
+    }
+
+    public ProductsColumns getColumns() {
+        return columns;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsSnapshotLoadedEvent{" +
+            "products=" + columns.size() +
+            ", watermark=" + watermark +
+            "}";
+    }
+}
@@ -0,0 +1,194 @@
+package store.service.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.ProductsService;
+import store.service.dto.ProductsChangesDTO;
+
+/**
+ * Service keeping a {@link ProductsSnapshot} of the catalog on disk, so that a restarted node starts warm.
+ * <p>
+ * At startup, before the application reports ready, the snapshot file is read, caught up with the changes committed
+ * since its watermark, then published as a {@link ProductsSnapshotLoadedEvent} for the in-memory catalog and indexes to
+ * seed themselves from, and put in the {@link Products} second-level cache region. Without a readable file, the
+ * snapshot is built from all the changes since watermark {@code 0}, which is the whole table. The snapshot is then kept
+ * in memory, caught up and written again every {@code application.snapshot.interval} and on shutdown.
+ */
+@Service
+public class ProductsSnapshotService {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsSnapshotService.class);
+
+    private final ApplicationProperties.Snapshot properties;
+
+    private final int changesLimit;
+
+    private final ProductsService productsService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Path path;
+
+    // guarded by this
+    private ProductsSnapshot snapshot;
+
+    public ProductsSnapshotService(
+        ApplicationProperties applicationProperties,
+        ProductsService productsService,
+        ApplicationEventPublisher applicationEventPublisher,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.properties = applicationProperties.getSnapshot();
+        this.changesLimit = applicationProperties.getChanges().getMaxLimit();
+        this.productsService = productsService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.path = Paths.get(properties.getFile());
+    }
+
+    /**
+     * Load the snapshot and seed the in-memory structures, synchronously, so that readiness only reports UP once done.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ProductsSnapshot loaded = read();
+        int read = loaded.size();
+        long readWatermark = loaded.getWatermark();
+        snapshot = catchUp(loaded);
+        log.info(
+            "Loaded {} products from the snapshot at watermark {}, caught up to watermark {} with {} products in {} ms",
+            read,
+            readWatermark,
+            snapshot.getWatermark(),
+            snapshot.size(),
+            System.currentTimeMillis() - start
+        );
+        if (properties.isSeedCache()) {
+            seedCache(snapshot);
+        }
+        applicationEventPublisher.publishEvent(new ProductsSnapshotLoadedEvent(snapshot.toColumns(), snapshot.getWatermark()));
+        log.info("Seeded the products caches and indexes from the snapshot in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Catch the snapshot up with the database and write it, every {@code application.snapshot.interval}.
+     */
+    @Scheduled(
+        initialDelayString = "${application.snapshot.interval:PT10M}",
+        fixedDelayString = "${application.snapshot.interval:PT10M}"
+    )
+    public synchronized void write() {
+        if (!properties.isEnabled() || snapshot == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ProductsSnapshot current = catchUp(snapshot);
+        try {
+            ProductsSnapshotFile.write(current, path);
+            snapshot = current;
+            log.debug(
+                "Wrote {} products to the snapshot at watermark {} in {} ms",
+                current.size(),
+                current.getWatermark(),
+                System.currentTimeMillis() - start
+            );
+        } catch (IOException e) {
+            log.error("Could not write the products snapshot to {}", path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Write the snapshot on graceful shutdown, while the database is still reachable.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            log.warn("Could not write the products snapshot on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private ProductsSnapshot read() {
+        if (!Files.exists(path)) {
+            log.info("No products snapshot in {}, loading the whole catalog", path.toAbsolutePath());
+            return ProductsSnapshot.EMPTY;
+        }
+        try {
+            return ProductsSnapshotFile.read(path);
+        } catch (IOException | RuntimeException e) {
+            log.warn(
+                "Could not read the products snapshot in {}, loading the whole catalog: {}",
+                path.toAbsolutePath(),
+                e.getMessage()
+            );
+            return ProductsSnapshot.EMPTY;
+        }
+    }
+
+    private ProductsSnapshot catchUp(ProductsSnapshot from) {
+        List<ProductsChangesDTO> pages = new ArrayList<>();
+        long watermark = from.getWatermark();
+        ProductsChangesDTO page;
+        do {
+            page = productsService.findChanges(watermark, changesLimit);
+            pages.add(page);
+            watermark = page.getWatermark();
+        } while (page.isMore());
+        return from.withChanges(pages);
+    }
+
+    /**
+     * Put every product in the second-level cache region, the way Hibernate does after loading an entity.
+     */
+    private void seedCache(ProductsSnapshot seed) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(Products.class);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        int seeded = 0;
+        try (Session session = sessionFactory.openSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (int row = 0; row < seed.size(); row++) {
+                Products products = seed.toProducts(row);
+                Object[] state = persister.getPropertyValues(products);
+                CacheEntry entry = persister.buildCacheEntry(products, state, products.getVersion(), implementor);
+                Object key = cache.generateCacheKey(products.getId(), persister, sessionFactory, implementor.getTenantIdentifier());
+                Object value = persister.getCacheEntryStructure().structure(entry);
+                if (cache.putFromLoad(implementor, key, value, products.getVersion(), true)) {
+                    seeded++;
+                }
+            }
+        }
+        log.debug("Seeded {} products in the second-level cache", seeded);
+    }
+}
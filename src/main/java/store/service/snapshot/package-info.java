@@ -0,0 +1,4 @@
+/**
+ * Binary snapshots of the {@link store.domain.Products} catalog, for fast warm restarts.
+ */
+package store.service.snapshot;
@@ -0,0 +1,122 @@
+package store.service.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Executes {@link ProductsCriteria} queries as plain SQL, without the JPA Criteria API.
+ * <p>
+ * Each shape of criteria is compiled once into a {@link ProductsSqlTemplate}, and later requests of the same shape
+ * only bind their values. Rows are mapped straight into detached {@link Products}, which are neither managed by the
+ * persistence context nor put in the second-level cache.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductsSqlExecutor {
+
+    private static final RowMapper<Products> ROW_MAPPER = (rs, rowNum) ->
+        new Products().id(rs.getLong(1)).articalName(rs.getString(2)).articalPrice(rs.getDouble(3));
+
+    private final Logger log = LoggerFactory.getLogger(ProductsSqlExecutor.class);
+
+    private final Map<String, ProductsSqlTemplate> templates = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.CompiledSql properties;
+
+    public ProductsSqlExecutor(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getCompiledSql();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Return a {@link Page} of {@link Products} which matches the criteria.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities, or an empty {@link Optional} if the criteria have {@code or} or {@code not} groups
+     * or the sort cannot be rendered in SQL.
+     */
+    public Optional<Page<Products>> findByCriteria(ProductsCriteria criteria, Pageable page) {
+        Optional<ProductsSqlTemplate> template = template(criteria, page.getSort());
+        if (template.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Object> parameters = template.get().bind(criteria);
+        if (page.isUnpaged()) {
+            return Optional.of(PageableExecutionUtils.getPage(query(template.get().getSelectSql(), parameters), page, () -> 0));
+        }
+        List<Object> pageParameters = new ArrayList<>(parameters);
+        pageParameters.add(page.getPageSize());
+        pageParameters.add(page.getOffset());
+        List<Products> content = query(template.get().getSelectSql() + " limit ? offset ?", pageParameters);
+        return Optional.of(PageableExecutionUtils.getPage(content, page, () -> count(template.get(), parameters)));
+    }
+
+    /**
+     * Return the number of matching entities.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities, or an empty {@link OptionalLong} if the criteria have {@code or} or
+     * {@code not} groups.
+     */
+    public OptionalLong countByCriteria(ProductsCriteria criteria) {
+        Optional<ProductsSqlTemplate> template = template(criteria, Sort.unsorted());
+        if (template.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(count(template.get(), template.get().bind(criteria)));
+    }
+
+    /**
+     * @return the number of compiled templates.
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    Optional<ProductsSqlTemplate> template(ProductsCriteria criteria, Sort sort) {
+        String shape = ProductsSqlTemplate.shapeOf(criteria, sort);
+        if (shape == null) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            templates.computeIfAbsent(
+                shape,
+                key -> {
+                    log.debug("Compiling SQL template for shape: {}", key);
+                    return ProductsSqlTemplate.compile(criteria, sort);
+                }
+            )
+        );
+    }
+
+    private List<Products> query(String sql, List<Object> parameters) {
+        return jdbcTemplate.query(sql, ROW_MAPPER, parameters.toArray());
+    }
+
+    private long count(ProductsSqlTemplate template, List<Object> parameters) {
+        Long count = jdbcTemplate.queryForObject(template.getCountSql(), Long.class, parameters.toArray());
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,254 @@
+package store.service.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import store.domain.Products_;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * A parameterized SQL query for one shape of {@link ProductsCriteria}: which filters are present, which of their
+ * operators are used and how long their lists are.
+ * <p>
+ * The operators are applied with the precedence of {@link tech.jhipster.service.QueryService}, so a template returns
+ * the same rows as the {@link org.springframework.data.jpa.domain.Specification} built from the same criteria. Lists
+ * are padded to the next power of two with their last value, which keeps the number of shapes small.
+ */
+final class ProductsSqlTemplate {
+
+    static final String TABLE = "products";
+
+    private static final Map<String, String> COLUMNS = Map.of(
+        Products_.ID,
+        "id",
+        Products_.ARTICAL_NAME,
+        "artical_name",
+        Products_.ARTICAL_PRICE,
+        "artical_price"
+    );
+
+    /**
+     * Adds the parameters of one clause, in the order of its placeholders.
+     */
+    @FunctionalInterface
+    private interface Binder {
+        void bind(ProductsCriteria criteria, List<Object> parameters);
+    }
+
+    /**
+     * Receives the clauses of a criteria, see {@link #walk}.
+     */
+    private interface Sink {
+        void clause(String shape, String sql, Binder binder);
+    }
+
+    private final String selectSql;
+
+    private final String countSql;
+
+    private final List<Binder> binders;
+
+    private ProductsSqlTemplate(String selectSql, String countSql, List<Binder> binders) {
+        this.selectSql = selectSql;
+        this.countSql = countSql;
+        this.binders = binders;
+    }
+
+    /**
+     * @return the key of the template answering the criteria with this sort, or {@code null} if the criteria have
+     * {@code or} or {@code not} groups or the sort cannot be rendered in SQL.
+     */
+    static String shapeOf(ProductsCriteria criteria, Sort sort) {
+        if (criteria != null && ((criteria.getOr() != null && !criteria.getOr().isEmpty()) || criteria.getNot() != null)) {
+            return null;
+        }
+        StringBuilder shape = new StringBuilder();
+        walk(criteria, (clause, sql, binder) -> shape.append(clause).append(';'));
+        for (Sort.Order order : sort) {
+            if (!COLUMNS.containsKey(order.getProperty()) || order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return null;
+            }
+            shape.append('>').append(order.getProperty()).append(order.isAscending() ? '+' : '-');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Compile the template of the shape of the criteria with this sort, see {@link #shapeOf}.
+     */
+    static ProductsSqlTemplate compile(ProductsCriteria criteria, Sort sort) {
+        List<String> clauses = new ArrayList<>();
+        List<Binder> binders = new ArrayList<>();
+        walk(
+            criteria,
+            (shape, sql, binder) -> {
+                clauses.add(sql);
+                if (binder != null) {
+                    binders.add(binder);
+                }
+            }
+        );
+        String where = clauses.isEmpty() ? "" : " where " + String.join(" and ", clauses);
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(COLUMNS.get(order.getProperty()) + (order.isAscending() ? " asc" : " desc"));
+        }
+        String orderBy = orders.isEmpty() ? "" : " order by " + String.join(", ", orders);
+        return new ProductsSqlTemplate(
+            "select id, artical_name, artical_price from " + TABLE + where + orderBy,
+            "select count(*) from " + TABLE + where,
+            Collections.unmodifiableList(binders)
+        );
+    }
+
+    /**
+     * @return the query of the rows, without pagination.
+     */
+    String getSelectSql() {
+        return selectSql;
+    }
+
+    /**
+     * @return the query of the number of rows.
+     */
+    String getCountSql() {
+        return countSql;
+    }
+
+    /**
+     * @return the parameters of the criteria, in the order of the placeholders of both queries.
+     */
+    List<Object> bind(ProductsCriteria criteria) {
+        List<Object> parameters = new ArrayList<>();
+        for (Binder binder : binders) {
+            binder.bind(criteria, parameters);
+        }
+        return parameters;
+    }
+
+    private static void walk(ProductsCriteria criteria, Sink sink) {
+        if (criteria == null) {
+            return;
+        }
+        // distinct is meaningless without joins
+        range(Products_.ID, criteria.getId(), ProductsCriteria::getId, sink);
+        string(Products_.ARTICAL_NAME, criteria.getArticalName(), ProductsCriteria::getArticalName, sink);
+        range(Products_.ARTICAL_PRICE, criteria.getArticalPrice(), ProductsCriteria::getArticalPrice, sink);
+    }
+
+    private static <X extends Comparable<? super X>> void range(
+        String field,
+        RangeFilter<X> filter,
+        Function<ProductsCriteria, RangeFilter<X>> getter,
+        Sink sink
+    ) {
+        if (filter == null) {
+            return;
+        }
+        String column = COLUMNS.get(field);
+        if (filter.getEquals() != null) {
+            sink.clause(field + ".equals", column + " = ?", (c, p) -> p.add(getter.apply(c).getEquals()));
+            return;
+        }
+        if (filter.getIn() != null) {
+            in(field + ".in", column, false, filter.getIn(), c -> getter.apply(c).getIn(), sink);
+            return;
+        }
+        specified(field, column, filter, sink);
+        if (filter.getNotEquals() != null) {
+            sink.clause(field + ".notEquals", column + " <> ?", (c, p) -> p.add(getter.apply(c).getNotEquals()));
+        }
+        if (filter.getNotIn() != null) {
+            in(field + ".notIn", column, true, filter.getNotIn(), c -> getter.apply(c).getNotIn(), sink);
+        }
+        if (filter.getGreaterThan() != null) {
+            sink.clause(field + ".greaterThan", column + " > ?", (c, p) -> p.add(getter.apply(c).getGreaterThan()));
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            sink.clause(field + ".greaterThanOrEqual", column + " >= ?", (c, p) -> p.add(getter.apply(c).getGreaterThanOrEqual()));
+        }
+        if (filter.getLessThan() != null) {
+            sink.clause(field + ".lessThan", column + " < ?", (c, p) -> p.add(getter.apply(c).getLessThan()));
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            sink.clause(field + ".lessThanOrEqual", column + " <= ?", (c, p) -> p.add(getter.apply(c).getLessThanOrEqual()));
+        }
+    }
+
+    private static void string(String field, StringFilter filter, Function<ProductsCriteria, StringFilter> getter, Sink sink) {
+        if (filter == null) {
+            return;
+        }
+        String column = COLUMNS.get(field);
+        if (filter.getEquals() != null) {
+            sink.clause(field + ".equals", column + " = ?", (c, p) -> p.add(getter.apply(c).getEquals()));
+        } else if (filter.getIn() != null) {
+            in(field + ".in", column, false, filter.getIn(), c -> getter.apply(c).getIn(), sink);
+        } else if (filter.getNotIn() != null) {
+            in(field + ".notIn", column, true, filter.getNotIn(), c -> getter.apply(c).getNotIn(), sink);
+        } else if (filter.getContains() != null) {
+            sink.clause(field + ".contains", "upper(" + column + ") like ?", (c, p) -> p.add(like(getter.apply(c).getContains())));
+        } else if (filter.getDoesNotContain() != null) {
+            sink.clause(
+                field + ".doesNotContain",
+                "upper(" + column + ") not like ?",
+                (c, p) -> p.add(like(getter.apply(c).getDoesNotContain()))
+            );
+        } else if (filter.getNotEquals() != null) {
+            sink.clause(field + ".notEquals", column + " <> ?", (c, p) -> p.add(getter.apply(c).getNotEquals()));
+        } else {
+            specified(field, column, filter, sink);
+        }
+    }
+
+    private static void specified(String field, String column, Filter<?> filter, Sink sink) {
+        if (Boolean.TRUE.equals(filter.getSpecified())) {
+            sink.clause(field + ".specified", column + " is not null", null);
+        } else if (Boolean.FALSE.equals(filter.getSpecified())) {
+            sink.clause(field + ".unspecified", column + " is null", null);
+        }
+    }
+
+    private static <X> void in(
+        String shape,
+        String column,
+        boolean negated,
+        List<X> values,
+        Function<ProductsCriteria, List<X>> getter,
+        Sink sink
+    ) {
+        if (values.isEmpty()) {
+            // an empty list matches nothing, or everything when negated
+            sink.clause(shape + "[0]", negated ? "1 = 1" : "1 = 0", null);
+            return;
+        }
+        int padded = Integer.highestOneBit(values.size() - 1) << 1;
+        int size = Math.max(1, padded);
+        StringBuilder placeholders = new StringBuilder("(?");
+        for (int i = 1; i < size; i++) {
+            placeholders.append(", ?");
+        }
+        placeholders.append(')');
+        sink.clause(
+            shape + "[" + size + "]",
+            column + (negated ? " not in " : " in ") + placeholders,
+            (c, p) -> {
+                List<X> list = getter.apply(c);
+                for (int i = 0; i < size; i++) {
+                    p.add(list.get(Math.min(i, list.size() - 1)));
+                }
+            }
+        );
+    }
+
+    private static String like(String value) {
+        return "%" + value.toUpperCase(Locale.ROOT) + "%";
+    }
+}
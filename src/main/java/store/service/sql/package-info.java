@@ -0,0 +1,4 @@
+/**
+ * Plain SQL execution of {@link store.service.criteria.ProductsCriteria}, bypassing the JPA Criteria API.
+ */
+package store.service.sql;
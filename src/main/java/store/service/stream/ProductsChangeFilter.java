@@ -0,0 +1,75 @@
+package store.service.stream;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side filter of a subscription to the {@link ProductsChangeStream}: a set of ids and a price band, both
+ * optional.
+ * <p>
+ * The price band applies to the new price of the inserted and updated products; deletions only carry an id, so they
+ * pass it and are only filtered by the ids.
+ */
+public final class ProductsChangeFilter {
+
+    public static final ProductsChangeFilter ALL = new ProductsChangeFilter(null, null, null);
+
+    private final Set<Long> ids;
+
+    private final Double minPrice;
+
+    private final Double maxPrice;
+
+    private ProductsChangeFilter(Set<Long> ids, Double minPrice, Double maxPrice) {
+        this.ids = ids;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Create a filter.
+     *
+     * @param ids the ids of the products to keep, all of them if {@code null} or empty.
+     * @param minPrice the lowest price to keep, inclusive, no lower bound if {@code null}.
+     * @param maxPrice the highest price to keep, inclusive, no upper bound if {@code null}.
+     * @return the filter.
+     * @throws IllegalArgumentException if the lowest price is above the highest one.
+     */
+    public static ProductsChangeFilter of(Collection<Long> ids, Double minPrice, Double maxPrice) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("The lowest price must not be above the highest price");
+        }
+        Set<Long> kept = ids == null ? Set.of() : ids.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        if (kept.isEmpty() && minPrice == null && maxPrice == null) {
+            return ALL;
+        }
+        return new ProductsChangeFilter(kept.isEmpty() ? null : kept, minPrice, maxPrice);
+    }
+
+    /**
+     * @param id the id of the changed product.
+     * @param price its new price, or {@code null} for a deletion.
+     * @return whether the change passes the filter.
+     */
+    public boolean matches(Long id, Double price) {
+        if (ids != null && !ids.contains(id)) {
+            return false;
+        }
+        if (price == null) {
+            return true;
+        }
+        return (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductsChangeFilter{" +
+            "ids=" + ids +
+            ", minPrice=" + minPrice +
+            ", maxPrice=" + maxPrice +
+            "}";
+    }
+}
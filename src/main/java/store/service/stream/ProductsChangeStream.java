@@ -0,0 +1,169 @@
+package store.service.stream;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.dto.ProductsChangeDTO;
+
+/**
+ * Live stream of the committed {@link store.domain.Products} changes, for the STOMP and server-sent event subscribers.
+ * <p>
+ * Changes are kept per product id until the next tick of {@code application.change-stream.tick}, the latest one
+ * replacing the previous ones, so a burst of writes to a product is delivered once. Each subscription then gets the
+ * changes passing its {@link ProductsChangeFilter}, on the task executor: a slow subscriber does not delay the others,
+ * and its changes keep being coalesced per product until it has caught up.
+ */
+@Service
+public class ProductsChangeStream {
+
+    private final Logger log = LoggerFactory.getLogger(ProductsChangeStream.class);
+
+    private final Executor executor;
+
+    private final ConcurrentMap<Long, ProductsChangedEvent> pending = new ConcurrentHashMap<>();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public ProductsChangeStream(@Qualifier("taskExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe to the changes passing a filter.
+     *
+     * @param filter the filter of the changes.
+     * @param consumer called with the changes of each tick, never concurrently; the subscription is cancelled if it
+     * throws.
+     * @return the subscription, to cancel once the subscriber is gone.
+     */
+    public Subscription subscribe(ProductsChangeFilter filter, Consumer<List<ProductsChangeDTO>> consumer) {
+        Subscription subscription = new Subscription(filter, consumer);
+        subscriptions.add(subscription);
+        log.debug("Subscribed to Products changes with {}, {} subscriptions", filter, subscriptions.size());
+        return subscription;
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!subscriptions.isEmpty()) {
+            pending.put(event.getId(), event);
+        }
+    }
+
+    /**
+     * Pass the changes since the previous tick to the subscriptions.
+     */
+    @Scheduled(fixedDelayString = "${application.change-stream.tick:PT1S}")
+    public void tick() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ProductsChangeDTO> changes = new ArrayList<>(pending.size());
+        for (Long id : pending.keySet()) {
+            ProductsChangedEvent event = pending.remove(id);
+            if (event != null) {
+                changes.add(new ProductsChangeDTO(event));
+            }
+        }
+        log.debug("Publishing {} Products changes to {} subscriptions", changes.size(), subscriptions.size());
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(changes);
+        }
+    }
+
+    /**
+     * A subscription to the changes, with the changes it has not received yet.
+     */
+    public final class Subscription {
+
+        private final ProductsChangeFilter filter;
+
+        private final Consumer<List<ProductsChangeDTO>> consumer;
+
+        // the changes not delivered yet, by product id, guarded by this
+        private final Map<Long, ProductsChangeDTO> mailbox = new LinkedHashMap<>();
+
+        // whether a delivery is running or submitted to the executor, guarded by this
+        private boolean delivering;
+
+        private volatile boolean cancelled;
+
+        private Subscription(ProductsChangeFilter filter, Consumer<List<ProductsChangeDTO>> consumer) {
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            if (subscriptions.remove(this)) {
+                log.debug("Cancelled subscription to Products changes with {}", filter);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void offer(List<ProductsChangeDTO> changes) {
+            synchronized (this) {
+                for (ProductsChangeDTO change : changes) {
+                    if (filter.matches(change.getId(), change.getArticalPrice())) {
+                        // re-inserted, so the changes are delivered in the order of their latest occurrence
+                        mailbox.remove(change.getId());
+                        mailbox.put(change.getId(), change);
+                    }
+                }
+                if (delivering || mailbox.isEmpty()) {
+                    return;
+                }
+                delivering = true;
+            }
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                log.warn("Could not deliver Products changes, they are kept for the next tick: {}", e.getMessage());
+                synchronized (this) {
+                    delivering = false;
+                }
+            }
+        }
+
+        private void deliver() {
+            while (true) {
+                List<ProductsChangeDTO> changes;
+                synchronized (this) {
+                    if (cancelled || mailbox.isEmpty()) {
+                        delivering = false;
+                        return;
+                    }
+                    changes = new ArrayList<>(mailbox.values());
+                    mailbox.clear();
+                }
+                try {
+                    consumer.accept(changes);
+                } catch (RuntimeException e) {
+                    log.debug("Cancelling subscription to Products changes after a failed delivery: {}", e.getMessage());
+                    cancel();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Live stream of the committed {@link store.domain.Products} changes, coalesced per product.
+ */
+package store.service.stream;
@@ -0,0 +1,224 @@
+package store.service.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.catalog.ProductsWarmUpLoader;
+import store.service.dto.ProductsSuggestionDTO;
+
+/**
+ * Prefix suggestions of {@link Products} names, answered from a {@link SuggestionTrie} without reading the database.
+ * <p>
+ * Every name is added once per word, from that word to its end, so {@code chai} suggests both {@code Chair} and
+ * {@code Wooden chair}. Keys and prefixes are lower cased and stripped of accents.
+ * <p>
+ * The tree is built from the table in the background at startup, and on {@code application.suggest.rebuild-cron}, then
+ * published at once. Committed changes are applied to the published tree through {@link ProductsChangedEvent}s, and
+ * replayed on a tree being rebuilt. Until the first build is done, or when {@code application.suggest.enabled} is
+ * {@code false}, every lookup returns an empty result and callers are expected to fall back to the database.
+ */
+@Service
+public class ProductsSuggester {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Logger log = LoggerFactory.getLogger(ProductsSuggester.class);
+
+    private final ApplicationProperties.Suggest properties;
+
+    private final ProductsRepository productsRepository;
+
+    private final Object lock = new Object();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // the suggestion of every indexed product, to remove its keys on update and delete, guarded by lock
+    private Map<Long, SuggestionTrie.Suggestion> suggestions = new HashMap<>();
+
+    // changes committed while a rebuild runs, guarded by lock
+    private Map<Long, ProductsChangedEvent> changedDuringRebuild;
+
+    private volatile SuggestionTrie trie;
+
+    private volatile boolean ready;
+
+    public ProductsSuggester(ApplicationProperties applicationProperties, ProductsRepository productsRepository) {
+        this.properties = applicationProperties.getSuggest();
+        this.productsRepository = productsRepository;
+        this.trie = emptyTrie();
+    }
+
+    /**
+     * Build a new tree from the whole table, in id order and by batches, and publish it once the application is started
+     * and on {@code application.suggest.rebuild-cron}.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.suggest.rebuild-cron:-}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            log.info("Building the products suggestions");
+            long start = System.currentTimeMillis();
+            synchronized (lock) {
+                changedDuringRebuild = new LinkedHashMap<>();
+            }
+            Map<Long, SuggestionTrie.Suggestion> loaded = new HashMap<>();
+            SuggestionTrie built = emptyTrie();
+            for (Products products : ProductsWarmUpLoader.inIdOrder(productsRepository, properties.getRebuildBatchSize())) {
+                built = apply(built, loaded, products.getId(), products);
+            }
+            synchronized (lock) {
+                // changes committed while loading are newer than, or as new as, the rows read from the database
+                for (ProductsChangedEvent event : changedDuringRebuild.values()) {
+                    built = apply(built, loaded, event.getId(), event.toProducts());
+                }
+                changedDuringRebuild = null;
+                suggestions = loaded;
+                trie = built;
+                ready = true;
+            }
+            log.info(
+                "Products suggestions built for {} products with {} nodes in {} ms",
+                loaded.size(),
+                built.nodes(),
+                System.currentTimeMillis() - start
+            );
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (lock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getId(), event);
+            }
+            trie = apply(trie, suggestions, event.getId(), event.toProducts());
+        }
+    }
+
+    /**
+     * @return {@code true} if suggestions can be answered from memory.
+     */
+    public boolean isAvailable() {
+        return properties.isEnabled() && ready;
+    }
+
+    /**
+     * @return the number of suggestions kept for every prefix, which is the largest accepted limit.
+     */
+    public int getTopK() {
+        return properties.getTopK();
+    }
+
+    /**
+     * @return the order of the suggestions.
+     */
+    public SuggestionRanking getRanking() {
+        return properties.getRanking();
+    }
+
+    /**
+     * Return the best products having a word of their name starting with the prefix.
+     * @param prefix The typed prefix.
+     * @param limit The maximum number of suggestions, at most {@link #getTopK()}.
+     * @return the suggestions, best first, or an empty {@link Optional} if the suggestions are not available.
+     */
+    public Optional<List<ProductsSuggestionDTO>> suggest(String prefix, int limit) {
+        if (!isAvailable()) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            trie
+                .lookup(normalize(prefix), limit)
+                .stream()
+                .map(suggestion -> new ProductsSuggestionDTO(suggestion.getId(), suggestion.getName(), suggestion.getPrice()))
+                .collect(Collectors.toList())
+        );
+    }
+
+    private SuggestionTrie emptyTrie() {
+        return SuggestionTrie.empty(properties.getRanking().comparator(), properties.getTopK());
+    }
+
+    /**
+     * Replace the keys of a product.
+     * @param products The committed product, or {@code null} if it was deleted.
+     */
+    private static SuggestionTrie apply(
+        SuggestionTrie current,
+        Map<Long, SuggestionTrie.Suggestion> suggestions,
+        Long id,
+        Products products
+    ) {
+        SuggestionTrie result = current;
+        SuggestionTrie.Suggestion previous = suggestions.remove(id);
+        if (previous != null) {
+            for (String key : keys(previous.getName())) {
+                result = result.without(key, id);
+            }
+        }
+        if (products != null && products.getArticalName() != null) {
+            SuggestionTrie.Suggestion suggestion = new SuggestionTrie.Suggestion(id, products.getArticalName(), products.getArticalPrice());
+            for (String key : keys(suggestion.getName())) {
+                result = result.with(key, suggestion);
+            }
+            suggestions.put(id, suggestion);
+        }
+        return result;
+    }
+
+    /**
+     * @return the normalized name from the start of each of its words to its end.
+     */
+    static List<String> keys(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        int start = 0;
+        do {
+            keys.add(normalized.substring(start));
+            start = normalized.indexOf(' ', start) + 1;
+        } while (start > 0);
+        return keys;
+    }
+
+    /**
+     * @return the text lower cased, without accents, and with its words separated by single spaces.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutMarks = MARKS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,48 @@
+package store.service.suggest;
+
+import java.util.Comparator;
+import org.springframework.data.domain.Sort;
+import store.domain.Products_;
+
+/**
+ * Order of the products suggested for a prefix, best first. Ties are broken by name, then by id.
+ */
+public enum SuggestionRanking {
+    /**
+     * The most expensive products first.
+     */
+    HIGHEST_PRICE(Comparator.comparingDouble(SuggestionTrie.Suggestion::getPrice).reversed(), Sort.Order.desc(Products_.ARTICAL_PRICE)),
+
+    /**
+     * The cheapest products first.
+     */
+    LOWEST_PRICE(Comparator.comparingDouble(SuggestionTrie.Suggestion::getPrice), Sort.Order.asc(Products_.ARTICAL_PRICE)),
+
+    /**
+     * The products with the shortest names first, as they are the closest to the typed prefix.
+     */
+    SHORTEST_NAME(Comparator.comparingInt(suggestion -> suggestion.getName().length()), null);
+
+    private final Comparator<SuggestionTrie.Suggestion> comparator;
+
+    private final Sort sort;
+
+    SuggestionRanking(Comparator<SuggestionTrie.Suggestion> weight, Sort.Order order) {
+        this.comparator = weight
+            .thenComparing(SuggestionTrie.Suggestion::getName)
+            .thenComparingLong(SuggestionTrie.Suggestion::getId);
+        Sort tieBreak = Sort.by(Products_.ARTICAL_NAME, Products_.ID);
+        this.sort = order == null ? tieBreak : Sort.by(order).and(tieBreak);
+    }
+
+    Comparator<SuggestionTrie.Suggestion> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return the closest database sort, used when suggestions are read from the database.
+     */
+    public Sort sort() {
+        return sort;
+    }
+}
@@ -0,0 +1,349 @@
+package store.service.suggest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radix tree of suggestion keys, where every node holds the best suggestions of its subtree.
+ * <p>
+ * Chains of single children are collapsed into one node labelled with the whole chain, so the tree has at most two
+ * nodes per key. A lookup walks at most one node per character of the prefix and returns the precomputed suggestions
+ * of the node it stops in. Updates copy the path from the root to the changed key and share everything else, so a
+ * published tree is never modified and can be read without locking.
+ * <p>
+ * A suggestion can be added under several keys, for example one per word of a name; the suggestions of a node are
+ * distinct by id.
+ */
+final class SuggestionTrie {
+
+    /**
+     * A suggested product, with the values it is ranked by.
+     */
+    static final class Suggestion {
+
+        private final long id;
+
+        private final String name;
+
+        private final double price;
+
+        Suggestion(long id, String name, double price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        double getPrice() {
+            return price;
+        }
+
+        @Override
+        public String toString() {
+            return "Suggestion{id=" + id + ", name='" + name + "', price=" + price + "}";
+        }
+    }
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Comparator<Suggestion> ranking;
+
+    private final int topK;
+
+    private final Node root;
+
+    private SuggestionTrie(Comparator<Suggestion> ranking, int topK, Node root) {
+        this.ranking = ranking;
+        this.topK = topK;
+        this.root = root;
+    }
+
+    /**
+     * @param ranking The order of the suggestions, best first.
+     * @param topK The number of suggestions kept by every node.
+     * @return an empty tree.
+     */
+    static SuggestionTrie empty(Comparator<Suggestion> ranking, int topK) {
+        return new SuggestionTrie(ranking, topK, new Node("", NO_CHILDREN, NO_SUGGESTIONS, NO_SUGGESTIONS));
+    }
+
+    /**
+     * @param prefix The prefix of the keys.
+     * @param limit The maximum number of suggestions, at most the {@code topK} of the tree.
+     * @return the best suggestions whose key starts with the prefix, best first.
+     */
+    List<Suggestion> lookup(String prefix, int limit) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            node = node.child(prefix.charAt(offset));
+            if (node == null) {
+                return List.of();
+            }
+            int remaining = prefix.length() - offset;
+            if (remaining <= node.label.length()) {
+                // the prefix ends within the label of this node
+                return node.label.regionMatches(0, prefix, offset, remaining) ? node.top(limit) : List.of();
+            }
+            if (!prefix.regionMatches(offset, node.label, 0, node.label.length())) {
+                return List.of();
+            }
+            offset += node.label.length();
+        }
+        return node.top(limit);
+    }
+
+    /**
+     * @param key A non empty key.
+     * @param suggestion The suggestion to add under the key.
+     * @return a tree with the suggestion added.
+     */
+    SuggestionTrie with(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Suggestion keys must not be empty");
+        }
+        return new SuggestionTrie(ranking, topK, insert(root, key, suggestion));
+    }
+
+    /**
+     * @param key The key the suggestion was added under.
+     * @param id The id of the suggestion.
+     * @return a tree without the suggestion under the key, or this tree if there is no such suggestion.
+     */
+    SuggestionTrie without(String key, long id) {
+        Node removed = remove(root, key, id, true);
+        return removed == root ? this : new SuggestionTrie(ranking, topK, removed);
+    }
+
+    /**
+     * @return the number of nodes of the tree, root included.
+     */
+    int nodes() {
+        return root.count();
+    }
+
+    private Node insert(Node node, String key, Suggestion suggestion) {
+        Suggestion[] top = withSuggestion(node.top, suggestion);
+        if (key.isEmpty()) {
+            return new Node(node.label, node.children, append(node.terminals, suggestion), top);
+        }
+        int index = node.indexOf(key.charAt(0));
+        if (index < 0) {
+            Node leaf = new Node(key, NO_CHILDREN, new Suggestion[] { suggestion }, new Suggestion[] { suggestion });
+            return new Node(node.label, insertChild(node.children, -index - 1, leaf), node.terminals, top);
+        }
+        Node child = node.children[index];
+        int common = commonPrefixLength(child.label, key);
+        Node replaced;
+        if (common == child.label.length()) {
+            replaced = insert(child, key.substring(common), suggestion);
+        } else {
+            // split the label of the child where the key diverges
+            Node tail = child.relabel(child.label.substring(common));
+            Node middle = new Node(child.label.substring(0, common), new Node[] { tail }, NO_SUGGESTIONS, child.top);
+            replaced = insert(middle, key.substring(common), suggestion);
+        }
+        return new Node(node.label, replaceChild(node.children, index, replaced), node.terminals, top);
+    }
+
+    /**
+     * @return the node without the suggestion, the same node if it was not found, or {@code null} if the node is left
+     * empty.
+     */
+    private Node remove(Node node, String key, long id, boolean isRoot) {
+        if (key.isEmpty()) {
+            int position = indexOf(node.terminals, id);
+            if (position < 0) {
+                return node;
+            }
+            return rebuilt(node, node.children, removeAt(node.terminals, position), id, isRoot);
+        }
+        int index = node.indexOf(key.charAt(0));
+        if (index < 0) {
+            return node;
+        }
+        Node child = node.children[index];
+        if (!key.startsWith(child.label)) {
+            return node;
+        }
+        Node replaced = remove(child, key.substring(child.label.length()), id, false);
+        if (replaced == child) {
+            return node;
+        }
+        Node[] children = replaced == null ? removeAt(node.children, index) : replaceChild(node.children, index, replaced);
+        return rebuilt(node, children, node.terminals, id, isRoot);
+    }
+
+    private Node rebuilt(Node node, Node[] children, Suggestion[] terminals, long id, boolean isRoot) {
+        if (!isRoot && terminals.length == 0) {
+            if (children.length == 0) {
+                return null;
+            }
+            if (children.length == 1) {
+                // collapse the chain again
+                return children[0].relabel(node.label + children[0].label);
+            }
+        }
+        // the best suggestions only change if the removed one was among them
+        Suggestion[] top = indexOf(node.top, id) < 0 ? node.top : top(children, terminals);
+        return new Node(node.label, children, terminals, top);
+    }
+
+    private Suggestion[] top(Node[] children, Suggestion[] terminals) {
+        int size = terminals.length;
+        for (Node child : children) {
+            size += child.top.length;
+        }
+        Suggestion[] candidates = Arrays.copyOf(terminals, size);
+        int offset = terminals.length;
+        for (Node child : children) {
+            System.arraycopy(child.top, 0, candidates, offset, child.top.length);
+            offset += child.top.length;
+        }
+        Arrays.sort(candidates, ranking);
+        Suggestion[] top = new Suggestion[Math.min(topK, size)];
+        int count = 0;
+        for (int i = 0; i < candidates.length && count < top.length; i++) {
+            if (indexOf(top, count, candidates[i].id) < 0) {
+                top[count++] = candidates[i];
+            }
+        }
+        return count == top.length ? top : Arrays.copyOf(top, count);
+    }
+
+    private Suggestion[] withSuggestion(Suggestion[] top, Suggestion suggestion) {
+        if (indexOf(top, suggestion.id) >= 0) {
+            return top;
+        }
+        int position = Arrays.binarySearch(top, suggestion, ranking);
+        position = position < 0 ? -position - 1 : position;
+        if (position >= topK) {
+            return top;
+        }
+        Suggestion[] result = new Suggestion[Math.min(topK, top.length + 1)];
+        System.arraycopy(top, 0, result, 0, position);
+        result[position] = suggestion;
+        System.arraycopy(top, position, result, position + 1, result.length - position - 1);
+        return result;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(Suggestion[] suggestions, long id) {
+        return indexOf(suggestions, suggestions.length, id);
+    }
+
+    private static int indexOf(Suggestion[] suggestions, int length, long id) {
+        for (int i = 0; i < length; i++) {
+            if (suggestions[i].id == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> T[] append(T[] array, T element) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = element;
+        return result;
+    }
+
+    private static Node[] insertChild(Node[] children, int position, Node child) {
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, position);
+        result[position] = child;
+        System.arraycopy(children, position, result, position + 1, children.length - position);
+        return result;
+    }
+
+    private static Node[] replaceChild(Node[] children, int position, Node child) {
+        Node[] result = children.clone();
+        result[position] = child;
+        return result;
+    }
+
+    private static <T> T[] removeAt(T[] array, int position) {
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+        return result;
+    }
+
+    private static final class Node {
+
+        private final String label;
+
+        // sorted by the first character of their label, which is distinct
+        private final Node[] children;
+
+        // the suggestions whose key ends at this node
+        private final Suggestion[] terminals;
+
+        // the best suggestions of the subtree, best first
+        private final Suggestion[] top;
+
+        private Node(String label, Node[] children, Suggestion[] terminals, Suggestion[] top) {
+            this.label = label;
+            this.children = children;
+            this.terminals = terminals;
+            this.top = top;
+        }
+
+        private Node relabel(String newLabel) {
+            return new Node(newLabel, children, terminals, top);
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index < 0 ? null : children[index];
+        }
+
+        /**
+         * @return the index of the child whose label starts with the character, or {@code -(insertion point) - 1}.
+         */
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label.charAt(0);
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private List<Suggestion> top(int limit) {
+            return limit >= top.length ? List.of(top) : List.of(Arrays.copyOf(top, limit));
+        }
+
+        private int count() {
+            int count = 1;
+            for (Node child : children) {
+                count += child.count();
+            }
+            return count;
+        }
+    }
+}
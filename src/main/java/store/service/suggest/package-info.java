@@ -0,0 +1,4 @@
+/**
+ * In-memory prefix suggestions of {@link store.domain.Products} names.
+ */
+package store.service.suggest;
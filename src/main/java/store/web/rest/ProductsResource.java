@@ -1,27 +1,73 @@
 package store.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import store.config.ApplicationProperties;
 import store.domain.Products;
+import store.domain.Products_;
 import store.repository.ProductsRepository;
+import store.service.ProductsCountService;
+import store.service.ProductsExportService;
 import store.service.ProductsQueryService;
 import store.service.ProductsService;
+import store.service.catalog.ProductsEpoch;
 import store.service.criteria.ProductsCriteria;
+import store.service.dto.PricePercentileDTO;
+import store.service.dto.ProductsChangeDTO;
+import store.service.dto.ProductsChangesDTO;
+import store.service.dto.ProductsMultiGetDTO;
+import store.service.dto.ProductsPopularityDTO;
+import store.service.dto.ProductsPriceStatisticsDTO;
+import store.service.dto.ProductsSearchResultDTO;
+import store.service.dto.ProductsSuggestionDTO;
+import store.service.pagination.CountAccuracy;
+import store.service.pagination.CountedPage;
+import store.service.pagination.KeysetPage;
+import store.service.pagination.TotalCount;
+import store.service.popularity.ProductsPopularityTracker;
+import store.service.search.ProductsFullTextIndex;
+import store.service.stream.ProductsChangeFilter;
+import store.service.stream.ProductsChangeStream;
+import store.web.rest.converter.ProductsProtobufHttpMessageConverter;
 import store.web.rest.errors.BadRequestAlertException;
+import store.web.rest.util.ETagUtil;
+import store.web.rest.util.SlicePaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -37,6 +83,22 @@ public class ProductsResource {
 
     private static final String ENTITY_NAME = "products";
 
+    private static final String TOTAL_COUNT_ACCURACY_HEADER = "X-Total-Count-Accuracy";
+
+    private static final List<String> KEYSET_ORDERED_PROPERTIES = List.of(Products_.ID, Products_.ARTICAL_NAME, Products_.ARTICAL_PRICE);
+
+    /**
+     * The media types a {@link Products} is written as, in the order of the message converters: JSON, Smile and CBOR
+     * from {@code JacksonConfiguration}, then protobuf from {@code ProtobufConfiguration}.
+     */
+    private static final List<MediaType> PRODUCTS_MEDIA_TYPES = List.of(
+        MediaType.APPLICATION_JSON,
+        new MediaType("application", "*+json"),
+        new MediaType("application", "x-jackson-smile"),
+        MediaType.APPLICATION_CBOR,
+        ProductsProtobufHttpMessageConverter.PROTOBUF
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -46,14 +108,46 @@ public class ProductsResource {
 
     private final ProductsQueryService productsQueryService;
 
+    private final ProductsCountService productsCountService;
+
+    private final ProductsPopularityTracker productsPopularityTracker;
+
+    private final ProductsEpoch productsEpoch;
+
+    private final ProductsChangeStream productsChangeStream;
+
+    private final ProductsExportService productsExportService;
+
+    private final ProductsFullTextIndex productsFullTextIndex;
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    private final ApplicationProperties.ChangeStream changeStreamProperties;
+
     public ProductsResource(
         ProductsService productsService,
         ProductsRepository productsRepository,
-        ProductsQueryService productsQueryService
+        ProductsQueryService productsQueryService,
+        ProductsCountService productsCountService,
+        ProductsPopularityTracker productsPopularityTracker,
+        ProductsEpoch productsEpoch,
+        ProductsChangeStream productsChangeStream,
+        ProductsExportService productsExportService,
+        ProductsFullTextIndex productsFullTextIndex,
+        ContentNegotiationManager contentNegotiationManager,
+        ApplicationProperties applicationProperties
     ) {
         this.productsService = productsService;
         this.productsRepository = productsRepository;
         this.productsQueryService = productsQueryService;
+        this.productsCountService = productsCountService;
+        this.productsPopularityTracker = productsPopularityTracker;
+        this.productsEpoch = productsEpoch;
+        this.productsChangeStream = productsChangeStream;
+        this.productsExportService = productsExportService;
+        this.productsFullTextIndex = productsFullTextIndex;
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.changeStreamProperties = applicationProperties.getChangeStream();
     }
 
     /**
@@ -79,16 +173,23 @@ public class ProductsResource {
     /**
      * {@code PUT  /products/:id} : Updates an existing products.
      *
+     * <p>
+     * With an {@code If-Match} header holding the {@code ETag} of the product, the update is only applied if the product
+     * was not changed since.
+     *
      * @param id the id of the products to save.
+     * @param ifMatch the {@code If-Match} header, if any.
      * @param products the products to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated products,
      * or with status {@code 400 (Bad Request)} if the products is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the products was changed since the {@code If-Match} version,
      * or with status {@code 500 (Internal Server Error)} if the products couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/products/{id}")
     public ResponseEntity<Products> updateProducts(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Products products
     ) throws URISyntaxException {
         log.debug("REST request to update Products : {}, {}", id, products);
@@ -103,7 +204,18 @@ public class ProductsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Products result = productsService.update(products);
+        Products result;
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            result = productsService.update(products, null);
+        } else {
+            // a validator which was not built from a version, such as a weak one, can never match
+            Long expectedVersion = ETagUtil.version(ifMatch.trim()).orElseThrow(ProductsResource::preconditionFailed);
+            try {
+                result = productsService.update(products, expectedVersion);
+            } catch (OptimisticLockingFailureException e) {
+                throw preconditionFailed();
+            }
+        }
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, products.getId().toString()))
@@ -148,19 +260,114 @@ public class ProductsResource {
 
     /**
      * {@code GET  /products} : get all the products.
+     * <p>
+     * When a {@code cursor} parameter is given, even empty for the first page, keyset pagination is used: the page
+     * number is ignored, no total is computed and the {@code next} link carries the cursor of the next page.
+     * <p>
+     * With {@code slice=true}, the matching products are not counted: there is no {@code X-Total-Count} header and
+     * no {@code last} link, which suits clients that never show a total.
+     * <p>
+     * Otherwise, the {@code count} parameter selects how the total is obtained ({@code exact}, {@code cached} or
+     * {@code estimated}), and the {@code X-Total-Count-Accuracy} header tells which accuracy was actually obtained.
+     * <p>
+     * The response carries a weak {@code ETag} derived from the {@link ProductsEpoch}: a matching {@code If-None-Match}
+     * is answered with {@code 304 (Not Modified)} without querying the products.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @param cursor the keyset pagination cursor.
+     * @param slice whether to skip counting the matching products.
+     * @param count the count policy, see {@link CountAccuracy}.
+     * @param webRequest the current request, for its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, or with status
+     * {@code 304 (Not Modified)} if no product has changed since the {@code If-None-Match} validator.
      */
     @GetMapping("/products")
     public ResponseEntity<List<Products>> getAllProducts(
         ProductsCriteria criteria,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SlicePaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        @RequestParam(value = SlicePaginationUtil.SLICE_PARAMETER, defaultValue = "false") boolean slice,
+        @RequestParam(value = "count", required = false) String count,
+        WebRequest webRequest
     ) {
         log.debug("REST request to get Products by criteria: {}", criteria);
-        Page<Products> page = productsQueryService.findByCriteria(criteria, pageable);
+        if (checkNotModified(webRequest)) {
+            return null;
+        }
+        if (cursor != null) {
+            if (!pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(KEYSET_ORDERED_PROPERTIES::contains)) {
+                throw new BadRequestAlertException("Keyset pagination is not supported on this sort", ENTITY_NAME, "sortinvalid");
+            }
+            KeysetPage<Products> page = productsQueryService.findByCriteria(
+                criteria,
+                SlicePaginationUtil.decodeCursor(cursor, pageable, Products.class, ENTITY_NAME),
+                pageable
+            );
+            productsPopularityTracker.recordViews(page.getContent());
+            HttpHeaders headers = SlicePaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (slice) {
+            Slice<Products> page = productsQueryService.findSliceByCriteria(criteria, pageable);
+            productsPopularityTracker.recordViews(page.getContent());
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        CountedPage<Products> counted = productsCountService.findByCriteria(criteria, pageable, countPolicy(count));
+        Page<Products> page = counted.getPage();
+        productsPopularityTracker.recordViews(page.getContent());
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        headers.add(TOTAL_COUNT_ACCURACY_HEADER, counted.getAccuracy().value());
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products?fields=} : get the products, reduced to the requested fields.
+     * <p>
+     * Only the requested columns are read and serialized, for example {@code fields=id,articalPrice}. Pagination,
+     * {@code slice}, {@code count} and the {@code ETag} behave as for {@link #getAllProducts}; keyset cursors are
+     * ignored.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param fields the fields to return, see {@link ProductsQueryService#PROJECTABLE_FIELDS}.
+     * @param slice whether to skip counting the matching products.
+     * @param count the count policy, see {@link CountAccuracy}.
+     * @param webRequest the current request, for its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of partial products in body, with
+     * status {@code 304 (Not Modified)} if no product has changed since the {@code If-None-Match} validator, or with
+     * status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "/products", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllProductsFields(
+        ProductsCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam("fields") List<String> fields,
+        @RequestParam(value = SlicePaginationUtil.SLICE_PARAMETER, defaultValue = "false") boolean slice,
+        @RequestParam(value = "count", required = false) String count,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to get Products fields {} by criteria: {}", fields, criteria);
+        if (checkNotModified(webRequest)) {
+            return null;
+        }
+        Slice<Map<String, Object>> page;
+        try {
+            page = productsQueryService.findProjectedSliceByCriteria(criteria, fields, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldsinvalid");
+        }
+        if (slice) {
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        TotalCount total = productsCountService.countByCriteria(criteria, countPolicy(count));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            new PageImpl<>(page.getContent(), pageable, total.getValue())
+        );
+        headers.add(TOTAL_COUNT_ACCURACY_HEADER, total.getAccuracy().value());
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -168,25 +375,408 @@ public class ProductsResource {
      * {@code GET  /products/count} : count all the products.
      *
      * @param criteria the criteria which the requested entities should match.
+     * @param count the count policy, see {@link CountAccuracy}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
      */
     @GetMapping("/products/count")
-    public ResponseEntity<Long> countProducts(ProductsCriteria criteria) {
+    public ResponseEntity<Long> countProducts(ProductsCriteria criteria, @RequestParam(value = "count", required = false) String count) {
         log.debug("REST request to count Products by criteria: {}", criteria);
-        return ResponseEntity.ok().body(productsQueryService.countByCriteria(criteria));
+        TotalCount total = productsCountService.countByCriteria(criteria, countPolicy(count));
+        return ResponseEntity.ok().header(TOTAL_COUNT_ACCURACY_HEADER, total.getAccuracy().value()).body(total.getValue());
+    }
+
+    /**
+     * {@code GET  /products/stats} : get the count, sum, extremes, mean, variance and histogram of the products prices.
+     *
+     * @param criteria the criteria which the summarized entities should match.
+     * @param priceBuckets the strictly increasing histogram bucket boundaries, defaults to the configured ones.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the price statistics in body, or with status
+     * {@code 400 (Bad Request)} if the price buckets are invalid.
+     */
+    @GetMapping("/products/stats")
+    public ResponseEntity<ProductsPriceStatisticsDTO> getProductsPriceStatistics(
+        ProductsCriteria criteria,
+        @RequestParam(value = "priceBuckets", required = false) List<Double> priceBuckets
+    ) {
+        log.debug("REST request to get Products price statistics by criteria: {}", criteria);
+        try {
+            return ResponseEntity.ok(productsQueryService.findPriceStatistics(criteria, priceBuckets));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "pricebucketsinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/changes} : get the products inserted, updated or deleted after a watermark.
+     * <p>
+     * Mirrors keep the {@code watermark} of the response and ask for the changes after it, again while {@code more} is
+     * true, instead of downloading the whole catalog.
+     *
+     * @param since the watermark of the last synchronization, {@code 0} for the whole catalog.
+     * @param limit the maximum number of changes, defaults to the configured one.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes in body, or with status
+     * {@code 400 (Bad Request)} if the watermark or the limit is invalid.
+     */
+    @GetMapping("/products/changes")
+    public ResponseEntity<ProductsChangesDTO> getProductsChanges(
+        @RequestParam(value = "since", defaultValue = "0") long since,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        log.debug("REST request to get Products changes since : {}", since);
+        try {
+            return ResponseEntity.ok(productsService.findChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "changesinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/export} : export all the products matching the criteria, ordered by id.
+     * <p>
+     * The rows are streamed as they are read, so exports of any size use constant memory. Exports run on their own
+     * connection pool, sized by {@code application.export.pool.maximum-pool-size}. The connection is taken before the response is
+     * committed, to answer {@code 503} when none is available, and given back when the request completes, even if it
+     * ends, such as on a timeout, before the export is written.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param webRequest the current request, to release the export when it completes.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the export in body, with status
+     * {@code 400 (Bad Request)} if the format is unknown, or with status {@code 503 (Service Unavailable)} if too many
+     * exports are running.
+     */
+    @GetMapping("/products/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+        ProductsCriteria criteria,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        NativeWebRequest webRequest
+    ) {
+        log.debug("REST request to export Products as {} by criteria: {}", format, criteria);
+        ProductsExportService.Format exportFormat;
+        try {
+            exportFormat = ProductsExportService.Format.fromValue(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "formatinvalid");
+        }
+        ProductsExportService.Export export = productsExportService
+            .open(criteria, exportFormat)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many Products exports are running"));
+        WebAsyncUtils
+            .getAsyncManager(webRequest)
+            .registerCallableInterceptor(
+                export,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        export.close();
+                    }
+                }
+            );
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment().filename("products." + exportFormat.getExtension()).build());
+        return ResponseEntity.ok().headers(headers).body(export::writeTo);
+    }
+
+    /**
+     * {@code GET  /products/stream} : stream the committed products changes as server-sent events.
+     * <p>
+     * Each event is named {@code products} and holds a {@link ProductsChangeDTO}. Changes to a product are sent at most
+     * once per tick of {@code application.change-stream.tick}, with its latest values; the same changes are published
+     * to the {@code /topic/products} STOMP destination.
+     *
+     * @param ids the ids of the products to stream, all of them if empty.
+     * @param minPrice the lowest new price to stream, inclusive.
+     * @param maxPrice the highest new price to stream, inclusive.
+     * @return the event stream, or status {@code 400 (Bad Request)} if the price band is empty.
+     */
+    @GetMapping(value = "/products/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProducts(
+        @RequestParam(value = "ids", required = false) List<Long> ids,
+        @RequestParam(value = "minPrice", required = false) Double minPrice,
+        @RequestParam(value = "maxPrice", required = false) Double maxPrice
+    ) {
+        log.debug("REST request to stream Products changes for ids {} and prices from {} to {}", ids, minPrice, maxPrice);
+        ProductsChangeFilter filter;
+        try {
+            filter = ProductsChangeFilter.of(ids, minPrice, maxPrice);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "pricebandinvalid");
+        }
+        SseEmitter emitter = new SseEmitter(changeStreamProperties.getSseTimeout().toMillis());
+        ProductsChangeStream.Subscription subscription = productsChangeStream.subscribe(
+            filter,
+            changes -> {
+                try {
+                    for (ProductsChangeDTO change : changes) {
+                        emitter.send(SseEmitter.event().name(ENTITY_NAME).data(change, MediaType.APPLICATION_JSON));
+                    }
+                } catch (IOException e) {
+                    // the client is gone, cancelling the subscription
+                    throw new IllegalStateException("Could not send Products changes", e);
+                }
+            }
+        );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * {@code POST  /products/_search} : get a page of products, their total and their price facets in a single request.
+     * <p>
+     * The response carries everything a search page needs, so clients do not follow up with {@code /products/count}
+     * or one request per facet.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param priceBuckets the strictly increasing price bucket boundaries, defaults to the configured ones.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the search result in body, or with status
+     * {@code 400 (Bad Request)} if the price buckets are invalid.
+     */
+    @PostMapping("/products/_search")
+    public ResponseEntity<ProductsSearchResultDTO> searchProducts(
+        @RequestBody(required = false) ProductsCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "priceBuckets", required = false) List<Double> priceBuckets
+    ) {
+        log.debug("REST request to search Products by criteria: {}", criteria);
+        try {
+            return ResponseEntity.ok(productsQueryService.search(criteria, pageable, priceBuckets));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "pricebucketsinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/_search?q=} : get the products whose name matches the text, best matches first.
+     * <p>
+     * Matching tolerates typos and unfinished words, see {@link ProductsQueryService#searchByText}. The {@code ETag}
+     * behaves as for {@link #getAllProducts}, and also moves when the full-text index is refreshed, see
+     * {@link #checkSearchNotModified}.
+     *
+     * @param q the searched text.
+     * @param pageable the pagination information, its sort is ignored.
+     * @param webRequest the current request, for its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, with status
+     * {@code 304 (Not Modified)} if no product has changed since the {@code If-None-Match} validator, or with status
+     * {@code 400 (Bad Request)} if the text is blank or has too many terms.
+     */
+    @GetMapping(value = "/products/_search", params = "q")
+    public ResponseEntity<List<Products>> searchProductsByText(
+        @RequestParam("q") String q,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        WebRequest webRequest
+    ) {
+        log.debug("REST request to search Products by text: {}", q);
+        if (checkSearchNotModified(webRequest)) {
+            return null;
+        }
+        Page<Products> page;
+        try {
+            page = productsQueryService.searchByText(q, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryinvalid");
+        }
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products/_suggest?prefix=} : get the best products having a word of their name starting with the prefix.
+     * <p>
+     * Meant to be called on each keystroke, see {@link ProductsQueryService#suggest}.
+     *
+     * @param prefix the typed prefix.
+     * @param limit the maximum number of suggestions, defaults to the configured maximum.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of suggestions in body, or with status
+     * {@code 400 (Bad Request)} if the limit is out of range.
+     */
+    @GetMapping("/products/_suggest")
+    public ResponseEntity<List<ProductsSuggestionDTO>> suggestProducts(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        log.debug("REST request to suggest Products for prefix: {}", prefix);
+        try {
+            return ResponseEntity.ok(productsQueryService.suggest(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "limitinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/price-percentiles} : get the prices below which the given percentages of the products are.
+     *
+     * @param p the percentiles, from 0 to 100, defaults to {@link ProductsQueryService#DEFAULT_PRICE_PERCENTILES}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the price of each percentile in body, or with
+     * status {@code 400 (Bad Request)} if a percentile is out of range.
+     */
+    @GetMapping("/products/price-percentiles")
+    public ResponseEntity<List<PricePercentileDTO>> getProductsPricePercentiles(
+        @RequestParam(value = "p", required = false) List<Double> p
+    ) {
+        log.debug("REST request to get Products price percentiles: {}", p);
+        try {
+            return ResponseEntity.ok(productsQueryService.findPricePercentiles(p));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "percentilesinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/popular} : get the most viewed products of a window, as counted by
+     * {@link ProductsPopularityTracker}.
+     *
+     * @param window the duration of the window ending now, such as {@code 15m} or {@code PT15M}, defaults to the longest.
+     * @param limit the maximum number of products.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the products ids with their estimated views in
+     * body, most viewed first, or with status {@code 400 (Bad Request)} if the window or the limit is invalid.
+     */
+    @GetMapping("/products/popular")
+    public ResponseEntity<List<ProductsPopularityDTO>> getPopularProducts(
+        @RequestParam(value = "window", required = false) String window,
+        @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        log.debug("REST request to get popular Products for window: {}", window);
+        try {
+            Duration duration = window != null ? DurationStyle.detectAndParse(window) : productsPopularityTracker.getMaxWindow();
+            return ResponseEntity.ok(productsPopularityTracker.findMostViewed(duration, limit));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "popularinvalid");
+        }
+    }
+
+    /**
+     * Check the {@code If-None-Match} header of a list request against the current {@link ProductsEpoch}, and add its
+     * {@code ETag} to the response.
+     * <p>
+     * The epoch is read before the products, so a list computed while a write commits carries the older validator and
+     * is downloaded again on the next revalidation. The epoch tells the writes committed on the primary, so the
+     * products are read from the primary as well.
+     */
+    private boolean checkNotModified(WebRequest webRequest) {
+        ETagUtil.readFromPrimary(webRequest);
+        return webRequest.checkNotModified(ETagUtil.weak(productsEpoch.getOrigin(), productsEpoch.current()));
+    }
+
+    /**
+     * Like {@link #checkNotModified}, with the version of the {@link ProductsFullTextIndex} in the validator: a write
+     * moves the epoch when it commits but only becomes searchable on the next refresh of the index, and a result
+     * computed in between must not be revalidated once the write is searchable.
+     */
+    private boolean checkSearchNotModified(WebRequest webRequest) {
+        ETagUtil.readFromPrimary(webRequest);
+        long epoch = productsEpoch.current();
+        OptionalLong indexVersion = productsFullTextIndex.searcherVersion();
+        return webRequest.checkNotModified(
+            indexVersion.isPresent()
+                ? ETagUtil.weak(productsEpoch.getOrigin(), epoch, indexVersion.getAsLong())
+                : ETagUtil.weak(productsEpoch.getOrigin(), epoch)
+        );
+    }
+
+    private CountAccuracy countPolicy(String count) {
+        if (count == null) {
+            return productsCountService.getDefaultPolicy();
+        }
+        try {
+            return CountAccuracy.fromValue(count);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid count policy", ENTITY_NAME, "countpolicyinvalid");
+        }
     }
 
     /**
      * {@code GET  /products/:id} : get the "id" products.
+     * <p>
+     * The response carries a strong {@code ETag} holding the version of the products and the media type of the body.
+     * An {@code If-None-Match} header is checked against the version alone, so an unchanged products is neither loaded
+     * nor serialized. Otherwise the {@code ETag} is always taken from the products which is returned.
      *
      * @param id the id of the products to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the products, or with status {@code 404 (Not Found)}.
+     * @param webRequest the current request, for its conditional and {@code Accept} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the products, with status
+     * {@code 304 (Not Modified)} if it has not changed since the {@code If-None-Match} validator, or with status
+     * {@code 404 (Not Found)}.
      */
     @GetMapping("/products/{id}")
-    public ResponseEntity<Products> getProducts(@PathVariable Long id) {
+    public ResponseEntity<Products> getProducts(@PathVariable Long id, NativeWebRequest webRequest) {
         log.debug("REST request to get Products : {}", id);
+        // without a concrete media type, the body is left to the message converters and no validator is used
+        Optional<MediaType> representation = productsRepresentation(webRequest);
+        boolean conditional = representation.isPresent() && webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        if (conditional) {
+            Optional<Long> version = productsRepository.findVersionById(id);
+            if (version.isPresent() && webRequest.checkNotModified(ETagUtil.strong(version.get(), representation.get()))) {
+                productsPopularityTracker.recordView(id);
+                return null;
+            }
+        }
         Optional<Products> products = productsService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(products);
+        HttpHeaders headers = new HttpHeaders();
+        if (products.isPresent()) {
+            productsPopularityTracker.recordView(id);
+            if (representation.isPresent()) {
+                // The body may be older or newer than the version checked above, as it can come from a shared read or
+                // a replica: its own version replaces the ETag a failed check has left on the response
+                headers.setETag(ETagUtil.strong(products.get().getVersion(), representation.get()));
+            }
+        }
+        return ResponseUtil.wrapOrNotFound(products, headers);
+    }
+
+    /**
+     * Select the media type the products will be written as, see {@link ETagUtil#selectMediaType}.
+     */
+    private Optional<MediaType> productsRepresentation(NativeWebRequest webRequest) {
+        try {
+            return ETagUtil.selectMediaType(contentNegotiationManager.resolveMediaTypes(webRequest), PRODUCTS_MEDIA_TYPES);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Products was changed since the If-Match version");
+    }
+
+    /**
+     * {@code GET  /products/_mget} : get the products with the given ids.
+     * <p>
+     * Cached products are served from the second-level cache and the others are loaded with a single query. Use
+     * {@link #multiGetProductsByBody} when the ids do not fit in a URL.
+     *
+     * @param ids the ids of the products to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the products in the order of
+     * {@code ids} and the ids which were not found, or with status {@code 400 (Bad Request)} if too many ids are given.
+     */
+    @GetMapping("/products/_mget")
+    public ResponseEntity<ProductsMultiGetDTO> multiGetProducts(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get {} Products by id", ids.size());
+        return multiGet(ids);
+    }
+
+    /**
+     * {@code POST  /products/_mget} : get the products with the given ids, see {@link #multiGetProducts}.
+     *
+     * @param ids the ids of the products to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the products in the order of
+     * {@code ids} and the ids which were not found, or with status {@code 400 (Bad Request)} if too many ids are given.
+     */
+    @PostMapping("/products/_mget")
+    public ResponseEntity<ProductsMultiGetDTO> multiGetProductsByBody(@RequestBody List<Long> ids) {
+        log.debug("REST request to get {} Products by id", ids.size());
+        return multiGet(ids);
+    }
+
+    private ResponseEntity<ProductsMultiGetDTO> multiGet(List<Long> ids) {
+        try {
+            return ResponseEntity.ok(productsService.findAllById(ids));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "idsinvalid");
+        }
     }
 
     /**
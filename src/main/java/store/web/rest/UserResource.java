@@ -25,9 +25,11 @@ import store.security.AuthoritiesConstants;
 import store.service.MailService;
 import store.service.UserService;
 import store.service.dto.AdminUserDTO;
+import store.service.pagination.KeysetPage;
 import store.web.rest.errors.BadRequestAlertException;
 import store.web.rest.errors.EmailAlreadyUsedException;
 import store.web.rest.errors.LoginAlreadyUsedException;
+import store.web.rest.util.SlicePaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -158,17 +160,34 @@ public class UserResource {
     /**
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
      *
+     * <p>
+     * When a {@code cursor} parameter is given, even empty for the first page, keyset pagination is used: the page
+     * number is ignored, no total is computed and the {@code next} link carries the cursor of the next page.
+     *
      * @param pageable the pagination information.
+     * @param cursor the keyset pagination cursor.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = SlicePaginationUtil.CURSOR_PARAMETER, required = false) String cursor
+    ) {
         log.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
 
+        if (cursor != null) {
+            final KeysetPage<AdminUserDTO> page = userService.getAllManagedUsers(
+                SlicePaginationUtil.decodeCursor(cursor, pageable, User.class, "userManagement"),
+                pageable
+            );
+            HttpHeaders headers = SlicePaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        }
+
         final Page<AdminUserDTO> page = userService.getAllManagedUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
@@ -0,0 +1,96 @@
+package store.web.rest.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.catalog.ProductsChangedEvent;
+
+/**
+ * Cache of the UTF-8 JSON of {@link Products}, ready to be copied to a response.
+ * <p>
+ * A fragment is the output of the application {@link ObjectMapper} for one product, kept with the column values it was
+ * serialized from, which act as its version: an entity whose values differ is serialized again and replaces the
+ * fragment, so a fragment stored by a read racing with a write is never served for the newer row. Committed changes
+ * evict the fragment of their product, so that deleted and rewritten products do not hold on to memory.
+ * <p>
+ * At most {@code application.json-cache.max-entries} fragments are kept, the other products are serialized on every
+ * read.
+ */
+@Component
+public class ProductsJsonCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.JsonCache properties;
+
+    private final ConcurrentMap<Long, Fragment> fragments = new ConcurrentHashMap<>();
+
+    public ProductsJsonCache(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getJsonCache();
+    }
+
+    /**
+     * @return whether the fragments are the same bytes as the JSON message converter output, which is not the case
+     * when the output is indented.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Return the JSON of a product, from the cache when its values have not changed since it was serialized.
+     * @return the JSON bytes, which must not be modified.
+     */
+    public byte[] toJson(Products products) throws JsonProcessingException {
+        Long id = products.getId();
+        // Hibernate proxies and subclasses are serialized with their own serializer
+        if (id == null || products.getClass() != Products.class) {
+            return objectMapper.writeValueAsBytes(products);
+        }
+        Fragment fragment = fragments.get(id);
+        if (fragment != null && fragment.isOf(products)) {
+            return fragment.json;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(products);
+        if (fragment != null || fragments.size() < properties.getMaxEntries()) {
+            fragments.put(id, new Fragment(products, json));
+        }
+        return json;
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    @EventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        fragments.remove(event.getId());
+    }
+
+    private static final class Fragment {
+
+        private final String articalName;
+
+        private final Double articalPrice;
+
+        private final byte[] json;
+
+        private Fragment(Products products, byte[] json) {
+            this.articalName = products.getArticalName();
+            this.articalPrice = products.getArticalPrice();
+            this.json = json;
+        }
+
+        private boolean isOf(Products products) {
+            return Objects.equals(articalName, products.getArticalName()) && Objects.equals(articalPrice, products.getArticalPrice());
+        }
+    }
+}
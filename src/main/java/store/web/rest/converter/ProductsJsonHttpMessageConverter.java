@@ -0,0 +1,96 @@
+package store.web.rest.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import store.domain.Products;
+
+/**
+ * Write {@link Products} and lists of {@link Products} as {@code application/json}, by copying the fragments of the
+ * {@link ProductsJsonCache} to the response.
+ * <p>
+ * The output is the same bytes as the Jackson message converter's, which still writes every other body and reads
+ * every request.
+ */
+public class ProductsJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final ProductsJsonCache productsJsonCache;
+
+    public ProductsJsonHttpMessageConverter(ProductsJsonCache productsJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.productsJsonCache = productsJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Products.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        // the inherited check accepts any JSON body of a parameterized type, such as a List<Long>
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (
+            (supports(clazz) || (Collection.class.isAssignableFrom(clazz) && ProductsProtobufHttpMessageConverter.isProductsList(type))) &&
+            canWrite(mediaType) &&
+            (mediaType == null || mediaType.getCharset() == null || StandardCharsets.UTF_8.equals(mediaType.getCharset()))
+        );
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // the element type of a collection is only known to canWrite(Type, Class, MediaType)
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Products are read by the Jackson message converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Products are read by the Jackson message converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream output = outputMessage.getBody();
+        if (body instanceof Products) {
+            output.write(productsJsonCache.toJson((Products) body));
+        } else {
+            @SuppressWarnings("unchecked")
+            Collection<Products> products = (Collection<Products>) body;
+            output.write('[');
+            boolean first = true;
+            for (Products item : products) {
+                if (!first) {
+                    output.write(',');
+                }
+                output.write(item != null ? productsJsonCache.toJson(item) : NULL);
+                first = false;
+            }
+            output.write(']');
+        }
+        output.flush();
+    }
+}
@@ -0,0 +1,179 @@
+package store.web.rest.converter;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import store.domain.Products;
+
+/**
+ * Read and write {@link Products} and lists of {@link Products} as {@code application/x-protobuf}, with the
+ * {@code Products} and {@code ProductsList} messages of {@code src/main/proto/products.proto}.
+ * <p>
+ * The messages are encoded and decoded field by field with the protobuf runtime, so neither generated classes nor an
+ * intermediate copy of the entities are needed. Other bodies are left to the other converters.
+ */
+public class ProductsProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int ID = 1;
+
+    private static final int ARTICAL_NAME = 2;
+
+    private static final int ARTICAL_PRICE = 3;
+
+    private static final int PRODUCTS = 1;
+
+    public ProductsProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Products.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (type == Products.class || isProductsList(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (supports(clazz) || (Collection.class.isAssignableFrom(clazz) && isProductsList(type))) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        // the element type of a collection is only known to canWrite(Type, Class, MediaType)
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readProducts(CodedInputStream.newInstance(inputMessage.getBody()));
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        if (type == Products.class) {
+            return readInternal(Products.class, inputMessage);
+        }
+        return readList(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof Products) {
+            CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+            writeProducts(output, (Products) body);
+            output.flush();
+        } else {
+            @SuppressWarnings("unchecked")
+            Collection<Products> products = (Collection<Products>) body;
+            writeList(products, outputMessage.getBody());
+        }
+    }
+
+    /**
+     * Write a {@code ProductsList} message.
+     */
+    public static void writeList(Collection<Products> products, OutputStream outputStream) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+        for (Products item : products) {
+            output.writeTag(PRODUCTS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(size(item));
+            writeProducts(output, item);
+        }
+        output.flush();
+    }
+
+    /**
+     * Read a {@code ProductsList} message.
+     */
+    public static List<Products> readList(InputStream inputStream) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputStream);
+        List<Products> products = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (tag == ((PRODUCTS << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                products.add(readProducts(input));
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return products;
+    }
+
+    private static void writeProducts(CodedOutputStream output, Products products) throws IOException {
+        if (products.getId() != null) {
+            output.writeInt64(ID, products.getId());
+        }
+        if (products.getArticalName() != null) {
+            output.writeString(ARTICAL_NAME, products.getArticalName());
+        }
+        if (products.getArticalPrice() != null) {
+            output.writeDouble(ARTICAL_PRICE, products.getArticalPrice());
+        }
+    }
+
+    private static int size(Products products) {
+        int size = 0;
+        if (products.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(ID, products.getId());
+        }
+        if (products.getArticalName() != null) {
+            size += CodedOutputStream.computeStringSize(ARTICAL_NAME, products.getArticalName());
+        }
+        if (products.getArticalPrice() != null) {
+            size += CodedOutputStream.computeDoubleSize(ARTICAL_PRICE, products.getArticalPrice());
+        }
+        return size;
+    }
+
+    private static Products readProducts(CodedInputStream input) throws IOException {
+        Products products = new Products();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (tag) {
+                case (ID << 3) | WireFormat.WIRETYPE_VARINT:
+                    products.setId(input.readInt64());
+                    break;
+                case (ARTICAL_NAME << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED:
+                    products.setArticalName(input.readString());
+                    break;
+                case (ARTICAL_PRICE << 3) | WireFormat.WIRETYPE_FIXED64:
+                    products.setArticalPrice(input.readDouble());
+                    break;
+                default:
+                    // fields of later versions of the schema
+                    input.skipField(tag);
+            }
+        }
+        return products;
+    }
+
+    static boolean isProductsList(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterized = (ParameterizedType) type;
+        return (
+            parameterized.getRawType() instanceof Class &&
+            ((Class<?>) parameterized.getRawType()).isAssignableFrom(ArrayList.class) &&
+            parameterized.getActualTypeArguments()[0] == Products.class
+        );
+    }
+}
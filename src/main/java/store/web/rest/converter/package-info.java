@@ -0,0 +1,4 @@
+/**
+ * HTTP message converters for the binary representations of the REST resources.
+ */
+package store.web.rest.converter;
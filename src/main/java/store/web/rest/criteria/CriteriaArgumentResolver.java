@@ -0,0 +1,42 @@
+package store.web.rest.criteria;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves the criteria arguments of REST controllers with their {@link CriteriaBinding}, instead of the generic
+ * {@link org.springframework.web.bind.WebDataBinder}.
+ * <p>
+ * Only arguments without annotations are resolved, so a criteria read with {@code @RequestBody} is left to Jackson.
+ */
+public class CriteriaArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final Map<Class<?>, CriteriaBinding<?>> bindings = new HashMap<>();
+
+    public CriteriaArgumentResolver(List<CriteriaBinding<?>> bindings) {
+        for (CriteriaBinding<?> binding : bindings) {
+            this.bindings.put(binding.getType(), binding);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return !parameter.hasParameterAnnotations() && bindings.containsKey(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory
+    ) {
+        return bindings.get(parameter.getParameterType()).bind(webRequest.getParameterMap());
+    }
+}
@@ -0,0 +1,358 @@
+package store.web.rest.criteria;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Binds a criteria class from request parameters in a single pass, without reflection.
+ * <p>
+ * Every accepted parameter name, such as {@code id.greaterThan}, is resolved up front to a function setting the
+ * corresponding filter operator, so binding costs one lookup per request parameter and unknown parameters are skipped
+ * by the same lookup. Values are converted as Spring's {@link org.springframework.web.bind.WebDataBinder} converts them
+ * with the default conversion service, so both produce equal criteria:
+ * <ul>
+ * <li>a single list value is split on commas and its elements are trimmed, repeated values are taken as they are;</li>
+ * <li>a repeated scalar value keeps the first value, or all of them joined with commas for strings;</li>
+ * <li>an empty number or boolean is {@code null}.</li>
+ * </ul>
+ * A value which cannot be converted raises a {@link TypeMismatchException}, answered with {@code 400 (Bad Request)}.
+ * <p>
+ * Groups of filters are bound from prefixed parameters, such as {@code not.id.equals} or {@code or[0].id.equals}, with
+ * the operators of the criteria itself; groups are not nested. Unlike with the data binder, a group is only created
+ * by a known operator, so a misspelled parameter cannot turn into an empty group.
+ *
+ * @param <C> the type of the criteria.
+ */
+public final class CriteriaBinding<C> {
+
+    private static final Set<String> TRUE_VALUES = Set.of("true", "on", "yes", "1");
+
+    private static final Set<String> FALSE_VALUES = Set.of("false", "off", "no", "0");
+
+    /**
+     * Sets one operator of a criteria from the values of a request parameter.
+     */
+    @FunctionalInterface
+    private interface ParameterBinder<C> {
+        void bind(C criteria, String[] values);
+    }
+
+    private final Class<C> type;
+
+    private final Supplier<C> factory;
+
+    private final Map<String, ParameterBinder<C>> binders;
+
+    private final Map<String, Function<C, ?>> filters;
+
+    private final Map<String, Function<C, C>> groups;
+
+    private final Map<String, BiFunction<C, Integer, C>> indexedGroups;
+
+    private final int maxIndexedGroups;
+
+    private CriteriaBinding(
+        Class<C> type,
+        Supplier<C> factory,
+        Map<String, ParameterBinder<C>> binders,
+        Map<String, Function<C, ?>> filters,
+        Map<String, Function<C, C>> groups,
+        Map<String, BiFunction<C, Integer, C>> indexedGroups,
+        int maxIndexedGroups
+    ) {
+        this.type = type;
+        this.factory = factory;
+        this.binders = binders;
+        this.filters = filters;
+        this.groups = groups;
+        this.indexedGroups = indexedGroups;
+        this.maxIndexedGroups = maxIndexedGroups;
+    }
+
+    public static <C> Builder<C> builder(Class<C> type, Supplier<C> factory) {
+        return new Builder<>(type, factory);
+    }
+
+    public Class<C> getType() {
+        return type;
+    }
+
+    /**
+     * Bind a new criteria from request parameters; parameters which are not operators of the criteria are ignored.
+     * @param parameters the request parameters.
+     * @return the criteria.
+     * @throws TypeMismatchException if a value cannot be converted, or a group index is out of range.
+     */
+    public C bind(Map<String, String[]> parameters) {
+        C criteria = factory.get();
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            String name = parameter.getKey();
+            ParameterBinder<C> binder = binders.get(name);
+            if (binder != null) {
+                binder.bind(criteria, parameter.getValue());
+            } else if (!bindGroupOperator(criteria, name, parameter.getValue())) {
+                createFilterOfUnknownOperator(criteria, name);
+            }
+        }
+        return criteria;
+    }
+
+    /**
+     * @return {@code true} if the parameter is the known operator of a group.
+     */
+    private boolean bindGroupOperator(C criteria, String name, String[] values) {
+        int dot = name.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        ParameterBinder<C> binder = binders.get(name.substring(dot + 1));
+        if (binder == null) {
+            return false;
+        }
+        String prefix = name.substring(0, dot);
+        Function<C, C> group = groups.get(prefix);
+        if (group != null) {
+            binder.bind(group.apply(criteria), values);
+            return true;
+        }
+        int bracket = prefix.indexOf('[');
+        if (bracket <= 0 || !prefix.endsWith("]")) {
+            return false;
+        }
+        BiFunction<C, Integer, C> indexedGroup = indexedGroups.get(prefix.substring(0, bracket));
+        if (indexedGroup == null) {
+            return false;
+        }
+        binder.bind(indexedGroup.apply(criteria, groupIndex(prefix, prefix.substring(bracket + 1, prefix.length() - 1))), values);
+        return true;
+    }
+
+    private int groupIndex(String prefix, String index) {
+        try {
+            int value = index.length() > 4 ? -1 : Integer.parseInt(index);
+            if (value < 0 || value >= maxIndexedGroups) {
+                throw new IllegalArgumentException("Group index must be between 0 and " + (maxIndexedGroups - 1));
+            }
+            return value;
+        } catch (IllegalArgumentException e) {
+            TypeMismatchException exception = new TypeMismatchException(index, Integer.class, e);
+            exception.initPropertyName(prefix);
+            throw exception;
+        }
+    }
+
+    /**
+     * Like the data binder, which creates the filter before finding out that the operator does not exist.
+     */
+    private void createFilterOfUnknownOperator(C criteria, String name) {
+        int dot = name.indexOf('.');
+        if (dot > 0) {
+            Function<C, ?> filter = filters.get(name.substring(0, dot));
+            if (filter != null) {
+                filter.apply(criteria);
+            }
+        }
+    }
+
+    /**
+     * Builds the lookup table of a {@link CriteriaBinding}, one filter at a time.
+     *
+     * @param <C> the type of the criteria.
+     */
+    public static final class Builder<C> {
+
+        private final Class<C> type;
+
+        private final Supplier<C> factory;
+
+        private final Map<String, ParameterBinder<C>> binders = new HashMap<>();
+
+        private final Map<String, Function<C, ?>> filters = new HashMap<>();
+
+        private final Map<String, Function<C, C>> groups = new HashMap<>();
+
+        private final Map<String, BiFunction<C, Integer, C>> indexedGroups = new HashMap<>();
+
+        private int maxIndexedGroups;
+
+        private Builder(Class<C> type, Supplier<C> factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+
+        /**
+         * Accept the operators of a {@link RangeFilter}.
+         * @param field the name of the filter in request parameters.
+         * @param filter the accessor of the filter, creating it if needed.
+         * @param valueType the type of the values of the filter, a {@link Number}.
+         */
+        public <X extends Comparable<? super X>> Builder<C> numberFilter(
+            String field,
+            Function<C, ? extends RangeFilter<X>> filter,
+            Class<X> valueType
+        ) {
+            Class<? extends Number> numberType = valueType.asSubclass(Number.class);
+            Function<String, X> converter = value -> value.isEmpty() ? null : valueType.cast(NumberUtils.parseNumber(value, numberType));
+            filter(field, filter, converter, valueType);
+            scalar(field + ".greaterThan", filter, RangeFilter::setGreaterThan, converter, valueType);
+            scalar(field + ".greaterThanOrEqual", filter, RangeFilter::setGreaterThanOrEqual, converter, valueType);
+            scalar(field + ".lessThan", filter, RangeFilter::setLessThan, converter, valueType);
+            scalar(field + ".lessThanOrEqual", filter, RangeFilter::setLessThanOrEqual, converter, valueType);
+            return this;
+        }
+
+        /**
+         * Accept the operators of a {@link StringFilter}.
+         * @param field the name of the filter in request parameters.
+         * @param filter the accessor of the filter, creating it if needed.
+         */
+        public Builder<C> stringFilter(String field, Function<C, StringFilter> filter) {
+            filter(field, filter, Function.identity(), String.class);
+            scalar(field + ".contains", filter, StringFilter::setContains, Function.identity(), String.class);
+            scalar(field + ".doesNotContain", filter, StringFilter::setDoesNotContain, Function.identity(), String.class);
+            return this;
+        }
+
+        /**
+         * Accept a boolean parameter, such as {@code distinct}.
+         * @param name the name of the request parameter.
+         * @param setter the setter of the value.
+         */
+        public Builder<C> flag(String name, BiConsumer<C, Boolean> setter) {
+            binders.put(
+                name,
+                (criteria, values) -> setter.accept(criteria, convert(name, first(values), CriteriaBinding::toBoolean, Boolean.class))
+            );
+            return this;
+        }
+
+        /**
+         * Accept the operators of a group, prefixed with its name, such as {@code not.id.equals}.
+         * @param name the name of the group in request parameters.
+         * @param group the accessor of the group, creating it if needed.
+         */
+        public Builder<C> group(String name, Function<C, C> group) {
+            groups.put(name, group);
+            return this;
+        }
+
+        /**
+         * Accept the operators of a list of groups, prefixed with the name and index of the group, such as
+         * {@code or[0].id.equals}.
+         * @param name the name of the groups in request parameters.
+         * @param group the accessor of the group of an index, creating it if needed.
+         * @param maxGroups the number of groups above which an index is rejected.
+         */
+        public Builder<C> indexedGroup(String name, BiFunction<C, Integer, C> group, int maxGroups) {
+            indexedGroups.put(name, group);
+            maxIndexedGroups = maxGroups;
+            return this;
+        }
+
+        public CriteriaBinding<C> build() {
+            return new CriteriaBinding<>(
+                type,
+                factory,
+                Map.copyOf(binders),
+                Map.copyOf(filters),
+                Map.copyOf(groups),
+                Map.copyOf(indexedGroups),
+                maxIndexedGroups
+            );
+        }
+
+        private <X, F extends Filter<X>> void filter(
+            String field,
+            Function<C, F> filter,
+            Function<String, X> converter,
+            Class<X> valueType
+        ) {
+            filters.put(field, filter);
+            scalar(field + ".equals", filter, Filter::setEquals, converter, valueType);
+            scalar(field + ".notEquals", filter, Filter::setNotEquals, converter, valueType);
+            scalar(field + ".specified", filter, Filter::setSpecified, CriteriaBinding::toBoolean, Boolean.class);
+            list(field + ".in", filter, Filter::setIn, converter, valueType);
+            list(field + ".notIn", filter, Filter::setNotIn, converter, valueType);
+        }
+
+        private <X, F> void scalar(
+            String name,
+            Function<C, F> filter,
+            BiConsumer<F, X> setter,
+            Function<String, X> converter,
+            Class<X> valueType
+        ) {
+            binders.put(
+                name,
+                (criteria, values) -> {
+                    String value = String.class == valueType ? String.join(",", values) : first(values);
+                    setter.accept(filter.apply(criteria), convert(name, value, converter, valueType));
+                }
+            );
+        }
+
+        private <X, F> void list(
+            String name,
+            Function<C, F> filter,
+            BiConsumer<F, List<X>> setter,
+            Function<String, X> converter,
+            Class<X> valueType
+        ) {
+            binders.put(
+                name,
+                (criteria, values) -> {
+                    boolean split = values.length == 1;
+                    String[] elements = split ? StringUtils.commaDelimitedListToStringArray(values[0]) : values;
+                    List<X> list = new ArrayList<>(elements.length);
+                    for (String element : elements) {
+                        list.add(convert(name, split ? element.trim() : element, converter, valueType));
+                    }
+                    setter.accept(filter.apply(criteria), list);
+                }
+            );
+        }
+    }
+
+    private static String first(String[] values) {
+        return values[0];
+    }
+
+    private static <X> X convert(String name, String value, Function<String, X> converter, Class<X> valueType) {
+        try {
+            return converter.apply(value);
+        } catch (IllegalArgumentException e) {
+            TypeMismatchException exception = new TypeMismatchException(value, valueType, e);
+            exception.initPropertyName(name);
+            throw exception;
+        }
+    }
+
+    private static Boolean toBoolean(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        String lowerCase = trimmed.toLowerCase(Locale.ROOT);
+        if (TRUE_VALUES.contains(lowerCase)) {
+            return Boolean.TRUE;
+        }
+        if (FALSE_VALUES.contains(lowerCase)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid boolean value '" + value + "'");
+    }
+}
@@ -0,0 +1,32 @@
+package store.web.rest.criteria;
+
+import java.util.List;
+import store.domain.Products_;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * The {@link CriteriaBinding}s of the criteria classes, registered with the {@link CriteriaArgumentResolver}.
+ */
+public final class CriteriaBindings {
+
+    /**
+     * The maximum number of {@code or} groups of a {@link ProductsCriteria}.
+     */
+    public static final int MAX_OR_GROUPS = 16;
+
+    public static final CriteriaBinding<ProductsCriteria> PRODUCTS = CriteriaBinding
+        .builder(ProductsCriteria.class, ProductsCriteria::new)
+        .numberFilter(Products_.ID, ProductsCriteria::id, Long.class)
+        .stringFilter(Products_.ARTICAL_NAME, ProductsCriteria::articalName)
+        .numberFilter(Products_.ARTICAL_PRICE, ProductsCriteria::articalPrice, Double.class)
+        .flag("distinct", ProductsCriteria::setDistinct)
+        .indexedGroup("or", ProductsCriteria::or, MAX_OR_GROUPS)
+        .group("not", ProductsCriteria::not)
+        .build();
+
+    private CriteriaBindings() {}
+
+    public static List<CriteriaBinding<?>> all() {
+        return List.of(PRODUCTS);
+    }
+}
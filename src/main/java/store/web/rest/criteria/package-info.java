@@ -0,0 +1,4 @@
+/**
+ * Binding of criteria classes from request parameters.
+ */
+package store.web.rest.criteria;
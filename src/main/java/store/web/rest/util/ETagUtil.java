@@ -0,0 +1,115 @@
+package store.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class for building the {@code ETag} validators of conditional requests.
+ * <p>
+ * Validators are compared with {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)},
+ * which uses the weak comparison of {@code If-None-Match}, so a weak validator is enough to revalidate a list. A strong
+ * validator identifies the bytes of one representation, so it also holds the media type of the body.
+ */
+public final class ETagUtil {
+
+    /**
+     * Name of the request attribute which sends the reads of the request to the primary database, see
+     * {@link #readFromPrimary(WebRequest)}.
+     */
+    public static final String PRIMARY_READS_ATTRIBUTE = ETagUtil.class.getName() + ".PRIMARY_READS";
+
+    private ETagUtil() {}
+
+    /**
+     * Send the reads of the current request to the primary database, rather than to a read replica.
+     * <p>
+     * A validator built from a modification epoch tells the writes committed on the primary, and would be issued for
+     * a body read from a lagging replica without them, so that the body would then be revalidated after the writes
+     * had replicated.
+     *
+     * @param webRequest the current request.
+     */
+    public static void readFromPrimary(WebRequest webRequest) {
+        webRequest.setAttribute(PRIMARY_READS_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Build a strong validator from the version of an entity and the media type of its representation.
+     *
+     * @param version the optimistic locking version.
+     * @param mediaType the media type of the body.
+     * @return the quoted validator.
+     */
+    public static String strong(long version, MediaType mediaType) {
+        return "\"" + version + "-" + mediaType.getSubtype() + "\"";
+    }
+
+    /**
+     * Extract the version of an entity from a strong validator built by {@link #strong(long, MediaType)}.
+     *
+     * @param eTag the quoted validator, as sent in an {@code If-Match} header.
+     * @return the version, or an empty {@link Optional} if the validator is weak or was not built from a version.
+     */
+    public static Optional<Long> version(String eTag) {
+        int end = eTag.indexOf('-');
+        if (!eTag.startsWith("\"") || !eTag.endsWith("\"") || end < 2) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(eTag.substring(1, end)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Select the media type of a response the way the message converters do, so that its validator can be checked
+     * before the body is built.
+     *
+     * @param acceptable the media types accepted by the request, most preferred first.
+     * @param producible the media types which the body can be written as, in the order of the message converters.
+     * @return the selected media type, or an empty {@link Optional} if none is acceptable or concrete.
+     */
+    public static Optional<MediaType> selectMediaType(List<MediaType> acceptable, List<MediaType> producible) {
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType candidate : producible) {
+                if (requested.isCompatibleWith(candidate)) {
+                    MediaType produced = candidate.copyQualityValue(requested);
+                    compatible.add(MediaType.SPECIFICITY_COMPARATOR.compare(requested, produced) <= 0 ? requested : produced);
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(compatible);
+        // unlike the message converters, no fallback is guessed for wildcards, which only skips the validator check
+        return compatible.stream().filter(MediaType::isConcrete).findFirst().map(MediaType::removeQualityValue);
+    }
+
+    /**
+     * Build a weak validator from a modification epoch, which only tells that the data may have changed.
+     *
+     * @param origin the value telling the epochs of a run of the application from the ones of another run.
+     * @param epoch the modification epoch.
+     * @return the quoted validator, with its {@code W/} prefix.
+     */
+    public static String weak(long origin, long epoch) {
+        return "W/\"" + Long.toHexString(origin) + "-" + epoch + "\"";
+    }
+
+    /**
+     * Build a weak validator from a modification epoch and the version of an index the results are read from, for
+     * results which may lag behind the epoch until the index is refreshed.
+     *
+     * @param origin the value telling the epochs of a run of the application from the ones of another run.
+     * @param epoch the modification epoch.
+     * @param indexVersion the version of the index.
+     * @return the quoted validator, with its {@code W/} prefix.
+     */
+    public static String weak(long origin, long epoch, long indexVersion) {
+        return "W/\"" + Long.toHexString(origin) + "-" + epoch + "-" + indexVersion + "\"";
+    }
+}
@@ -0,0 +1,103 @@
+package store.web.rest.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import store.service.pagination.KeysetCursor;
+import store.service.pagination.KeysetPage;
+import store.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Utility class for handling pagination without a total count.
+ * <p>
+ * Like {@link tech.jhipster.web.util.PaginationUtil}, links follow the
+ * <a href="https://docs.github.com/en/rest/guides/using-pagination-in-the-rest-api">GitHub API</a> format, but no
+ * {@code X-Total-Count} header and no {@code last} link are generated.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    public static final String SLICE_PARAMETER = "slice";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Decode the {@code cursor} request parameter of keyset pagination.
+     *
+     * @param cursor the parameter value, empty for the first page.
+     * @param pageable the requested sort.
+     * @param entityClass the paginated entity.
+     * @param entityName the name of the paginated entity, for error reporting.
+     * @return the decoded cursor, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the cursor is malformed, was produced for another sort, or holds an invalid
+     * value.
+     */
+    public static KeysetCursor decodeCursor(String cursor, Pageable pageable, Class<?> entityClass, String entityName) {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return KeysetCursor.decode(cursor, KeysetCursor.withTieBreaker(pageable.getSort()), entityClass);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate pagination headers for a keyset page: a {@code next} link carrying the next cursor, if any.
+     *
+     * @param uriBuilder the current request URI.
+     * @param page the keyset page.
+     * @return the headers.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        page
+            .getNextCursor()
+            .ifPresent(cursor ->
+                headers.add(
+                    HttpHeaders.LINK,
+                    prepareLink(uriBuilder.replaceQueryParam("page").replaceQueryParam(CURSOR_PARAMETER, cursor).toUriString(), "next")
+                )
+            );
+        return headers;
+    }
+
+    /**
+     * Generate pagination headers for a {@link Slice}: {@code next}, {@code prev} and {@code first} links.
+     *
+     * @param uriBuilder the current request URI.
+     * @param slice the slice.
+     * @return the headers.
+     */
+    public static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(preparePageUri(uriBuilder, pageNumber + 1, pageSize), "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(prepareLink(preparePageUri(uriBuilder, pageNumber - 1, pageSize), "prev")).append(",");
+        }
+        link.append(prepareLink(preparePageUri(uriBuilder, 0, pageSize), "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize) {
+        return uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+
+    private static String prepareLink(String uri, String relType) {
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+}
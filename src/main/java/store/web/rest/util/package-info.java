@@ -0,0 +1,4 @@
+/**
+ * Utilities for the REST controllers.
+ */
+package store.web.rest.util;
@@ -0,0 +1,112 @@
+package store.web.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.StringUtils;
+import store.service.stream.ProductsChangeFilter;
+
+/**
+ * Server-side filtering of the {@value ProductsChangeService#DESTINATION} subscriptions.
+ * <p>
+ * On the inbound channel, the filter of each subscription is read from the {@code ids} (comma-separated),
+ * {@code min-price} and {@code max-price} headers of its {@code SUBSCRIBE} frame. On the outbound channel, the
+ * messages the broker fans out to a subscription whose filter rejects them are dropped before being written to the
+ * client.
+ */
+public class ProductsChangeInterceptor implements ChannelInterceptor {
+
+    static final String IDS_HEADER = "ids";
+
+    static final String MIN_PRICE_HEADER = "min-price";
+
+    static final String MAX_PRICE_HEADER = "max-price";
+
+    // the filters of the subscriptions, by session id and subscription id
+    private final ConcurrentMap<String, Map<String, ProductsChangeFilter>> filters = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null) {
+            accessor = SimpMessageHeaderAccessor.wrap(message);
+        }
+        SimpMessageType type = accessor.getMessageType();
+        String sessionId = accessor.getSessionId();
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        switch (type) {
+            case SUBSCRIBE:
+                if (ProductsChangeService.DESTINATION.equals(accessor.getDestination())) {
+                    ProductsChangeFilter filter = parseFilter(accessor);
+                    if (filter != ProductsChangeFilter.ALL) {
+                        filters.computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>()).put(accessor.getSubscriptionId(), filter);
+                    }
+                }
+                return message;
+            case UNSUBSCRIBE:
+                Map<String, ProductsChangeFilter> sessionFilters = filters.get(sessionId);
+                if (sessionFilters != null && accessor.getSubscriptionId() != null) {
+                    sessionFilters.remove(accessor.getSubscriptionId());
+                }
+                return message;
+            case DISCONNECT:
+                filters.remove(sessionId);
+                return message;
+            case MESSAGE:
+                return accepts(sessionId, accessor) ? message : null;
+            default:
+                return message;
+        }
+    }
+
+    int getFilteredSessionCount() {
+        return filters.size();
+    }
+
+    private boolean accepts(String sessionId, SimpMessageHeaderAccessor accessor) {
+        if (!ProductsChangeService.DESTINATION.equals(accessor.getDestination())) {
+            return true;
+        }
+        Map<String, ProductsChangeFilter> sessionFilters = filters.get(sessionId);
+        ProductsChangeFilter filter = sessionFilters != null && accessor.getSubscriptionId() != null
+            ? sessionFilters.get(accessor.getSubscriptionId())
+            : null;
+        if (filter == null) {
+            return true;
+        }
+        String id = accessor.getFirstNativeHeader(ProductsChangeService.ID_HEADER);
+        String price = accessor.getFirstNativeHeader(ProductsChangeService.PRICE_HEADER);
+        return id == null || filter.matches(Long.valueOf(id), price != null ? Double.valueOf(price) : null);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a header is not a number, which fails the subscription.
+     */
+    private static ProductsChangeFilter parseFilter(SimpMessageHeaderAccessor accessor) {
+        List<Long> ids = new ArrayList<>();
+        String idsHeader = accessor.getFirstNativeHeader(IDS_HEADER);
+        if (StringUtils.hasText(idsHeader)) {
+            for (String id : StringUtils.commaDelimitedListToStringArray(idsHeader)) {
+                if (StringUtils.hasText(id)) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+        }
+        return ProductsChangeFilter.of(ids, parsePrice(accessor, MIN_PRICE_HEADER), parsePrice(accessor, MAX_PRICE_HEADER));
+    }
+
+    private static Double parsePrice(SimpMessageHeaderAccessor accessor, String header) {
+        String value = accessor.getFirstNativeHeader(header);
+        return StringUtils.hasText(value) ? Double.valueOf(value.trim()) : null;
+    }
+}
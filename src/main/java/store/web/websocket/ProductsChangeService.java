@@ -0,0 +1,66 @@
+package store.web.websocket;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import store.service.dto.ProductsChangeDTO;
+import store.service.stream.ProductsChangeFilter;
+import store.service.stream.ProductsChangeStream;
+
+/**
+ * Publish the {@link ProductsChangeStream} to the {@value #DESTINATION} STOMP destination, one message per changed
+ * product and tick.
+ * <p>
+ * Each message carries the id and the price of the product in its {@value #ID_HEADER} and {@value #PRICE_HEADER}
+ * headers, which {@link ProductsChangeInterceptor} checks against the filter of each subscription.
+ */
+@Component
+public class ProductsChangeService {
+
+    public static final String DESTINATION = "/topic/products";
+
+    static final String ID_HEADER = "products-id";
+
+    static final String PRICE_HEADER = "artical-price";
+
+    private static final Logger log = LoggerFactory.getLogger(ProductsChangeService.class);
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final ProductsChangeStream productsChangeStream;
+
+    private ProductsChangeStream.Subscription subscription;
+
+    public ProductsChangeService(SimpMessageSendingOperations messagingTemplate, ProductsChangeStream productsChangeStream) {
+        this.messagingTemplate = messagingTemplate;
+        this.productsChangeStream = productsChangeStream;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = productsChangeStream.subscribe(ProductsChangeFilter.ALL, this::send);
+    }
+
+    @PreDestroy
+    public void cancel() {
+        subscription.cancel();
+    }
+
+    private void send(List<ProductsChangeDTO> changes) {
+        for (ProductsChangeDTO change : changes) {
+            Map<String, Object> headers = new HashMap<>();
+            headers.put(ID_HEADER, change.getId());
+            if (change.getArticalPrice() != null) {
+                headers.put(PRICE_HEADER, change.getArticalPrice());
+            }
+            log.debug("Sending Products change {}", change);
+            messagingTemplate.convertAndSend(DESTINATION, change, headers);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import store.web.rest.util.ETagUtil;
+
+/**
+ * Unit tests for {@link ReadWriteRoutingDataSource}.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final HikariPoolMXBean firstPool = mock(HikariPoolMXBean.class);
+
+    private final HikariPoolMXBean secondPool = mock(HikariPoolMXBean.class);
+
+    private ReadReplica first;
+
+    private ReadReplica second;
+
+    private ReadYourWritesFilter readYourWrites;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        first = new ReadReplica("first", replicaDataSource(firstPool));
+        second = new ReadReplica("second", replicaDataSource(secondPool));
+        ApplicationProperties.ReadReplicas properties = new ApplicationProperties.ReadReplicas();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        readYourWrites = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReadWriteRoutingDataSource(mock(DataSource.class), List.of(first, second), properties, readYourWrites, meterRegistry);
+        // the replicas cannot be reached, so their lag is unknown until set by the tests
+        assertThat(first.getLagSeconds()).isInfinite();
+        first.updateLag(0);
+        second.updateLag(1);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void cleanup() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void sendsWritesToThePrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void sendsReadsToTheLeastBusyReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstPool.getActiveConnections()).thenReturn(3);
+        when(secondPool.getActiveConnections()).thenReturn(1);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("second");
+
+        when(secondPool.getThreadsAwaitingConnection()).thenReturn(4);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("first");
+        assertThat(meterRegistry.get("datasource.reads").tag("target", "first").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void spreadsReadsOverIdleReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()))
+            .containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    void skipsLaggingReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        second.updateLag(30);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("first");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("first");
+
+        first.updateLag(Double.POSITIVE_INFINITY);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("datasource.reads").tag("reason", "lag").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsOwnWritesFromThePrimary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWrites.doFilter(
+            new MockHttpServletRequest(),
+            response,
+            (request, filterResponse) -> {
+                routing.determineCurrentLookupKey();
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+            }
+        );
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(cookie);
+        readYourWrites.doFilter(
+            next,
+            new MockHttpServletResponse(),
+            (request, filterResponse) -> assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY)
+        );
+    }
+
+    @Test
+    void sendsPinnedReadsToThePrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        MockHttpServletRequest pinned = new MockHttpServletRequest();
+        pinned.setAttribute(ETagUtil.PRIMARY_READS_ATTRIBUTE, Boolean.TRUE);
+        readYourWrites.doFilter(
+            pinned,
+            new MockHttpServletResponse(),
+            (request, filterResponse) -> assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY)
+        );
+        readYourWrites.doFilter(
+            new MockHttpServletRequest(),
+            new MockHttpServletResponse(),
+            (request, filterResponse) -> assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY)
+        );
+        assertThat(meterRegistry.get("datasource.reads").tag("reason", "pinned").counter().count()).isEqualTo(1);
+    }
+
+    private static HikariDataSource replicaDataSource(HikariPoolMXBean pool) throws SQLException {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package store.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import store.IntegrationTest;
+import store.config.ApplicationProperties;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Integration tests for {@link ProductsExportService}.
+ */
+@IntegrationTest
+class ProductsExportServiceIT {
+
+    @Autowired
+    private ProductsExportService productsExportService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Test
+    void releasesTheConnectionOfAnExportWhichIsNotWritten() {
+        int poolSize = applicationProperties.getExport().getPool().getMaximumPoolSize();
+        for (int i = 0; i <= poolSize; i++) {
+            ProductsExportService.Export export = productsExportService
+                .open(new ProductsCriteria(), ProductsExportService.Format.NDJSON)
+                .orElseThrow();
+            export.close();
+            export.close();
+
+            assertThatIllegalStateException().isThrownBy(() -> export.writeTo(new ByteArrayOutputStream()));
+        }
+    }
+}
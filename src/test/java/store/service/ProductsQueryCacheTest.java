@@ -0,0 +1,127 @@
+package store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.catalog.ProductsEpoch;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Unit tests for {@link ProductsQueryCache}.
+ */
+class ProductsQueryCacheTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 2, Sort.by("articalName"));
+
+    private final Products apple = new Products().id(1L).articalName("Apple").articalPrice(5D);
+
+    private final Products banana = new Products().id(2L).articalName("banana").articalPrice(3D);
+
+    private ProductsRepository productsRepository;
+
+    private ProductsEpoch productsEpoch;
+
+    private MeterRegistry meterRegistry;
+
+    private ProductsQueryCache cache;
+
+    private AtomicInteger loads;
+
+    private BiFunction<ProductsCriteria, Pageable, Page<Products>> loader;
+
+    @BeforeEach
+    public void setup() {
+        productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.multiLoad(List.of(1L, 2L))).thenReturn(List.of(apple, banana));
+        productsEpoch = new ProductsEpoch();
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryCache().setEnabled(true);
+        cache =
+            new ProductsQueryCache(
+                productsRepository,
+                productsEpoch,
+                new ConcurrentMapCacheManager(ProductsQueryCache.QUERY_RESULTS_CACHE),
+                meterRegistry,
+                applicationProperties
+            );
+        loads = new AtomicInteger();
+        loader =
+            (criteria, page) -> {
+                loads.incrementAndGet();
+                return new PageImpl<>(List.of(apple, banana), page, 3);
+            };
+    }
+
+    @Test
+    void equivalentCriteriaShareAnEntry() {
+        ProductsCriteria atMost = new ProductsCriteria();
+        atMost.setArticalPrice(new DoubleFilter());
+        atMost.articalPrice().setLessThanOrEqual(10D);
+        ProductsCriteria redundant = new ProductsCriteria();
+        redundant.setArticalPrice(new DoubleFilter());
+        redundant.articalPrice().setLessThanOrEqual(10D);
+        redundant.articalPrice().setLessThan(20D);
+
+        cache.findByCriteria(atMost, PAGE, loader);
+        Page<Products> page = cache.findByCriteria(redundant, PAGE, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(page.getContent()).containsExactly(apple, banana);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(count("articalPrice,sort:articalName:asc", "hit")).isEqualTo(1);
+        assertThat(count("articalPrice,sort:articalName:asc", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void writesInvalidateEntries() {
+        cache.findByCriteria(null, PAGE, loader);
+        productsEpoch.onProductsChanged(ProductsChangedEvent.deleted(3L));
+        cache.findByCriteria(null, PAGE, loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(count("sort:articalName:asc", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    void deletedRowsAreReloaded() {
+        List<Products> withDeletedRow = new ArrayList<>();
+        withDeletedRow.add(apple);
+        withDeletedRow.add(null);
+        when(productsRepository.multiLoad(anyList())).thenReturn(withDeletedRow);
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.setId(new LongFilter());
+        criteria.id().setGreaterThanOrEqual(1L);
+
+        cache.findByCriteria(criteria, PAGE, loader);
+        cache.findByCriteria(criteria, PAGE, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private double count(String shape, String result) {
+        return meterRegistry.get("products.query.cache").tag("shape", shape).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,128 @@
+package store.service.bitmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Unit tests for {@link ProductsBitmapIndex}.
+ */
+class ProductsBitmapIndexTest {
+
+    private final List<Products> rows = List.of(
+        new Products().id(1L).articalName("Chair").articalPrice(40D),
+        new Products().id(2L).articalName("Desk").articalPrice(250D),
+        new Products().id(3L).articalName("Armchair").articalPrice(120D),
+        new Products().id(4L).articalName("Lamp").articalPrice(15D),
+        new Products().id(5L).articalName("Stool").articalPrice(40D)
+    );
+
+    private ProductsRepository productsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductsBitmapIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class))).thenReturn(new SliceImpl<>(rows));
+        Map<Long, Products> byId = rows.stream().collect(Collectors.toMap(Products::getId, Function.identity()));
+        when(productsRepository.multiLoad(anyList()))
+            .thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).stream().map(byId::get).collect(Collectors.toList()));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBitmapIndex().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new ProductsBitmapIndex(applicationProperties, productsRepository, meterRegistry);
+    }
+
+    @Test
+    void isNotAvailableBeforeWarmUp() {
+        assertThat(index.isAvailable()).isFalse();
+        assertThat(index.countByCriteria(new ProductsCriteria())).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), PageRequest.of(0, 2))).isEmpty();
+    }
+
+    @Test
+    void answersCriteriaWithGroups() {
+        index.warmUp();
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.or(0).articalName().setContains("CHAIR");
+        criteria.or(1).articalPrice().setEquals(40D);
+        criteria.not().id().setEquals(3L);
+
+        assertThat(index.countByCriteria(criteria)).hasValue(2);
+        Page<Products> page = index.findByCriteria(criteria, PageRequest.of(0, 1, Sort.by("articalPrice", "id"))).orElseThrow();
+        assertThat(page.getContent()).extracting(Products::getId).containsExactly(1L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void leavesOtherSortsToTheDatabase() {
+        index.warmUp();
+
+        assertThat(index.findByCriteria(new ProductsCriteria(), PageRequest.of(0, 2, Sort.by("articalName")))).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        index.warmUp();
+
+        index.onProductsChanged(ProductsChangedEvent.updated(new Products().id(2L).articalName("Office chair").articalPrice(90D)));
+        index.onProductsChanged(ProductsChangedEvent.deleted(1L));
+
+        ProductsCriteria chairs = new ProductsCriteria();
+        chairs.articalName().setContains("chair");
+        assertThat(index.countByCriteria(chairs)).hasValue(2);
+        assertThat(index.countByCriteria(new ProductsCriteria())).hasValue(4);
+    }
+
+    @Test
+    void replaysChangesCommittedDuringWarmUp() {
+        index.onProductsChanged(ProductsChangedEvent.deleted(4L));
+
+        index.warmUp();
+
+        assertThat(index.countByCriteria(new ProductsCriteria())).hasValue(4);
+    }
+
+    @Test
+    void isNotUsedWithIdsAbove32Bits() {
+        index.warmUp();
+
+        index.onProductsChanged(ProductsChangedEvent.created(new Products().id(1L << 32).articalName("Sofa").articalPrice(300D)));
+
+        assertThat(index.isAvailable()).isFalse();
+    }
+
+    @Test
+    void reportsItsMemoryFootprint() {
+        index.warmUp();
+
+        assertThat(meterRegistry.get("products.bitmap.index.memory").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("products.bitmap.index.bitmaps").gauge().value()).isGreaterThan(1);
+    }
+}
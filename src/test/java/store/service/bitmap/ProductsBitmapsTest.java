@@ -0,0 +1,172 @@
+package store.service.bitmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Sort;
+import store.domain.Products;
+import store.service.catalog.ProductsCriteriaMatcher;
+import store.service.criteria.ProductsCriteria;
+import store.service.criteria.ProductsCriteriaNormalizer;
+
+/**
+ * Unit tests for {@link ProductsBitmaps}, checked against {@link ProductsCriteriaMatcher}.
+ */
+class ProductsBitmapsTest {
+
+    private static final double[] BOUNDARIES = { 10, 50, 100 };
+
+    private static final String[] WORDS = { "Chair", "Desk", "Table", "Lamp", "Stool", "Oak", "Armchair", "Sofa" };
+
+    @Test
+    void evaluatesGroups() {
+        ProductsBitmaps bitmaps = new ProductsBitmaps(BOUNDARIES);
+        bitmaps.put(1, "Chair", 40);
+        bitmaps.put(2, "Armchair", 250);
+        bitmaps.put(3, "Desk", 120);
+        bitmaps.put(4, "Lamp", 15);
+
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.or(0).articalName().setContains("chair");
+        criteria.or(1).articalPrice().setLessThan(20D);
+        criteria.not().articalPrice().setGreaterThan(200D);
+
+        assertThat(keys(bitmaps.evaluate(ProductsCriteriaNormalizer.normalize(criteria)))).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void unindexesReplacedAndRemovedRows() {
+        ProductsBitmaps bitmaps = new ProductsBitmaps(BOUNDARIES);
+        bitmaps.put(1, "Chair", 40);
+        bitmaps.put(1, "Desk", 60);
+        bitmaps.put(2, "Lamp", 15);
+        bitmaps.remove(2);
+        ProductsCriteria chairs = new ProductsCriteria();
+        chairs.articalName().setContains("chair");
+        ProductsCriteria cheap = new ProductsCriteria();
+        cheap.articalPrice().setLessThan(50D);
+
+        assertThat(bitmaps.size()).isEqualTo(1);
+        assertThat(keys(bitmaps.evaluate(chairs))).isEmpty();
+        assertThat(keys(bitmaps.evaluate(cheap))).isEmpty();
+        assertThat(bitmaps.bitmaps()).isEqualTo(1 + (BOUNDARIES.length + 1) + 2);
+        assertThat(bitmaps.put(ProductsBitmaps.MAX_ID + 1, "Sofa", 1)).isFalse();
+    }
+
+    @Test
+    void pagesInIdOrPriceOrder() {
+        ProductsBitmaps bitmaps = new ProductsBitmaps(BOUNDARIES);
+        bitmaps.put(1, "Chair", 40);
+        bitmaps.put(2, "Armchair", 250);
+        bitmaps.put(3, "Desk", 120);
+        bitmaps.put(4, "Lamp", 40);
+        bitmaps.put(5, "Sofa", 5);
+        RoaringBitmap all = bitmaps.evaluate(new ProductsCriteria());
+
+        assertThat(bitmaps.page(all, Sort.unsorted(), 1, 2)).containsExactly(2L, 3L);
+        assertThat(bitmaps.page(all, Sort.by(Sort.Direction.DESC, "id"), 0, 2)).containsExactly(5L, 4L);
+        assertThat(bitmaps.page(all, Sort.by("articalPrice"), 1, 3)).containsExactly(1L, 4L, 3L);
+        assertThat(bitmaps.page(all, Sort.by("articalPrice").descending(), 2, 2)).containsExactly(4L, 1L);
+        assertThat(bitmaps.page(all, Sort.by(Sort.Order.desc("articalPrice"), Sort.Order.asc("id")), 2, 2)).containsExactly(1L, 4L);
+        assertThat(bitmaps.page(all, Sort.unsorted(), 5, 2)).isEmpty();
+        assertThat(ProductsBitmaps.isSupported(Sort.by("articalName"))).isFalse();
+        assertThat(ProductsBitmaps.isSupported(Sort.by("articalPrice", "articalName"))).isFalse();
+    }
+
+    @Test
+    void matchesTheMatcherOnRandomCriteria() {
+        Random random = new Random(42);
+        ProductsBitmaps bitmaps = new ProductsBitmaps(BOUNDARIES);
+        List<Products> rows = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            Products products = new Products().id(id).articalName(randomName(random) + " " + id).articalPrice(randomPrice(random));
+            rows.add(products);
+            bitmaps.put(id, products.getArticalName(), products.getArticalPrice());
+        }
+        for (int i = 0; i < 500; i++) {
+            ProductsCriteria criteria = randomFilters(random);
+            int groups = random.nextInt(3);
+            if (groups > 0) {
+                List<ProductsCriteria> or = new ArrayList<>();
+                for (int group = 0; group < groups; group++) {
+                    or.add(randomFilters(random));
+                }
+                criteria.setOr(or);
+            }
+            if (random.nextBoolean()) {
+                criteria.setNot(randomFilters(random));
+            }
+            ProductsCriteriaMatcher matcher = ProductsCriteriaMatcher.of(criteria);
+            List<Long> expected = rows.stream().filter(matcher::matches).map(Products::getId).collect(Collectors.toList());
+
+            assertThat(keys(bitmaps.evaluate(ProductsCriteriaNormalizer.normalize(criteria)))).as(criteria.toString()).isEqualTo(expected);
+        }
+    }
+
+    private static ProductsCriteria randomFilters(Random random) {
+        ProductsCriteria criteria = new ProductsCriteria();
+        switch (random.nextInt(4)) {
+            case 0:
+                criteria.id().setGreaterThan((long) random.nextInt(400));
+                break;
+            case 1:
+                criteria.id().setIn(List.of((long) random.nextInt(400), (long) random.nextInt(400)));
+                break;
+            case 2:
+                criteria.id().setNotEquals((long) random.nextInt(400));
+                break;
+            default:
+        }
+        switch (random.nextInt(5)) {
+            case 0:
+                criteria.articalPrice().setGreaterThanOrEqual(randomPrice(random));
+                criteria.articalPrice().setLessThan(randomPrice(random) + 60);
+                break;
+            case 1:
+                criteria.articalPrice().setEquals(randomPrice(random));
+                break;
+            case 2:
+                criteria.articalPrice().setNotIn(List.of(randomPrice(random), randomPrice(random)));
+                criteria.articalPrice().setLessThanOrEqual(randomPrice(random));
+                break;
+            default:
+        }
+        switch (random.nextInt(6)) {
+            case 0:
+                criteria.articalName().setContains(randomName(random).substring(1).toLowerCase());
+                break;
+            case 1:
+                criteria.articalName().setDoesNotContain(randomName(random).substring(0, 2));
+                break;
+            case 2:
+                criteria.articalName().setEquals(randomName(random) + " " + (1 + random.nextInt(400)));
+                break;
+            case 3:
+                criteria.articalName().setNotIn(List.of(randomName(random) + " " + (1 + random.nextInt(400))));
+                break;
+            default:
+        }
+        return criteria;
+    }
+
+    private static String randomName(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static double randomPrice(Random random) {
+        return random.nextInt(300) / 2d;
+    }
+
+    private static List<Long> keys(RoaringBitmap bitmap) {
+        List<Long> keys = new ArrayList<>();
+        bitmap.forEach((int key) -> keys.add(Integer.toUnsignedLong(key)));
+        keys.sort(Comparator.naturalOrder());
+        return keys;
+    }
+}
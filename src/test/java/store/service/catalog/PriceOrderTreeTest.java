@@ -0,0 +1,74 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PriceOrderTree}.
+ */
+class PriceOrderTreeTest {
+
+    @Test
+    void ordersKeysByPriceThenId() {
+        PriceOrderTree tree = new PriceOrderTree(0);
+        tree.insert(20, 1);
+        tree.insert(10, 3);
+        tree.insert(20, 2);
+        tree.insert(5, 4);
+
+        assertThat(tree.size()).isEqualTo(4);
+        assertThat(List.of(tree.idAt(0), tree.idAt(1), tree.idAt(2), tree.idAt(3))).containsExactly(4L, 3L, 1L, 2L);
+        assertThat(tree.priceAt(3)).isEqualTo(20);
+        assertThat(tree.countLessThan(20)).isEqualTo(2);
+        assertThat(tree.countLessThanOrEqual(20)).isEqualTo(4);
+        assertThat(tree.countLessThan(5)).isZero();
+        assertThatThrownBy(() -> tree.idAt(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void removesOnlyTheGivenKey() {
+        PriceOrderTree tree = new PriceOrderTree(0);
+        tree.insert(20, 1);
+        tree.insert(20, 2);
+
+        assertThat(tree.remove(20, 3)).isFalse();
+        assertThat(tree.remove(10, 1)).isFalse();
+        assertThat(tree.remove(20, 1)).isTrue();
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.idAt(0)).isEqualTo(2);
+    }
+
+    @Test
+    void matchesASortedListUnderRandomUpdates() {
+        Random random = new Random(42);
+        PriceOrderTree tree = new PriceOrderTree(0);
+        List<double[]> keys = new ArrayList<>();
+        Comparator<double[]> order = Comparator.<double[]>comparingDouble(key -> key[0]).thenComparingDouble(key -> key[1]);
+        for (int step = 0; step < 20_000; step++) {
+            if (!keys.isEmpty() && random.nextInt(3) == 0) {
+                double[] key = keys.remove(random.nextInt(keys.size()));
+                assertThat(tree.remove(key[0], (long) key[1])).isTrue();
+            } else {
+                double[] key = { random.nextInt(500), step };
+                keys.add(key);
+                tree.insert(key[0], (long) key[1]);
+            }
+            if (step % 500 == 0) {
+                keys.sort(order);
+                assertThat(tree.size()).isEqualTo(keys.size());
+                for (int rank = 0; rank < keys.size(); rank++) {
+                    assertThat(tree.idAt(rank)).isEqualTo((long) keys.get(rank)[1]);
+                }
+                double price = random.nextInt(500);
+                assertThat(tree.countLessThan(price)).isEqualTo((int) keys.stream().filter(key -> key[0] < price).count());
+                assertThat(tree.countLessThanOrEqual(price)).isEqualTo((int) keys.stream().filter(key -> key[0] <= price).count());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PriceStatistics}, checked against a direct computation.
+ */
+class PriceStatisticsTest {
+
+    private static final double[] BOUNDARIES = { 10, 50, 100 };
+
+    @Test
+    void summarizesAcceptedPrices() {
+        PriceStatistics statistics = new PriceStatistics(BOUNDARIES);
+        for (double price : new double[] { 5, 10, 40, 100, 250 }) {
+            statistics.accept(price);
+        }
+
+        assertThat(statistics.getCount()).isEqualTo(5);
+        assertThat(statistics.getSum()).isEqualTo(405);
+        assertThat(statistics.getMin()).isEqualTo(5);
+        assertThat(statistics.getMax()).isEqualTo(250);
+        assertThat(statistics.getMean()).isEqualTo(81);
+        assertThat(statistics.getVariance()).isCloseTo(8284, within(1e-9));
+        assertThat(statistics.getHistogram()).containsExactly(1, 2, 0, 2);
+    }
+
+    @Test
+    void isEmptyWithoutPrices() {
+        PriceStatistics statistics = new PriceStatistics(BOUNDARIES);
+        statistics.accept(20);
+        statistics.remove(20);
+
+        assertThat(statistics.getCount()).isZero();
+        assertThat(statistics.getSum()).isZero();
+        assertThat(statistics.getVariance()).isZero();
+        assertThat(statistics.getHistogram()).containsOnly(0);
+        assertThat(PriceStatistics.of(BOUNDARIES, 0, 0, Double.NaN, Double.NaN, 0, new long[4]).getMin()).isInfinite();
+    }
+
+    @Test
+    void matchesADirectComputationAfterRemovalsAndCombinations() {
+        Random random = new Random(42);
+        List<Double> prices = new ArrayList<>();
+        PriceStatistics statistics = new PriceStatistics(BOUNDARIES);
+        for (int i = 0; i < 2000; i++) {
+            if (!prices.isEmpty() && random.nextInt(3) == 0) {
+                statistics.remove(prices.remove(random.nextInt(prices.size())));
+            } else {
+                double price = random.nextInt(30000) / 100d;
+                prices.add(price);
+                statistics.accept(price);
+            }
+        }
+        PriceStatistics combined = IntStream
+            .range(0, prices.size())
+            .parallel()
+            .collect(() -> new PriceStatistics(BOUNDARIES), (summary, i) -> summary.accept(prices.get(i)), PriceStatistics::combine);
+
+        double mean = prices.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+        double variance = prices.stream().mapToDouble(price -> (price - mean) * (price - mean)).sum() / prices.size();
+        PriceStatistics aggregated = PriceStatistics.of(
+            BOUNDARIES,
+            prices.size(),
+            prices.stream().mapToDouble(Double::doubleValue).sum(),
+            0,
+            300,
+            variance,
+            combined.getHistogram()
+        );
+        for (PriceStatistics summary : List.of(statistics, combined, aggregated)) {
+            assertThat(summary.getCount()).isEqualTo(prices.size());
+            assertThat(summary.getMean()).isCloseTo(mean, within(1e-6));
+            assertThat(summary.getVariance()).isCloseTo(variance, within(1e-4));
+            assertThat(summary.getHistogram()).isEqualTo(statistics.getHistogram());
+        }
+        assertThat(combined.getMin()).isEqualTo(prices.stream().mapToDouble(Double::doubleValue).min().orElseThrow());
+        assertThat(combined.getMax()).isEqualTo(prices.stream().mapToDouble(Double::doubleValue).max().orElseThrow());
+    }
+}
@@ -0,0 +1,155 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Unit tests for {@link ProductsCatalogEngine}.
+ */
+class ProductsCatalogEngineTest {
+
+    private ProductsRepository productsRepository;
+
+    private ProductsCatalogEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.count()).thenReturn(4L);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class)))
+            .thenReturn(
+                new SliceImpl<>(
+                    List.of(
+                        new Products().id(1L).articalName("banana").articalPrice(3D),
+                        new Products().id(2L).articalName("Apple").articalPrice(5D),
+                        new Products().id(3L).articalName("cherry").articalPrice(1D),
+                        new Products().id(4L).articalName("date").articalPrice(3D)
+                    )
+                )
+            );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCatalog().setEnabled(true);
+        engine = new ProductsCatalogEngine(applicationProperties, productsRepository);
+    }
+
+    @Test
+    void fallsBackUntilWarm() {
+        assertThat(engine.isAvailable()).isFalse();
+        assertThat(engine.findByCriteria(new ProductsCriteria(), PageRequest.of(0, 10))).isEmpty();
+        assertThat(engine.countByCriteria(new ProductsCriteria())).isEmpty();
+    }
+
+    @Test
+    void fallsBackWhenDisabled() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ProductsCatalogEngine disabled = new ProductsCatalogEngine(applicationProperties, productsRepository);
+        disabled.warmUp();
+        assertThat(disabled.isAvailable()).isFalse();
+    }
+
+    @Test
+    void pagesInIdOrderByDefault() {
+        engine.warmUp();
+        Page<Products> page = engine.findByCriteria(new ProductsCriteria(), PageRequest.of(1, 3)).orElseThrow();
+        assertThat(page.getContent()).extracting(Products::getId).containsExactly(4L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void sortsOnEveryColumn() {
+        engine.warmUp();
+        assertThat(engine.findByCriteria(null, PageRequest.of(0, 10, Sort.by("articalName"))).orElseThrow().getContent())
+            .extracting(Products::getId)
+            .containsExactly(2L, 1L, 3L, 4L);
+        assertThat(engine.findByCriteria(null, PageRequest.of(0, 10, Sort.by(Sort.Order.desc("articalPrice")))).orElseThrow())
+            .extracting(Products::getId)
+            .containsExactly(2L, 4L, 1L, 3L);
+        assertThat(
+            engine.findByCriteria(null, PageRequest.of(0, 10, Sort.by(Sort.Order.asc("articalPrice"), Sort.Order.desc("id")))).orElseThrow()
+        )
+            .extracting(Products::getId)
+            .containsExactly(3L, 4L, 1L, 2L);
+        assertThat(engine.findByCriteria(null, PageRequest.of(0, 10, Sort.by("unknown")))).isEmpty();
+    }
+
+    @Test
+    void filtersLikeTheSpecification() {
+        engine.warmUp();
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.articalPrice().setGreaterThan(1D);
+        criteria.articalName().setContains("AN");
+        assertThat(engine.findByCriteria(criteria).orElseThrow()).extracting(Products::getId).containsExactly(1L);
+        assertThat(engine.countByCriteria(criteria).getAsLong()).isEqualTo(1);
+
+        criteria = new ProductsCriteria();
+        criteria.id().setNotIn(List.of(1L, 3L));
+        criteria.articalPrice().setLessThanOrEqual(3D);
+        assertThat(engine.findByCriteria(criteria).orElseThrow()).extracting(Products::getId).containsExactly(4L);
+
+        criteria = new ProductsCriteria();
+        criteria.articalName().setSpecified(false);
+        assertThat(engine.countByCriteria(criteria).getAsLong()).isZero();
+    }
+
+    @Test
+    void summarizesMatchingPrices() {
+        assertThat(engine.priceStatistics(new ProductsCriteria(), new double[] { 2 })).isEmpty();
+        engine.warmUp();
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.articalPrice().setGreaterThan(1D);
+
+        PriceStatistics statistics = engine.priceStatistics(criteria, new double[] { 2, 4 }).orElseThrow();
+
+        assertThat(statistics.getCount()).isEqualTo(3);
+        assertThat(statistics.getSum()).isEqualTo(11);
+        assertThat(statistics.getMin()).isEqualTo(3);
+        assertThat(statistics.getMax()).isEqualTo(5);
+        assertThat(statistics.getVariance()).isCloseTo(8 / 9d, within(1e-9));
+        assertThat(statistics.getHistogram()).containsExactly(0, 2, 1);
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        engine.warmUp();
+        engine.onProductsChanged(ProductsChangedEvent.created(new Products().id(5L).articalName("elderberry").articalPrice(0.5D)));
+        engine.onProductsChanged(ProductsChangedEvent.updated(new Products().id(2L).articalName("apricot").articalPrice(5D)));
+        engine.onProductsChanged(ProductsChangedEvent.deleted(3L));
+
+        assertThat(engine.findByCriteria(null, PageRequest.of(0, 10, Sort.by("articalName"))).orElseThrow().getContent())
+            .extracting(Products::getArticalName)
+            .containsExactly("apricot", "banana", "date", "elderberry");
+    }
+
+    @Test
+    void keepsChangesCommittedBeforeTheLoad() {
+        engine.onProductsChanged(ProductsChangedEvent.deleted(1L));
+        engine.warmUp();
+        ProductsColumns loaded = engine.columns();
+        assertThat(loaded.size()).isEqualTo(3);
+
+        engine.onProductsChanged(ProductsChangedEvent.deleted(2L));
+
+        // readers holding the previous copy are not affected by the rebuild
+        assertThat(loaded.size()).isEqualTo(3);
+        assertThat(engine.columns().size()).isEqualTo(2);
+        assertThat(engine.columns().rowOf(2L)).isNegative();
+    }
+}
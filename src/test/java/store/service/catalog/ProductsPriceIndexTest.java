@@ -0,0 +1,163 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.criteria.ProductsCriteria;
+import store.service.snapshot.ProductsSnapshotLoadedEvent;
+import tech.jhipster.service.filter.DoubleFilter;
+
+/**
+ * Unit tests for {@link ProductsPriceIndex}.
+ */
+class ProductsPriceIndexTest {
+
+    private static final Pageable CHEAPEST = PageRequest.of(0, 2, Sort.by("articalPrice"));
+
+    private final List<Products> rows = List.of(
+        new Products().id(1L).articalName("Chair").articalPrice(40D),
+        new Products().id(2L).articalName("Desk").articalPrice(250D),
+        new Products().id(3L).articalName("Table").articalPrice(120D),
+        new Products().id(4L).articalName("Lamp").articalPrice(15D),
+        new Products().id(5L).articalName("Stool").articalPrice(40D)
+    );
+
+    private ProductsRepository productsRepository;
+
+    private ProductsPriceIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.count()).thenReturn((long) rows.size());
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class))).thenReturn(new SliceImpl<>(rows));
+        Map<Long, Products> byId = rows.stream().collect(Collectors.toMap(Products::getId, Function.identity()));
+        when(productsRepository.multiLoad(anyList()))
+            .thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).stream().map(byId::get).collect(Collectors.toList()));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPriceIndex().setEnabled(true);
+        index = new ProductsPriceIndex(applicationProperties, productsRepository);
+    }
+
+    @Test
+    void isNotAvailableBeforeWarmUp() {
+        assertThat(index.isAvailable()).isFalse();
+        assertThat(index.countByCriteria(new ProductsCriteria())).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), CHEAPEST)).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seedsFromTheSnapshot() {
+        ProductsColumns.Builder builder = ProductsColumns.builder(rows.size());
+        rows.forEach(builder::add);
+        index.onProductsChanged(ProductsChangedEvent.deleted(4L));
+
+        index.onSnapshotLoaded(new ProductsSnapshotLoadedEvent(builder.build(), 5L));
+        index.warmUp();
+
+        assertThat(index.isAvailable()).isTrue();
+        assertThat(index.countByCriteria(new ProductsCriteria())).hasValue(4);
+        verify(productsRepository, never()).findSlice(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void countsPriceRanges() {
+        index.warmUp();
+
+        assertThat(index.countByCriteria(new ProductsCriteria())).hasValue(5);
+        DoubleFilter equals = new DoubleFilter();
+        equals.setEquals(40D);
+        assertThat(index.countByCriteria(priceCriteria(equals))).hasValue(2);
+        DoubleFilter band = new DoubleFilter();
+        band.setGreaterThan(15D);
+        band.setLessThanOrEqual(120D);
+        assertThat(index.countByCriteria(priceCriteria(band))).hasValue(3);
+        DoubleFilter empty = new DoubleFilter();
+        empty.setGreaterThan(300D);
+        assertThat(index.countByCriteria(priceCriteria(empty))).hasValue(0);
+    }
+
+    @Test
+    void servesPriceSortedPages() {
+        index.warmUp();
+        DoubleFilter band = new DoubleFilter();
+        band.setGreaterThanOrEqual(20D);
+
+        Page<Products> cheapest = index.findByCriteria(priceCriteria(band), CHEAPEST).orElseThrow();
+        assertThat(cheapest.getContent()).extracting(Products::getId).containsExactly(1L, 5L);
+        assertThat(cheapest.getTotalElements()).isEqualTo(4);
+
+        Page<Products> dearest = index.findByCriteria(priceCriteria(band), PageRequest.of(1, 2, Sort.by("articalPrice").descending()))
+            .orElseThrow();
+        assertThat(dearest.getContent()).extracting(Products::getId).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void leavesOtherQueriesToTheDatabase() {
+        index.warmUp();
+        ProductsCriteria byName = new ProductsCriteria();
+        byName.articalName().setEquals("Chair");
+        DoubleFilter in = new DoubleFilter();
+        in.setIn(List.of(15D, 40D));
+
+        assertThat(index.countByCriteria(byName)).isEmpty();
+        assertThat(index.countByCriteria(priceCriteria(in))).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), PageRequest.of(0, 2, Sort.by("articalName")))).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), PageRequest.of(0, 2, Sort.by("articalPrice", "articalName")))).isEmpty();
+        assertThat(index.findByCriteria(new ProductsCriteria(), Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void returnsNearestRankPercentiles() {
+        index.warmUp();
+
+        assertThat(index.pricePercentiles(List.of(0D, 20D, 50D, 90D, 100D))).hasValue(List.of(15D, 15D, 40D, 250D, 250D));
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        index.warmUp();
+
+        index.onProductsChanged(ProductsChangedEvent.updated(new Products().id(2L).articalName("Desk").articalPrice(10D)));
+        index.onProductsChanged(ProductsChangedEvent.deleted(4L));
+
+        assertThat(index.countByCriteria(new ProductsCriteria())).hasValue(4);
+        assertThat(index.pricePercentiles(List.of(0D, 100D))).hasValue(List.of(10D, 120D));
+    }
+
+    @Test
+    void computesNearestRanks() {
+        assertThat(ProductsPriceIndex.nearestRank(0, 10)).isZero();
+        assertThat(ProductsPriceIndex.nearestRank(50, 10)).isEqualTo(4);
+        assertThat(ProductsPriceIndex.nearestRank(99, 10)).isEqualTo(9);
+        assertThat(ProductsPriceIndex.nearestRank(100, 10)).isEqualTo(9);
+    }
+
+    private static ProductsCriteria priceCriteria(DoubleFilter price) {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.setArticalPrice(price);
+        return criteria;
+    }
+}
@@ -0,0 +1,89 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+
+/**
+ * Unit tests for {@link ProductsPriceStatistics}.
+ */
+class ProductsPriceStatisticsTest {
+
+    private ProductsPriceStatistics priceStatistics;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ProductsRepository productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class)))
+            .thenReturn(
+                new SliceImpl<>(
+                    List.of(
+                        new Products().id(1L).articalName("Chair").articalPrice(40D),
+                        new Products().id(2L).articalName("Desk").articalPrice(250D),
+                        new Products().id(3L).articalName("Lamp").articalPrice(15D)
+                    )
+                )
+            );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPriceStatistics().setEnabled(true);
+        applicationProperties.getSearch().setPriceBuckets(List.of(50D, 100D));
+        priceStatistics = new ProductsPriceStatistics(applicationProperties, productsRepository);
+    }
+
+    @Test
+    void isNotAvailableBeforeWarmUp() {
+        assertThat(priceStatistics.isAvailable()).isFalse();
+        assertThat(priceStatistics.snapshot()).isEmpty();
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        priceStatistics.warmUp();
+
+        priceStatistics.onProductsChanged(ProductsChangedEvent.updated(new Products().id(2L).articalName("Desk").articalPrice(60D)));
+        priceStatistics.onProductsChanged(ProductsChangedEvent.deleted(3L));
+        priceStatistics.onProductsChanged(ProductsChangedEvent.created(new Products().id(4L).articalName("Sofa").articalPrice(40D)));
+
+        PriceStatistics statistics = priceStatistics.snapshot().orElseThrow();
+        assertThat(statistics.getCount()).isEqualTo(3);
+        assertThat(statistics.getSum()).isEqualTo(140);
+        assertThat(statistics.getMin()).isEqualTo(40);
+        assertThat(statistics.getMax()).isEqualTo(60);
+        assertThat(statistics.getHistogram()).containsExactly(2, 1, 0);
+    }
+
+    @Test
+    void replaysChangesCommittedDuringWarmUp() {
+        priceStatistics.onProductsChanged(ProductsChangedEvent.deleted(2L));
+
+        priceStatistics.warmUp();
+
+        PriceStatistics statistics = priceStatistics.snapshot().orElseThrow();
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getMax()).isEqualTo(40);
+    }
+
+    @Test
+    void tracksExtremesUntilEmpty() {
+        priceStatistics.warmUp();
+        for (long id = 1; id <= 3; id++) {
+            priceStatistics.onProductsChanged(ProductsChangedEvent.deleted(id));
+        }
+
+        PriceStatistics statistics = priceStatistics.snapshot().orElseThrow();
+        assertThat(statistics.getCount()).isZero();
+        assertThat(statistics.getMin()).isInfinite();
+    }
+}
@@ -0,0 +1,41 @@
+package store.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+
+/**
+ * Unit tests for {@link ProductsWarmUpLoader}.
+ */
+class ProductsWarmUpLoaderTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsEveryProductByBatches() {
+        ProductsRepository productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(new Products().id(1L), new Products().id(2L)), PageRequest.of(0, 2), true))
+            .thenReturn(new SliceImpl<>(List.of(new Products().id(3L)), PageRequest.of(0, 2), false));
+
+        List<Long> ids = new ArrayList<>();
+        for (Products products : ProductsWarmUpLoader.inIdOrder(productsRepository, 2)) {
+            ids.add(products.getId());
+        }
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        verify(productsRepository, times(2)).findSlice(any(Specification.class), any(Pageable.class));
+    }
+}
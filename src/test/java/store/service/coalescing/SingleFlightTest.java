@@ -0,0 +1,121 @@
+package store.service.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final List<SingleFlight.Outcome> outcomes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        Future<Integer> leader = executor.submit(() ->
+            singleFlight.execute(
+                "key",
+                () -> {
+                    started.countDown();
+                    await(release);
+                    return executions.incrementAndGet();
+                },
+                outcomes::add
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> follower = executor.submit(() -> singleFlight.execute("key", executions::incrementAndGet, outcomes::add));
+        // let the follower start waiting before the leader completes
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(executions).hasValue(1);
+        assertThat(outcomes).containsExactlyInAnyOrder(SingleFlight.Outcome.EXECUTED, SingleFlight.Outcome.COALESCED);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void completedExecutionsAreNotShared() {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThat(singleFlight.execute("key", executions::incrementAndGet, outcomes::add)).isEqualTo(1);
+        assertThat(singleFlight.execute("key", executions::incrementAndGet, outcomes::add)).isEqualTo(2);
+        assertThat(outcomes).containsExactly(SingleFlight.Outcome.EXECUTED, SingleFlight.Outcome.EXECUTED);
+    }
+
+    @Test
+    void waitIsBounded() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit(() ->
+            singleFlight.execute(
+                "key",
+                () -> {
+                    started.countDown();
+                    await(release);
+                    return "slow";
+                },
+                outcomes::add
+            )
+        );
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(singleFlight.execute("key", () -> "own", outcomes::add)).isEqualTo("own");
+        assertThat(outcomes).contains(SingleFlight.Outcome.TIMED_OUT);
+        release.countDown();
+    }
+
+    @Test
+    void exceptionsAreRethrown() {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+
+        assertThatThrownBy(() ->
+                singleFlight.execute(
+                    "key",
+                    () -> {
+                        throw new IllegalStateException("boom");
+                    },
+                    outcomes::add
+                )
+            )
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
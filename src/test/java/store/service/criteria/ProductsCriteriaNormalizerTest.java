@@ -0,0 +1,94 @@
+package store.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ProductsCriteriaNormalizer}.
+ */
+class ProductsCriteriaNormalizerTest {
+
+    @Test
+    void equivalentCriteriaAreEqual() {
+        ProductsCriteria first = new ProductsCriteria();
+        first.id().setGreaterThan(4L);
+        first.id().setGreaterThanOrEqual(2L);
+        first.articalName().setIn(List.of("b", "a", "b"));
+        first.articalPrice().setLessThan(10D);
+        first.articalPrice().setLessThanOrEqual(20D);
+        first.setDistinct(true);
+
+        ProductsCriteria second = new ProductsCriteria();
+        second.id().setGreaterThanOrEqual(5L);
+        second.articalName().setIn(List.of("a", "b"));
+        second.articalPrice().setLessThan(10D);
+
+        assertThat(ProductsCriteriaNormalizer.normalize(first)).isEqualTo(ProductsCriteriaNormalizer.normalize(second));
+    }
+
+    @Test
+    void dropsIneffectiveOperators() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.id().setEquals(3L);
+        criteria.id().setGreaterThan(10L);
+        criteria.articalName().setContains("abc");
+        criteria.articalName().setNotEquals("x");
+        criteria.articalPrice().setSpecified(true);
+
+        ProductsCriteria normalized = ProductsCriteriaNormalizer.normalize(criteria);
+
+        assertThat(normalized.getId().getEquals()).isEqualTo(3L);
+        assertThat(normalized.getId().getGreaterThan()).isNull();
+        assertThat(normalized.getArticalName().getContains()).isEqualTo("ABC");
+        assertThat(normalized.getArticalName().getNotEquals()).isNull();
+        assertThat(normalized.getArticalPrice()).isNull();
+    }
+
+    @Test
+    void mergesNotEqualsIntoNotIn() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.id().setNotEquals(1L);
+        criteria.id().setNotIn(List.of(3L, 2L));
+
+        assertThat(ProductsCriteriaNormalizer.normalize(criteria).getId().getNotIn()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void detectsCriteriaMatchingEverything() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        assertThat(ProductsCriteriaNormalizer.isEmpty(null)).isTrue();
+        criteria.articalName().setSpecified(true);
+        criteria.setDistinct(true);
+        assertThat(ProductsCriteriaNormalizer.isEmpty(criteria)).isTrue();
+        criteria.articalPrice().setGreaterThan(0D);
+        assertThat(ProductsCriteriaNormalizer.isEmpty(criteria)).isFalse();
+    }
+
+    @Test
+    void normalizesGroups() {
+        ProductsCriteria first = new ProductsCriteria();
+        first.or(0).id().setGreaterThan(4L);
+        first.or(1).id().setGreaterThanOrEqual(5L);
+        first.not().articalName().setContains("chair");
+        ProductsCriteria second = new ProductsCriteria();
+        second.or(0).id().setGreaterThanOrEqual(5L);
+        second.not().articalName().setContains("CHAIR");
+
+        assertThat(ProductsCriteriaNormalizer.normalize(first)).isEqualTo(ProductsCriteriaNormalizer.normalize(second));
+        assertThat(ProductsCriteriaNormalizer.hasGroups(first)).isTrue();
+    }
+
+    @Test
+    void dropsOrGroupsMatchingEverything() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.or(0).id().setEquals(1L);
+        criteria.or(1).articalPrice().setSpecified(true);
+
+        assertThat(ProductsCriteriaNormalizer.isEmpty(criteria)).isTrue();
+        criteria.not();
+        assertThat(ProductsCriteriaNormalizer.isEmpty(criteria)).isFalse();
+        assertThat(ProductsCriteriaNormalizer.hasGroups(criteria)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package store.service.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import store.domain.Products;
+
+/**
+ * Unit tests for {@link KeysetCursor}.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void appendsTieBreakerOnce() {
+        assertThat(KeysetCursor.withTieBreaker(Sort.by("articalName"))).isEqualTo(Sort.by("articalName", "id"));
+        assertThat(KeysetCursor.withTieBreaker(Sort.by(Sort.Order.desc("id")))).isEqualTo(Sort.by(Sort.Order.desc("id")));
+        assertThat(KeysetCursor.withTieBreaker(Sort.unsorted())).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    void roundTripsSortKeyValues() {
+        Sort sort = KeysetCursor.withTieBreaker(Sort.by(Sort.Order.desc("articalPrice"), Sort.Order.asc("articalName")));
+        KeysetCursor cursor = KeysetCursor.of(new Products().id(42L).articalName("aé b/c").articalPrice(9.99D), sort);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        KeysetCursor decoded = KeysetCursor.decode(encoded, sort, Products.class);
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getValues()).containsExactly(9.99D, "aé b/c", 42L);
+    }
+
+    @Test
+    void keepsNullValues() {
+        Sort sort = KeysetCursor.withTieBreaker(Sort.by("articalName"));
+        KeysetCursor cursor = KeysetCursor.of(new Products().id(1L), sort);
+
+        assertThat(KeysetCursor.decode(cursor.encode(), sort, Products.class).getValues()).containsExactly(null, 1L);
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        Sort sort = KeysetCursor.withTieBreaker(Sort.by("articalName"));
+        String encoded = KeysetCursor.of(new Products().id(1L).articalName("a"), sort).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, KeysetCursor.withTieBreaker(Sort.by("articalPrice")), Products.class))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, Sort.by("id"), Products.class)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", sort, Products.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCursorWithInvalidValue() {
+        Sort sort = Sort.by("id");
+        String encoded = Base64.getUrlEncoder().encodeToString("id\u001fnot a number".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, sort, Products.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package store.service.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CountMinSketch}.
+ */
+class CountMinSketchTest {
+
+    @Test
+    void neverUnderestimatesAndStaysWithinItsBound() {
+        CountMinSketch sketch = new CountMinSketch(1000, 4);
+        Random random = new Random(42);
+        Map<Long, Long> counts = new HashMap<>();
+        int total = 100_000;
+        for (int i = 0; i < total; i++) {
+            // a skewed stream, a few keys getting most of the views
+            long key = (long) Math.pow(random.nextDouble(), 3) * 5000;
+            sketch.add(key);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        assertThat(sketch.getWidth()).isEqualTo(1024);
+        long overestimated = counts
+            .entrySet()
+            .stream()
+            .filter(entry -> {
+                long estimate = sketch.estimate(entry.getKey());
+                assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+                return estimate - entry.getValue() > 2L * total / sketch.getWidth();
+            })
+            .count();
+        assertThat(overestimated).isLessThanOrEqualTo(counts.size() / 16);
+        assertThat(sketch.estimate(-1)).isLessThanOrEqualTo(2L * total / sketch.getWidth());
+    }
+
+    @Test
+    void countsConcurrentAdditions() {
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> sketch.add(i % 2));
+
+        assertThat(sketch.estimate(0)).isGreaterThanOrEqualTo(50_000);
+        assertThat(sketch.estimate(0) + sketch.estimate(1)).isLessThanOrEqualTo(200_000);
+        sketch.clear();
+        assertThat(sketch.estimate(0)).isZero();
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(16, 9)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
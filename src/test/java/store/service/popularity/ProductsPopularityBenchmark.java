@@ -0,0 +1,84 @@
+package store.service.popularity;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import store.config.ApplicationProperties;
+
+/**
+ * Measures the cost of {@link ProductsPopularityTracker#recordView} on the request threads, with the default sketch and
+ * buffer sizes and a background drain. Run with {@code ./mvnw test-compile} and then the {@link #main} method from the
+ * IDE; add {@code -prof gc} to the options to check that recording allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsPopularityBenchmark {
+
+    private static final Long[] IDS = new Long[1024];
+
+    static {
+        for (int i = 0; i < IDS.length; i++) {
+            IDS[i] = (long) i * i % 5000 + 1;
+        }
+    }
+
+    private ProductsPopularityTracker tracker;
+
+    private Thread drainer;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+    }
+
+    @Setup
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPopularity().setEnabled(true);
+        tracker = new ProductsPopularityTracker(applicationProperties, null);
+        drainer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                tracker.drain();
+                try {
+                    Thread.sleep(applicationProperties.getPopularity().getDrainInterval().toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Benchmark
+    public void recordView(Cursor cursor) {
+        tracker.recordView(IDS[cursor.next++ & (IDS.length - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordViewContended(Cursor cursor) {
+        tracker.recordView(IDS[cursor.next++ & (IDS.length - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductsPopularityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package store.service.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.domain.ProductsPopularity;
+import store.repository.ProductsPopularityRepository;
+import store.service.dto.ProductsPopularityDTO;
+
+/**
+ * Unit tests for {@link ProductsPopularityTracker}.
+ */
+class ProductsPopularityTrackerTest {
+
+    private static final long MINUTE = 60_000;
+
+    private ApplicationProperties applicationProperties;
+
+    private ProductsPopularityRepository productsPopularityRepository;
+
+    private ProductsPopularityTracker tracker;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getPopularity().setEnabled(true);
+        applicationProperties.getPopularity().setSlots(3);
+        applicationProperties.getPopularity().setCandidates(4);
+        productsPopularityRepository = mock(ProductsPopularityRepository.class);
+        tracker = new ProductsPopularityTracker(applicationProperties, productsPopularityRepository);
+        tracker.drain(0);
+    }
+
+    @Test
+    void ranksTheViewsOfASlidingWindow() {
+        view(1L, 3);
+        view(2L, 1);
+        tracker.drain(MINUTE);
+        view(2L, 4);
+        tracker.recordViews(List.of(new Products().id(3L), new Products().id(1L)));
+        tracker.drain(MINUTE + 1);
+
+        assertThat(tracker.findMostViewed(Duration.ofMinutes(1), 2))
+            .extracting(ProductsPopularityDTO::getProductsId)
+            .containsExactly(2L, 1L);
+        assertThat(tracker.findMostViewed(Duration.ofSeconds(150), 3))
+            .extracting(ProductsPopularityDTO::getProductsId, ProductsPopularityDTO::getViews)
+            .containsExactly(tuple(2L, 5L), tuple(1L, 4L), tuple(3L, 1L));
+
+        // the first slot is recycled
+        tracker.drain(3 * MINUTE);
+        assertThat(tracker.findMostViewed(Duration.ofMinutes(3), 1))
+            .extracting(ProductsPopularityDTO::getProductsId, ProductsPopularityDTO::getViews)
+            .containsExactly(tuple(2L, 4L));
+    }
+
+    @Test
+    void keepsTheMostViewedCandidates() {
+        view(1L, 10);
+        for (long id = 10; id < 30; id++) {
+            view(id, 1);
+        }
+        view(2L, 5);
+        tracker.drain(1);
+
+        assertThat(tracker.findMostViewed(Duration.ofMinutes(1), 2))
+            .extracting(ProductsPopularityDTO::getProductsId)
+            .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushesCompletedSlotsOnce() {
+        view(1L, 2);
+        tracker.drain(MINUTE);
+        view(2L, 1);
+
+        tracker.flush(2 * MINUTE);
+        tracker.flush(2 * MINUTE + 1);
+
+        ArgumentCaptor<List<ProductsPopularity>> rows = ArgumentCaptor.forClass(List.class);
+        verify(productsPopularityRepository).saveAll(rows.capture());
+        assertThat(rows.getValue())
+            .extracting(ProductsPopularity::getProductsId, ProductsPopularity::getViews, ProductsPopularity::getWindowStart)
+            .containsExactly(tuple(1L, 2L, Instant.EPOCH), tuple(2L, 1L, Instant.EPOCH));
+        assertThat(rows.getValue().get(0).getWindowEnd()).isEqualTo(Instant.ofEpochMilli(2 * MINUTE));
+    }
+
+    @Test
+    void validatesTheWindowAndLimit() {
+        assertThatThrownBy(() -> tracker.findMostViewed(Duration.ofMinutes(4), 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tracker.findMostViewed(Duration.ZERO, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tracker.findMostViewed(Duration.ofMinutes(1), 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        applicationProperties.getPopularity().setEnabled(false);
+        tracker = new ProductsPopularityTracker(applicationProperties, productsPopularityRepository);
+        view(1L, 1);
+
+        tracker.flush();
+
+        assertThat(tracker.findMostViewed(Duration.ofMinutes(1), 1)).isEmpty();
+        verify(productsPopularityRepository, never()).saveAll(anyList());
+    }
+
+    private void view(Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordView(id);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package store.service.popularity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ViewBuffer}.
+ */
+class ViewBufferTest {
+
+    @Test
+    void drainsKeysInOrder() {
+        ViewBuffer buffer = new ViewBuffer(6);
+        List<Long> drained = new ArrayList<>();
+        buffer.add(3);
+        buffer.add(1);
+
+        assertThat(buffer.drain(drained::add)).isEqualTo(2);
+        assertThat(buffer.drain(drained::add)).isZero();
+        buffer.add(2);
+        assertThat(buffer.drain(drained::add)).isEqualTo(1);
+        assertThat(drained).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void skipsOverwrittenKeys() {
+        ViewBuffer buffer = new ViewBuffer(8);
+        List<Long> drained = new ArrayList<>();
+        for (long key = 1; key <= 20; key++) {
+            buffer.add(key);
+        }
+
+        assertThat(buffer.drain(drained::add)).isEqualTo(8);
+        assertThat(drained).containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+    }
+
+    @Test
+    void drainsConcurrentAdditions() throws InterruptedException {
+        ViewBuffer buffer = new ViewBuffer(1 << 16);
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < 4; producer++) {
+            long first = producer * 10_000L + 1;
+            producers.add(new Thread(() -> LongStream.range(first, first + 10_000).forEach(buffer::add)));
+        }
+        List<Long> drained = new ArrayList<>();
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        buffer.drain(drained::add);
+
+        assertThat(drained).hasSize(40_000).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,183 @@
+package store.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+
+/**
+ * Unit tests for {@link ProductsFullTextIndex}.
+ */
+class ProductsFullTextIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private ProductsRepository productsRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ProductsFullTextIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class)))
+            .thenReturn(
+                new SliceImpl<>(
+                    List.of(
+                        new Products().id(1L).articalName("Wooden chair").articalPrice(40D),
+                        new Products().id(2L).articalName("Chairman's desk").articalPrice(250D),
+                        new Products().id(3L).articalName("Café table").articalPrice(120D),
+                        new Products().id(4L).articalName("Lamp").articalPrice(15D)
+                    )
+                )
+            );
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getFullText().setEnabled(true);
+        applicationProperties.getFullText().setDirectory(directory.toString());
+        index = new ProductsFullTextIndex(applicationProperties, productsRepository, meterRegistry);
+        index.open();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void isNotAvailableBeforeTheFirstRebuild() {
+        assertThat(index.isAvailable()).isFalse();
+        assertThat(index.search("chair", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void ranksExactMatchesBeforePrefixMatches() {
+        index.rebuild();
+
+        Page<Products> page = index.search("chair", PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(page.getContent()).extracting(Products::getId).containsExactly(1L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent().get(0).getArticalPrice()).isEqualTo(40D);
+    }
+
+    @Test
+    void toleratesTyposAndAccents() {
+        index.rebuild();
+
+        assertThat(index.search("chiar", PageRequest.of(0, 10)).orElseThrow().getContent()).extracting(Products::getId).contains(1L);
+        assertThat(index.search("CAFE", PageRequest.of(0, 10)).orElseThrow().getContent()).extracting(Products::getId).containsExactly(3L);
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        index.rebuild();
+
+        assertThat(index.search("wooden chair", PageRequest.of(0, 10)).orElseThrow().getContent())
+            .extracting(Products::getId)
+            .containsExactly(1L);
+        assertThat(index.search("wooden lamp", PageRequest.of(0, 10)).orElseThrow().getContent()).isEmpty();
+    }
+
+    @Test
+    void pagesKeepTheExactTotal() {
+        index.rebuild();
+
+        Page<Products> page = index.search("chair", PageRequest.of(1, 1)).orElseThrow();
+
+        assertThat(page.getContent()).extracting(Products::getId).containsExactly(2L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesBeyondTheIndexAreEmpty() {
+        index.rebuild();
+
+        Page<Products> page = index.search("chair", PageRequest.of(10_000_000, 20)).orElseThrow();
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(index.search("chair", PageRequest.of(0, Integer.MAX_VALUE / 2)).orElseThrow().getContent()).hasSize(2);
+    }
+
+    @Test
+    void appliesCommittedChangesOnRefresh() throws Exception {
+        index.rebuild();
+
+        index.onProductsChanged(ProductsChangedEvent.created(new Products().id(5L).articalName("Desk lamp").articalPrice(30D)));
+        index.onProductsChanged(ProductsChangedEvent.deleted(4L));
+        assertThat(index.refreshLag(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(index.search("lamp", PageRequest.of(0, 10)).orElseThrow().getContent()).extracting(Products::getId).containsExactly(4L);
+
+        index.refresh();
+
+        assertThat(index.refreshLag(TimeUnit.NANOSECONDS)).isZero();
+        assertThat(index.search("lamp", PageRequest.of(0, 10)).orElseThrow().getContent()).extracting(Products::getId).containsExactly(5L);
+    }
+
+    @Test
+    void searcherVersionMovesWhenChangesBecomeSearchable() throws Exception {
+        assertThat(index.searcherVersion()).isEmpty();
+        index.rebuild();
+        long version = index.searcherVersion().orElseThrow();
+
+        index.onProductsChanged(ProductsChangedEvent.deleted(4L));
+        assertThat(index.searcherVersion()).hasValue(version);
+
+        index.refresh();
+        assertThat(index.searcherVersion().orElseThrow()).isGreaterThan(version);
+    }
+
+    @Test
+    void rebuildDropsRowsDeletedFromTheTable() {
+        index.rebuild();
+        when(productsRepository.findSlice(any(), any()))
+            .thenReturn(new SliceImpl<>(List.of(new Products().id(4L).articalName("Lamp").articalPrice(15D))));
+
+        index.rebuild();
+
+        assertThat(index.documents()).isEqualTo(1);
+        assertThat(index.search("chair", PageRequest.of(0, 10)).orElseThrow().getContent()).isEmpty();
+    }
+
+    @Test
+    void rejectsTooManyTerms() {
+        index.rebuild();
+
+        assertThatThrownBy(() -> index.search("a ".repeat(ProductsFullTextIndex.MAX_TERMS + 1), PageRequest.of(0, 10)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void publishesIndexMetrics() {
+        index.rebuild();
+        index.search("chair", PageRequest.of(0, 10));
+
+        assertThat(meterRegistry.get("products.search.index.size").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("products.search.index.documents").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("products.search.query").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,93 @@
+package store.service.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static store.service.snapshot.ProductsSnapshotTest.products;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import store.service.dto.ProductsChangesDTO;
+
+/**
+ * Unit tests for {@link ProductsSnapshotFile}.
+ */
+class ProductsSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductsSnapshot snapshot = ProductsSnapshot.EMPTY.withChanges(
+        List.of(
+            new ProductsChangesDTO(
+                List.of(products(1L, "Chair", 40D, 5L), products(2L, "Bureau \"Ève\", ÿ", 250D, 6L), products(7L, null, 15D, 9L)),
+                List.of(),
+                12L,
+                false
+            )
+        )
+    );
+
+    @Test
+    void readsWhatWasWritten() throws IOException {
+        Path path = directory.resolve("snapshots/products.snapshot");
+
+        ProductsSnapshotFile.write(snapshot, path);
+        ProductsSnapshot read = ProductsSnapshotFile.read(path);
+
+        assertThat(read.getWatermark()).isEqualTo(12L);
+        assertThat(read.size()).isEqualTo(3);
+        for (int row = 0; row < 3; row++) {
+            assertThat(read.toProducts(row)).usingRecursiveComparison().isEqualTo(snapshot.toProducts(row));
+        }
+        assertThat(directory.resolve("snapshots/products.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void readsAnEmptySnapshot() throws IOException {
+        Path path = directory.resolve("products.snapshot");
+
+        ProductsSnapshotFile.write(ProductsSnapshot.EMPTY, path);
+
+        assertThat(ProductsSnapshotFile.read(path).size()).isZero();
+    }
+
+    @Test
+    void replacesThePreviousSnapshot() throws IOException {
+        Path path = directory.resolve("products.snapshot");
+        ProductsSnapshotFile.write(ProductsSnapshot.EMPTY, path);
+
+        ProductsSnapshotFile.write(snapshot, path);
+
+        assertThat(ProductsSnapshotFile.read(path).size()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsACorruptSnapshot() throws IOException {
+        Path path = directory.resolve("products.snapshot");
+        ProductsSnapshotFile.write(snapshot, path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(30);
+            int value = file.read();
+            file.seek(30);
+            file.write(value ^ 0xff);
+        }
+
+        assertThatThrownBy(() -> ProductsSnapshotFile.read(path)).isInstanceOf(IOException.class).hasMessageContaining("checksum");
+    }
+
+    @Test
+    void rejectsATruncatedSnapshot() throws IOException {
+        Path path = directory.resolve("products.snapshot");
+        ProductsSnapshotFile.write(snapshot, path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThatThrownBy(() -> ProductsSnapshotFile.read(path)).isInstanceOf(IOException.class);
+    }
+}
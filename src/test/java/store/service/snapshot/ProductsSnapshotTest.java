@@ -0,0 +1,90 @@
+package store.service.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import store.domain.Products;
+import store.service.catalog.ProductsColumns;
+import store.service.dto.ProductsChangesDTO;
+
+/**
+ * Unit tests for {@link ProductsSnapshot}.
+ */
+class ProductsSnapshotTest {
+
+    @Test
+    void buildsFromTheWholeTable() {
+        ProductsSnapshot snapshot = ProductsSnapshot.EMPTY.withChanges(
+            List.of(
+                new ProductsChangesDTO(List.of(products(3L, "Table", 120D, 1L)), List.of(), 1L, true),
+                new ProductsChangesDTO(List.of(products(1L, "Chair", 40D, 2L), products(2L, "Desk", 250D, 3L)), List.of(), 3L, false)
+            )
+        );
+
+        assertThat(snapshot.getWatermark()).isEqualTo(3L);
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.id(0)).isEqualTo(1L);
+        assertThat(snapshot.name(1)).isEqualTo("Desk");
+        assertThat(snapshot.price(2)).isEqualTo(120D);
+        assertThat(snapshot.changeSeq(2)).isEqualTo(1L);
+        assertThat(snapshot.toProducts(0)).usingRecursiveComparison().isEqualTo(products(1L, "Chair", 40D, 2L));
+    }
+
+    @Test
+    void appliesTheLatestChangeOfEveryProduct() {
+        ProductsSnapshot snapshot = ProductsSnapshot.EMPTY.withChanges(
+            List.of(
+                new ProductsChangesDTO(
+                    List.of(products(1L, "Chair", 40D, 1L), products(2L, "Desk", 250D, 2L), products(3L, "Table", 120D, 3L)),
+                    List.of(),
+                    3L,
+                    false
+                )
+            )
+        );
+
+        ProductsSnapshot caughtUp = snapshot.withChanges(
+            List.of(
+                new ProductsChangesDTO(List.of(products(2L, "Desk", 200D, 4L), products(4L, "Lamp", 15D, 5L)), List.of(1L), 6L, true),
+                new ProductsChangesDTO(List.of(products(2L, "Big desk", 300D, 7L)), List.of(4L), 8L, false)
+            )
+        );
+
+        assertThat(caughtUp.getWatermark()).isEqualTo(8L);
+        assertThat(caughtUp.size()).isEqualTo(2);
+        assertThat(caughtUp.toProducts(0)).usingRecursiveComparison().isEqualTo(products(2L, "Big desk", 300D, 7L));
+        assertThat(caughtUp.toProducts(1)).usingRecursiveComparison().isEqualTo(products(3L, "Table", 120D, 3L));
+        assertThat(snapshot.size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsTheRowsWhenNothingChanged() {
+        ProductsSnapshot snapshot = ProductsSnapshot.EMPTY.withChanges(
+            List.of(new ProductsChangesDTO(List.of(products(1L, "Chair", 40D, 1L)), List.of(), 1L, false))
+        );
+
+        assertThat(snapshot.withChanges(List.of(new ProductsChangesDTO(List.of(), List.of(), 1L, false)))).isSameAs(snapshot);
+        assertThat(snapshot.withChanges(List.of())).isSameAs(snapshot);
+    }
+
+    @Test
+    void convertsToColumns() {
+        ProductsSnapshot snapshot = ProductsSnapshot.EMPTY.withChanges(
+            List.of(
+                new ProductsChangesDTO(List.of(products(2L, "Desk", 250D, 1L), products(1L, "Chair", 40D, 2L)), List.of(), 2L, false)
+            )
+        );
+
+        ProductsColumns columns = snapshot.toColumns();
+
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(columns.id(0)).isEqualTo(1L);
+        assertThat(columns.name(1)).isEqualTo("Desk");
+        assertThat(columns.price(1)).isEqualTo(250D);
+    }
+
+    static Products products(Long id, String name, Double price, Long changeSeq) {
+        return new Products().id(id).articalName(name).articalPrice(price).version(changeSeq * 10).changeSeq(changeSeq);
+    }
+}
@@ -0,0 +1,136 @@
+package store.service.sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import org.hibernate.jpa.HibernatePersistenceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.ProductsQueryService;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Compares the per-request cost of preparing a {@link ProductsCriteria} query through the JPA Criteria API, as
+ * {@link ProductsQueryService} does, with binding a compiled {@link ProductsSqlTemplate}.
+ * <p>
+ * No database is involved: the Criteria path stops once Hibernate has created the query, and the template path once
+ * its parameters are bound. Run with {@code ./mvnw test-compile} and then the {@link #main} method from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsSqlBenchmark {
+
+    private static final Sort SORT = Sort.by(Sort.Order.asc("articalName"), Sort.Order.desc("id"));
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    private EntityManager entityManager;
+
+    private SpecificationFactory specificationFactory;
+
+    private ProductsSqlExecutor executor;
+
+    private ProductsCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setPersistenceProviderClass(HibernatePersistenceProvider.class);
+        entityManagerFactoryBean.setPackagesToScan("store.domain");
+        entityManagerFactoryBean.setJpaPropertyMap(
+            Map.of(
+                "hibernate.dialect",
+                "org.hibernate.dialect.MySQL8Dialect",
+                "hibernate.temp.use_jdbc_metadata_defaults",
+                "false",
+                "hibernate.cache.use_second_level_cache",
+                "false"
+            )
+        );
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        specificationFactory = new SpecificationFactory();
+        executor = new ProductsSqlExecutor(null, new ApplicationProperties());
+
+        criteria = new ProductsCriteria();
+        criteria.setId(new LongFilter());
+        criteria.id().setIn(List.of(1L, 2L, 3L, 5L, 8L));
+        criteria.setArticalName(new StringFilter());
+        criteria.articalName().setContains("chair");
+        criteria.setArticalPrice(new DoubleFilter());
+        criteria.articalPrice().setGreaterThanOrEqual(10D);
+        criteria.articalPrice().setLessThan(500D);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactoryBean.destroy();
+    }
+
+    @Benchmark
+    public Object criteriaApi() {
+        Specification<Products> specification = specificationFactory.of(criteria);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Products> query = cb.createQuery(Products.class);
+        Root<Products> root = query.from(Products.class);
+        query.select(root).where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(SORT, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    @Benchmark
+    public Object compiledTemplate() {
+        return executor.template(criteria, SORT).orElseThrow().bind(criteria);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductsSqlBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Exposes {@link ProductsQueryService#createSpecification}, none of the collaborators are used.
+     */
+    private static final class SpecificationFactory extends ProductsQueryService {
+
+        private SpecificationFactory() {
+            super(null, null, null, null, null, null, null, null, null, null, new ApplicationProperties());
+        }
+
+        private Specification<Products> of(ProductsCriteria criteria) {
+            return createSpecification(criteria);
+        }
+    }
+}
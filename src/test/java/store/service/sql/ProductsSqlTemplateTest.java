@@ -0,0 +1,92 @@
+package store.service.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import store.service.criteria.ProductsCriteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Unit tests for {@link ProductsSqlTemplate}.
+ */
+class ProductsSqlTemplateTest {
+
+    @Test
+    void compilesOperatorsWithQueryServicePrecedence() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.setArticalName(new StringFilter());
+        criteria.articalName().setContains("app");
+        criteria.articalName().setNotEquals("ignored");
+        criteria.setArticalPrice(new DoubleFilter());
+        criteria.articalPrice().setGreaterThan(1D);
+        criteria.articalPrice().setLessThanOrEqual(9D);
+
+        ProductsSqlTemplate template = ProductsSqlTemplate.compile(criteria, Sort.by(Sort.Order.desc("articalPrice")));
+
+        assertThat(template.getSelectSql())
+            .isEqualTo(
+                "select id, artical_name, artical_price from products" +
+                " where upper(artical_name) like ? and artical_price > ? and artical_price <= ? order by artical_price desc"
+            );
+        assertThat(template.getCountSql())
+            .isEqualTo("select count(*) from products where upper(artical_name) like ? and artical_price > ? and artical_price <= ?");
+        assertThat(template.bind(criteria)).containsExactly("%APP%", 1D, 9D);
+    }
+
+    @Test
+    void equalsTakesPrecedenceOverOtherRangeOperators() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        criteria.setId(new LongFilter());
+        criteria.id().setEquals(3L);
+        criteria.id().setGreaterThan(5L);
+
+        ProductsSqlTemplate template = ProductsSqlTemplate.compile(criteria, Sort.unsorted());
+
+        assertThat(template.getSelectSql()).isEqualTo("select id, artical_name, artical_price from products where id = ?");
+        assertThat(template.bind(criteria)).containsExactly(3L);
+    }
+
+    @Test
+    void listsArePaddedToAPowerOfTwo() {
+        ProductsCriteria three = new ProductsCriteria();
+        three.setId(new LongFilter());
+        three.id().setIn(List.of(1L, 2L, 3L));
+        ProductsCriteria four = new ProductsCriteria();
+        four.setId(new LongFilter());
+        four.id().setIn(List.of(4L, 5L, 6L, 7L));
+
+        ProductsSqlTemplate template = ProductsSqlTemplate.compile(three, Sort.unsorted());
+
+        assertThat(ProductsSqlTemplate.shapeOf(three, Sort.unsorted())).isEqualTo(ProductsSqlTemplate.shapeOf(four, Sort.unsorted()));
+        assertThat(template.getSelectSql()).endsWith("where id in (?, ?, ?, ?)");
+        assertThat(template.bind(three)).containsExactly(1L, 2L, 3L, 3L);
+        assertThat(template.bind(four)).containsExactly(4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void shapesDependOnOperatorsNotValues() {
+        ProductsCriteria cheap = new ProductsCriteria();
+        cheap.setArticalPrice(new DoubleFilter());
+        cheap.articalPrice().setLessThan(10D);
+        ProductsCriteria expensive = new ProductsCriteria();
+        expensive.setArticalPrice(new DoubleFilter());
+        expensive.articalPrice().setGreaterThan(10D);
+        Sort sort = Sort.by("articalName");
+
+        assertThat(ProductsSqlTemplate.shapeOf(cheap, sort)).isNotEqualTo(ProductsSqlTemplate.shapeOf(expensive, sort));
+        cheap.articalPrice().setLessThan(20D);
+        expensive.articalPrice().setLessThan(10D);
+        expensive.articalPrice().setGreaterThan(null);
+        assertThat(ProductsSqlTemplate.shapeOf(cheap, sort)).isEqualTo(ProductsSqlTemplate.shapeOf(expensive, sort));
+    }
+
+    @Test
+    void unknownSortPropertiesAreNotCompiled() {
+        assertThat(ProductsSqlTemplate.shapeOf(new ProductsCriteria(), Sort.by("unknown"))).isNull();
+        assertThat(ProductsSqlTemplate.shapeOf(new ProductsCriteria(), Sort.by(Sort.Order.by("id").ignoreCase()))).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package store.service.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import store.domain.Products;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.dto.ProductsChangeDTO;
+
+/**
+ * Unit tests for {@link ProductsChangeStream}.
+ */
+class ProductsChangeStreamTest {
+
+    private ProductsChangeStream stream;
+
+    private List<List<ProductsChangeDTO>> received;
+
+    @BeforeEach
+    public void setup() {
+        stream = new ProductsChangeStream(Runnable::run);
+        received = new ArrayList<>();
+    }
+
+    @Test
+    void coalescesTheChangesOfATickPerProduct() {
+        stream.subscribe(ProductsChangeFilter.ALL, received::add);
+
+        for (int price = 1; price <= 100; price++) {
+            stream.onProductsChanged(ProductsChangedEvent.updated(products(1L, price)));
+        }
+        stream.onProductsChanged(ProductsChangedEvent.created(products(2L, 7)));
+        stream.tick();
+        stream.tick();
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0)).extracting(ProductsChangeDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(received.get(0))
+            .filteredOn(change -> change.getId() == 1L)
+            .extracting(ProductsChangeDTO::getArticalPrice)
+            .containsExactly(100D);
+    }
+
+    @Test
+    void filtersByIdsAndPriceBand() {
+        List<List<ProductsChangeDTO>> byIds = new ArrayList<>();
+        stream.subscribe(ProductsChangeFilter.of(Set.of(1L, 3L), null, null), byIds::add);
+        stream.subscribe(ProductsChangeFilter.of(null, 10D, 20D), received::add);
+
+        stream.onProductsChanged(ProductsChangedEvent.updated(products(1L, 5)));
+        stream.onProductsChanged(ProductsChangedEvent.updated(products(2L, 15)));
+        stream.onProductsChanged(ProductsChangedEvent.updated(products(3L, 20)));
+        stream.onProductsChanged(ProductsChangedEvent.deleted(4L));
+        stream.tick();
+
+        assertThat(ids(byIds)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(received)).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThatThrownBy(() -> ProductsChangeFilter.of(null, 20D, 10D)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void stopsDeliveringToCancelledAndFailingSubscriptions() {
+        ProductsChangeStream.Subscription cancelled = stream.subscribe(ProductsChangeFilter.ALL, received::add);
+        ProductsChangeStream.Subscription failing = stream.subscribe(
+            ProductsChangeFilter.ALL,
+            changes -> {
+                throw new IllegalStateException("Client gone");
+            }
+        );
+        cancelled.cancel();
+
+        stream.onProductsChanged(ProductsChangedEvent.deleted(1L));
+        stream.tick();
+
+        assertThat(received).isEmpty();
+        assertThat(failing.isCancelled()).isTrue();
+        assertThat(stream.getSubscriptionCount()).isZero();
+    }
+
+    private static Products products(Long id, double price) {
+        return new Products().id(id).articalName("Product " + id).articalPrice(price);
+    }
+
+    private static Set<Long> ids(List<List<ProductsChangeDTO>> batches) {
+        return batches.stream().flatMap(List::stream).map(ProductsChangeDTO::getId).collect(Collectors.toSet());
+    }
+}
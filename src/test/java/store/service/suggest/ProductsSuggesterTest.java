@@ -0,0 +1,87 @@
+package store.service.suggest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.dto.ProductsSuggestionDTO;
+
+/**
+ * Unit tests for {@link ProductsSuggester}.
+ */
+class ProductsSuggesterTest {
+
+    private ProductsSuggester suggester;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ProductsRepository productsRepository = mock(ProductsRepository.class);
+        when(productsRepository.findSlice(any(Specification.class), any(Pageable.class)))
+            .thenReturn(
+                new SliceImpl<>(
+                    List.of(
+                        new Products().id(1L).articalName("Wooden chair").articalPrice(40D),
+                        new Products().id(2L).articalName("Chairman's desk").articalPrice(250D),
+                        new Products().id(3L).articalName("Café table").articalPrice(120D)
+                    )
+                )
+            );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSuggest().setEnabled(true);
+        suggester = new ProductsSuggester(applicationProperties, productsRepository);
+    }
+
+    @Test
+    void isNotAvailableBeforeTheFirstBuild() {
+        assertThat(suggester.isAvailable()).isFalse();
+        assertThat(suggester.suggest("chair", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestsEveryWordOfTheNames() {
+        suggester.rebuild();
+
+        assertThat(ids(suggester.suggest("Chai", 10).orElseThrow())).containsExactly(2L, 1L);
+        assertThat(ids(suggester.suggest("wooden ch", 10).orElseThrow())).containsExactly(1L);
+        assertThat(ids(suggester.suggest("DESK", 10).orElseThrow())).containsExactly(2L);
+        assertThat(ids(suggester.suggest("cafe", 10).orElseThrow())).containsExactly(3L);
+        assertThat(ids(suggester.suggest("chair", 1).orElseThrow())).containsExactly(2L);
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        suggester.rebuild();
+
+        suggester.onProductsChanged(ProductsChangedEvent.updated(new Products().id(1L).articalName("Oak stool").articalPrice(40D)));
+        suggester.onProductsChanged(ProductsChangedEvent.deleted(2L));
+        suggester.onProductsChanged(ProductsChangedEvent.created(new Products().id(4L).articalName("Chair").articalPrice(10D)));
+
+        assertThat(ids(suggester.suggest("chair", 10).orElseThrow())).containsExactly(4L);
+        assertThat(ids(suggester.suggest("stool", 10).orElseThrow())).containsExactly(1L);
+        assertThat(suggester.suggest("desk", 10).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void normalizesKeys() {
+        assertThat(ProductsSuggester.normalize("  Crème   Brûlée!")).isEqualTo("creme brulee");
+        assertThat(ProductsSuggester.keys("Chairman's desk")).containsExactly("chairman s desk", "s desk", "desk");
+        assertThat(ProductsSuggester.keys("--")).isEmpty();
+    }
+
+    private static List<Long> ids(List<ProductsSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductsSuggestionDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,109 @@
+package store.service.suggest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import store.service.suggest.SuggestionTrie.Suggestion;
+
+/**
+ * Measures the latency distribution of {@link SuggestionTrie} lookups over a catalog of three word names, against a
+ * scan of the names which is what a {@code contains} query does.
+ * <p>
+ * Run with {@code ./mvnw test-compile} and then the {@link #main} method from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsSuggestionBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param({ "100000" })
+    public int products;
+
+    private SuggestionTrie trie;
+
+    private List<Suggestion> suggestions;
+
+    private String[] prefixes;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        String[] words = new String[2000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = randomWord(random);
+        }
+        trie = SuggestionTrie.empty(SuggestionRanking.HIGHEST_PRICE.comparator(), TOP_K);
+        suggestions = new ArrayList<>(products);
+        for (int id = 0; id < products; id++) {
+            String name = String.join(
+                " ",
+                words[random.nextInt(words.length)],
+                words[random.nextInt(words.length)],
+                words[random.nextInt(words.length)]
+            );
+            Suggestion suggestion = new Suggestion(id, name, random.nextInt(100_000));
+            suggestions.add(suggestion);
+            for (String key : ProductsSuggester.keys(name)) {
+                trie = trie.with(key, suggestion);
+            }
+        }
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> trie() {
+        return trie.lookup(prefixes[next++ & (prefixes.length - 1)], TOP_K);
+    }
+
+    @Benchmark
+    public List<Suggestion> scan() {
+        String prefix = prefixes[next++ & (prefixes.length - 1)];
+        return suggestions
+            .stream()
+            .filter(suggestion -> suggestion.getName().contains(prefix))
+            .sorted(SuggestionRanking.HIGHEST_PRICE.comparator())
+            .limit(TOP_K)
+            .collect(Collectors.toList());
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductsSuggestionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
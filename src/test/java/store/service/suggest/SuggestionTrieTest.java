@@ -0,0 +1,139 @@
+package store.service.suggest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import store.service.suggest.SuggestionTrie.Suggestion;
+
+/**
+ * Unit tests for {@link SuggestionTrie}.
+ */
+class SuggestionTrieTest {
+
+    private static final int TOP_K = 3;
+
+    private final SuggestionTrie empty = SuggestionTrie.empty(SuggestionRanking.HIGHEST_PRICE.comparator(), TOP_K);
+
+    @Test
+    void returnsTheBestSuggestionsOfThePrefix() {
+        SuggestionTrie trie = empty
+            .with("chair", new Suggestion(1, "Chair", 40))
+            .with("chairman", new Suggestion(2, "Chairman", 250))
+            .with("cheese", new Suggestion(3, "Cheese", 5))
+            .with("lamp", new Suggestion(4, "Lamp", 15));
+
+        assertThat(ids(trie.lookup("ch", 10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(trie.lookup("chai", 10))).containsExactly(2L, 1L);
+        assertThat(ids(trie.lookup("chairm", 10))).containsExactly(2L);
+        assertThat(ids(trie.lookup("chairs", 10))).isEmpty();
+        assertThat(ids(trie.lookup("x", 10))).isEmpty();
+        assertThat(ids(trie.lookup("", 10))).containsExactly(2L, 1L, 4L);
+        assertThat(ids(trie.lookup("ch", 1))).containsExactly(2L);
+    }
+
+    @Test
+    void collapsesChainsOfSingleChildren() {
+        SuggestionTrie trie = empty.with("chair", new Suggestion(1, "Chair", 40));
+        assertThat(trie.nodes()).isEqualTo(2);
+
+        trie = trie.with("chairman", new Suggestion(2, "Chairman", 250)).with("cheese", new Suggestion(3, "Cheese", 5));
+        // root, "ch", "air", "man", "eese"
+        assertThat(trie.nodes()).isEqualTo(5);
+
+        trie = trie.without("chairman", 2).without("cheese", 3);
+        assertThat(trie.nodes()).isEqualTo(2);
+        assertThat(ids(trie.lookup("c", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void keepsPublishedTreesUnchanged() {
+        SuggestionTrie before = empty.with("chair", new Suggestion(1, "Chair", 40));
+
+        SuggestionTrie after = before.with("chairman", new Suggestion(2, "Chairman", 250)).without("chair", 1);
+
+        assertThat(ids(before.lookup("chair", 10))).containsExactly(1L);
+        assertThat(ids(after.lookup("chair", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void returnsDistinctSuggestionsAddedUnderSeveralKeys() {
+        Suggestion desk = new Suggestion(1, "Chairman desk", 250);
+        SuggestionTrie trie = empty.with("chairman desk", desk).with("desk", desk).with("deck", new Suggestion(2, "Deck", 10));
+
+        assertThat(ids(trie.lookup("", 10))).containsExactly(1L, 2L);
+
+        trie = trie.without("desk", 1);
+        assertThat(ids(trie.lookup("", 10))).containsExactly(1L, 2L);
+        assertThat(ids(trie.lookup("de", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void ignoresUnknownRemovals() {
+        SuggestionTrie trie = empty.with("chair", new Suggestion(1, "Chair", 40));
+
+        assertThat(trie.without("chai", 1)).isSameAs(trie);
+        assertThat(trie.without("chair", 2)).isSameAs(trie);
+        assertThat(trie.without("lamp", 1)).isSameAs(trie);
+    }
+
+    @Test
+    void rejectsEmptyKeys() {
+        assertThatThrownBy(() -> empty.with("", new Suggestion(1, "", 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchesABruteForceSearchUnderRandomUpdates() {
+        Random random = new Random(42);
+        Map<String, List<Suggestion>> entries = new HashMap<>();
+        SuggestionTrie trie = empty;
+        for (int step = 0; step < 5000; step++) {
+            String key = randomKey(random);
+            List<Suggestion> atKey = entries.computeIfAbsent(key, k -> new ArrayList<>());
+            if (!atKey.isEmpty() && random.nextInt(3) == 0) {
+                Suggestion removed = atKey.remove(random.nextInt(atKey.size()));
+                trie = trie.without(key, removed.getId());
+            } else {
+                Suggestion added = new Suggestion(step, key, random.nextInt(100));
+                atKey.add(added);
+                trie = trie.with(key, added);
+            }
+            if (step % 50 == 0) {
+                for (String prefix : List.of("", "a", "ab", "ba", "abc", "cab", "aaaa")) {
+                    assertThat(ids(trie.lookup(prefix, TOP_K))).as("prefix %s", prefix).isEqualTo(bruteForce(entries, prefix));
+                }
+            }
+        }
+    }
+
+    private List<Long> bruteForce(Map<String, List<Suggestion>> entries, String prefix) {
+        return entries
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().startsWith(prefix))
+            .flatMap(entry -> entry.getValue().stream())
+            .sorted(SuggestionRanking.HIGHEST_PRICE.comparator())
+            .limit(TOP_K)
+            .map(Suggestion::getId)
+            .collect(Collectors.toList());
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getId).collect(Collectors.toList());
+    }
+}
@@ -1,10 +1,22 @@
 package store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -12,15 +24,23 @@ import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import store.IntegrationTest;
 import store.domain.Products;
 import store.repository.ProductsRepository;
+import store.service.catalog.ProductsChangedEvent;
+import store.service.catalog.ProductsEpoch;
 import store.service.criteria.ProductsCriteria;
+import store.web.rest.converter.ProductsJsonHttpMessageConverter;
+import store.web.rest.converter.ProductsProtobufHttpMessageConverter;
 
 /**
  * Integration tests for the {@link ProductsResource} REST controller.
@@ -46,12 +66,21 @@ class ProductsResourceIT {
     @Autowired
     private ProductsRepository productsRepository;
 
+    @Autowired
+    private ProductsEpoch productsEpoch;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
     @Autowired
     private MockMvc restProductsMockMvc;
 
+    @Autowired
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
     private Products products;
 
     /**
@@ -166,6 +195,259 @@ class ProductsResourceIT {
             .andExpect(jsonPath("$.[*].articalPrice").value(hasItem(DEFAULT_ARTICAL_PRICE.doubleValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllProductsAsProtobuf() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        // Get the products matching the id as a ProductsList message
+        byte[] body = restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + products.getId()).accept(ProductsProtobufHttpMessageConverter.PROTOBUF))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ProductsProtobufHttpMessageConverter.PROTOBUF))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        List<Products> read = ProductsProtobufHttpMessageConverter.readList(new ByteArrayInputStream(body));
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().containsExactly(products);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsAsSmileAndCbor() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        for (String mediaType : List.of("application/x-jackson-smile", "application/cbor")) {
+            restProductsMockMvc
+                .perform(get(ENTITY_API_URL + "?id.equals=" + products.getId()).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andExpect(header().string("X-Total-Count", "1"));
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithCursor() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+        String filter = "id.in=" + products.getId() + "," + other.getId();
+
+        // Get the first page, sorted by name
+        String link = restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&sort=articalName,asc&cursor=&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].articalName").value(contains(DEFAULT_ARTICAL_NAME)))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        assertThat(link).endsWith("rel=\"next\"");
+
+        // Follow the next link
+        String next = link.substring(link.indexOf("/api/"), link.indexOf('>'));
+        restProductsMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].articalName").value(contains(UPDATED_ARTICAL_NAME)));
+
+        // A cursor is only valid for the sort it was produced for
+        restProductsMockMvc
+            .perform(get(next.replace("articalName,asc", "articalPrice,asc")))
+            .andExpect(status().isBadRequest());
+
+        // A cursor holding a value of the wrong type is rejected before querying
+        String invalid = Base64.getUrlEncoder().encodeToString("id\u001fnot a number".getBytes(StandardCharsets.UTF_8));
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&cursor=" + invalid))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.cursorinvalid"));
+
+        // Keyset pagination is only supported on the indexed properties
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=version,asc&cursor="))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.sortinvalid"));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsAsSlice() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+        String filter = "id.in=" + products.getId() + "," + other.getId();
+
+        // Get the first slice, without counting the products
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,asc&slice=true&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(products.getId().intValue())));
+
+        // Get the last slice
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?page=1&size=1&sort=id,asc&slice=true&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsFields() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        // Get only the ids and prices of the products
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=articalPrice,id"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(products.getId().intValue())))
+            .andExpect(jsonPath("$.[*].articalPrice").value(hasItem(DEFAULT_ARTICAL_PRICE.doubleValue())))
+            .andExpect(jsonPath("$.[*].articalName").doesNotExist());
+
+        // Unknown fields are rejected
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "?fields=id,unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchProducts() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+        String criteria = "{\"id\":{\"in\":[" + products.getId() + "," + other.getId() + "]}}";
+
+        // Search the first page, with the total and the price facets in the same response
+        restProductsMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_search?page=0&size=1&sort=id,asc&priceBuckets=" + UPDATED_ARTICAL_PRICE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(criteria)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.[*].id").value(contains(products.getId().intValue())))
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.priceBuckets.[*].count").value(contains(1, 1)))
+            .andExpect(jsonPath("$.priceBuckets.[1].from").value(UPDATED_ARTICAL_PRICE));
+
+        // Price buckets must be strictly increasing
+        restProductsMockMvc
+            .perform(post(ENTITY_API_URL + "/_search?priceBuckets=2,1").contentType(MediaType.APPLICATION_JSON).content(criteria))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchProductsByText() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        // Without the full-text index, names containing the text are returned
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=" + DEFAULT_ARTICAL_NAME.toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(contains(products.getId().intValue())));
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q=" + UPDATED_ARTICAL_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // The text must not be blank
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/_search?q= ")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void suggestProducts() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Without the in-memory suggestions, names containing the prefix are read from the database
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/_suggest?prefix=" + DEFAULT_ARTICAL_NAME.substring(0, 3)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(products.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].articalName").value(hasItem(DEFAULT_ARTICAL_NAME)));
+
+        // The limit cannot exceed the number of suggestions kept per prefix
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/_suggest?prefix=A&limit=0")).andExpect(status().isBadRequest());
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/_suggest?prefix=A&limit=1000")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getProductsPricePercentiles() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        productsRepository.saveAndFlush(createUpdatedEntity(em));
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/price-percentiles?p=0,100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].percentile").value(contains(0.0, 100.0)))
+            .andExpect(jsonPath("$.[0].price").isNumber());
+
+        // Percentiles must be between 0 and 100
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/price-percentiles?p=101")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getProductsPriceStatistics() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+        String ids = "id.in=" + products.getId() + "," + other.getId();
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?" + ids + "&priceBuckets=" + UPDATED_ARTICAL_PRICE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(2))
+            .andExpect(jsonPath("$.sum").value(DEFAULT_ARTICAL_PRICE + UPDATED_ARTICAL_PRICE))
+            .andExpect(jsonPath("$.min").value(DEFAULT_ARTICAL_PRICE))
+            .andExpect(jsonPath("$.max").value(UPDATED_ARTICAL_PRICE))
+            .andExpect(jsonPath("$.variance").value(0.25))
+            .andExpect(jsonPath("$.histogram.[*].count").value(contains(1, 1)));
+
+        // No matching products have no extremes
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?id.equals=" + Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(0))
+            .andExpect(jsonPath("$.min").doesNotExist());
+
+        // Price buckets must be strictly increasing
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/stats?priceBuckets=2,1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getPopularProducts() throws Exception {
+        // Views are not recorded unless enabled
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/popular?window=15m"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // The window must be a duration no longer than the tracked slots
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/popular?window=soon")).andExpect(status().isBadRequest());
+        restProductsMockMvc.perform(get(ENTITY_API_URL + "/popular?window=P365D")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getProducts() throws Exception {
@@ -182,6 +464,224 @@ class ProductsResourceIT {
             .andExpect(jsonPath("$.articalPrice").value(DEFAULT_ARTICAL_PRICE.doubleValue()));
     }
 
+    @Test
+    @Transactional
+    void getProductsWithETag() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        String eTag = restProductsMockMvc
+            .perform(get(ENTITY_API_URL_ID, products.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + products.getVersion() + "-json\""))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL_ID, products.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+            .andExpect(content().string(""));
+
+        // Another representation has its own validator
+        restProductsMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID, products.getId())
+                    .accept(ProductsProtobufHttpMessageConverter.PROTOBUF)
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ProductsProtobufHttpMessageConverter.PROTOBUF))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + products.getVersion() + "-x-protobuf\""));
+
+        // Update the products
+        products.setArticalPrice(UPDATED_ARTICAL_PRICE);
+        productsRepository.saveAndFlush(products);
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL_ID, products.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.ETAG, "\"" + products.getVersion() + "-json\""))
+            .andExpect(jsonPath("$.articalPrice").value(UPDATED_ARTICAL_PRICE.doubleValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsWithETag() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        String eTag = restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=id").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Committed writes move the epoch, which the rolled back test transaction does not
+        productsEpoch.onProductsChanged(ProductsChangedEvent.updated(products));
+
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(products.getId().intValue())));
+    }
+
+    @Test
+    void getProductsChanges() throws Exception {
+        // Initialize the database, committed since changes are only listed once their transaction has ended
+        productsRepository.saveAndFlush(products);
+        Long changeSeq = products.getChangeSeq();
+        assertThat(changeSeq).isNotNull();
+        try {
+            restProductsMockMvc
+                .perform(get(ENTITY_API_URL + "/changes?since=" + (changeSeq - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[*].id").value(contains(products.getId().intValue())))
+                .andExpect(jsonPath("$.deletedIds").isEmpty())
+                .andExpect(jsonPath("$.watermark").value(changeSeq))
+                .andExpect(jsonPath("$.more").value(false));
+
+            // Delete the products, leaving a tombstone
+            productsRepository.deleteById(products.getId());
+
+            restProductsMockMvc
+                .perform(get(ENTITY_API_URL + "/changes?since=" + (changeSeq - 1) + "&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.deletedIds").value(contains(products.getId().intValue())))
+                .andExpect(jsonPath("$.watermark").value(greaterThan(changeSeq.intValue())))
+                .andExpect(jsonPath("$.more").value(false));
+
+            restProductsMockMvc.perform(get(ENTITY_API_URL + "/changes?limit=0")).andExpect(status().isBadRequest());
+            restProductsMockMvc.perform(get(ENTITY_API_URL + "/changes?since=-1")).andExpect(status().isBadRequest());
+        } finally {
+            if (productsRepository.existsById(products.getId())) {
+                productsRepository.deleteById(products.getId());
+            }
+        }
+    }
+
+    @Test
+    void getProductsChangesStopsBelowPendingWrites() throws Exception {
+        // A write which took its number but is still running, on a connection outside of the application pool
+        long pendingSeq;
+        Products committed = null;
+        try (
+            Connection pending = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+            )
+        ) {
+            pending.setAutoCommit(false);
+            try (Statement statement = pending.createStatement()) {
+                statement.executeUpdate("update products_change_sequence set last_seq = last_insert_id(last_seq + 1) where id = 1");
+                try (ResultSet resultSet = statement.executeQuery("select last_insert_id()")) {
+                    resultSet.next();
+                    pendingSeq = resultSet.getLong(1);
+                }
+                statement.executeUpdate(
+                    "insert into products_change_pending (seq, allocated_at) values (" + pendingSeq + ", " + System.currentTimeMillis() + ")"
+                );
+                pending.commit();
+                statement.executeUpdate(
+                    "insert into products (artical_name, artical_price, version, change_seq) values ('CCCCCCCCCC', 1, 0, " + pendingSeq + ")"
+                );
+            }
+            try {
+                // A later write commits first
+                committed = productsRepository.saveAndFlush(createEntity(em).articalName(UPDATED_ARTICAL_NAME));
+                assertThat(committed.getChangeSeq()).isGreaterThan(pendingSeq);
+
+                restProductsMockMvc
+                    .perform(get(ENTITY_API_URL + "/changes?since=" + (pendingSeq - 1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isEmpty())
+                    .andExpect(jsonPath("$.watermark").value(pendingSeq - 1));
+
+                // The running write ends without its product
+                pending.rollback();
+                try (Statement statement = pending.createStatement()) {
+                    statement.executeUpdate("delete from products_change_pending where seq = " + pendingSeq);
+                }
+                pending.commit();
+
+                restProductsMockMvc
+                    .perform(get(ENTITY_API_URL + "/changes?since=" + (pendingSeq - 1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.[*].id").value(contains(committed.getId().intValue())))
+                    .andExpect(jsonPath("$.watermark").value(committed.getChangeSeq()));
+            } finally {
+                pending.rollback();
+                try (Statement statement = pending.createStatement()) {
+                    statement.executeUpdate("delete from products_change_pending where seq = " + pendingSeq);
+                }
+                pending.commit();
+                if (committed != null) {
+                    productsRepository.deleteById(committed.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void exportProducts() throws Exception {
+        // Initialize the database, committed since the export reads on its own connection
+        productsRepository.saveAndFlush(products);
+        try {
+            MvcResult ndjson = restProductsMockMvc
+                .perform(get(ENTITY_API_URL + "/export?id.equals=" + products.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restProductsMockMvc
+                .perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("products.ndjson")))
+                .andExpect(content().string(startsWith("{\"id\":" + products.getId() + ",")))
+                .andExpect(content().string(containsString("\"articalName\":\"" + DEFAULT_ARTICAL_NAME + "\"")));
+
+            MvcResult csv = restProductsMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=csv&id.equals=" + products.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restProductsMockMvc
+                .perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(
+                    content()
+                        .string(
+                            "id,articalName,articalPrice\r\n" +
+                            products.getId() +
+                            "," +
+                            DEFAULT_ARTICAL_NAME +
+                            "," +
+                            DEFAULT_ARTICAL_PRICE +
+                            "\r\n"
+                        )
+                );
+
+            restProductsMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+        } finally {
+            productsRepository.deleteById(products.getId());
+        }
+    }
+
     @Test
     @Transactional
     void getProductsByIdFiltering() throws Exception {
@@ -356,6 +856,29 @@ class ProductsResourceIT {
         defaultProductsShouldBeFound("articalPrice.greaterThan=" + SMALLER_ARTICAL_PRICE);
     }
 
+    @Test
+    @Transactional
+    void getAllProductsByOrAndNotGroups() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+
+        // Get all the productsList where articalName is UPDATED_ARTICAL_NAME or articalPrice is DEFAULT_ARTICAL_PRICE
+        defaultProductsShouldBeFound(
+            "or[0].articalName.equals=" + UPDATED_ARTICAL_NAME + "&or[1].articalPrice.equals=" + DEFAULT_ARTICAL_PRICE
+        );
+
+        // Get all the productsList where articalName is UPDATED_ARTICAL_NAME or articalPrice is UPDATED_ARTICAL_PRICE
+        defaultProductsShouldNotBeFound(
+            "or[0].articalName.equals=" + UPDATED_ARTICAL_NAME + "&or[1].articalPrice.equals=" + UPDATED_ARTICAL_PRICE
+        );
+
+        // Get all the productsList where articalName is not DEFAULT_ARTICAL_NAME
+        defaultProductsShouldNotBeFound("not.articalName.equals=" + DEFAULT_ARTICAL_NAME);
+
+        // Get all the productsList where id is not greater than the id, and articalPrice is not UPDATED_ARTICAL_PRICE
+        defaultProductsShouldBeFound("not.id.greaterThan=" + products.getId() + "&not.articalPrice.equals=" + UPDATED_ARTICAL_PRICE);
+    }
+
     /**
      * Executes the search, and checks that the default entity is returned.
      */
@@ -395,6 +918,47 @@ class ProductsResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    void multiGetProducts() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        Products other = productsRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Get the products in the requested order, reporting the missing id
+        restProductsMockMvc
+            .perform(get(ENTITY_API_URL + "/_mget?ids=" + other.getId() + "," + Long.MAX_VALUE + "," + products.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.[*].id").value(contains(other.getId().intValue(), products.getId().intValue())))
+            .andExpect(jsonPath("$.missingIds").value(contains(Long.MAX_VALUE)));
+
+        // Same with the ids in the body
+        restProductsMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_mget")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + products.getId() + "," + other.getId() + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.[*].id").value(contains(products.getId().intValue(), other.getId().intValue())))
+            .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void multiGetProductsReadsTheIdsWithJackson() throws Exception {
+        // The cached JSON converter comes first, and must leave the List<Long> body to Jackson
+        assertThat(requestMappingHandlerAdapter.getMessageConverters()).hasAtLeastOneElementOfType(ProductsJsonHttpMessageConverter.class);
+        productsRepository.saveAndFlush(products);
+
+        restProductsMockMvc
+            .perform(post(ENTITY_API_URL + "/_mget").contentType(MediaType.APPLICATION_JSON).content("[" + products.getId() + "]"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.content.[*].id").value(contains(products.getId().intValue())))
+            .andExpect(jsonPath("$.content.[0].articalName").value(DEFAULT_ARTICAL_NAME));
+    }
+
     @Test
     @Transactional
     void getNonExistingProducts() throws Exception {
@@ -432,6 +996,54 @@ class ProductsResourceIT {
         assertThat(testProducts.getArticalPrice()).isEqualTo(UPDATED_ARTICAL_PRICE);
     }
 
+    @Test
+    @Transactional
+    void putProductsWithIfMatch() throws Exception {
+        // Initialize the database
+        productsRepository.saveAndFlush(products);
+        String eTag = "\"" + products.getVersion() + "-json\"";
+
+        // Update the products
+        Products updatedProducts = productsRepository.findById(products.getId()).get();
+        em.detach(updatedProducts);
+        updatedProducts.articalName(UPDATED_ARTICAL_NAME).articalPrice(UPDATED_ARTICAL_PRICE);
+
+        restProductsMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedProducts.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedProducts))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        // The validator is now stale, so a second update is refused
+        updatedProducts.articalName(DEFAULT_ARTICAL_NAME);
+        restProductsMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedProducts.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedProducts))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restProductsMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedProducts.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"" + products.getVersion() + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedProducts))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Products in the database
+        Products testProducts = productsRepository.findById(products.getId()).get();
+        assertThat(testProducts.getArticalName()).isEqualTo(UPDATED_ARTICAL_NAME);
+        assertThat(testProducts.getVersion()).isGreaterThan(Long.parseLong(eTag.substring(1, eTag.indexOf('-'))));
+    }
+
     @Test
     @Transactional
     void putNonExistingProducts() throws Exception {
@@ -1,6 +1,7 @@
 package store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -258,6 +260,40 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void getAllUsersWithCursor() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+        User other = createEntity(em);
+        other.setLogin(UPDATED_LOGIN);
+        userRepository.saveAndFlush(other);
+
+        // Get the first page, sorted by login
+        String link = restUserMockMvc
+            .perform(get("/api/admin/users?size=1&sort=login,asc&cursor=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].login").value(contains(UPDATED_LOGIN)))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        assertThat(link).endsWith("rel=\"next\"");
+
+        // Follow the next link
+        String next = link.substring(link.indexOf("/api/"), link.indexOf('>'));
+        restUserMockMvc
+            .perform(get(next).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].login").value(contains(DEFAULT_LOGIN)));
+
+        // A cursor is only valid for the sort it was produced for
+        restUserMockMvc
+            .perform(get(next.replace("login,asc", "email,asc")).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
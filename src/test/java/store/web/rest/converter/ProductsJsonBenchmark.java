@@ -0,0 +1,90 @@
+package store.web.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+
+/**
+ * Compares writing a page of {@link Products} with the Jackson message converter and with the fragments of the
+ * {@link ProductsJsonCache}, once they are cached.
+ * <p>
+ * Run with {@code ./mvnw test-compile} and then the {@link #main} method from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsJsonBenchmark {
+
+    private static final Type PRODUCTS_LIST = new ParameterizedTypeReference<List<Products>>() {}.getType();
+
+    private static final String[] WORDS = { "Licensed", "Granite", "Chair", "Handcrafted", "Steel", "Table", "Rustic", "Towels" };
+
+    @Param({ "jackson", "cached" })
+    private String converter;
+
+    @Param({ "20", "1000" })
+    private int rows;
+
+    private List<Products> page;
+
+    private GenericHttpMessageConverter<Object> messageConverter;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        page = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            page.add(new Products().id(id).articalName(name).articalPrice(random.nextInt(10_000_000) / 100d));
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule(), new Hibernate5Module()).build();
+        if ("cached".equals(converter)) {
+            messageConverter = new ProductsJsonHttpMessageConverter(new ProductsJsonCache(objectMapper, new ApplicationProperties()));
+        } else {
+            messageConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        }
+        write();
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage write() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        messageConverter.write(page, PRODUCTS_LIST, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductsJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package store.web.rest.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+import store.service.catalog.ProductsChangedEvent;
+
+/**
+ * Unit tests for {@link ProductsJsonCache}.
+ */
+class ProductsJsonCacheTest {
+
+    private ObjectMapper objectMapper;
+
+    private ApplicationProperties applicationProperties;
+
+    private ProductsJsonCache productsJsonCache;
+
+    @BeforeEach
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getJsonCache().setMaxEntries(2);
+        productsJsonCache = new ProductsJsonCache(objectMapper, applicationProperties);
+    }
+
+    @Test
+    void reusesTheFragmentWhileTheValuesAreUnchanged() throws Exception {
+        Products products = new Products().id(1L).articalName("Chair").articalPrice(40D);
+
+        byte[] first = productsJsonCache.toJson(products);
+        byte[] second = productsJsonCache.toJson(new Products().id(1L).articalName("Chair").articalPrice(40D));
+
+        assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(products));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void serializesChangedValuesAgain() throws Exception {
+        productsJsonCache.toJson(new Products().id(1L).articalName("Chair").articalPrice(40D));
+        Products updated = new Products().id(1L).articalName("Chair").articalPrice(45D);
+
+        assertThat(productsJsonCache.toJson(updated)).isEqualTo(objectMapper.writeValueAsBytes(updated));
+        assertThat(productsJsonCache.toJson(updated)).isSameAs(productsJsonCache.toJson(updated));
+        assertThat(productsJsonCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsChangedProductsAndKeepsAtMostMaxEntries() throws Exception {
+        for (long id = 1; id <= 3; id++) {
+            productsJsonCache.toJson(new Products().id(id).articalName("Product " + id).articalPrice(10D));
+        }
+        assertThat(productsJsonCache.size()).isEqualTo(2);
+
+        productsJsonCache.onProductsChanged(ProductsChangedEvent.deleted(1L));
+
+        assertThat(productsJsonCache.size()).isEqualTo(1);
+        assertThat(productsJsonCache.toJson(new Products().articalName("New").articalPrice(1D))).isNotEmpty();
+        assertThat(productsJsonCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void isDisabledForIndentedOutput() {
+        assertThat(productsJsonCache.isEnabled()).isTrue();
+
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        assertThat(productsJsonCache.isEnabled()).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package store.web.rest.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import store.config.ApplicationProperties;
+import store.domain.Products;
+
+/**
+ * Unit tests for {@link ProductsJsonHttpMessageConverter}, checked against the Jackson message converter.
+ */
+class ProductsJsonHttpMessageConverterTest {
+
+    private static final Type PRODUCTS_LIST = new ParameterizedTypeReference<List<Products>>() {}.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder
+        .json()
+        .modules(new JavaTimeModule(), new Hibernate5Module())
+        .build();
+
+    private final ProductsJsonHttpMessageConverter converter = new ProductsJsonHttpMessageConverter(
+        new ProductsJsonCache(objectMapper, new ApplicationProperties())
+    );
+
+    private final MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    @Test
+    void writesTheSameBytesAsJackson() throws Exception {
+        Products products = new Products().id(1L).articalName("Chaise \"longue\" été 🪑").articalPrice(1e-7);
+        List<Products> page = Arrays.asList(products, new Products().id(2L).articalName("Desk"), null, products);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(write(converter, products, Products.class)).isEqualTo(write(jackson, products, Products.class));
+            assertThat(write(converter, page, PRODUCTS_LIST)).isEqualTo(write(jackson, page, PRODUCTS_LIST));
+            assertThat(write(converter, List.of(), PRODUCTS_LIST)).isEqualTo(write(jackson, List.of(), PRODUCTS_LIST));
+        }
+    }
+
+    @Test
+    void onlyWritesProductsInUtf8Json() {
+        Type maps = new ParameterizedTypeReference<List<Map<String, Object>>>() {}.getType();
+
+        assertThat(converter.canWrite(PRODUCTS_LIST, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(Products.class, Products.class, null)).isTrue();
+        assertThat(converter.canWrite(maps, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(Products.class, Products.class, new MediaType("application", "json", StandardCharsets.UTF_16)))
+            .isFalse();
+        assertThat(converter.canWrite(Products.class, Products.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canRead(Products.class, null, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(PRODUCTS_LIST, null, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(new ParameterizedTypeReference<List<Long>>() {}.getType(), null, MediaType.APPLICATION_JSON))
+            .isFalse();
+    }
+
+    private static byte[] write(GenericHttpMessageConverter<Object> converter, Object body, Type type) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, type, MediaType.APPLICATION_JSON, output);
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        return output.getBodyAsBytes();
+    }
+}
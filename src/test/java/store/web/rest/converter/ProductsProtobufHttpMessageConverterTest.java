@@ -0,0 +1,79 @@
+package store.web.rest.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import store.domain.Products;
+
+/**
+ * Unit tests for {@link ProductsProtobufHttpMessageConverter}.
+ */
+class ProductsProtobufHttpMessageConverterTest {
+
+    private static final Type PRODUCTS_LIST = new ParameterizedTypeReference<List<Products>>() {}.getType();
+
+    private final ProductsProtobufHttpMessageConverter converter = new ProductsProtobufHttpMessageConverter();
+
+    @Test
+    void writesAndReadsProducts() throws Exception {
+        Products products = new Products().id(300L).articalName("Chaise longue").articalPrice(0D);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(products, Products.class, ProductsProtobufHttpMessageConverter.PROTOBUF, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(ProductsProtobufHttpMessageConverter.PROTOBUF);
+        Products read = (Products) converter.read(Products.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        assertThat(read).usingRecursiveComparison().isEqualTo(products);
+    }
+
+    @Test
+    void writesAndReadsListsWithAbsentFields() throws Exception {
+        List<Products> products = List.of(new Products().id(1L).articalName("Chair").articalPrice(-40.5D), new Products().id(2L));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(products, PRODUCTS_LIST, ProductsProtobufHttpMessageConverter.PROTOBUF, output);
+
+        @SuppressWarnings("unchecked")
+        List<Products> read = (List<Products>) converter.read(PRODUCTS_LIST, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().isEqualTo(products);
+        assertThat(read.get(1).getArticalName()).isNull();
+        assertThat(read.get(1).getArticalPrice()).isNull();
+    }
+
+    @Test
+    void skipsUnknownFields() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeInt64(1, 7);
+        output.writeString(9, "a later field");
+        output.writeDouble(3, 12.5);
+        output.flush();
+
+        Products read = (Products) converter.read(Products.class, null, new MockHttpInputMessage(bytes.toByteArray()));
+
+        assertThat(read.getId()).isEqualTo(7);
+        assertThat(read.getArticalPrice()).isEqualTo(12.5);
+    }
+
+    @Test
+    void onlyConvertsProducts() {
+        Type maps = new ParameterizedTypeReference<List<Map<String, Object>>>() {}.getType();
+
+        assertThat(converter.canWrite(PRODUCTS_LIST, List.class, ProductsProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(maps, List.class, ProductsProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(Products.class, Products.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(PRODUCTS_LIST, null, ProductsProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canRead(String.class, null, ProductsProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.getSupportedMediaTypes(List.class)).containsExactly(ProductsProtobufHttpMessageConverter.PROTOBUF);
+        assertThat(converter.getSupportedMediaTypes(String.class)).isEmpty();
+    }
+}
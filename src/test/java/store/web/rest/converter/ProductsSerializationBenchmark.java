@@ -0,0 +1,122 @@
+package store.web.rest.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import store.domain.Products;
+
+/**
+ * Compares the representations of a page of 10k {@link Products}: the time to encode and decode it, and the size of the
+ * payload, reported by {@link #encode} as the {@code payloadBytes} secondary result.
+ * <p>
+ * JSON, Smile and CBOR go through Jackson as the message converters do, Protobuf through
+ * {@link ProductsProtobufHttpMessageConverter}. Run with {@code ./mvnw test-compile} and then the {@link #main} method
+ * from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductsSerializationBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final TypeReference<List<Products>> PRODUCTS_LIST = new TypeReference<>() {};
+
+    private static final String[] WORDS = { "Licensed", "Granite", "Chair", "Handcrafted", "Steel", "Table", "Rustic", "Towels" };
+
+    @Param({ "json", "smile", "cbor", "protobuf" })
+    private String format;
+
+    private List<Products> page;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        page = new ArrayList<>(ROWS);
+        for (long id = 1; id <= ROWS; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            page.add(new Products().id(id).articalName(name).articalPrice(random.nextInt(10_000_000) / 100d));
+        }
+        switch (format) {
+            case "smile":
+                objectMapper = new ObjectMapper(new SmileFactory());
+                break;
+            case "cbor":
+                objectMapper = new ObjectMapper(new CBORFactory());
+                break;
+            default:
+                objectMapper = new ObjectMapper(new JsonFactory());
+        }
+        payload = write(8192).toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encode(PayloadSize payloadSize) throws IOException {
+        ByteArrayOutputStream output = write(payload.length);
+        payloadSize.payloadBytes = output.size();
+        return output;
+    }
+
+    @Benchmark
+    public List<Products> decode() throws IOException {
+        if ("protobuf".equals(format)) {
+            return ProductsProtobufHttpMessageConverter.readList(new ByteArrayInputStream(payload));
+        }
+        return objectMapper.readValue(payload, PRODUCTS_LIST);
+    }
+
+    private ByteArrayOutputStream write(int initialSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(initialSize);
+        if ("protobuf".equals(format)) {
+            ProductsProtobufHttpMessageConverter.writeList(page, output);
+        } else {
+            objectMapper.writeValue(output, page);
+        }
+        return output;
+    }
+
+    /**
+     * The size of the encoded page, reported as is rather than as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductsSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
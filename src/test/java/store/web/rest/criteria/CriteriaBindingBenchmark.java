@@ -0,0 +1,72 @@
+package store.web.rest.criteria;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Compares binding a {@link ProductsCriteria} from a typical {@code GET /api/products} query string with Spring's
+ * {@link ServletRequestDataBinder} and with {@link CriteriaBindings#PRODUCTS}.
+ * <p>
+ * Run with {@code ./mvnw test-compile} and then the {@link #main} method from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaBindingBenchmark {
+
+    private ConversionService conversionService;
+
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        conversionService = new DefaultFormattingConversionService();
+        request = new MockHttpServletRequest();
+        request.addParameter("id.in", "1,2,3,5,8");
+        request.addParameter("articalName.contains", "chair");
+        request.addParameter("articalPrice.greaterThanOrEqual", "10");
+        request.addParameter("articalPrice.lessThan", "500");
+        request.addParameter("page", "0");
+        request.addParameter("size", "20");
+        request.addParameter("sort", "articalName,asc");
+    }
+
+    @Benchmark
+    public ProductsCriteria dataBinder() {
+        ProductsCriteria criteria = new ProductsCriteria();
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(criteria, "criteria");
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return criteria;
+    }
+
+    @Benchmark
+    public ProductsCriteria criteriaBinding() {
+        return CriteriaBindings.PRODUCTS.bind(request.getParameterMap());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CriteriaBindingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package store.web.rest.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import store.service.criteria.ProductsCriteria;
+
+/**
+ * Unit tests for {@link CriteriaBinding}, checked against Spring's {@link ServletRequestDataBinder}.
+ */
+class CriteriaBindingTest {
+
+    @Test
+    void bindsLikeTheDataBinder() {
+        assertSameBinding(request("id.equals", "5"));
+        assertSameBinding(request("id.greaterThan", "5", "id.lessThanOrEqual", "10", "articalPrice.greaterThanOrEqual", "1.5"));
+        assertSameBinding(request("id.in", "1, 2,3", "articalName.notIn", " a ,b"));
+        assertSameBinding(request("articalName.contains", "chair", "articalName.doesNotContain", "", "distinct", "true"));
+        assertSameBinding(request("articalPrice.specified", "no", "id.notEquals", "", "articalName.equals", ""));
+        assertSameBinding(request("page", "1", "size", "20", "sort", "id,asc", "id.unknown", "1", "unknown.equals", "1"));
+    }
+
+    @Test
+    void bindsRepeatedParametersLikeTheDataBinder() {
+        MockHttpServletRequest request = request();
+        request.addParameter("id.in", "1", " 2");
+        request.addParameter("articalName.in", "a,b", " c");
+        request.addParameter("id.equals", "3", "4");
+        request.addParameter("articalName.contains", "x", "y");
+        assertSameBinding(request);
+    }
+
+    @Test
+    void bindsGroupsLikeTheDataBinder() {
+        assertSameBinding(request("or[0].articalName.contains", "chair", "or[1].id.in", "1,2", "not.articalPrice.greaterThan", "100"));
+        assertSameBinding(request("or[1].articalPrice.lessThan", "10", "id.greaterThan", "3", "not.articalName.in", "a,b"));
+    }
+
+    @Test
+    void createsGroupsOnlyForKnownOperators() {
+        ProductsCriteria criteria = CriteriaBindings.PRODUCTS.bind(request("not.unknown", "1", "or[0].id.unknown", "1").getParameterMap());
+
+        assertThat(criteria.getNot()).isNull();
+        assertThat(criteria.getOr()).isNull();
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertThatThrownBy(() -> CriteriaBindings.PRODUCTS.bind(request("id.equals", "abc").getParameterMap()))
+            .isInstanceOf(TypeMismatchException.class)
+            .extracting(e -> ((TypeMismatchException) e).getPropertyName())
+            .isEqualTo("id.equals");
+        assertThatThrownBy(() -> CriteriaBindings.PRODUCTS.bind(request("or[16].id.equals", "1").getParameterMap()))
+            .isInstanceOf(TypeMismatchException.class)
+            .extracting(e -> ((TypeMismatchException) e).getPropertyName())
+            .isEqualTo("or[16]");
+        assertThatThrownBy(() -> CriteriaBindings.PRODUCTS.bind(request("or[x].id.equals", "1").getParameterMap()))
+            .isInstanceOf(TypeMismatchException.class);
+        assertThatThrownBy(() -> CriteriaBindings.PRODUCTS.bind(request("distinct", "maybe").getParameterMap()))
+            .isInstanceOf(TypeMismatchException.class);
+    }
+
+    private static void assertSameBinding(MockHttpServletRequest request) {
+        ProductsCriteria expected = new ProductsCriteria();
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(expected);
+        binder.setConversionService(new DefaultFormattingConversionService());
+        binder.bind(request);
+        assertThat(binder.getBindingResult().hasErrors()).isFalse();
+
+        ProductsCriteria actual = CriteriaBindings.PRODUCTS.bind(request.getParameterMap());
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static MockHttpServletRequest request(String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package store.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+/**
+ * Unit tests for {@link ETagUtil}.
+ */
+class ETagUtilTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> PRODUCIBLE = List.of(
+        MediaType.APPLICATION_JSON,
+        new MediaType("application", "*+json"),
+        SMILE,
+        MediaType.APPLICATION_CBOR
+    );
+
+    @Test
+    void strongValidatorsTellRepresentationsApart() {
+        assertThat(ETagUtil.strong(3, MediaType.APPLICATION_JSON)).isEqualTo("\"3-json\"");
+        assertThat(ETagUtil.strong(3, SMILE)).isNotEqualTo(ETagUtil.strong(3, MediaType.APPLICATION_JSON));
+        assertThat(ETagUtil.version(ETagUtil.strong(3, SMILE))).hasValue(3L);
+        assertThat(ETagUtil.version("W/\"3-json\"")).isEmpty();
+        assertThat(ETagUtil.version("\"x-json\"")).isEmpty();
+        assertThat(ETagUtil.version("*")).isEmpty();
+    }
+
+    @Test
+    void selectsTheMediaTypeOfTheMessageConverters() {
+        assertThat(ETagUtil.selectMediaType(List.of(MediaType.ALL), PRODUCIBLE)).hasValue(MediaType.APPLICATION_JSON);
+        assertThat(ETagUtil.selectMediaType(MediaType.parseMediaTypes("application/cbor, application/json;q=0.5"), PRODUCIBLE))
+            .hasValue(MediaType.APPLICATION_CBOR);
+        assertThat(ETagUtil.selectMediaType(List.of(SMILE), PRODUCIBLE)).hasValue(SMILE);
+        assertThat(ETagUtil.selectMediaType(List.of(MediaType.APPLICATION_XML), PRODUCIBLE)).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package store.web.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Unit tests for {@link ProductsChangeInterceptor}.
+ */
+class ProductsChangeInterceptorTest {
+
+    private final ProductsChangeInterceptor interceptor = new ProductsChangeInterceptor();
+
+    @Test
+    void dropsTheMessagesRejectedByTheSubscriptionFilter() {
+        subscribe("sub-0", "1,2", null);
+        subscribe("sub-1", null, "10");
+        subscribe("sub-2", null, null);
+
+        assertThat(interceptor.preSend(change("sub-0", 1L, 50D), null)).isNotNull();
+        assertThat(interceptor.preSend(change("sub-0", 3L, 50D), null)).isNull();
+        assertThat(interceptor.preSend(change("sub-1", 3L, 50D), null)).isNull();
+        assertThat(interceptor.preSend(change("sub-1", 3L, 5D), null)).isNotNull();
+        assertThat(interceptor.preSend(change("sub-1", 3L, null), null)).isNotNull();
+        assertThat(interceptor.preSend(change("sub-2", 3L, 50D), null)).isNotNull();
+    }
+
+    @Test
+    void forgetsTheFiltersOfDisconnectedSessions() {
+        subscribe("sub-0", "1", null);
+        assertThat(interceptor.getFilteredSessionCount()).isEqualTo(1);
+
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("session");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        assertThat(interceptor.getFilteredSessionCount()).isZero();
+        assertThat(interceptor.preSend(change("sub-0", 3L, 50D), null)).isNotNull();
+    }
+
+    private void subscribe(String subscriptionId, String ids, String maxPrice) {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setSessionId("session");
+        subscribe.setSubscriptionId(subscriptionId);
+        subscribe.setDestination(ProductsChangeService.DESTINATION);
+        if (ids != null) {
+            subscribe.setNativeHeader(ProductsChangeInterceptor.IDS_HEADER, ids);
+        }
+        if (maxPrice != null) {
+            subscribe.setNativeHeader(ProductsChangeInterceptor.MAX_PRICE_HEADER, maxPrice);
+        }
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()), null);
+    }
+
+    private static Message<?> change(String subscriptionId, Long id, Double price) {
+        SimpMessageHeaderAccessor message = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        message.setSessionId("session");
+        message.setSubscriptionId(subscriptionId);
+        message.setDestination(ProductsChangeService.DESTINATION);
+        message.setNativeHeader(ProductsChangeService.ID_HEADER, id.toString());
+        if (price != null) {
+            message.setNativeHeader(ProductsChangeService.PRICE_HEADER, price.toString());
+        }
+        return MessageBuilder.createMessage(new byte[0], message.getMessageHeaders());
+    }
+}